@@ -0,0 +1,136 @@
+package benchmarks;
+
+import agentarium.attributes.Event;
+import agentarium.attributes.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached copy plans behind {@link Property#deepCopy()} and {@link Event#deepCopy()} with the
+ * per-call reflective lookup they replaced.
+ *
+ * <p>The reflective baseline mirrors the previous implementation: it probes for a copy constructor (throwing
+ * and catching {@link NoSuchMethodException} when there is none), then looks up the no-argument constructor and
+ * every declared field on each call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributeDeepCopyBenchmark {
+
+    /** A typical user property, copied field by field */
+    public static class SampleProperty extends Property<Double> {
+        private double value = 1.0;
+        private double rate = 0.1;
+        private String label = "sample";
+
+        public SampleProperty() {
+            super("Sample", true, Double.class);
+        }
+
+        @Override
+        public void set(Double value) {
+            this.value = value;
+        }
+
+        @Override
+        public Double get() {
+            return value;
+        }
+
+        @Override
+        public void run() {
+            value += rate;
+        }
+    }
+
+    /** A typical user event, copied field by field */
+    public static class SampleEvent extends Event {
+        private boolean triggered = false;
+        private int threshold = 3;
+
+        public SampleEvent() {
+            super("Sample", true);
+        }
+
+        @Override
+        public boolean isTriggered() {
+            return triggered;
+        }
+
+        @Override
+        public void run() {
+            triggered = !triggered;
+        }
+    }
+
+    private SampleProperty property;
+    private SampleEvent event;
+
+    @Setup
+    public void setup() {
+        property = new SampleProperty();
+        event = new SampleEvent();
+    }
+
+    @Benchmark
+    public Object propertyCopyPlan() {
+        return property.deepCopy();
+    }
+
+    @Benchmark
+    public Object propertyReflective() {
+        return reflectiveCopy(property);
+    }
+
+    @Benchmark
+    public Object eventCopyPlan() {
+        return event.deepCopy();
+    }
+
+    @Benchmark
+    public Object eventReflective() {
+        return reflectiveCopy(event);
+    }
+
+    /** The reflective copy previously performed by {@code Property.deepCopy} and {@code Event.deepCopy} */
+    private static Object reflectiveCopy(Object source) {
+        try {
+            Class<?> clazz = source.getClass();
+
+            try {
+                Constructor<?> copyCtor = clazz.getDeclaredConstructor(clazz);
+                copyCtor.setAccessible(true);
+                return copyCtor.newInstance(source);
+            } catch (NoSuchMethodException ignored) {}
+
+            Constructor<?> ctor = clazz.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            Object copy = ctor.newInstance();
+
+            for (Field field : clazz.getDeclaredFields()) {
+                field.setAccessible(true);
+                field.set(copy, field.get(source));
+            }
+
+            return copy;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to deep copy " + source.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package benchmarks;
+
+import agentarium.results.Results;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.DeepCopier;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached copy plans behind {@link DeepCopier} with the serialisation and JSON round trips they
+ * replaced.
+ *
+ * <p>The baselines mirror the previous implementation: serializable objects were written to and read back from
+ * a byte array with Java serialisation, and other objects were written to and read back from JSON with Gson.
+ * Each is measured on a serializable graph of agents, on the same graph without {@link Serializable}, and on
+ * the {@link Results} copied for every worker of a run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeepCopierBenchmark {
+
+    /** Gson configured as the previous {@link DeepCopier} fallback */
+    private static final Gson gson = new GsonBuilder()
+            .excludeFieldsWithModifiers(Modifier.STATIC, Modifier.TRANSIENT)
+            .create();
+
+    /** A typical agent state, copied through serialisation before */
+    public static class SerializableAgentState implements Serializable {
+        private String name;
+        private double energy;
+        private int age;
+        private double[] position = new double[2];
+        private List<String> memory = new ArrayList<>();
+        private Map<String, Double> traits = new HashMap<>();
+
+        public SerializableAgentState() {}
+    }
+
+    /** The same agent state without {@link Serializable}, copied through JSON before */
+    public static class PlainAgentState {
+        private String name;
+        private double energy;
+        private int age;
+        private double[] position = new double[2];
+        private List<String> memory = new ArrayList<>();
+        private Map<String, Double> traits = new HashMap<>();
+
+        public PlainAgentState() {}
+    }
+
+    /** A population of serializable agent states */
+    public static class SerializablePopulation implements Serializable {
+        private List<SerializableAgentState> agents = new ArrayList<>();
+
+        public SerializablePopulation() {}
+    }
+
+    /** A population of plain agent states */
+    public static class PlainPopulation {
+        private List<PlainAgentState> agents = new ArrayList<>();
+
+        public PlainPopulation() {}
+    }
+
+    /** A minimal results class, as copied for each worker */
+    public static class BenchmarkResults extends Results {
+        @Override
+        protected List<?> accumulateAgentPropertyResults(String attributeSetName, String propertyName, List<?> accumulatedValues, List<?> valuesToBeProcessed) {
+            return valuesToBeProcessed;
+        }
+
+        @Override
+        protected List<?> accumulateAgentPreEventResults(String attributeSetName, String preEventName, List<?> accumulatedValues, List<Boolean> valuesToBeProcessed) {
+            return valuesToBeProcessed;
+        }
+
+        @Override
+        protected List<?> accumulateAgentPostEventResults(String attributeSetName, String postEventName, List<?> accumulatedValues, List<Boolean> valuesToBeProcessed) {
+            return valuesToBeProcessed;
+        }
+    }
+
+    private SerializablePopulation serializablePopulation;
+    private PlainPopulation plainPopulation;
+    private BenchmarkResults results;
+
+    @Setup
+    public void setup() {
+        serializablePopulation = new SerializablePopulation();
+        plainPopulation = new PlainPopulation();
+        for (int i = 0; i < 100; i++) {
+            SerializableAgentState serializableAgent = new SerializableAgentState();
+            PlainAgentState plainAgent = new PlainAgentState();
+            serializableAgent.name = plainAgent.name = "Agent_" + i;
+            serializableAgent.energy = plainAgent.energy = i * 0.5;
+            serializableAgent.age = plainAgent.age = i;
+            for (int j = 0; j < 5; j++) {
+                serializableAgent.memory.add("event_" + j);
+                plainAgent.memory.add("event_" + j);
+                serializableAgent.traits.put("trait_" + j, j * 0.1);
+                plainAgent.traits.put("trait_" + j, j * 0.1);
+            }
+            serializablePopulation.agents.add(serializableAgent);
+            plainPopulation.agents.add(plainAgent);
+        }
+        results = new BenchmarkResults();
+    }
+
+    @Benchmark
+    public Object serializableGraphCopyPlan() {
+        return DeepCopier.deepCopy(serializablePopulation, SerializablePopulation.class);
+    }
+
+    @Benchmark
+    public Object serializableGraphSerialization() throws IOException, ClassNotFoundException {
+        return serializationCopy(serializablePopulation);
+    }
+
+    @Benchmark
+    public Object plainGraphCopyPlan() {
+        return DeepCopier.deepCopy(plainPopulation, PlainPopulation.class);
+    }
+
+    @Benchmark
+    public Object plainGraphGson() {
+        return gson.fromJson(gson.toJson(plainPopulation), PlainPopulation.class);
+    }
+
+    @Benchmark
+    public Object resultsCopyPlan() {
+        return results.deepCopy();
+    }
+
+    @Benchmark
+    public Object resultsGson() {
+        return gson.fromJson(gson.toJson(results), BenchmarkResults.class);
+    }
+
+    /** The serialisation round trip previously performed by {@code DeepCopier} */
+    private static Object serializationCopy(Serializable object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(byteOut)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(byteOut.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+}
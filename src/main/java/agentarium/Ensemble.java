@@ -0,0 +1,149 @@
+package agentarium;
+
+import agentarium.checkpoints.ModelCheckpoint;
+import agentarium.results.EnsembleResults;
+import agentarium.results.Results;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs many models at once in one JVM, such as the replicates of a model or the points of a parameter sweep, and
+ * collects their results as a batch.
+ *
+ * <p>The workers of every run share one pool of threads, sized to the machine rather than to any one run, so that
+ * the cores left idle by one run's slower workers are taken up by another's. The number of runs in progress at
+ * once is bounded separately, keeping the memory held by unfinished results in check. Runs whose processes are
+ * synchronised are the exception: their workers wait for each other every tick, so each gets threads of its own.
+ *
+ * <p>Each run stores its results in its own {@link agentarium.attributes.results.databases.ResultsBackend}, so runs
+ * may record to different kinds of database, compress them or write them asynchronously independently.
+ *
+ * <pre>{@code
+ * try (Ensemble ensemble = new Ensemble()) {
+ *     EnsembleResults results = ensemble.sweep(List.of(0.1, 0.2, 0.3), rate -> settingsWithRate(rate));
+ * }
+ * }</pre>
+ */
+public class Ensemble implements AutoCloseable {
+
+    /** Runs the models themselves, bounding the number of runs in progress */
+    private final ExecutorService runPool;
+
+    /** Runs the workers of every unsynchronised run */
+    private final ExecutorService workerPool;
+
+    /**
+     * Creates an ensemble running as many models at once as there are processors, on as many worker threads.
+     */
+    public Ensemble() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an ensemble running at most a given number of models at once, on as many worker threads as there
+     * are processors.
+     *
+     * @param maxConcurrentRuns the most models to run at once
+     */
+    public Ensemble(int maxConcurrentRuns) {
+        this(maxConcurrentRuns, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an ensemble.
+     *
+     * @param maxConcurrentRuns the most models to run at once
+     * @param numOfWorkerThreads the number of threads shared by the workers of every unsynchronised run
+     */
+    public Ensemble(int maxConcurrentRuns, int numOfWorkerThreads) {
+        if (maxConcurrentRuns < 1)
+            throw new IllegalArgumentException("Maximum concurrent runs must be at least 1, got " + maxConcurrentRuns);
+        if (numOfWorkerThreads < 1)
+            throw new IllegalArgumentException("Number of worker threads must be at least 1, got " + numOfWorkerThreads);
+        this.runPool = Executors.newFixedThreadPool(maxConcurrentRuns, threadFactory("ensemble-run-"));
+        this.workerPool = Executors.newFixedThreadPool(numOfWorkerThreads, threadFactory("ensemble-worker-"));
+    }
+
+    /**
+     * Runs a batch of models.
+     *
+     * @param runs the settings of each run
+     * @return the results of each run, in the order of the runs
+     * @throws ExecutionException if a run fails, with its failure as the cause
+     * @throws InterruptedException if interrupted while waiting for the runs
+     */
+    public EnsembleResults run(List<ModelSettings> runs) throws ExecutionException, InterruptedException {
+        return run(null, runs);
+    }
+
+    /**
+     * Runs a batch of models from the same checkpoint, each of which must generate as many agents on as many cores
+     * as the model the checkpoint was taken from.
+     *
+     * @param checkpoint the checkpoint every run starts from, or null to run from the first tick
+     * @param runs the settings of each run
+     * @return the results of each run, in the order of the runs
+     * @throws ExecutionException if a run fails, with its failure as the cause
+     * @throws InterruptedException if interrupted while waiting for the runs
+     */
+    public EnsembleResults run(ModelCheckpoint checkpoint, List<ModelSettings> runs)
+            throws ExecutionException, InterruptedException {
+        List<Future<Results>> futures = new ArrayList<>(runs.size());
+        try {
+            for (ModelSettings run : runs) {
+                Model model = new Model(run, workerPool);
+                futures.add(runPool.submit(() -> model.run(checkpoint)));
+            }
+
+            List<Results> results = new ArrayList<>(futures.size());
+            for (Future<Results> future : futures)
+                results.add(future.get());
+            return new EnsembleResults(runs, results);
+        } catch (ExecutionException | InterruptedException e) {
+            for (Future<Results> future : futures)
+                future.cancel(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a model for each point of a parameter sweep.
+     *
+     * @param points the parameter points
+     * @param settingsForPoint creates the settings of the run of a point
+     * @param <T> the type of the parameter points
+     * @return the results of each run, in the order of the points
+     * @throws ExecutionException if a run fails, with its failure as the cause
+     * @throws InterruptedException if interrupted while waiting for the runs
+     */
+    public <T> EnsembleResults sweep(List<T> points, Function<T, ModelSettings> settingsForPoint)
+            throws ExecutionException, InterruptedException {
+        List<ModelSettings> runs = new ArrayList<>(points.size());
+        for (T point : points)
+            runs.add(settingsForPoint.apply(point));
+        return run(runs);
+    }
+
+    /**
+     * Stops the ensemble's threads once the runs in progress have finished.
+     */
+    @Override
+    public void close() {
+        runPool.shutdown();
+        workerPool.shutdown();
+    }
+
+    /** @return a factory of daemon threads named with a prefix and a counter */
+    private static ThreadFactory threadFactory(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, namePrefix + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
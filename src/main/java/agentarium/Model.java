@@ -2,7 +2,13 @@ package agentarium;
 
 import agentarium.agents.Agent;
 import agentarium.agents.AgentSet;
-import agentarium.attributes.results.databases.AttributeSetResultsDatabaseFactory;
+import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.DiskBasedAttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.MemoryBasedAttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.ResultsBackend;
+import agentarium.attributes.results.databases.TieredAttributeSetResultsDatabase;
+import agentarium.checkpoints.CheckpointRecorder;
+import agentarium.checkpoints.ModelCheckpoint;
 import agentarium.environments.Environment;
 import agentarium.multithreading.CoordinatorThread;
 import agentarium.multithreading.WorkerThread;
@@ -10,39 +16,66 @@ import agentarium.multithreading.requestresponse.RequestResponseController;
 import agentarium.multithreading.requestresponse.RequestResponseInterface;
 import agentarium.multithreading.utils.WorkerCache;
 import agentarium.results.AgentResults;
+import agentarium.results.AgentResultsReduction;
 import agentarium.results.EnvironmentResults;
 import agentarium.results.Results;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Main class for executing an agent-based model using multithreaded execution.
  *
  * <p>This class is responsible for configuring the environment, distributing agents across worker threads,
  * running the simulation (synchronously or asynchronously), and collecting results.
+ *
+ * <p>A run can also start from a {@link ModelCheckpoint}, such as one taken by {@link #warmUp()}, so that a warm-up
+ * is computed once and reused by several runs, or a run that stopped is resumed from the checkpoint last saved to
+ * the {@link ModelSettings#setCheckpointDirectory checkpoint directory}.
+ *
+ * <p>Each run stores its results in its own {@link ResultsBackend}, bound to every thread working for the run, so
+ * models with different results storage can run at the same time in one JVM, as {@link Ensemble} does.
  */
 public class Model {
 
     /** Configuration settings for this model run */
     private final ModelSettings settings;
 
+    /** Pool shared with other models that runs the workers of unsynchronised runs, or null to create one per run */
+    private final ExecutorService workerPool;
+
     /**
      * Constructs a new model instance with the specified settings.
      *
      * @param settings the settings to use for model initialisation and execution
      */
     public Model(ModelSettings settings) {
+        this(settings, null);
+    }
+
+    /**
+     * Constructs a model whose workers run on a pool shared with other models, unless its processes are
+     * synchronised: the workers of a synchronised run wait for each other every tick, so they always get threads
+     * of their own.
+     *
+     * @param settings the settings to use for model initialisation and execution
+     * @param workerPool the shared pool, which the model does not shut down, or null to create one per run
+     */
+    Model(ModelSettings settings, ExecutorService workerPool) {
         this.settings = settings;
+        this.workerPool = workerPool;
     }
 
     /**
      * Runs the agent-based model according to the configured settings.
      *
      * @return a {@link Results} object containing accumulated simulation data
+     * @throws IllegalStateException if a worker thread fails, with its failure as the cause, or the run is interrupted
      * @throws NoSuchMethodException if the results class has no default constructor
      * @throws InvocationTargetException if constructor invocation fails
      * @throws InstantiationException if instantiating the results class fails
@@ -50,12 +83,148 @@ public class Model {
      */
     public Results run() throws NoSuchMethodException, InvocationTargetException,
             InstantiationException, IllegalAccessException {
+        return run(null);
+    }
 
-        if (settings.getAreAttributeSetResultsStoredOnDisk())
-            AttributeSetResultsDatabaseFactory.setDatabaseToDiskBased();
+    /**
+     * Runs the agent-based model from a checkpoint, continuing from the checkpoint's tick.
+     *
+     * <p>Agents and the environment are generated and set up as usual, then their property values, the clocks
+     * and the scheduler states are restored from the checkpoint. Results are recorded from the checkpoint's tick.
+     *
+     * @param checkpoint the checkpoint to resume from, or null to run from the first tick
+     * @return a {@link Results} object containing accumulated simulation data
+     * @throws IllegalArgumentException if the model runs on a different number of cores or generates a different
+     *                                  number of agents than the checkpoint holds, or its tick is beyond the end
+     *                                  of the run
+     * @throws NoSuchMethodException if the results class has no default constructor
+     * @throws InvocationTargetException if constructor invocation fails
+     * @throws InstantiationException if instantiating the results class fails
+     * @throws IllegalAccessException if the constructor is not accessible
+     */
+    public Results run(ModelCheckpoint checkpoint) throws NoSuchMethodException, InvocationTargetException,
+            InstantiationException, IllegalAccessException {
+        return run(checkpoint, settings.getTotalNumOfTicks(), periodicCheckpointTicks(), settingsCheckpointListener());
+    }
+
+    /**
+     * Runs only the warm-up ticks of the model and returns a checkpoint of its state at the end of them, from which
+     * any number of runs can then start with {@link #run(ModelCheckpoint)} or {@link #fork}.
+     *
+     * @return the checkpoint at the first tick after the warm-up
+     * @throws NoSuchMethodException if the results class has no default constructor
+     * @throws InvocationTargetException if constructor invocation fails
+     * @throws InstantiationException if instantiating the results class fails
+     * @throws IllegalAccessException if the constructor is not accessible
+     */
+    public ModelCheckpoint warmUp() throws NoSuchMethodException, InvocationTargetException,
+            InstantiationException, IllegalAccessException {
+        int warmUpTicks = settings.getNumOfWarmUpTicks();
+        AtomicReference<ModelCheckpoint> warmUpCheckpoint = new AtomicReference<>();
+        run(null, warmUpTicks, List.of(warmUpTicks), warmUpCheckpoint::set);
+        return warmUpCheckpoint.get();
+    }
+
+    /**
+     * Runs several variants of a model from the same checkpoint at once, for example to reuse one warm-up across
+     * a set of parameter values.
+     *
+     * <p>Each variant is run with {@link #run(ModelCheckpoint)} by an {@link Ensemble}, and must generate as many
+     * agents on as many cores as the model the checkpoint was taken from. Variants may store their results in
+     * different ways.
+     *
+     * @param checkpoint the checkpoint every variant starts from
+     * @param variants the settings of each variant
+     * @param parallelism the most variants to run at once
+     * @return the results of each variant, in the order of the variants
+     * @throws ExecutionException if a variant fails, with its failure as the cause
+     * @throws InterruptedException if interrupted while waiting for the variants
+     */
+    public static List<Results> fork(ModelCheckpoint checkpoint, List<ModelSettings> variants, int parallelism)
+            throws ExecutionException, InterruptedException {
+        if (checkpoint == null)
+            throw new IllegalArgumentException("Checkpoint must not be null");
+        try (Ensemble ensemble = new Ensemble(parallelism)) {
+            return ensemble.run(checkpoint, variants).getResults();
+        }
+    }
+
+    /** @return the ticks at which the settings ask for checkpoints, from the first interval to the end of the run */
+    private List<Integer> periodicCheckpointTicks() {
+        List<Integer> ticks = new ArrayList<>();
+        int interval = settings.getCheckpointInterval();
+        if (interval > 0)
+            for (int tick = interval; tick < settings.getTotalNumOfTicks(); tick += interval)
+                ticks.add(tick);
+        return ticks;
+    }
+
+    /** @return a listener passing checkpoints to the settings' listener and directory, or null if neither is set */
+    private Consumer<ModelCheckpoint> settingsCheckpointListener() {
+        Consumer<ModelCheckpoint> listener = settings.getCheckpointListener();
+        if (settings.getCheckpointDirectory() == null)
+            return listener;
+        return checkpoint -> {
+            try {
+                checkpoint.saveTo(settings.getCheckpointDirectory());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error saving checkpoint of tick " + checkpoint.getTick(), e);
+            }
+            if (listener != null)
+                listener.accept(checkpoint);
+        };
+    }
+
+    /**
+     * Runs the model from a checkpoint, or from the first tick, up to an end tick, taking checkpoints at the
+     * given ticks.
+     */
+    private Results run(ModelCheckpoint checkpoint, int endTick, List<Integer> checkpointTicks,
+                        Consumer<ModelCheckpoint> checkpointListener) throws NoSuchMethodException,
+            InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (checkpoint != null && checkpoint.getTick() > settings.getTotalNumOfTicks())
+            throw new IllegalArgumentException("Checkpoint of tick " + checkpoint.getTick()
+                    + " is beyond the end of a run of " + settings.getTotalNumOfTicks() + " ticks");
+
+        // Store this run's results in its own backend, bound to every thread working for the run
+        ResultsBackend resultsBackend = resultsBackend();
+        ResultsBackend.Binding binding = resultsBackend.bind();
+        try {
+            return run(checkpoint, endTick, checkpointTicks, checkpointListener, resultsBackend);
+        } finally {
+            binding.close();
+        }
+    }
+
+    /** @return the results backend described by the settings */
+    private ResultsBackend resultsBackend() {
+        Class<? extends AttributeSetResultsDatabase> databaseClass;
+        if (settings.getAttributeSetResultsDatabaseClass() != null)
+            databaseClass = settings.getAttributeSetResultsDatabaseClass();
+        else if (settings.getAreAttributeSetResultsSpilledToDisk())
+            databaseClass = TieredAttributeSetResultsDatabase.class;
+        else if (settings.getAreAttributeSetResultsStoredOnDisk())
+            databaseClass = DiskBasedAttributeSetResultsDatabase.class;
         else
-            AttributeSetResultsDatabaseFactory.setDatabaseToMemoryBased();
+            databaseClass = MemoryBasedAttributeSetResultsDatabase.class;
+        return new ResultsBackend(
+                databaseClass,
+                settings.getAreAttributeSetResultsWrittenAsynchronously(),
+                Math.max(1, settings.getNumOfTicksToRun()),
+                settings.getAreAttributeSetResultsCompressed(),
+                settings.getAttributeSetResultsMemoryBudget() > 0
+                        ? settings.getAttributeSetResultsMemoryBudget()
+                        : TieredAttributeSetResultsDatabase.getMemoryBudget(),
+                DiskBasedAttributeSetResultsDatabase.getJournalMode(),
+                DiskBasedAttributeSetResultsDatabase.getSynchronousMode(),
+                DiskBasedAttributeSetResultsDatabase.getWriteBatchSize()
+        );
+    }
 
+    /** Runs the model with its results backend bound to the calling thread */
+    private Results run(ModelCheckpoint checkpoint, int endTick, List<Integer> checkpointTicks,
+                        Consumer<ModelCheckpoint> checkpointListener, ResultsBackend resultsBackend)
+            throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
         // Distribute agents among cores
         List<AgentSet> agentsForEachCore = settings.getAgentGenerator().getAgentsForEachCore(settings);
 
@@ -67,12 +236,26 @@ public class Model {
         results.setAgentNames(agentsForEachCore);
         results.setAgentResults(new AgentResults(new AgentSet()));
 
+        if (checkpoint != null)
+            checkCheckpointAgents(checkpoint, agentsForEachCore);
+
         // Prepare the environment
         environment.setup();
+        if (checkpoint != null)
+            checkpoint.restoreEnvironment(environment);
+
+        // Capture checkpoints if any are to be taken
+        CheckpointRecorder checkpointRecorder = checkpointListener != null && !checkpointTicks.isEmpty()
+                ? new CheckpointRecorder(checkpointTicks, settings.getNumOfCores(), environment, checkpointListener)
+                : null;
 
-        // Set up multithreaded execution
-        ExecutorService executorService = Executors.newFixedThreadPool(settings.getNumOfCores());
-        List<Future<Results>> futures = new ArrayList<>();
+        // Set up multithreaded execution, on the shared pool if workers never wait for each other
+        boolean isWorkerPoolShared = workerPool != null && !settings.getAreProcessesSynced();
+        ExecutorService executorService = isWorkerPoolShared
+                ? workerPool
+                : Executors.newFixedThreadPool(settings.getNumOfCores());
+        CompletionService<Results> completionService = new ExecutorCompletionService<>(executorService);
+        Map<Future<Results>, Integer> workerIndices = new HashMap<>();
 
         // Shared controller for inter-thread communication
         RequestResponseController requestResponseController = new RequestResponseController(settings);
@@ -92,7 +275,7 @@ public class Model {
 
         environment.setModelElementAccessor(environmentModelElementAccessor);
 
-        // Launch central coordinator if synchronisation is required
+        // Create central coordinator if synchronisation is required
         if (settings.getAreProcessesSynced()) {
             coordinator = new CoordinatorThread(
                     String.valueOf(settings.getNumOfCores()),
@@ -100,7 +283,18 @@ public class Model {
                     environment,
                     requestResponseController
             );
-            coordinatorThread = new Thread(coordinator);
+        }
+
+        // Give the environment a clock if the coordinator has not, and resume whichever it has from the checkpoint
+        if (environmentModelElementAccessor.getModelClock() == null)
+            environmentModelElementAccessor.setModelClock(
+                    new ModelClock(settings.getNumOfTicksToRun(), settings.getNumOfWarmUpTicks()));
+        if (checkpoint != null)
+            environmentModelElementAccessor.getModelClock().resumeFrom(checkpoint.getTick());
+
+        // Launch central coordinator
+        if (coordinator != null) {
+            coordinatorThread = new Thread(resultsBackend.wrap(coordinator));
             coordinatorThread.start();
         }
 
@@ -141,21 +335,50 @@ public class Model {
                     String.valueOf(coreIndex),
                     settings,
                     requestResponseController,
-                    coreAgentSet
+                    coreAgentSet,
+                    checkpoint,
+                    checkpointRecorder,
+                    endTick
             );
-            futures.add(executorService.submit(worker));
+            workerIndices.put(completionService.submit(resultsBackend.wrap(worker)), coreIndex);
         }
 
-        // Collect results from each worker thread
+        // Collect results from each worker thread as it finishes, merging their partial agent aggregates.
+        // Results are merged in core order so agents keep their order, but are reduced as soon as they arrive.
+        // Results without combine methods are accumulated in order
+        ForkJoinPool accumulationPool = settings.getAreAgentResultsAccumulatedInParallel() && results.canCombineAgentResults()
+                ? new ForkJoinPool(settings.getNumOfCores())
+                : null;
+        AgentResultsReduction reduction = accumulationPool != null
+                ? new AgentResultsReduction(results, accumulationPool, settings.getNumOfCores())
+                : null;
+        RuntimeException failure = null;
         try {
-            for (Future<Results> future : futures) {
-                Results coreResult = future.get();
-                results.mergeWithBeforeAccumulation(coreResult);
+            Results[] coreResults = new Results[settings.getNumOfCores()];
+            int nextCoreToMerge = 0;
+            for (int i = 0; i < workerIndices.size(); i++) {
+                Future<Results> future = completionService.take();
+                int coreIndex = workerIndices.get(future);
+                coreResults[coreIndex] = future.get();
+                if (reduction != null)
+                    reduction.submit(coreIndex, coreResults[coreIndex]);
+                while (nextCoreToMerge < coreResults.length && coreResults[nextCoreToMerge] != null) {
+                    results.mergeWithBeforeAccumulation(coreResults[nextCoreToMerge]);
+                    coreResults[nextCoreToMerge++] = null;
+                }
             }
-        } catch (InterruptedException | ExecutionException e) {
-            e.printStackTrace(); // Consider logging or propagating
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = new IllegalStateException("Interrupted while waiting for worker threads", e);
+        } catch (ExecutionException e) {
+            failure = new IllegalStateException("Worker thread failed: " + e.getCause(), e.getCause());
         } finally {
-            executorService.shutdown();
+            // Stop the remaining workers of a failed run so that none keeps recording
+            if (failure != null)
+                for (Future<Results> future : workerIndices.keySet())
+                    future.cancel(true);
+            if (!isWorkerPoolShared)
+                executorService.shutdown();
         }
 
         // Gracefully stop the coordinator thread if it was used
@@ -168,12 +391,44 @@ public class Model {
             }
         }
 
+        // Write any results still buffered by background writers before they are read
+        resultsBackend.closeWriters();
+
+        if (failure != null) {
+            if (accumulationPool != null)
+                accumulationPool.shutdown();
+            throw failure;
+        }
+
         // Post-processing of results
         results.setEnvironmentResults(new EnvironmentResults(environment));
-        results.accumulateAgentAttributeData();
+        if (reduction != null) {
+            try {
+                results.accumulateAgentAttributeData(reduction);
+            } finally {
+                accumulationPool.shutdown();
+            }
+        } else {
+            results.accumulateAgentAttributeData();
+        }
         results.processEnvironmentAttributeData();
         results.seal(); // Finalise results
 
         return results;
     }
+
+    /** Checks that the model distributes as many agents to each core as the checkpoint holds */
+    private static void checkCheckpointAgents(ModelCheckpoint checkpoint, List<AgentSet> agentsForEachCore) {
+        if (checkpoint.getThreadNames().size() != agentsForEachCore.size())
+            throw new IllegalArgumentException("Checkpoint holds the agents of " + checkpoint.getThreadNames().size()
+                    + " cores, but the model runs on " + agentsForEachCore.size());
+        for (int coreIndex = 0; coreIndex < agentsForEachCore.size(); coreIndex++) {
+            AgentSet agentSet = agentsForEachCore.get(coreIndex);
+            int numOfAgents = agentSet == null ? 0 : agentSet.size();
+            int numOfCheckpointAgents = checkpoint.getAgentCount(String.valueOf(coreIndex));
+            if (numOfAgents != numOfCheckpointAgents)
+                throw new IllegalArgumentException("Checkpoint holds " + numOfCheckpointAgents + " agents of core "
+                        + coreIndex + ", but the model generates " + numOfAgents);
+        }
+    }
 }
@@ -23,8 +23,54 @@ public class ModelClock {
         return tick;
     }
 
+    /** @return the number of ticks run after warm-up */
+    public int getNumOfTicksToRun() {
+        return numOfTicksToRun;
+    }
+
+    /** @return the number of warm-up ticks, which are not recorded */
+    public int getNumOfWarmUpTicks() {
+        return numOfWarmUpTicks;
+    }
+
     public void triggerTick() {
         if (isRunning())
             tick++;
     }
+
+    /**
+     * Checks whether a given tick falls within the warm-up period.
+     *
+     * @param tick the tick to check
+     * @return true if results are not recorded for that tick
+     */
+    public boolean isWarmUpTick(int tick) {
+        return tick < numOfWarmUpTicks;
+    }
+
+    /**
+     * Moves the clock to the tick a run is resumed from, as when restoring a
+     * {@link agentarium.checkpoints.ModelCheckpoint}.
+     *
+     * @param tick the tick to resume from, between zero and the end of the run
+     */
+    public void resumeFrom(int tick) {
+        if (tick < 0 || tick > numOfTicksToRun + numOfWarmUpTicks)
+            throw new IllegalArgumentException("Cannot resume from tick " + tick + " of a run of "
+                    + (numOfTicksToRun + numOfWarmUpTicks) + " ticks");
+        this.tick = tick;
+    }
+
+    /**
+     * Advances the clock directly to a later tick, skipping the ticks in between.
+     *
+     * <p>The clock always moves forward by at least one tick and never beyond the end of the run.
+     *
+     * @param targetTick the tick to advance to
+     */
+    public void advanceTo(int targetTick) {
+        if (!isRunning())
+            return;
+        tick = Math.min(Math.max(targetTick, tick + 1), numOfTicksToRun + numOfWarmUpTicks);
+    }
 }
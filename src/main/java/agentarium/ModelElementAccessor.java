@@ -3,8 +3,11 @@ package agentarium;
 import agentarium.agents.Agent;
 import agentarium.agents.AgentSet;
 import agentarium.environments.Environment;
+import agentarium.multithreading.requestresponse.RequestResponseController;
 import agentarium.multithreading.requestresponse.RequestResponseInterface;
 import agentarium.multithreading.utils.WorkerCache;
+import agentarium.scheduler.EventDrivenScheduler;
+import agentarium.scheduler.ModelScheduler;
 
 import java.util.function.Predicate;
 
@@ -77,6 +80,52 @@ public class ModelElementAccessor {
         return clock;
     }
 
+    /**
+     * Retrieves the controller shared by every model element of this accessor's run, which identifies the run.
+     *
+     * @return the run's {@link RequestResponseController}, or null if this accessor has no request-response interface
+     */
+    public RequestResponseController getRequestResponseController() {
+        return requestResponseInterface == null ? null : requestResponseInterface.getRequestResponseController();
+    }
+
+    /**
+     * Puts this agent to sleep until the given tick, when using an {@link EventDrivenScheduler}.
+     *
+     * <p>The agent is not run on the ticks in between; its results for those ticks repeat its current values.
+     * With any other scheduler, or for the environment, this has no effect.
+     *
+     * @param wakeTick the tick at which the agent runs again
+     */
+    public void sleepUntil(int wakeTick) {
+        ModelScheduler scheduler = settings.getModelScheduler();
+        if (scheduler instanceof EventDrivenScheduler && modelElement instanceof Agent)
+            ((EventDrivenScheduler) scheduler).sleepUntil(this, modelElement.getName(), wakeTick);
+    }
+
+    /**
+     * Puts this agent to sleep until another model element wakes it with {@link #wakeAgent(String)},
+     * when using an {@link EventDrivenScheduler}. With any other scheduler, or for the environment,
+     * this has no effect.
+     */
+    public void sleep() {
+        ModelScheduler scheduler = settings.getModelScheduler();
+        if (scheduler instanceof EventDrivenScheduler && modelElement instanceof Agent)
+            ((EventDrivenScheduler) scheduler).sleep(this, modelElement.getName());
+    }
+
+    /**
+     * Wakes a sleeping agent so that it runs from the next tick, when using an {@link EventDrivenScheduler}.
+     * With any other scheduler this has no effect, since every agent runs on every tick.
+     *
+     * @param agentName the name of the agent to wake
+     */
+    public void wakeAgent(String agentName) {
+        ModelScheduler scheduler = settings.getModelScheduler();
+        if (scheduler instanceof EventDrivenScheduler)
+            ((EventDrivenScheduler) scheduler).wake(this, agentName);
+    }
+
     /**
      * Checks whether an agent with the given name exists in this core/thread.
      *
@@ -3,6 +3,10 @@ package agentarium;
 import agentarium.agents.AgentGenerator;
 import agentarium.agents.DefaultAgentGenerator;
 import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.results.ResultsAggregation;
+import agentarium.attributes.results.ResultsAggregator;
+import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
+import agentarium.checkpoints.ModelCheckpoint;
 import agentarium.environments.DefaultEnvironmentGenerator;
 import agentarium.environments.EnvironmentGenerator;
 import agentarium.results.Results;
@@ -11,6 +15,8 @@ import com.google.gson.reflect.TypeToken;
 import utils.DeepCopier;
 
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
 
 /**
  * Encapsulates all configurable settings for a simulation model run.
@@ -43,6 +49,19 @@ public class ModelSettings {
     // Attribute configurations for attribute set results storage
 
     private boolean areAttributeSetResultsStoredOnDisk = true;
+    private Class<? extends AttributeSetResultsDatabase> attributeSetResultsDatabaseClass = null;
+    private boolean areAttributeSetResultsWrittenAsynchronously = false;
+    private boolean areAttributeSetResultsCompressed = false;
+    private boolean areAttributeSetResultsSpilledToDisk = false;
+    private long attributeSetResultsMemoryBudget = 0;
+    private final ResultsAggregation agentResultsAggregation = new ResultsAggregation();
+    private boolean areAggregatedAgentResultsStored = true;
+    private boolean areAgentResultsAccumulatedInParallel = false;
+
+    // Checkpointing of model state
+    private int checkpointInterval = 0;
+    private Consumer<ModelCheckpoint> checkpointListener = null;
+    private Path checkpointDirectory = null;
 
     // Core components required for simulation
     private Class<? extends Results> resultsClass = null;
@@ -101,6 +120,107 @@ public class ModelSettings {
         this.areAttributeSetResultsStoredOnDisk = areAttributeSetResultsStoredOnDisk;
     }
 
+    /**
+     * Sets the database class used to store attribute set results, taking precedence over
+     * {@link #setAreAttributeSetResultsStoredOnDisk(boolean)}, e.g. {@link agentarium.attributes.results.databases.SharedDiskBasedAttributeSetResultsDatabase}.
+     */
+    public <T extends AttributeSetResultsDatabase> void setAttributeSetResultsDatabaseClass(Class<T> attributeSetResultsDatabaseClass) {
+        this.attributeSetResultsDatabaseClass = attributeSetResultsDatabaseClass;
+    }
+
+    /**
+     * Sets whether recorded values are written to their results database by background writer threads,
+     * overlapping results I/O with the simulation.
+     */
+    public void setAreAttributeSetResultsWrittenAsynchronously(boolean areAttributeSetResultsWrittenAsynchronously) {
+        this.areAttributeSetResultsWrittenAsynchronously = areAttributeSetResultsWrittenAsynchronously;
+    }
+
+    /**
+     * Sets whether results held in memory are compressed, trading some recording and retrieval speed
+     * for a smaller memory footprint.
+     */
+    public void setAreAttributeSetResultsCompressed(boolean areAttributeSetResultsCompressed) {
+        this.areAttributeSetResultsCompressed = areAttributeSetResultsCompressed;
+    }
+
+    /**
+     * Sets whether results are recorded in memory and spilled to disk when memory runs low, taking precedence over
+     * {@link #setAreAttributeSetResultsStoredOnDisk(boolean)}.
+     */
+    public void setAreAttributeSetResultsSpilledToDisk(boolean areAttributeSetResultsSpilledToDisk) {
+        this.areAttributeSetResultsSpilledToDisk = areAttributeSetResultsSpilledToDisk;
+    }
+
+    /**
+     * Sets how many bytes of results may be held in memory before they spill to disk, or 0 to use the default
+     * budget of {@link agentarium.attributes.results.databases.TieredAttributeSetResultsDatabase}, a quarter of the
+     * maximum heap unless changed.
+     */
+    public void setAttributeSetResultsMemoryBudget(long attributeSetResultsMemoryBudget) {
+        if (attributeSetResultsMemoryBudget < 0)
+            throw new IllegalArgumentException("Memory budget must not be negative, got " + attributeSetResultsMemoryBudget);
+        this.attributeSetResultsMemoryBudget = attributeSetResultsMemoryBudget;
+    }
+
+    /**
+     * Aggregates an agent property across agents as the model runs, using the aggregator's result for each tick
+     * as the property's accumulated results in place of {@link Results}' own accumulation.
+     */
+    public void addAgentPropertyAggregator(String attributeSetName, String propertyName, ResultsAggregator<?> aggregator) {
+        agentResultsAggregation.addPropertyAggregator(attributeSetName, propertyName, aggregator);
+    }
+
+    /** Aggregates an agent pre-event across agents as the model runs. */
+    public void addAgentPreEventAggregator(String attributeSetName, String preEventName, ResultsAggregator<?> aggregator) {
+        agentResultsAggregation.addPreEventAggregator(attributeSetName, preEventName, aggregator);
+    }
+
+    /** Aggregates an agent post-event across agents as the model runs. */
+    public void addAgentPostEventAggregator(String attributeSetName, String postEventName, ResultsAggregator<?> aggregator) {
+        agentResultsAggregation.addPostEventAggregator(attributeSetName, postEventName, aggregator);
+    }
+
+    /**
+     * Sets whether each agent's values of aggregated attributes are also stored. When they are not, memory for
+     * aggregated attributes no longer grows with the number of agents, but their per-agent series are empty.
+     */
+    public void setAreAggregatedAgentResultsStored(boolean areAggregatedAgentResultsStored) {
+        this.areAggregatedAgentResultsStored = areAggregatedAgentResultsStored;
+    }
+
+    /**
+     * Sets whether agent results are accumulated in parallel, as a fork/join tree over the agents of each worker
+     * thread started as soon as the worker finishes. Requires the results class to override its combine methods;
+     * results that cannot {@link Results#canCombineAgentResults() combine} are accumulated in order instead.
+     */
+    public void setAreAgentResultsAccumulatedInParallel(boolean areAgentResultsAccumulatedInParallel) {
+        this.areAgentResultsAccumulatedInParallel = areAgentResultsAccumulatedInParallel;
+    }
+
+    /**
+     * Sets how many ticks apart checkpoints of the model's state are taken, or 0 to take none. Checkpoints are
+     * passed to the checkpoint listener and saved to the checkpoint directory, if set.
+     */
+    public void setCheckpointInterval(int checkpointInterval) {
+        if (checkpointInterval < 0)
+            throw new IllegalArgumentException("Checkpoint interval must not be negative, got " + checkpointInterval);
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /** Sets the listener that receives each checkpoint, possibly from a worker thread, or null for none. */
+    public void setCheckpointListener(Consumer<ModelCheckpoint> checkpointListener) {
+        this.checkpointListener = checkpointListener;
+    }
+
+    /**
+     * Sets the directory checkpoints are saved to, from which a run that stopped can be resumed with
+     * {@link ModelCheckpoint#loadLatest(Path)}, or null to save none.
+     */
+    public void setCheckpointDirectory(Path checkpointDirectory) {
+        this.checkpointDirectory = checkpointDirectory;
+    }
+
     /** Sets the results class that will be used to store and process simulation data. */
     public <T extends Results> void setResultsClass(Class<T> resultsClass) {
         this.resultsClass = resultsClass;
@@ -183,6 +303,61 @@ public class ModelSettings {
         return areAttributeSetResultsStoredOnDisk;
     }
 
+    /** @return the database class used to store attribute set results, or null to choose by storage location */
+    public Class<? extends AttributeSetResultsDatabase> getAttributeSetResultsDatabaseClass() {
+        return attributeSetResultsDatabaseClass;
+    }
+
+    /** @return true if recorded values are written to their results database by background writer threads */
+    public boolean getAreAttributeSetResultsWrittenAsynchronously() {
+        return areAttributeSetResultsWrittenAsynchronously;
+    }
+
+    /** @return true if results held in memory are compressed */
+    public boolean getAreAttributeSetResultsCompressed() {
+        return areAttributeSetResultsCompressed;
+    }
+
+    /** @return true if results are spilled to disk when memory runs low */
+    public boolean getAreAttributeSetResultsSpilledToDisk() {
+        return areAttributeSetResultsSpilledToDisk;
+    }
+
+    /** @return the bytes of results that may be held in memory before spilling, or 0 for the default */
+    public long getAttributeSetResultsMemoryBudget() {
+        return attributeSetResultsMemoryBudget;
+    }
+
+    /** @return the aggregators registered for agent attributes */
+    public ResultsAggregation getAgentResultsAggregation() {
+        return agentResultsAggregation;
+    }
+
+    /** @return true if each agent's values of aggregated attributes are also stored */
+    public boolean getAreAggregatedAgentResultsStored() {
+        return areAggregatedAgentResultsStored;
+    }
+
+    /** @return true if agent results are accumulated in parallel */
+    public boolean getAreAgentResultsAccumulatedInParallel() {
+        return areAgentResultsAccumulatedInParallel;
+    }
+
+    /** @return the number of ticks between checkpoints, or 0 if none are taken */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /** @return the listener that receives each checkpoint, or null if none is set */
+    public Consumer<ModelCheckpoint> getCheckpointListener() {
+        return checkpointListener;
+    }
+
+    /** @return the directory checkpoints are saved to, or null if none is set */
+    public Path getCheckpointDirectory() {
+        return checkpointDirectory;
+    }
+
     /** @return a new results instance used to process and store simulation output */
     public Results getResults() throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
         if (results != null)
@@ -220,6 +220,18 @@ public class AgentSet implements Iterable<Agent> {
         return shuffledAgents.iterator();
     }
 
+    /**
+     * Returns a randomised iterator over the agents in this set, shuffled with the given source of randomness.
+     *
+     * @param random the source of randomness
+     * @return an iterator that yields agents in random order
+     */
+    public Iterator<Agent> getRandomIterator(Random random) {
+        List<Agent> shuffledAgents = new ArrayList<>(agents);
+        Collections.shuffle(shuffledAgents, random);
+        return shuffledAgents.iterator();
+    }
+
     /**
      * Calls {@code setup()} on all agents in the set.
      * Should be called before the simulation begins.
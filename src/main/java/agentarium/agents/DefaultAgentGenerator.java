@@ -12,7 +12,7 @@ import agentarium.attributes.AttributeSetCollection;
  */
 public class DefaultAgentGenerator extends AgentGenerator {
 
-    /** Internal counter to ensure each agent has a unique name */
+    /** Internal counter to ensure each agent has a unique name, guarded by the class for models generating agents at once */
     private static int agentCount = 0;
 
     /**
@@ -28,9 +28,10 @@ public class DefaultAgentGenerator extends AgentGenerator {
                 modelSettings.getBaseAgentAttributeSetCollection().deepCopy();
 
         // Create and name the agent uniquely
-        Agent newAgent = new Agent("Agent_" + agentCount, agentAttributeSetCollection);
-        agentCount++;
-
-        return newAgent;
+        int agentNumber;
+        synchronized (DefaultAgentGenerator.class) {
+            agentNumber = agentCount++;
+        }
+        return new Agent("Agent_" + agentNumber, agentAttributeSetCollection);
     }
 }
@@ -10,7 +10,8 @@ import java.io.Serializable;
  *
  * <p>Attributes define a unit of state or behaviour that is executed during a simulation tick
  * via the {@link #run()} method. Attributes may optionally be marked as "recorded" to indicate
- * that their output should be included in simulation results.
+ * that their output should be included in simulation results, and given a {@link RecordingPolicy} to
+ * choose at which ticks their values are stored.
  *
  * <p>Each attribute may be associated with a specific {@link ModelElement} (e.g. an agent or
  * environment) to provide context during execution.
@@ -23,6 +24,9 @@ public abstract class Attribute implements Serializable, DeepCopyable<Attribute>
     /** Whether this attribute should be recorded in simulation output */
     private final boolean isRecorded;
 
+    /** The ticks at which this attribute's value is stored, if it is recorded */
+    private RecordingPolicy recordingPolicy = RecordingPolicy.everyTick();
+
     /** The model element (e.g. agent or environment) this attribute is associated with */
     private ModelElement associatedModelElement;
 
@@ -70,6 +74,25 @@ public abstract class Attribute implements Serializable, DeepCopyable<Attribute>
         return isRecorded;
     }
 
+    /**
+     * Sets the ticks at which this attribute's value is stored. Has no effect unless the attribute is recorded,
+     * and must be set before the model is run.
+     *
+     * @param recordingPolicy the recording policy
+     */
+    public void setRecordingPolicy(RecordingPolicy recordingPolicy) {
+        if (recordingPolicy == null)
+            throw new IllegalArgumentException("Recording policy must not be null");
+        this.recordingPolicy = recordingPolicy;
+    }
+
+    /**
+     * @return the ticks at which this attribute's value is stored, {@link RecordingPolicy#everyTick()} by default
+     */
+    public RecordingPolicy getRecordingPolicy() {
+        return recordingPolicy;
+    }
+
     /**
      * Executes the logic associated with this attribute.
      * Called once per simulation tick.
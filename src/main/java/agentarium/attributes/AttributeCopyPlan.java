@@ -0,0 +1,132 @@
+package agentarium.attributes;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A per-class recipe for copying an attribute, resolved once and cached for the lifetime of the class.
+ *
+ * <p>The default {@link Property#deepCopy()} and {@link Event#deepCopy()} copy an attribute either through a
+ * copy constructor of its concrete class or, failing that, by calling its no-argument constructor and copying
+ * each field declared by that class. Looking these up reflectively on every copy is costly, since attributes
+ * are copied once per agent whenever a model is set up. This class performs the lookup the first time a class
+ * is copied and keeps {@link MethodHandle}s for the chosen constructor and field accessors, so later copies
+ * only invoke the handles.
+ *
+ * <p>Static fields are not part of an instance's state and are skipped.
+ */
+final class AttributeCopyPlan {
+
+    /** Copy plans keyed by concrete attribute class */
+    private static final ClassValue<AttributeCopyPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected AttributeCopyPlan computeValue(Class<?> type) {
+            return new AttributeCopyPlan(type);
+        }
+    };
+
+    private static final MethodType COPY_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /** Handle for {@code new T(T)}, or {@code null} if the class has no copy constructor */
+    private final MethodHandle copyConstructor;
+
+    /** Handle for {@code new T()}, used when there is no copy constructor */
+    private final MethodHandle constructor;
+
+    /** Field getters, paired by index with {@link #fieldSetters} */
+    private final MethodHandle[] fieldGetters;
+
+    /** Field setters, paired by index with {@link #fieldGetters} */
+    private final MethodHandle[] fieldSetters;
+
+    /** The reason no plan could be built, rethrown on each copy attempt */
+    private final ReflectiveOperationException failure;
+
+    /**
+     * Returns the cached copy plan for a class, building it on first use.
+     *
+     * @param type the concrete attribute class
+     * @return the copy plan for the class
+     */
+    static AttributeCopyPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    private AttributeCopyPlan(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle resolvedCopyConstructor = null;
+        MethodHandle resolvedConstructor = null;
+        List<MethodHandle> getters = new ArrayList<>();
+        List<MethodHandle> setters = new ArrayList<>();
+        ReflectiveOperationException resolutionFailure = null;
+
+        try {
+            Constructor<?> copyCtor = findConstructor(type, type);
+            if (copyCtor != null) {
+                copyCtor.setAccessible(true);
+                resolvedCopyConstructor = lookup.unreflectConstructor(copyCtor).asType(COPY_CONSTRUCTOR_TYPE);
+            } else {
+                Constructor<?> ctor = type.getDeclaredConstructor();
+                ctor.setAccessible(true);
+                resolvedConstructor = lookup.unreflectConstructor(ctor).asType(CONSTRUCTOR_TYPE);
+
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()))
+                        continue;
+                    field.setAccessible(true);
+                    getters.add(lookup.unreflectGetter(field).asType(GETTER_TYPE));
+                    setters.add(lookup.unreflectSetter(field).asType(SETTER_TYPE));
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            resolutionFailure = e;
+        } catch (RuntimeException e) {
+            resolutionFailure = new ReflectiveOperationException(e);
+        }
+
+        this.copyConstructor = resolvedCopyConstructor;
+        this.constructor = resolvedConstructor;
+        this.fieldGetters = getters.toArray(new MethodHandle[0]);
+        this.fieldSetters = setters.toArray(new MethodHandle[0]);
+        this.failure = resolutionFailure;
+    }
+
+    /** Finds a declared single-argument constructor without throwing when it is absent */
+    private static Constructor<?> findConstructor(Class<?> type, Class<?> parameterType) {
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            if (parameterTypes.length == 1 && parameterTypes[0] == parameterType)
+                return constructor;
+        }
+        return null;
+    }
+
+    /**
+     * Creates a copy of the given attribute according to this plan.
+     *
+     * @param source the attribute to copy
+     * @return the copy
+     * @throws Throwable if the plan could not be built or the constructor or a field access fails
+     */
+    Object copy(Object source) throws Throwable {
+        if (failure != null)
+            throw failure;
+
+        if (copyConstructor != null)
+            return copyConstructor.invokeExact(source);
+
+        Object copy = constructor.invokeExact();
+        for (int i = 0; i < fieldGetters.length; i++)
+            fieldSetters[i].invokeExact(copy, fieldGetters[i].invokeExact(source));
+        return copy;
+    }
+}
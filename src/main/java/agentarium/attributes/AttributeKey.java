@@ -0,0 +1,136 @@
+package agentarium.attributes;
+
+/**
+ * A typed handle to a property within an {@link AttributeSetCollection}, for fast repeated access from model code.
+ *
+ * <p>Looking a property up with {@code collection.get("Food").getProperties().get("Hunger")} costs two
+ * name lookups and an unchecked cast on every call. A key is declared once, typically as a constant, e.g.
+ * {@code AttributeKey<Double> HUNGER = AttributeKey.of("Food", "Hunger", Double.class)}, and passed to
+ * {@link AttributeSetCollection#getProperty(AttributeKey)}, {@link AttributeSetCollection#getValue(AttributeKey)}
+ * or {@link AttributeSetCollection#setValue(AttributeKey, Object)}.
+ *
+ * <p>The first lookup resolves the key to the index of its attribute set and the index of the property within
+ * that set. Collections copied from the same template share a layout, so later lookups on any of them read the
+ * property straight from those indexes after checking its names. A collection with a different layout resolves
+ * the key by name again. Keys are safe to share between threads.
+ *
+ * @param <T> the value type of the property
+ */
+public final class AttributeKey<T> {
+
+    /** Marker for a key that has not yet been resolved against any collection */
+    private static final long UNRESOLVED = -1L;
+
+    /** The name of the attribute set holding the property */
+    private final String attributeSetName;
+
+    /** The name of the property */
+    private final String propertyName;
+
+    /** The value type of the property */
+    private final Class<T> type;
+
+    /** The last resolved location, as {@code attributeSetIndex << 32 | propertyIndex} */
+    private volatile long resolvedLocation = UNRESOLVED;
+
+    private AttributeKey(String attributeSetName, String propertyName, Class<T> type) {
+        this.attributeSetName = attributeSetName;
+        this.propertyName = propertyName;
+        this.type = type;
+    }
+
+    /**
+     * Creates a key for a property.
+     *
+     * @param attributeSetName the name of the attribute set holding the property
+     * @param propertyName the name of the property
+     * @param type the value type of the property
+     * @param <T> the value type of the property
+     * @return the key
+     */
+    public static <T> AttributeKey<T> of(String attributeSetName, String propertyName, Class<T> type) {
+        if (attributeSetName == null || propertyName == null || type == null)
+            throw new IllegalArgumentException("Attribute set name, property name and type must not be null");
+        return new AttributeKey<>(attributeSetName, propertyName, type);
+    }
+
+    /** @return the name of the attribute set holding the property */
+    public String getAttributeSetName() {
+        return attributeSetName;
+    }
+
+    /** @return the name of the property */
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /** @return the value type of the property */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @return the key in the form used by dependency declarations, see {@link AttributeSet#attributeKey(String, String)}
+     */
+    public String getAttributeKey() {
+        return AttributeSet.attributeKey(attributeSetName, propertyName);
+    }
+
+    /**
+     * Finds the property this key refers to in a collection, using the cached indexes when they still match.
+     *
+     * @param collection the collection to look in
+     * @return the property
+     * @throws IllegalArgumentException if the collection holds no such property, or it has a different type
+     */
+    @SuppressWarnings("unchecked")
+    Property<T> resolve(AttributeSetCollection collection) {
+        long location = resolvedLocation;
+        if (location != UNRESOLVED) {
+            Property<?> property = propertyAt(collection, (int) (location >>> 32), (int) location);
+            if (property != null)
+                return (Property<T>) property;
+        }
+        return resolveByName(collection);
+    }
+
+    /** Returns the property at the given indexes if it matches this key, or null otherwise */
+    private Property<?> propertyAt(AttributeSetCollection collection, int attributeSetIndex, int propertyIndex) {
+        if (attributeSetIndex >= collection.size())
+            return null;
+
+        AttributeSet attributeSet = collection.get(attributeSetIndex);
+        if (!attributeSet.getName().equals(attributeSetName) || propertyIndex >= attributeSet.getProperties().size())
+            return null;
+
+        Property<?> property = attributeSet.getProperties().get(propertyIndex);
+        if (!property.getName().equals(propertyName) || !type.isAssignableFrom(property.getType()))
+            return null;
+        return property;
+    }
+
+    /** Resolves the key by name and caches the indexes found */
+    @SuppressWarnings("unchecked")
+    private Property<T> resolveByName(AttributeSetCollection collection) {
+        int attributeSetIndex = collection.indexOf(attributeSetName);
+        if (attributeSetIndex < 0)
+            throw new IllegalArgumentException("No attribute set named " + attributeSetName);
+
+        int propertyIndex = collection.get(attributeSetIndex).getProperties().indexOf(propertyName);
+        if (propertyIndex < 0)
+            throw new IllegalArgumentException("No property named " + getAttributeKey());
+
+        Property<?> property = collection.get(attributeSetIndex).getProperties().get(propertyIndex);
+        if (!type.isAssignableFrom(property.getType()))
+            throw new IllegalArgumentException("Property " + getAttributeKey() + " has type "
+                    + property.getType().getSimpleName() + ", not " + type.getSimpleName());
+
+        resolvedLocation = ((long) attributeSetIndex << 32) | propertyIndex;
+        return (Property<T>) property;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeKey<" + type.getSimpleName() + ">(" + getAttributeKey() + ")";
+    }
+}
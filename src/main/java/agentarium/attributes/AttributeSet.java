@@ -1,9 +1,15 @@
 package agentarium.attributes;
 
+import agentarium.ModelClock;
 import agentarium.ModelElement;
+import agentarium.attributes.results.AttributeSetRecordingPlan;
 import agentarium.attributes.results.AttributeSetResults;
 import utils.DeepCopyable;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Represents a named collection of attributes, organised into pre-events, properties, and post-events.
  *
@@ -16,6 +22,9 @@ public class AttributeSet implements DeepCopyable<AttributeSet> {
     /** Global counter used to generate default names for unnamed attribute sets */
     private static int attributeSetCount = 0;
 
+    /** Tick argument meaning the model clock's current tick */
+    private static final int CURRENT_TICK = -1;
+
     /** The name of this attribute set */
     private final String name;
 
@@ -28,6 +37,15 @@ public class AttributeSet implements DeepCopyable<AttributeSet> {
     /** Events executed after properties — typically responses or side effects */
     private final Events postEvents;
 
+    /** Attribute keys this set reads from outside its own properties */
+    private final Set<String> declaredReads = new HashSet<>();
+
+    /** Attribute keys this set writes in addition to its own properties */
+    private final Set<String> declaredWrites = new HashSet<>();
+
+    /** Whether this set has declared its reads and writes, making it eligible for parallel execution */
+    private boolean hasDeclaredDependencies = false;
+
     /**
      * Constructs an attribute set with a given name and specified components.
      *
@@ -92,6 +110,65 @@ public class AttributeSet implements DeepCopyable<AttributeSet> {
         return postEvents;
     }
 
+    /**
+     * Builds the key used to identify an attribute in read and write declarations.
+     *
+     * @param attributeSetName the name of the attribute set holding the attribute
+     * @param attributeName the name of the attribute
+     * @return the attribute key, in the form {@code "attributeSetName.attributeName"}
+     */
+    public static String attributeKey(String attributeSetName, String attributeName) {
+        return attributeSetName + "." + attributeName;
+    }
+
+    /**
+     * Declares attributes that this set reads during {@link #run(AttributeSetResults)}.
+     *
+     * <p>Declaring reads or writes marks the set as independent of any set it does not conflict with, which
+     * allows {@link AttributeSetCollection} to run it in parallel with them. Keys are normally built with
+     * {@link #attributeKey(String, String)}, but any string shared between the declaring sets will do.
+     * Sets that declare nothing are always run in their original order relative to every other set.
+     *
+     * @param attributeKeys the keys of the attributes read by this set
+     */
+    public void declareReads(String... attributeKeys) {
+        Collections.addAll(declaredReads, attributeKeys);
+        hasDeclaredDependencies = true;
+    }
+
+    /**
+     * Declares attributes outside this set's own properties that it writes during
+     * {@link #run(AttributeSetResults)}. This set's own properties are always treated as written by it.
+     *
+     * @param attributeKeys the keys of the attributes written by this set
+     */
+    public void declareWrites(String... attributeKeys) {
+        Collections.addAll(declaredWrites, attributeKeys);
+        hasDeclaredDependencies = true;
+    }
+
+    /** @return whether this set has declared its reads and writes */
+    public boolean hasDeclaredDependencies() {
+        return hasDeclaredDependencies;
+    }
+
+    /** @return the attribute keys declared as read by this set */
+    public Set<String> getDeclaredReads() {
+        return Collections.unmodifiableSet(declaredReads);
+    }
+
+    /**
+     * Returns every attribute key written by this set: its declared writes plus the keys of its own properties.
+     *
+     * @return the attribute keys written by this set
+     */
+    public Set<String> getWrites() {
+        Set<String> writes = new HashSet<>(declaredWrites);
+        for (int i = 0; i < properties.size(); i++)
+            writes.add(attributeKey(name, properties.get(i).getName()));
+        return writes;
+    }
+
     /**
      * Executes all attributes in the prescribed order:
      * <ol>
@@ -106,54 +183,189 @@ public class AttributeSet implements DeepCopyable<AttributeSet> {
      * @param attributeSetResults the results object used to collect recorded values
      */
     public void run(AttributeSetResults attributeSetResults) {
-        preEvents.run();
-        recordPreEvents(attributeSetResults);
+        run(attributeSetResults, isRecording());
+    }
+
+    /**
+     * Executes all attributes as {@link #run(AttributeSetResults)} does, with the decision whether this tick is
+     * recorded already made by the caller, so the model clock is consulted once per tick rather than once per set.
+     *
+     * @param attributeSetResults the results object used to collect recorded values
+     * @param isRecording whether values should be recorded for this tick
+     */
+    public void run(AttributeSetResults attributeSetResults, boolean isRecording) {
+        runPreEvents(attributeSetResults, isRecording);
 
         properties.run();
-        recordProperties(attributeSetResults);
+        recordProperties(attributeSetResults, isRecording);
+
+        runPostEvents(attributeSetResults, isRecording);
+    }
+
+    /**
+     * Executes the pre-events of this set and records their triggered state.
+     *
+     * <p>Together with {@link #recordProperties(AttributeSetResults)} and
+     * {@link #runPostEvents(AttributeSetResults)}, this allows a scheduler to run the phases of
+     * {@link #run(AttributeSetResults)} separately, e.g. to execute properties across many agents in one batch.
+     *
+     * @param attributeSetResults the results object used to collect recorded values
+     */
+    public void runPreEvents(AttributeSetResults attributeSetResults) {
+        runPreEvents(attributeSetResults, isRecording());
+    }
+
+    /**
+     * Executes the pre-events of this set and, if the tick is recorded, records their triggered state.
+     *
+     * @param attributeSetResults the results object used to collect recorded values
+     * @param isRecording whether values should be recorded for this tick
+     */
+    public void runPreEvents(AttributeSetResults attributeSetResults, boolean isRecording) {
+        preEvents.run();
+        if (isRecording)
+            recordPreEvents(attributeSetResults, false, CURRENT_TICK);
+    }
 
+    /**
+     * Executes the post-events of this set and records their triggered state.
+     *
+     * @param attributeSetResults the results object used to collect recorded values
+     */
+    public void runPostEvents(AttributeSetResults attributeSetResults) {
+        runPostEvents(attributeSetResults, isRecording());
+    }
+
+    /**
+     * Executes the post-events of this set and, if the tick is recorded, records their triggered state.
+     *
+     * @param attributeSetResults the results object used to collect recorded values
+     * @param isRecording whether values should be recorded for this tick
+     */
+    public void runPostEvents(AttributeSetResults attributeSetResults, boolean isRecording) {
         postEvents.run();
-        recordPostEvents(attributeSetResults);
+        if (isRecording)
+            recordPostEvents(attributeSetResults, false, CURRENT_TICK);
+    }
+
+    /** Determines from the associated model element's clock whether the current tick is recorded */
+    private boolean isRecording() {
+        return !properties.getAssociatedModelElement().getModelElementAccessor().getModelClock().isWarmingUp();
+    }
+
+    /**
+     * Records the current values of all properties marked as recorded.
+     *
+     * <p>Nothing is recorded while the model clock is warming up.
+     *
+     * @param attributeSetResults the results object used to collect recorded values
+     */
+    public void recordProperties(AttributeSetResults attributeSetResults) {
+        recordProperties(attributeSetResults, isRecording());
     }
 
-    /** Records the triggered state of pre-events if marked as recorded */
-    private void recordPreEvents(AttributeSetResults attributeSetResults) {
-        if (preEvents.getAssociatedModelElement().getModelElementAccessor().getModelClock().isWarmingUp())
+    /**
+     * Records the current values of all properties marked as recorded, if the tick is recorded.
+     *
+     * @param attributeSetResults the results object used to collect recorded values
+     * @param isRecording whether values should be recorded for this tick
+     */
+    public void recordProperties(AttributeSetResults attributeSetResults, boolean isRecording) {
+        if (isRecording)
+            recordPropertyValues(attributeSetResults, CURRENT_TICK);
+    }
+
+    /**
+     * Records a tick in which this set was not run, e.g. because its agent was asleep.
+     *
+     * <p>Recorded properties are stored with their current values and recorded events as not triggered, so the
+     * per-tick series stays aligned with agents that did run. Unlike the other recording methods this does not
+     * consult the model clock: callers are responsible for not recording warm-up ticks.
+     *
+     * @param attributeSetResults the results object used to collect recorded values
+     */
+    public void recordIdleTick(AttributeSetResults attributeSetResults) {
+        recordIdleTick(attributeSetResults, CURRENT_TICK);
+    }
+
+    /**
+     * Records an earlier tick in which this set was not run, as {@link #recordIdleTick(AttributeSetResults)}
+     * does for the current tick. The tick is needed for attributes with a {@link RecordingPolicy}.
+     *
+     * @param attributeSetResults the results object used to collect recorded values
+     * @param tick the model clock tick being recorded
+     */
+    public void recordIdleTick(AttributeSetResults attributeSetResults, int tick) {
+        recordPreEvents(attributeSetResults, true, tick);
+        recordPropertyValues(attributeSetResults, tick);
+        recordPostEvents(attributeSetResults, true, tick);
+    }
+
+    /**
+     * Sets the tick being recorded on the results' recording plan, if any of its attributes have recording
+     * policies or aggregators that depend on it.
+     */
+    private void setRecordingTick(AttributeSetRecordingPlan recordingPlan, int tick) {
+        if (!recordingPlan.isTickNeeded())
             return;
+        ModelClock modelClock = properties.getAssociatedModelElement().getModelElementAccessor().getModelClock();
+        int recordedTick = (tick == CURRENT_TICK ? modelClock.getTick() : tick) - modelClock.getNumOfWarmUpTicks();
+        recordingPlan.setTick(recordedTick, modelClock.getNumOfTicksToRun() - 1);
+    }
 
+    /** Records the triggered state of pre-events marked as recorded, through the results' recording plan */
+    private void recordPreEvents(AttributeSetResults attributeSetResults, boolean isIdle, int tick) {
+        AttributeSetRecordingPlan recordingPlan = attributeSetResults.getRecordingPlan();
+        setRecordingTick(recordingPlan, tick);
         for (int i = 0; i < preEvents.size(); i++) {
-            Event event = preEvents.get(i);
-            if (event.isRecorded())
-                attributeSetResults.recordPreEvent(event.getName(), event.isTriggered());
+            int slot = recordingPlan.getPreEventSlot(i);
+            if (slot != AttributeSetRecordingPlan.NOT_RECORDED)
+                recordingPlan.recordPreEvent(slot, !isIdle && preEvents.get(i).isTriggered());
         }
     }
 
-    /** Records the values of properties if marked as recorded */
-    private void recordProperties(AttributeSetResults attributeSetResults) {
-        if (properties.getAssociatedModelElement().getModelElementAccessor().getModelClock().isWarmingUp())
-            return;
-
+    /** Records the values of properties marked as recorded, regardless of the clock */
+    private void recordPropertyValues(AttributeSetResults attributeSetResults, int tick) {
+        AttributeSetRecordingPlan recordingPlan = attributeSetResults.getRecordingPlan();
+        setRecordingTick(recordingPlan, tick);
         for (int i = 0; i < properties.size(); i++) {
-            Property<?> property = properties.get(i);
-            if (property.isRecorded())
-                attributeSetResults.recordProperty(property.getName(), property.get());
+            int slot = recordingPlan.getPropertySlot(i);
+            if (slot != AttributeSetRecordingPlan.NOT_RECORDED)
+                recordProperty(recordingPlan, slot, properties.get(i));
         }
     }
 
-    /** Records the triggered state of post-events if marked as recorded */
-    private void recordPostEvents(AttributeSetResults attributeSetResults) {
-        if (postEvents.getAssociatedModelElement().getModelElementAccessor().getModelClock().isWarmingUp())
-            return;
+    /** Records a single property to its slot, using the unboxed path for primitive-specialised properties */
+    private void recordProperty(AttributeSetRecordingPlan recordingPlan, int slot, Property<?> property) {
+        if (property instanceof DoubleProperty)
+            recordingPlan.recordDoubleProperty(slot, ((DoubleProperty) property).getDouble());
+        else if (property instanceof IntProperty)
+            recordingPlan.recordIntProperty(slot, ((IntProperty) property).getInt());
+        else if (property instanceof LongProperty)
+            recordingPlan.recordLongProperty(slot, ((LongProperty) property).getLong());
+        else if (property instanceof BooleanProperty)
+            recordingPlan.recordBooleanProperty(slot, ((BooleanProperty) property).getBoolean());
+        else
+            recordingPlan.recordProperty(slot, property.get());
+    }
 
+    /** Records the triggered state of post-events marked as recorded, through the results' recording plan */
+    private void recordPostEvents(AttributeSetResults attributeSetResults, boolean isIdle, int tick) {
+        AttributeSetRecordingPlan recordingPlan = attributeSetResults.getRecordingPlan();
+        setRecordingTick(recordingPlan, tick);
         for (int i = 0; i < postEvents.size(); i++) {
-            Event event = postEvents.get(i);
-            if (event.isRecorded())
-                attributeSetResults.recordPostEvent(event.getName(), event.isTriggered());
+            int slot = recordingPlan.getPostEventSlot(i);
+            if (slot != AttributeSetRecordingPlan.NOT_RECORDED)
+                recordingPlan.recordPostEvent(slot, !isIdle && postEvents.get(i).isTriggered());
         }
     }
 
     @Override
     public AttributeSet deepCopy() {
-        return new AttributeSet(name, preEvents.deepCopy(), properties.deepCopy(), postEvents.deepCopy());
+        AttributeSet attributeSetCopy = new AttributeSet(name, preEvents.deepCopy(), properties.deepCopy(), postEvents.deepCopy());
+        attributeSetCopy.declaredReads.addAll(declaredReads);
+        attributeSetCopy.declaredWrites.addAll(declaredWrites);
+        attributeSetCopy.hasDeclaredDependencies = hasDeclaredDependencies;
+        return attributeSetCopy;
     }
 }
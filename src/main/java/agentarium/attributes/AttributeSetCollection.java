@@ -2,6 +2,7 @@ package agentarium.attributes;
 
 import agentarium.ModelElement;
 import agentarium.attributes.results.AttributeSetCollectionResults;
+import agentarium.attributes.results.databases.ResultsBackend;
 import com.google.gson.reflect.TypeToken;
 import utils.DeepCopyable;
 
@@ -9,6 +10,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Represents a collection of {@link AttributeSet} instances associated with a single model element
@@ -35,12 +38,22 @@ public class AttributeSetCollection implements DeepCopyable<AttributeSetCollecti
     /** Results structure for recording attribute data across ticks */
     private AttributeSetCollectionResults attributeSetCollectionResults;
 
+    /** Whether attribute sets with no conflicting dependencies may run concurrently */
+    private boolean isParallelExecutionEnabled = false;
+
+    /** Waves of independent attribute sets, built on first parallel run and discarded when sets are added */
+    private AttributeSetExecutionPlan executionPlan = null;
+
+    /** The model element whose clock decides whether a tick is recorded */
+    private ModelElement associatedModelElement = null;
+
     /**
      * Sets the {@link ModelElement} associated with the collection's attributes.
      *
      * @param associatedModelElement the associated model element to add
      */
     public void setAssociatedModelElement(ModelElement associatedModelElement) {
+        this.associatedModelElement = associatedModelElement;
         for (AttributeSet attributeSet : attributeSets)
             attributeSet.setAssociatedModelElement(associatedModelElement);
     }
@@ -54,6 +67,7 @@ public class AttributeSetCollection implements DeepCopyable<AttributeSetCollecti
         Integer index = attributeSets.size();
         attributeSetIndexes.put(attributeSet.getName(), index);
         attributeSets.add(attributeSet);
+        executionPlan = null;
     }
 
     /**
@@ -77,6 +91,72 @@ public class AttributeSetCollection implements DeepCopyable<AttributeSetCollecti
         return attributeSets.get(index);
     }
 
+    /**
+     * Finds the position of an attribute set, so that it can then be retrieved by index.
+     *
+     * @param name the name of the attribute set
+     * @return the index of the attribute set, or -1 if not found
+     */
+    public int indexOf(String name) {
+        Integer index = attributeSetIndexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Retrieves the property referred to by a typed key.
+     *
+     * <p>After the first lookup this reads the property by index, without name lookups or casts in user code.
+     *
+     * @param key the key of the property
+     * @param <T> the value type of the property
+     * @return the property
+     * @throws IllegalArgumentException if the collection holds no such property, or it has a different type
+     */
+    public <T> Property<T> getProperty(AttributeKey<T> key) {
+        return key.resolve(this);
+    }
+
+    /**
+     * Retrieves the current value of the property referred to by a typed key.
+     *
+     * @param key the key of the property
+     * @param <T> the value type of the property
+     * @return the property's current value
+     */
+    public <T> T getValue(AttributeKey<T> key) {
+        return key.resolve(this).get();
+    }
+
+    /**
+     * Sets the value of the property referred to by a typed key.
+     *
+     * @param key the key of the property
+     * @param value the new value
+     * @param <T> the value type of the property
+     */
+    public <T> void setValue(AttributeKey<T> key, T value) {
+        key.resolve(this).set(value);
+    }
+
+    /**
+     * Finds a property by its attribute key, as built by {@link AttributeSet#attributeKey(String, String)}.
+     *
+     * @param attributeKey the key of the property, in the form {@code "attributeSetName.propertyName"}
+     * @return the matching {@link Property}, or null if no attribute set holds a property with that key
+     */
+    public Property<?> findProperty(String attributeKey) {
+        for (AttributeSet attributeSet : attributeSets) {
+            String prefix = attributeSet.getName() + ".";
+            if (!attributeKey.startsWith(prefix))
+                continue;
+
+            Property<?> property = attributeSet.getProperties().get(attributeKey.substring(prefix.length()));
+            if (property != null)
+                return property;
+        }
+        return null;
+    }
+
     /**
      * Retrieves an attribute set by its index.
      *
@@ -123,10 +203,82 @@ public class AttributeSetCollection implements DeepCopyable<AttributeSetCollecti
     /**
      * Executes all attribute sets in the collection for a single simulation tick.
      * Results are recorded into the corresponding {@link AttributeSetCollectionResults}.
+     *
+     * <p>Whether the tick is recorded is decided once from the model clock and passed to every attribute set.
      */
     public void run() {
-        for (AttributeSet attributeSet : attributeSets)
-            attributeSet.run(getResults().getAttributeSetResults(attributeSet.getName()));
+        boolean isRecording = isRecording();
+        if (isParallelExecutionEnabled && attributeSets.size() > 1) {
+            runInParallel(isRecording);
+            return;
+        }
+
+        for (int i = 0; i < attributeSets.size(); i++)
+            runAttributeSet(i, isRecording);
+    }
+
+    /** Checks the clock of the associated model element; collections not yet associated always record */
+    private boolean isRecording() {
+        if (associatedModelElement == null || associatedModelElement.getModelElementAccessor() == null)
+            return true;
+        return !associatedModelElement.getModelElementAccessor().getModelClock().isWarmingUp();
+    }
+
+    /**
+     * Enables or disables parallel execution of independent attribute sets.
+     *
+     * <p>When enabled, attribute sets that have declared their reads and writes and do not conflict with each
+     * other are run concurrently on the common {@link ForkJoinPool}, while conflicting or undeclared sets keep
+     * their original order (see {@link AttributeSetExecutionPlan}). Recorded results are identical to sequential
+     * execution provided the declarations are complete. The {@link ResultsBackend} bound to the calling thread is
+     * bound to each pool thread for as long as it runs a set, so results are stored as the run's settings
+     * describe. This is mainly useful for the environment, which runs alone on the coordinator thread.
+     *
+     * @param isParallelExecutionEnabled whether to run independent attribute sets in parallel
+     */
+    public void setParallelExecutionEnabled(boolean isParallelExecutionEnabled) {
+        this.isParallelExecutionEnabled = isParallelExecutionEnabled;
+    }
+
+    /** @return whether independent attribute sets are run in parallel */
+    public boolean isParallelExecutionEnabled() {
+        return isParallelExecutionEnabled;
+    }
+
+    /** Runs the attribute sets wave by wave, executing the sets within each wave concurrently */
+    private void runInParallel(boolean isRecording) {
+        if (executionPlan == null)
+            executionPlan = AttributeSetExecutionPlan.build(attributeSets);
+
+        // Pool threads do not share the calling thread's state, so give them its results backend
+        ResultsBackend resultsBackend = ResultsBackend.current();
+
+        for (int waveIndex = 0; waveIndex < executionPlan.getWaveCount(); waveIndex++) {
+            int[] wave = executionPlan.wave(waveIndex);
+            if (wave.length == 1) {
+                runAttributeSet(wave[0], isRecording);
+                continue;
+            }
+
+            ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[wave.length - 1];
+            for (int i = 1; i < wave.length; i++) {
+                int attributeSetIndex = wave[i];
+                Runnable task = () -> runAttributeSet(attributeSetIndex, isRecording);
+                tasks[i - 1] = ForkJoinPool.commonPool().submit(resultsBackend == null ? task : resultsBackend.wrap(task));
+            }
+
+            try {
+                runAttributeSet(wave[0], isRecording);
+            } finally {
+                for (ForkJoinTask<?> task : tasks)
+                    task.join();
+            }
+        }
+    }
+
+    /** Runs a single attribute set against its results */
+    private void runAttributeSet(int index, boolean isRecording) {
+        attributeSets.get(index).run(getResults().getAttributeSetResults(index), isRecording);
     }
 
     @Override
@@ -136,6 +288,7 @@ public class AttributeSetCollection implements DeepCopyable<AttributeSetCollecti
         for (AttributeSet attributeSet : attributeSets)
             attributeSetCollectionCopy.add(attributeSet.deepCopy());
         attributeSetCollectionCopy.attributeSetCollectionResults = attributeSetCollectionResults;
+        attributeSetCollectionCopy.isParallelExecutionEnabled = isParallelExecutionEnabled;
         return attributeSetCollectionCopy;
     }
 }
@@ -0,0 +1,95 @@
+package agentarium.attributes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Groups the attribute sets of a collection into waves that can each be executed in parallel.
+ *
+ * <p>Two attribute sets conflict when one writes an attribute the other reads or writes, or when either of
+ * them has not declared its dependencies (see {@link AttributeSet#declareReads(String...)}). Each set is placed
+ * in the wave after the latest wave holding an earlier set it conflicts with. Running the waves in order,
+ * with the sets inside a wave in any order, therefore gives the same result as running every set in its
+ * original sequence.
+ */
+public final class AttributeSetExecutionPlan {
+
+    /** Attribute set indexes for each wave, in execution order */
+    private final int[][] waves;
+
+    private AttributeSetExecutionPlan(int[][] waves) {
+        this.waves = waves;
+    }
+
+    /**
+     * Builds the execution plan for an ordered list of attribute sets.
+     *
+     * @param attributeSets the attribute sets, in their sequential execution order
+     * @return the execution plan
+     */
+    public static AttributeSetExecutionPlan build(List<AttributeSet> attributeSets) {
+        int count = attributeSets.size();
+        List<Set<String>> reads = new ArrayList<>(count);
+        List<Set<String>> writes = new ArrayList<>(count);
+        for (AttributeSet attributeSet : attributeSets) {
+            reads.add(attributeSet.getDeclaredReads());
+            writes.add(attributeSet.getWrites());
+        }
+
+        int[] levels = new int[count];
+        int levelCount = 0;
+        for (int j = 0; j < count; j++) {
+            for (int i = 0; i < j; i++) {
+                if (levels[i] >= levels[j] && conflicts(attributeSets.get(i), attributeSets.get(j),
+                        reads.get(i), writes.get(i), reads.get(j), writes.get(j)))
+                    levels[j] = levels[i] + 1;
+            }
+            levelCount = Math.max(levelCount, levels[j] + 1);
+        }
+
+        List<List<Integer>> waveLists = new ArrayList<>(levelCount);
+        for (int level = 0; level < levelCount; level++)
+            waveLists.add(new ArrayList<>());
+        for (int i = 0; i < count; i++)
+            waveLists.get(levels[i]).add(i);
+
+        int[][] waves = new int[levelCount][];
+        for (int level = 0; level < levelCount; level++)
+            waves[level] = waveLists.get(level).stream().mapToInt(Integer::intValue).toArray();
+        return new AttributeSetExecutionPlan(waves);
+    }
+
+    /** Determines whether two attribute sets must keep their relative order */
+    private static boolean conflicts(AttributeSet first, AttributeSet second,
+                                     Set<String> firstReads, Set<String> firstWrites,
+                                     Set<String> secondReads, Set<String> secondWrites) {
+        if (!first.hasDeclaredDependencies() || !second.hasDeclaredDependencies())
+            return true;
+
+        return !Collections.disjoint(firstWrites, secondReads)
+                || !Collections.disjoint(firstReads, secondWrites)
+                || !Collections.disjoint(firstWrites, secondWrites);
+    }
+
+    /** @return the number of waves in the plan */
+    public int getWaveCount() {
+        return waves.length;
+    }
+
+    /**
+     * Retrieves the attribute set indexes in a wave.
+     *
+     * @param waveIndex the index of the wave
+     * @return the indexes of the attribute sets in the wave, in ascending order
+     */
+    public int[] getWave(int waveIndex) {
+        return waves[waveIndex].clone();
+    }
+
+    /** Package-level access to a wave without copying it */
+    int[] wave(int waveIndex) {
+        return waves[waveIndex];
+    }
+}
@@ -75,13 +75,26 @@ public abstract class Attributes implements DeepCopyable<Attributes> {
      * Retrieves an attribute by its name.
      *
      * @param attributeName the name of the attribute to retrieve
-     * @return the corresponding {@link Attribute} instance
+     * @return the corresponding {@link Attribute} instance, or null if not found
      */
     protected Attribute getAttribute(String attributeName) {
-        int index = attributeIndexes.get(attributeName);
+        Integer index = attributeIndexes.get(attributeName);
+        if (index == null)
+            return null;
         return attributes.get(index);
     }
 
+    /**
+     * Finds the position of an attribute, so that it can then be retrieved by index.
+     *
+     * @param attributeName the name of the attribute
+     * @return the index of the attribute, or -1 if not found
+     */
+    public int indexOf(String attributeName) {
+        Integer index = attributeIndexes.get(attributeName);
+        return index == null ? -1 : index;
+    }
+
     /**
      * Retrieves an attribute by its index in the list.
      *
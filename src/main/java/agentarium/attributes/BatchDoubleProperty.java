@@ -0,0 +1,85 @@
+package agentarium.attributes;
+
+/**
+ * A {@link DoubleProperty} whose update logic is expressed as a batch kernel over a primitive array.
+ *
+ * <p>When scheduled by {@link agentarium.scheduler.AttributeMajorScheduler}, the values of this property
+ * are gathered from every agent in the partition into one {@code double[]}, transformed by a single call to
+ * {@link #runBatch(double[], int)}, and scattered back. This keeps the hot loop over contiguous primitives,
+ * which the JIT can unroll and vectorise.
+ *
+ * <p>The kernel must only depend on the values it is given: in batch mode it is invoked on one instance on
+ * behalf of all agents whose properties {@link #hasSameKernelAs have the same kernel}. Under any other scheduler, {@link #run()} applies the same kernel to this
+ * property's value alone.
+ */
+public abstract class BatchDoubleProperty extends DoubleProperty {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Scratch array used to run the kernel for a single value */
+    private final double[] singleValue = new double[1];
+
+    /**
+     * Constructs a batch double property with a specific name and recording flag.
+     *
+     * @param name the property name
+     * @param isRecorded whether it is recorded
+     */
+    public BatchDoubleProperty(String name, boolean isRecorded) {
+        super(name, isRecorded);
+    }
+
+    /**
+     * Constructs a batch double property with a generated name and a recording flag.
+     *
+     * @param isRecorded whether the property is recorded
+     */
+    public BatchDoubleProperty(boolean isRecorded) {
+        super(isRecorded);
+    }
+
+    /**
+     * Constructs a batch double property with a specific name and recording enabled.
+     *
+     * @param name the property name
+     */
+    public BatchDoubleProperty(String name) {
+        super(name);
+    }
+
+    /**
+     * Constructs a batch double property with a generated name and recording enabled.
+     */
+    public BatchDoubleProperty() {
+        super();
+    }
+
+    /**
+     * Updates the first {@code length} values of the array in place.
+     *
+     * @param values the property values of a batch of agents
+     * @param length the number of valid entries in {@code values}
+     */
+    public abstract void runBatch(double[] values, int length);
+
+    /**
+     * Whether running this property's kernel gives the same result as running the other's, so that the
+     * scheduler can run one kernel call on behalf of both. By default, properties of the same class share a kernel.
+     *
+     * @param other another batch double property
+     * @return true if both properties apply the same kernel
+     */
+    public boolean hasSameKernelAs(BatchDoubleProperty other) {
+        return getClass() == other.getClass();
+    }
+
+    /**
+     * Runs the batch kernel on this property's value alone.
+     */
+    @Override
+    public void run() {
+        singleValue[0] = getDouble();
+        runBatch(singleValue, 1);
+        setDouble(singleValue[0]);
+    }
+}
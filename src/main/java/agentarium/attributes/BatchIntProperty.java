@@ -0,0 +1,85 @@
+package agentarium.attributes;
+
+/**
+ * A {@link IntProperty} whose update logic is expressed as a batch kernel over a primitive array.
+ *
+ * <p>When scheduled by {@link agentarium.scheduler.AttributeMajorScheduler}, the values of this property
+ * are gathered from every agent in the partition into one {@code int[]}, transformed by a single call to
+ * {@link #runBatch(int[], int)}, and scattered back. This keeps the hot loop over contiguous primitives,
+ * which the JIT can unroll and vectorise.
+ *
+ * <p>The kernel must only depend on the values it is given: in batch mode it is invoked on one instance on
+ * behalf of all agents whose properties {@link #hasSameKernelAs have the same kernel}. Under any other scheduler, {@link #run()} applies the same kernel to this
+ * property's value alone.
+ */
+public abstract class BatchIntProperty extends IntProperty {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Scratch array used to run the kernel for a single value */
+    private final int[] singleValue = new int[1];
+
+    /**
+     * Constructs a batch int property with a specific name and recording flag.
+     *
+     * @param name the property name
+     * @param isRecorded whether it is recorded
+     */
+    public BatchIntProperty(String name, boolean isRecorded) {
+        super(name, isRecorded);
+    }
+
+    /**
+     * Constructs a batch int property with a generated name and a recording flag.
+     *
+     * @param isRecorded whether the property is recorded
+     */
+    public BatchIntProperty(boolean isRecorded) {
+        super(isRecorded);
+    }
+
+    /**
+     * Constructs a batch int property with a specific name and recording enabled.
+     *
+     * @param name the property name
+     */
+    public BatchIntProperty(String name) {
+        super(name);
+    }
+
+    /**
+     * Constructs a batch int property with a generated name and recording enabled.
+     */
+    public BatchIntProperty() {
+        super();
+    }
+
+    /**
+     * Updates the first {@code length} values of the array in place.
+     *
+     * @param values the property values of a batch of agents
+     * @param length the number of valid entries in {@code values}
+     */
+    public abstract void runBatch(int[] values, int length);
+
+    /**
+     * Whether running this property's kernel gives the same result as running the other's, so that the
+     * scheduler can run one kernel call on behalf of both. By default, properties of the same class share a kernel.
+     *
+     * @param other another batch int property
+     * @return true if both properties apply the same kernel
+     */
+    public boolean hasSameKernelAs(BatchIntProperty other) {
+        return getClass() == other.getClass();
+    }
+
+    /**
+     * Runs the batch kernel on this property's value alone.
+     */
+    @Override
+    public void run() {
+        singleValue[0] = getInt();
+        runBatch(singleValue, 1);
+        setInt(singleValue[0]);
+    }
+}
@@ -0,0 +1,73 @@
+package agentarium.attributes;
+
+/**
+ * A {@link Property} specialised for primitive {@code boolean} values.
+ *
+ * <p>Subclasses store their value as a {@code boolean} and expose it through {@link #getBoolean()} and
+ * {@link #setBoolean(boolean)}. The simulation engine reads recorded values through the primitive accessor,
+ * so no {@link Boolean} is allocated when the property is recorded each tick. The boxed {@link #get()}
+ * and {@link #set(Boolean)} methods remain available for code written against {@code Property<Boolean>}.
+ */
+public abstract class BooleanProperty extends Property<Boolean> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a boolean property with a specific name and recording flag.
+     *
+     * @param name the property name
+     * @param isRecorded whether it is recorded
+     */
+    public BooleanProperty(String name, boolean isRecorded) {
+        super(name, isRecorded, Boolean.class);
+    }
+
+    /**
+     * Constructs a boolean property with a generated name and a recording flag.
+     *
+     * @param isRecorded whether the property is recorded
+     */
+    public BooleanProperty(boolean isRecorded) {
+        super(isRecorded, Boolean.class);
+    }
+
+    /**
+     * Constructs a boolean property with a specific name and recording enabled.
+     *
+     * @param name the property name
+     */
+    public BooleanProperty(String name) {
+        super(name, Boolean.class);
+    }
+
+    /**
+     * Constructs a boolean property with a generated name and recording enabled.
+     */
+    public BooleanProperty() {
+        super(Boolean.class);
+    }
+
+    /**
+     * Updates the value of this property without boxing.
+     *
+     * @param value the new value to assign
+     */
+    public abstract void setBoolean(boolean value);
+
+    /**
+     * Retrieves the current value of this property without boxing.
+     *
+     * @return the value of the property
+     */
+    public abstract boolean getBoolean();
+
+    @Override
+    public void set(Boolean value) {
+        setBoolean(value);
+    }
+
+    @Override
+    public Boolean get() {
+        return getBoolean();
+    }
+}
@@ -0,0 +1,73 @@
+package agentarium.attributes;
+
+/**
+ * A {@link Property} specialised for primitive {@code double} values.
+ *
+ * <p>Subclasses store their value as a {@code double} and expose it through {@link #getDouble()} and
+ * {@link #setDouble(double)}. The simulation engine reads recorded values through the primitive accessor,
+ * so no {@link Double} is allocated when the property is recorded each tick. The boxed {@link #get()}
+ * and {@link #set(Double)} methods remain available for code written against {@code Property<Double>}.
+ */
+public abstract class DoubleProperty extends Property<Double> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a double property with a specific name and recording flag.
+     *
+     * @param name the property name
+     * @param isRecorded whether it is recorded
+     */
+    public DoubleProperty(String name, boolean isRecorded) {
+        super(name, isRecorded, Double.class);
+    }
+
+    /**
+     * Constructs a double property with a generated name and a recording flag.
+     *
+     * @param isRecorded whether the property is recorded
+     */
+    public DoubleProperty(boolean isRecorded) {
+        super(isRecorded, Double.class);
+    }
+
+    /**
+     * Constructs a double property with a specific name and recording enabled.
+     *
+     * @param name the property name
+     */
+    public DoubleProperty(String name) {
+        super(name, Double.class);
+    }
+
+    /**
+     * Constructs a double property with a generated name and recording enabled.
+     */
+    public DoubleProperty() {
+        super(Double.class);
+    }
+
+    /**
+     * Updates the value of this property without boxing.
+     *
+     * @param value the new value to assign
+     */
+    public abstract void setDouble(double value);
+
+    /**
+     * Retrieves the current value of this property without boxing.
+     *
+     * @return the value of the property
+     */
+    public abstract double getDouble();
+
+    @Override
+    public void set(Double value) {
+        setDouble(value);
+    }
+
+    @Override
+    public Double get() {
+        return getDouble();
+    }
+}
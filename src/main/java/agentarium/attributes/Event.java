@@ -1,8 +1,5 @@
 package agentarium.attributes;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-
 /**
  * Represents a boolean-triggered event that is evaluated each tick.
  *
@@ -66,31 +63,12 @@ public abstract class Event extends Attribute {
     @Override
     public Event deepCopy() {
         try {
-            // Get the concrete class
-            Class<? extends Event> clazz = this.getClass();
-
-            // Use copy constructor if defined
-            try {
-                Constructor<? extends Event> copyCtor = clazz.getDeclaredConstructor(clazz);
-                copyCtor.setAccessible(true);
-                return copyCtor.newInstance(this);
-            } catch (NoSuchMethodException ignored) {}
-
-            // Otherwise, try no-arg constructor
-            Constructor<? extends Event> ctor = clazz.getDeclaredConstructor();
-            ctor.setAccessible(true);
-            Event copy = ctor.newInstance();
-
-            // Use reflection to copy fields (shallow or deep depending on type)
-            for (Field field : clazz.getDeclaredFields()) {
-                field.setAccessible(true);
-                Object value = field.get(this);
-                field.set(copy, value); // shallow copy
-            }
-
+            Event copy = (Event) AttributeCopyPlan.of(this.getClass()).copy(this);
+            copy.setRecordingPolicy(getRecordingPolicy());
             return copy;
-
-        } catch (Exception e) {
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new RuntimeException("Failed to deep copy Event of type " + this.getClass().getName(), e);
         }
     }
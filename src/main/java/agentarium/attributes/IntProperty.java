@@ -0,0 +1,73 @@
+package agentarium.attributes;
+
+/**
+ * A {@link Property} specialised for primitive {@code int} values.
+ *
+ * <p>Subclasses store their value as a {@code int} and expose it through {@link #getInt()} and
+ * {@link #setInt(int)}. The simulation engine reads recorded values through the primitive accessor,
+ * so no {@link Integer} is allocated when the property is recorded each tick. The boxed {@link #get()}
+ * and {@link #set(Integer)} methods remain available for code written against {@code Property<Integer>}.
+ */
+public abstract class IntProperty extends Property<Integer> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs an int property with a specific name and recording flag.
+     *
+     * @param name the property name
+     * @param isRecorded whether it is recorded
+     */
+    public IntProperty(String name, boolean isRecorded) {
+        super(name, isRecorded, Integer.class);
+    }
+
+    /**
+     * Constructs an int property with a generated name and a recording flag.
+     *
+     * @param isRecorded whether the property is recorded
+     */
+    public IntProperty(boolean isRecorded) {
+        super(isRecorded, Integer.class);
+    }
+
+    /**
+     * Constructs an int property with a specific name and recording enabled.
+     *
+     * @param name the property name
+     */
+    public IntProperty(String name) {
+        super(name, Integer.class);
+    }
+
+    /**
+     * Constructs an int property with a generated name and recording enabled.
+     */
+    public IntProperty() {
+        super(Integer.class);
+    }
+
+    /**
+     * Updates the value of this property without boxing.
+     *
+     * @param value the new value to assign
+     */
+    public abstract void setInt(int value);
+
+    /**
+     * Retrieves the current value of this property without boxing.
+     *
+     * @return the value of the property
+     */
+    public abstract int getInt();
+
+    @Override
+    public void set(Integer value) {
+        setInt(value);
+    }
+
+    @Override
+    public Integer get() {
+        return getInt();
+    }
+}
@@ -0,0 +1,73 @@
+package agentarium.attributes;
+
+/**
+ * A {@link Property} specialised for primitive {@code long} values.
+ *
+ * <p>Subclasses store their value as a {@code long} and expose it through {@link #getLong()} and
+ * {@link #setLong(long)}. The simulation engine reads recorded values through the primitive accessor,
+ * so no {@link Long} is allocated when the property is recorded each tick. The boxed {@link #get()}
+ * and {@link #set(Long)} methods remain available for code written against {@code Property<Long>}.
+ */
+public abstract class LongProperty extends Property<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a long property with a specific name and recording flag.
+     *
+     * @param name the property name
+     * @param isRecorded whether it is recorded
+     */
+    public LongProperty(String name, boolean isRecorded) {
+        super(name, isRecorded, Long.class);
+    }
+
+    /**
+     * Constructs a long property with a generated name and a recording flag.
+     *
+     * @param isRecorded whether the property is recorded
+     */
+    public LongProperty(boolean isRecorded) {
+        super(isRecorded, Long.class);
+    }
+
+    /**
+     * Constructs a long property with a specific name and recording enabled.
+     *
+     * @param name the property name
+     */
+    public LongProperty(String name) {
+        super(name, Long.class);
+    }
+
+    /**
+     * Constructs a long property with a generated name and recording enabled.
+     */
+    public LongProperty() {
+        super(Long.class);
+    }
+
+    /**
+     * Updates the value of this property without boxing.
+     *
+     * @param value the new value to assign
+     */
+    public abstract void setLong(long value);
+
+    /**
+     * Retrieves the current value of this property without boxing.
+     *
+     * @return the value of the property
+     */
+    public abstract long getLong();
+
+    @Override
+    public void set(Long value) {
+        setLong(value);
+    }
+
+    @Override
+    public Long get() {
+        return getLong();
+    }
+}
@@ -55,18 +55,29 @@ public class Properties extends Attributes {
     /**
      * Executes all properties' {@code run()} methods in sequence.
      * This is typically called once per simulation tick.
+     *
+     * <p>Properties with declared inputs are skipped when none of their inputs changed since their last run
+     * (see {@link Property#declareInputs(String...)}).
      */
     @Override
     public void run() {
-        for (int i = 0; i < size(); i++)
-            get(i).run();
+        for (int i = 0; i < size(); i++) {
+            Property<?> property = get(i);
+            if (!property.areInputsUnchanged())
+                property.run();
+        }
     }
 
     @Override
     public Properties deepCopy() {
         Properties propertiesCopy = new Properties();
-        for (int i = 0; i < size(); i++)
-            propertiesCopy.add(get(i).deepCopy());
+        for (int i = 0; i < size(); i++) {
+            Property<?> property = get(i);
+            Property<?> propertyCopy = property.deepCopy();
+            if (property.hasDeclaredInputs())
+                propertyCopy.declareInputs(property.getDeclaredInputs());
+            propertiesCopy.add(propertyCopy);
+        }
         return propertiesCopy;
     }
 }
@@ -1,8 +1,5 @@
 package agentarium.attributes;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-
 /**
  * Represents a stateful, typed property attribute.
  *
@@ -19,6 +16,12 @@ public abstract class Property<T> extends Attribute {
     /** The runtime type of the property's value */
     private final Class<T> type;
 
+    /** Keys of the properties this property is computed from, or null if it runs every tick */
+    private String[] declaredInputs = null;
+
+    /** Input values observed when this property last ran, resolved on first use */
+    private transient PropertyInputSnapshot inputSnapshot = null;
+
     /**
      * Constructs a property with a specific name, recording flag, and type.
      *
@@ -84,6 +87,67 @@ public abstract class Property<T> extends Attribute {
      */
     public abstract T get();
 
+    /**
+     * Declares the properties this property's value is computed from, enabling incremental execution.
+     *
+     * <p>Once inputs are declared, {@link Properties#run()} only calls {@link #run()} when the value of at least
+     * one input has changed since the previous call; otherwise the property keeps, and records, its last value.
+     * Keys are built with {@link AttributeSet#attributeKey(String, String)} and resolved against the associated
+     * model element's attribute sets on first use. A property that depends on its own previous value must list
+     * its own key. Primitive-specialised inputs are compared by value; other inputs are compared with
+     * {@link Object#equals(Object)}, so their values must be replaced rather than mutated in place.
+     *
+     * @param attributeKeys the keys of the input properties
+     */
+    public void declareInputs(String... attributeKeys) {
+        declaredInputs = attributeKeys.clone();
+        inputSnapshot = null;
+    }
+
+    /** @return whether this property has declared inputs and runs incrementally */
+    public boolean hasDeclaredInputs() {
+        return declaredInputs != null;
+    }
+
+    /** @return the keys of the declared input properties, or an empty array if none were declared */
+    public String[] getDeclaredInputs() {
+        return declaredInputs == null ? new String[0] : declaredInputs.clone();
+    }
+
+    /**
+     * Checks whether this property can skip its next run because none of its inputs changed.
+     *
+     * <p>Each call compares the inputs with the values seen by the previous call and then remembers the current
+     * values, so it should be called exactly once before each potential {@link #run()}. The first call, and any
+     * call for a property without declared inputs, returns false.
+     *
+     * @return true if inputs are declared and all of them are unchanged since the previous call
+     */
+    public boolean areInputsUnchanged() {
+        if (declaredInputs == null)
+            return false;
+
+        if (inputSnapshot == null)
+            inputSnapshot = new PropertyInputSnapshot(resolveInputs());
+
+        return !inputSnapshot.update();
+    }
+
+    /** Looks up the declared input properties on the associated model element */
+    private Property<?>[] resolveInputs() {
+        if (getAssociatedModelElement() == null)
+            throw new IllegalStateException("Property " + getName() + " must be associated with a model element to resolve its inputs");
+
+        AttributeSetCollection attributeSetCollection = getAssociatedModelElement().getAttributeSetCollection();
+        Property<?>[] inputs = new Property<?>[declaredInputs.length];
+        for (int i = 0; i < declaredInputs.length; i++) {
+            inputs[i] = attributeSetCollection.findProperty(declaredInputs[i]);
+            if (inputs[i] == null)
+                throw new IllegalArgumentException("Property " + getName() + " declares unknown input " + declaredInputs[i]);
+        }
+        return inputs;
+    }
+
     /**
      * Executes logic for updating or using the property's value.
      */
@@ -94,28 +158,12 @@ public abstract class Property<T> extends Attribute {
     @SuppressWarnings("unchecked")
     public Property<T> deepCopy() {
         try {
-            Class<? extends Property> clazz = this.getClass();
-
-            // Try to find a copy constructor
-            try {
-                Constructor<? extends Property> copyCtor = clazz.getDeclaredConstructor(clazz);
-                copyCtor.setAccessible(true);
-                return copyCtor.newInstance(this);
-            } catch (NoSuchMethodException ignored) {}
-
-            // Try no-arg constructor and copy fields manually
-            Constructor<? extends Property> ctor = clazz.getDeclaredConstructor();
-            ctor.setAccessible(true);
-            Property<T> copy = (Property<T>) ctor.newInstance();
-
-            for (Field field : clazz.getDeclaredFields()) {
-                field.setAccessible(true);
-                field.set(copy, field.get(this));
-            }
-
+            Property<T> copy = (Property<T>) AttributeCopyPlan.of(this.getClass()).copy(this);
+            copy.setRecordingPolicy(getRecordingPolicy());
             return copy;
-
-        } catch (Exception e) {
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new RuntimeException("Failed to deep copy Property of type " + this.getClass().getName(), e);
         }
     }
@@ -0,0 +1,74 @@
+package agentarium.attributes;
+
+import java.util.Objects;
+
+/**
+ * The values of a property's declared inputs as seen by its most recent run.
+ *
+ * <p>Primitive-specialised inputs are held as raw {@code long} bits so that checking for a change neither
+ * boxes nor allocates; other inputs are held by reference and compared with {@link Objects#equals(Object, Object)}.
+ */
+final class PropertyInputSnapshot {
+
+    /** The resolved input properties */
+    private final Property<?>[] inputs;
+
+    /** Last seen values of primitive inputs, as raw bits */
+    private final long[] primitiveValues;
+
+    /** Last seen values of non-primitive inputs */
+    private final Object[] objectValues;
+
+    /** Whether values have been captured yet */
+    private boolean isCaptured = false;
+
+    PropertyInputSnapshot(Property<?>[] inputs) {
+        this.inputs = inputs;
+        this.primitiveValues = new long[inputs.length];
+        this.objectValues = new Object[inputs.length];
+    }
+
+    /**
+     * Captures the current input values and reports whether any differ from the previous capture.
+     *
+     * @return true if this is the first capture or at least one input value changed
+     */
+    boolean update() {
+        boolean hasChanged = !isCaptured;
+        for (int i = 0; i < inputs.length; i++) {
+            Property<?> input = inputs[i];
+            if (isPrimitive(input)) {
+                long bits = primitiveBits(input);
+                if (bits != primitiveValues[i]) {
+                    primitiveValues[i] = bits;
+                    hasChanged = true;
+                }
+            } else {
+                Object value = input.get();
+                if (!Objects.equals(value, objectValues[i])) {
+                    objectValues[i] = value;
+                    hasChanged = true;
+                }
+            }
+        }
+        isCaptured = true;
+        return hasChanged;
+    }
+
+    private static boolean isPrimitive(Property<?> property) {
+        return property instanceof DoubleProperty
+                || property instanceof IntProperty
+                || property instanceof LongProperty
+                || property instanceof BooleanProperty;
+    }
+
+    private static long primitiveBits(Property<?> property) {
+        if (property instanceof DoubleProperty)
+            return Double.doubleToRawLongBits(((DoubleProperty) property).getDouble());
+        if (property instanceof IntProperty)
+            return ((IntProperty) property).getInt();
+        if (property instanceof LongProperty)
+            return ((LongProperty) property).getLong();
+        return ((BooleanProperty) property).getBoolean() ? 1L : 0L;
+    }
+}
@@ -0,0 +1,170 @@
+package agentarium.attributes;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Decides at which ticks a recorded {@link Attribute} stores its value.
+ *
+ * <p>By default a recorded attribute stores one value every tick. A policy can instead sample every N ticks,
+ * record only within windows of ticks, record only the final tick, or record only the ticks at which the value
+ * changes. Any series other than every tick is sparse, so the tick of each stored value is kept alongside it.
+ *
+ * <p>Ticks are counted from the first tick after warm-up, so tick 0 is the first recorded tick of a run and the
+ * final tick is one less than the number of ticks run. Policies are immutable and may be shared between
+ * attributes.
+ */
+public final class RecordingPolicy implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private enum Kind { EVERY_TICK, EVERY_NTH_TICK, WINDOWS, FINAL_TICK, ON_CHANGE }
+
+    private static final RecordingPolicy EVERY_TICK = new RecordingPolicy(Kind.EVERY_TICK, 1, new int[0]);
+    private static final RecordingPolicy FINAL_TICK = new RecordingPolicy(Kind.FINAL_TICK, 1, new int[0]);
+    private static final RecordingPolicy ON_CHANGE = new RecordingPolicy(Kind.ON_CHANGE, 1, new int[0]);
+
+    private final Kind kind;
+    private final int interval;
+
+    /** Window bounds as pairs of a first tick, inclusive, and a last tick, exclusive */
+    private final int[] windowBounds;
+
+    private RecordingPolicy(Kind kind, int interval, int[] windowBounds) {
+        this.kind = kind;
+        this.interval = interval;
+        this.windowBounds = windowBounds;
+    }
+
+    /** @return a policy recording a value every tick, the default */
+    public static RecordingPolicy everyTick() {
+        return EVERY_TICK;
+    }
+
+    /**
+     * Creates a policy recording a value every {@code interval} ticks, starting at tick 0.
+     *
+     * @param interval the number of ticks between recorded values
+     * @return the policy
+     */
+    public static RecordingPolicy everyNthTick(int interval) {
+        if (interval < 1)
+            throw new IllegalArgumentException("Recording interval must be at least 1");
+        return interval == 1 ? EVERY_TICK : new RecordingPolicy(Kind.EVERY_NTH_TICK, interval, new int[0]);
+    }
+
+    /**
+     * Creates a policy recording a value every tick from {@code firstTick} up to, but not including,
+     * {@code endTick}.
+     *
+     * @param firstTick the first recorded tick
+     * @param endTick the tick after the last recorded tick
+     * @return the policy
+     */
+    public static RecordingPolicy withinWindow(int firstTick, int endTick) {
+        return withinWindows(firstTick, endTick);
+    }
+
+    /**
+     * Creates a policy recording a value every tick within several windows.
+     *
+     * @param windowBounds pairs of a first tick, inclusive, and an end tick, exclusive, in increasing order
+     * @return the policy
+     */
+    public static RecordingPolicy withinWindows(int... windowBounds) {
+        if (windowBounds.length == 0 || windowBounds.length % 2 != 0)
+            throw new IllegalArgumentException("Recording windows must be given as pairs of first and end ticks");
+        for (int i = 0; i < windowBounds.length; i++) {
+            if (windowBounds[i] < 0 || (i > 0 && windowBounds[i] < windowBounds[i - 1]))
+                throw new IllegalArgumentException("Recording window bounds must be non-negative and in increasing order");
+        }
+        return new RecordingPolicy(Kind.WINDOWS, 1, windowBounds.clone());
+    }
+
+    /** @return a policy recording only the value at the final tick of the run */
+    public static RecordingPolicy finalTickOnly() {
+        return FINAL_TICK;
+    }
+
+    /**
+     * Returns a policy recording a value at the first tick and then only at ticks where it differs from the
+     * value recorded last.
+     *
+     * <p>Object values are compared with {@link Object#equals(Object)} against the last recorded value, so a
+     * mutable value changed in place is not seen as a change.
+     *
+     * @return the policy
+     */
+    public static RecordingPolicy onChange() {
+        return ON_CHANGE;
+    }
+
+    /** @return true if a value is recorded every tick, so ticks need not be stored */
+    public boolean isEveryTick() {
+        return kind == Kind.EVERY_TICK;
+    }
+
+    /** @return true if values are recorded only when they change */
+    public boolean isOnChange() {
+        return kind == Kind.ON_CHANGE;
+    }
+
+    /**
+     * Checks whether a value may be recorded at a tick. For {@link #onChange()} every tick may be recorded,
+     * subject to the value having changed.
+     *
+     * @param tick the tick, counted from the first tick after warm-up
+     * @param finalTick the final tick of the run
+     * @return true if the tick is recorded
+     */
+    public boolean isRecordedAt(int tick, int finalTick) {
+        switch (kind) {
+            case EVERY_NTH_TICK:
+                return tick % interval == 0;
+            case WINDOWS:
+                for (int i = 0; i < windowBounds.length; i += 2) {
+                    if (tick < windowBounds[i])
+                        return false;
+                    if (tick < windowBounds[i + 1])
+                        return true;
+                }
+                return false;
+            case FINAL_TICK:
+                return tick == finalTick;
+            default:
+                return true;
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof RecordingPolicy))
+            return false;
+        RecordingPolicy otherPolicy = (RecordingPolicy) other;
+        return kind == otherPolicy.kind && interval == otherPolicy.interval
+                && Arrays.equals(windowBounds, otherPolicy.windowBounds);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * kind.hashCode() + interval) + Arrays.hashCode(windowBounds);
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case EVERY_NTH_TICK:
+                return "every " + interval + " ticks";
+            case WINDOWS:
+                return "within windows " + Arrays.toString(windowBounds);
+            case FINAL_TICK:
+                return "final tick only";
+            case ON_CHANGE:
+                return "on change";
+            default:
+                return "every tick";
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface BooleanPropertyGetterFunction {
+    boolean get(ModelElement associatedModelElement, boolean propertyValue);
+}
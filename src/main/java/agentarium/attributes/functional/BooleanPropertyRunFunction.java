@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface BooleanPropertyRunFunction {
+    boolean run(ModelElement associatedModelElement, boolean propertyValue);
+}
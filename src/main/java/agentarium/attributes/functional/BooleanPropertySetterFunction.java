@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface BooleanPropertySetterFunction {
+    boolean set(ModelElement associatedModelElement, boolean currentPropertyValue, boolean newValue);
+}
@@ -0,0 +1,6 @@
+package agentarium.attributes.functional;
+
+@FunctionalInterface
+public interface DoubleBatchFunction {
+    void run(double[] values, int length);
+}
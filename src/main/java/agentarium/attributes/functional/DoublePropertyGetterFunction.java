@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface DoublePropertyGetterFunction {
+    double get(ModelElement associatedModelElement, double propertyValue);
+}
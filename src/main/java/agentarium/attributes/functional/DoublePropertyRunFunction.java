@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface DoublePropertyRunFunction {
+    double run(ModelElement associatedModelElement, double propertyValue);
+}
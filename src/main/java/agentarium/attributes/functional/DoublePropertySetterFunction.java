@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface DoublePropertySetterFunction {
+    double set(ModelElement associatedModelElement, double currentPropertyValue, double newValue);
+}
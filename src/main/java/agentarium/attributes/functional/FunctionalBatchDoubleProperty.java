@@ -0,0 +1,63 @@
+package agentarium.attributes.functional;
+
+import agentarium.attributes.BatchDoubleProperty;
+
+/**
+ * A batch {@code double} property whose kernel is supplied as a {@link DoubleBatchFunction}.
+ *
+ * <p>The value is held directly by the property, so gathering and scattering it in batch mode is a plain
+ * field access. Common arithmetic kernels are available from {@link BatchKernels}.</p>
+ */
+public class FunctionalBatchDoubleProperty extends BatchDoubleProperty {
+
+    private static final long serialVersionUID = 1L;
+
+    private final DoubleBatchFunction batchFunction;
+
+    private double propertyValue = 0.0;
+
+    /**
+     * Constructs a functional batch double property with the given name, recording flag, and kernel.
+     *
+     * @param name           the property name
+     * @param isRecorded     whether the property is recorded
+     * @param batchFunction  kernel applied to the values of a batch of agents
+     */
+    public FunctionalBatchDoubleProperty(String name, boolean isRecorded, DoubleBatchFunction batchFunction) {
+        super(name, isRecorded);
+        this.batchFunction = batchFunction;
+    }
+
+    @Override
+    public double getDouble() {
+        return propertyValue;
+    }
+
+    @Override
+    public void setDouble(double value) {
+        propertyValue = value;
+    }
+
+    @Override
+    public void runBatch(double[] values, int length) {
+        batchFunction.run(values, length);
+    }
+
+    /** @return the kernel applied to the values of a batch of agents */
+    public DoubleBatchFunction getBatchFunction() {
+        return batchFunction;
+    }
+
+    /** Functional batch properties share a kernel only if they hold the same function */
+    @Override
+    public boolean hasSameKernelAs(BatchDoubleProperty other) {
+        return super.hasSameKernelAs(other) && batchFunction == ((FunctionalBatchDoubleProperty) other).batchFunction;
+    }
+
+    @Override
+    public FunctionalBatchDoubleProperty deepCopy() {
+        FunctionalBatchDoubleProperty copy = new FunctionalBatchDoubleProperty(getName(), isRecorded(), batchFunction);
+        copy.setRecordingPolicy(getRecordingPolicy());
+        return copy;
+    }
+}
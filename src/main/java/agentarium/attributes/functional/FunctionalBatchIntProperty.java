@@ -0,0 +1,63 @@
+package agentarium.attributes.functional;
+
+import agentarium.attributes.BatchIntProperty;
+
+/**
+ * A batch {@code int} property whose kernel is supplied as a {@link IntBatchFunction}.
+ *
+ * <p>The value is held directly by the property, so gathering and scattering it in batch mode is a plain
+ * field access. Common arithmetic kernels are available from {@link BatchKernels}.</p>
+ */
+public class FunctionalBatchIntProperty extends BatchIntProperty {
+
+    private static final long serialVersionUID = 1L;
+
+    private final IntBatchFunction batchFunction;
+
+    private int propertyValue = 0;
+
+    /**
+     * Constructs a functional batch int property with the given name, recording flag, and kernel.
+     *
+     * @param name           the property name
+     * @param isRecorded     whether the property is recorded
+     * @param batchFunction  kernel applied to the values of a batch of agents
+     */
+    public FunctionalBatchIntProperty(String name, boolean isRecorded, IntBatchFunction batchFunction) {
+        super(name, isRecorded);
+        this.batchFunction = batchFunction;
+    }
+
+    @Override
+    public int getInt() {
+        return propertyValue;
+    }
+
+    @Override
+    public void setInt(int value) {
+        propertyValue = value;
+    }
+
+    @Override
+    public void runBatch(int[] values, int length) {
+        batchFunction.run(values, length);
+    }
+
+    /** @return the kernel applied to the values of a batch of agents */
+    public IntBatchFunction getBatchFunction() {
+        return batchFunction;
+    }
+
+    /** Functional batch properties share a kernel only if they hold the same function */
+    @Override
+    public boolean hasSameKernelAs(BatchIntProperty other) {
+        return super.hasSameKernelAs(other) && batchFunction == ((FunctionalBatchIntProperty) other).batchFunction;
+    }
+
+    @Override
+    public FunctionalBatchIntProperty deepCopy() {
+        FunctionalBatchIntProperty copy = new FunctionalBatchIntProperty(getName(), isRecorded(), batchFunction);
+        copy.setRecordingPolicy(getRecordingPolicy());
+        return copy;
+    }
+}
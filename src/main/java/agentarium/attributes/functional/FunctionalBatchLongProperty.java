@@ -0,0 +1,63 @@
+package agentarium.attributes.functional;
+
+import agentarium.attributes.BatchLongProperty;
+
+/**
+ * A batch {@code long} property whose kernel is supplied as a {@link LongBatchFunction}.
+ *
+ * <p>The value is held directly by the property, so gathering and scattering it in batch mode is a plain
+ * field access. Common arithmetic kernels are available from {@link BatchKernels}.</p>
+ */
+public class FunctionalBatchLongProperty extends BatchLongProperty {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LongBatchFunction batchFunction;
+
+    private long propertyValue = 0L;
+
+    /**
+     * Constructs a functional batch long property with the given name, recording flag, and kernel.
+     *
+     * @param name           the property name
+     * @param isRecorded     whether the property is recorded
+     * @param batchFunction  kernel applied to the values of a batch of agents
+     */
+    public FunctionalBatchLongProperty(String name, boolean isRecorded, LongBatchFunction batchFunction) {
+        super(name, isRecorded);
+        this.batchFunction = batchFunction;
+    }
+
+    @Override
+    public long getLong() {
+        return propertyValue;
+    }
+
+    @Override
+    public void setLong(long value) {
+        propertyValue = value;
+    }
+
+    @Override
+    public void runBatch(long[] values, int length) {
+        batchFunction.run(values, length);
+    }
+
+    /** @return the kernel applied to the values of a batch of agents */
+    public LongBatchFunction getBatchFunction() {
+        return batchFunction;
+    }
+
+    /** Functional batch properties share a kernel only if they hold the same function */
+    @Override
+    public boolean hasSameKernelAs(BatchLongProperty other) {
+        return super.hasSameKernelAs(other) && batchFunction == ((FunctionalBatchLongProperty) other).batchFunction;
+    }
+
+    @Override
+    public FunctionalBatchLongProperty deepCopy() {
+        FunctionalBatchLongProperty copy = new FunctionalBatchLongProperty(getName(), isRecorded(), batchFunction);
+        copy.setRecordingPolicy(getRecordingPolicy());
+        return copy;
+    }
+}
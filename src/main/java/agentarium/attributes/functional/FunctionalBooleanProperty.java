@@ -0,0 +1,70 @@
+package agentarium.attributes.functional;
+
+import agentarium.attributes.BooleanProperty;
+
+/**
+ * A {@code boolean} property whose behaviour is defined using functional interfaces.
+ *
+ * <p>This is the primitive counterpart of {@link FunctionalProperty}: the value is held as a
+ * {@code boolean} and passed to the getter, setter, and run logic without boxing.</p>
+ */
+public class FunctionalBooleanProperty extends BooleanProperty {
+
+    private static final long serialVersionUID = 1L;
+
+    private final BooleanPropertyGetterFunction getter;
+    private final BooleanPropertySetterFunction setter;
+    private final BooleanPropertyRunFunction runLogic;
+
+    private boolean propertyValue = false;
+
+    /**
+     * Constructs a functional boolean property with the given name, recording flag, and logic.
+     *
+     * @param name        the property name
+     * @param isRecorded  whether the property is recorded
+     * @param getter      logic to retrieve the property value
+     * @param setter      logic to update the property value
+     * @param runLogic    logic to execute during the {@link #run()} call
+     */
+    public FunctionalBooleanProperty(
+            String name,
+            boolean isRecorded,
+            BooleanPropertyGetterFunction getter,
+            BooleanPropertySetterFunction setter,
+            BooleanPropertyRunFunction runLogic
+    ) {
+        super(name, isRecorded);
+        this.getter = getter;
+        this.setter = setter;
+        this.runLogic = runLogic;
+    }
+
+    @Override
+    public boolean getBoolean() {
+        return getter.get(getAssociatedModelElement(), propertyValue);
+    }
+
+    @Override
+    public void setBoolean(boolean value) {
+        propertyValue = setter.set(getAssociatedModelElement(), propertyValue, value);
+    }
+
+    @Override
+    public void run() {
+        propertyValue = runLogic.run(getAssociatedModelElement(), propertyValue);
+    }
+
+    @Override
+    public FunctionalBooleanProperty deepCopy() {
+        FunctionalBooleanProperty copy = new FunctionalBooleanProperty(
+                getName(),
+                isRecorded(),
+                getter,
+                setter,
+                runLogic
+        );
+        copy.setRecordingPolicy(getRecordingPolicy());
+        return copy;
+    }
+}
@@ -0,0 +1,70 @@
+package agentarium.attributes.functional;
+
+import agentarium.attributes.DoubleProperty;
+
+/**
+ * A {@code double} property whose behaviour is defined using functional interfaces.
+ *
+ * <p>This is the primitive counterpart of {@link FunctionalProperty}: the value is held as a
+ * {@code double} and passed to the getter, setter, and run logic without boxing.</p>
+ */
+public class FunctionalDoubleProperty extends DoubleProperty {
+
+    private static final long serialVersionUID = 1L;
+
+    private final DoublePropertyGetterFunction getter;
+    private final DoublePropertySetterFunction setter;
+    private final DoublePropertyRunFunction runLogic;
+
+    private double propertyValue = 0.0;
+
+    /**
+     * Constructs a functional double property with the given name, recording flag, and logic.
+     *
+     * @param name        the property name
+     * @param isRecorded  whether the property is recorded
+     * @param getter      logic to retrieve the property value
+     * @param setter      logic to update the property value
+     * @param runLogic    logic to execute during the {@link #run()} call
+     */
+    public FunctionalDoubleProperty(
+            String name,
+            boolean isRecorded,
+            DoublePropertyGetterFunction getter,
+            DoublePropertySetterFunction setter,
+            DoublePropertyRunFunction runLogic
+    ) {
+        super(name, isRecorded);
+        this.getter = getter;
+        this.setter = setter;
+        this.runLogic = runLogic;
+    }
+
+    @Override
+    public double getDouble() {
+        return getter.get(getAssociatedModelElement(), propertyValue);
+    }
+
+    @Override
+    public void setDouble(double value) {
+        propertyValue = setter.set(getAssociatedModelElement(), propertyValue, value);
+    }
+
+    @Override
+    public void run() {
+        propertyValue = runLogic.run(getAssociatedModelElement(), propertyValue);
+    }
+
+    @Override
+    public FunctionalDoubleProperty deepCopy() {
+        FunctionalDoubleProperty copy = new FunctionalDoubleProperty(
+                getName(),
+                isRecorded(),
+                getter,
+                setter,
+                runLogic
+        );
+        copy.setRecordingPolicy(getRecordingPolicy());
+        return copy;
+    }
+}
@@ -41,6 +41,8 @@ public class FunctionalEvent extends Event {
 
     @Override
     public FunctionalEvent deepCopy() {
-        return new FunctionalEvent(getName(), isRecorded(), runLogic, triggerLogic);
+        FunctionalEvent copy = new FunctionalEvent(getName(), isRecorded(), runLogic, triggerLogic);
+        copy.setRecordingPolicy(getRecordingPolicy());
+        return copy;
     }
 }
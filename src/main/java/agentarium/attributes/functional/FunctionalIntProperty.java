@@ -0,0 +1,70 @@
+package agentarium.attributes.functional;
+
+import agentarium.attributes.IntProperty;
+
+/**
+ * A {@code int} property whose behaviour is defined using functional interfaces.
+ *
+ * <p>This is the primitive counterpart of {@link FunctionalProperty}: the value is held as a
+ * {@code int} and passed to the getter, setter, and run logic without boxing.</p>
+ */
+public class FunctionalIntProperty extends IntProperty {
+
+    private static final long serialVersionUID = 1L;
+
+    private final IntPropertyGetterFunction getter;
+    private final IntPropertySetterFunction setter;
+    private final IntPropertyRunFunction runLogic;
+
+    private int propertyValue = 0;
+
+    /**
+     * Constructs a functional int property with the given name, recording flag, and logic.
+     *
+     * @param name        the property name
+     * @param isRecorded  whether the property is recorded
+     * @param getter      logic to retrieve the property value
+     * @param setter      logic to update the property value
+     * @param runLogic    logic to execute during the {@link #run()} call
+     */
+    public FunctionalIntProperty(
+            String name,
+            boolean isRecorded,
+            IntPropertyGetterFunction getter,
+            IntPropertySetterFunction setter,
+            IntPropertyRunFunction runLogic
+    ) {
+        super(name, isRecorded);
+        this.getter = getter;
+        this.setter = setter;
+        this.runLogic = runLogic;
+    }
+
+    @Override
+    public int getInt() {
+        return getter.get(getAssociatedModelElement(), propertyValue);
+    }
+
+    @Override
+    public void setInt(int value) {
+        propertyValue = setter.set(getAssociatedModelElement(), propertyValue, value);
+    }
+
+    @Override
+    public void run() {
+        propertyValue = runLogic.run(getAssociatedModelElement(), propertyValue);
+    }
+
+    @Override
+    public FunctionalIntProperty deepCopy() {
+        FunctionalIntProperty copy = new FunctionalIntProperty(
+                getName(),
+                isRecorded(),
+                getter,
+                setter,
+                runLogic
+        );
+        copy.setRecordingPolicy(getRecordingPolicy());
+        return copy;
+    }
+}
@@ -0,0 +1,70 @@
+package agentarium.attributes.functional;
+
+import agentarium.attributes.LongProperty;
+
+/**
+ * A {@code long} property whose behaviour is defined using functional interfaces.
+ *
+ * <p>This is the primitive counterpart of {@link FunctionalProperty}: the value is held as a
+ * {@code long} and passed to the getter, setter, and run logic without boxing.</p>
+ */
+public class FunctionalLongProperty extends LongProperty {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LongPropertyGetterFunction getter;
+    private final LongPropertySetterFunction setter;
+    private final LongPropertyRunFunction runLogic;
+
+    private long propertyValue = 0L;
+
+    /**
+     * Constructs a functional long property with the given name, recording flag, and logic.
+     *
+     * @param name        the property name
+     * @param isRecorded  whether the property is recorded
+     * @param getter      logic to retrieve the property value
+     * @param setter      logic to update the property value
+     * @param runLogic    logic to execute during the {@link #run()} call
+     */
+    public FunctionalLongProperty(
+            String name,
+            boolean isRecorded,
+            LongPropertyGetterFunction getter,
+            LongPropertySetterFunction setter,
+            LongPropertyRunFunction runLogic
+    ) {
+        super(name, isRecorded);
+        this.getter = getter;
+        this.setter = setter;
+        this.runLogic = runLogic;
+    }
+
+    @Override
+    public long getLong() {
+        return getter.get(getAssociatedModelElement(), propertyValue);
+    }
+
+    @Override
+    public void setLong(long value) {
+        propertyValue = setter.set(getAssociatedModelElement(), propertyValue, value);
+    }
+
+    @Override
+    public void run() {
+        propertyValue = runLogic.run(getAssociatedModelElement(), propertyValue);
+    }
+
+    @Override
+    public FunctionalLongProperty deepCopy() {
+        FunctionalLongProperty copy = new FunctionalLongProperty(
+                getName(),
+                isRecorded(),
+                getter,
+                setter,
+                runLogic
+        );
+        copy.setRecordingPolicy(getRecordingPolicy());
+        return copy;
+    }
+}
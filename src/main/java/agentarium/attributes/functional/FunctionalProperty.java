@@ -63,7 +63,7 @@ public class FunctionalProperty<T> extends Property<T> {
 
     @Override
     public FunctionalProperty<T> deepCopy() {
-        return new FunctionalProperty<>(
+        FunctionalProperty<T> copy = new FunctionalProperty<>(
                 getName(),
                 isRecorded(),
                 getType(),
@@ -71,5 +71,7 @@ public class FunctionalProperty<T> extends Property<T> {
                 setter,
                 runLogic
         );
+        copy.setRecordingPolicy(getRecordingPolicy());
+        return copy;
     }
 }
@@ -0,0 +1,6 @@
+package agentarium.attributes.functional;
+
+@FunctionalInterface
+public interface IntBatchFunction {
+    void run(int[] values, int length);
+}
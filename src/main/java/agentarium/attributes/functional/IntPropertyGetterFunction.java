@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface IntPropertyGetterFunction {
+    int get(ModelElement associatedModelElement, int propertyValue);
+}
@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface IntPropertyRunFunction {
+    int run(ModelElement associatedModelElement, int propertyValue);
+}
@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface IntPropertySetterFunction {
+    int set(ModelElement associatedModelElement, int currentPropertyValue, int newValue);
+}
@@ -0,0 +1,6 @@
+package agentarium.attributes.functional;
+
+@FunctionalInterface
+public interface LongBatchFunction {
+    void run(long[] values, int length);
+}
@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface LongPropertyGetterFunction {
+    long get(ModelElement associatedModelElement, long propertyValue);
+}
@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface LongPropertyRunFunction {
+    long run(ModelElement associatedModelElement, long propertyValue);
+}
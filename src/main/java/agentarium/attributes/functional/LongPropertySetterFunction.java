@@ -0,0 +1,8 @@
+package agentarium.attributes.functional;
+
+import agentarium.ModelElement;
+
+@FunctionalInterface
+public interface LongPropertySetterFunction {
+    long set(ModelElement associatedModelElement, long currentPropertyValue, long newValue);
+}
@@ -0,0 +1,71 @@
+package agentarium.attributes.results;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The per-tick partial results of one {@link ResultsAggregator} on one worker thread.
+ *
+ * <p>Partial results are indexed by tick, counted from the first tick after warm-up, and created from the
+ * aggregator's identity when a tick's first value arrives.
+ */
+final class AggregatedSeries {
+
+    private final ResultsAggregator<Object> aggregator;
+    private final ArrayList<Object> partials = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    AggregatedSeries(ResultsAggregator<?> aggregator) {
+        this.aggregator = (ResultsAggregator<Object>) aggregator;
+    }
+
+    /** @return a series with the same aggregator and no partial results */
+    AggregatedSeries emptyCopy() {
+        return new AggregatedSeries(aggregator);
+    }
+
+    void accumulate(int tick, Object value) {
+        partials.set(tick, aggregator.accumulate(partialAt(tick), value));
+    }
+
+    void accumulateInt(int tick, int value) {
+        partials.set(tick, aggregator.accumulateInt(partialAt(tick), value));
+    }
+
+    void accumulateLong(int tick, long value) {
+        partials.set(tick, aggregator.accumulateLong(partialAt(tick), value));
+    }
+
+    void accumulateDouble(int tick, double value) {
+        partials.set(tick, aggregator.accumulateDouble(partialAt(tick), value));
+    }
+
+    void accumulateBoolean(int tick, boolean value) {
+        partials.set(tick, aggregator.accumulateBoolean(partialAt(tick), value));
+    }
+
+    /** Returns the partial result of a tick, filling in identities up to it */
+    private Object partialAt(int tick) {
+        while (partials.size() <= tick)
+            partials.add(aggregator.identity());
+        return partials.get(tick);
+    }
+
+    /**
+     * Merges another worker's partial results for the same attribute into this series, tick by tick.
+     *
+     * @param other the other series
+     */
+    void combine(AggregatedSeries other) {
+        for (int tick = 0; tick < other.partials.size(); tick++)
+            partials.set(tick, aggregator.combine(partialAt(tick), other.partials.get(tick)));
+    }
+
+    /** @return the finished result of every tick */
+    List<Object> finish() {
+        List<Object> values = new ArrayList<>(partials.size());
+        for (Object partial : partials)
+            values.add(aggregator.finish(partial));
+        return values;
+    }
+}
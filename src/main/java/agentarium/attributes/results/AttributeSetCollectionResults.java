@@ -1,6 +1,7 @@
 package agentarium.attributes.results;
 
 import agentarium.attributes.AttributeSet;
+import agentarium.attributes.results.databases.ResultsStorageReport;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -76,6 +77,16 @@ public class AttributeSetCollectionResults {
         return modelElementName;
     }
 
+    /**
+     * @return a report of how much memory the recorded values of every attribute set in this collection take
+     */
+    public ResultsStorageReport getStorageReport() {
+        ResultsStorageReport report = ResultsStorageReport.EMPTY;
+        for (AttributeSetResults attributeSetResults : attributeSetResultsList)
+            report = report.plus(attributeSetResults.getStorageReport());
+        return report;
+    }
+
     /**
      * Closes and clears all result databases associated with this collection.
      *
@@ -0,0 +1,376 @@
+package agentarium.attributes.results;
+
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.Event;
+import agentarium.attributes.Property;
+import agentarium.attributes.RecordingPolicy;
+import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The recorded attributes of an {@link AttributeSet}, resolved to database column slots when its
+ * {@link AttributeSetResults} are created.
+ *
+ * <p>Slots are looked up by the position of an attribute within its set, so recording a tick walks the
+ * attributes by index and appends each value to its slot without passing the attribute's name to the database.
+ * Attributes that are not recorded have no slot.
+ *
+ * <p>Attributes with a {@link RecordingPolicy} other than every tick are filtered: before recording a tick the
+ * caller sets it with {@link #setTick(int, int)}, and values the policy does not record at that tick are dropped.
+ * The ticks of the values that are kept are held by the plan.
+ *
+ * <p>A worker thread may also attach a {@link ResultsAggregation}, after which every value of an aggregated
+ * attribute is folded into the worker's partial result for the tick, whether or not its recording policy
+ * stores it. The raw values of aggregated attributes can then be left out of the database altogether.
+ */
+public final class AttributeSetRecordingPlan {
+
+    /** Slot value for attributes that are not recorded */
+    public static final int NOT_RECORDED = -1;
+
+    /** The database the slots were registered with */
+    private final AttributeSetResultsDatabase database;
+
+    /** Column slot of each property, by its index in the attribute set */
+    private final int[] propertySlots;
+
+    /** Column slot of each pre-event, by its index in the attribute set */
+    private final int[] preEventSlots;
+
+    /** Column slot of each post-event, by its index in the attribute set */
+    private final int[] postEventSlots;
+
+    /** Recording policy filters for each kind of attribute, or {@code null} if all are recorded every tick */
+    private final RecordingFilter propertyFilter;
+    private final RecordingFilter preEventFilter;
+    private final RecordingFilter postEventFilter;
+
+    /** Names of the attributes, by the same index as their slots */
+    private final String[] propertyNames;
+    private final String[] preEventNames;
+    private final String[] postEventNames;
+
+    /** Aggregated series of each kind of attribute by slot, or {@code null} if none are aggregated */
+    private AggregatedSeries[] propertyAggregates;
+    private AggregatedSeries[] preEventAggregates;
+    private AggregatedSeries[] postEventAggregates;
+
+    /** Whether the raw values of aggregated attributes are also written to the database */
+    private boolean areAggregatedValuesStored = true;
+
+    /** The tick being recorded, counted from the first tick after warm-up */
+    private int tick = 0;
+
+    /** The final tick of the run, counted from the first tick after warm-up */
+    private int finalTick = Integer.MAX_VALUE;
+
+    /**
+     * Registers a column for every recorded attribute of an attribute set.
+     *
+     * @param attributeSet the attribute set to compile the plan for
+     * @param database the database that will store the attribute set's results
+     */
+    AttributeSetRecordingPlan(AttributeSet attributeSet, AttributeSetResultsDatabase database) {
+        this.database = database;
+
+        propertySlots = new int[attributeSet.getProperties().size()];
+        propertyNames = new String[propertySlots.length];
+        for (int i = 0; i < propertySlots.length; i++) {
+            Property<?> property = attributeSet.getProperties().get(i);
+            propertyNames[i] = property.getName();
+            propertySlots[i] = property.isRecorded() ? database.registerPropertyColumn(property.getName()) : NOT_RECORDED;
+        }
+
+        preEventSlots = new int[attributeSet.getPreEvents().size()];
+        preEventNames = new String[preEventSlots.length];
+        for (int i = 0; i < preEventSlots.length; i++) {
+            Event event = attributeSet.getPreEvents().get(i);
+            preEventNames[i] = event.getName();
+            preEventSlots[i] = event.isRecorded() ? database.registerPreEventColumn(event.getName()) : NOT_RECORDED;
+        }
+
+        postEventSlots = new int[attributeSet.getPostEvents().size()];
+        postEventNames = new String[postEventSlots.length];
+        for (int i = 0; i < postEventSlots.length; i++) {
+            Event event = attributeSet.getPostEvents().get(i);
+            postEventNames[i] = event.getName();
+            postEventSlots[i] = event.isRecorded() ? database.registerPostEventColumn(event.getName()) : NOT_RECORDED;
+        }
+
+        propertyFilter = RecordingFilter.of(attributeSet.getProperties()::get, propertySlots);
+        preEventFilter = RecordingFilter.of(attributeSet.getPreEvents()::get, preEventSlots);
+        postEventFilter = RecordingFilter.of(attributeSet.getPostEvents()::get, postEventSlots);
+    }
+
+    /** @return true if any recorded attribute has a recording policy other than every tick */
+    public boolean hasRecordingPolicies() {
+        return propertyFilter != null || preEventFilter != null || postEventFilter != null;
+    }
+
+    /**
+     * Folds the values of the attribute set's aggregated attributes into a worker's aggregation from now on.
+     *
+     * @param attributeSetName the name of the attribute set
+     * @param aggregation the worker's aggregation
+     * @param areAggregatedValuesStored whether aggregated values are also written to the database
+     */
+    void attachAggregation(String attributeSetName, ResultsAggregation aggregation, boolean areAggregatedValuesStored) {
+        propertyAggregates = aggregatesOf(propertySlots, propertyNames, name -> aggregation.getPropertySeries(attributeSetName, name));
+        preEventAggregates = aggregatesOf(preEventSlots, preEventNames, name -> aggregation.getPreEventSeries(attributeSetName, name));
+        postEventAggregates = aggregatesOf(postEventSlots, postEventNames, name -> aggregation.getPostEventSeries(attributeSetName, name));
+        this.areAggregatedValuesStored = areAggregatedValuesStored;
+    }
+
+    /** Looks up the aggregated series of each recorded attribute, by slot */
+    private static AggregatedSeries[] aggregatesOf(int[] slots, String[] names, Function<String, AggregatedSeries> seriesLookup) {
+        int slotCount = 0;
+        for (int slot : slots)
+            slotCount = Math.max(slotCount, slot + 1);
+
+        AggregatedSeries[] aggregates = null;
+        for (int i = 0; i < slots.length; i++) {
+            AggregatedSeries series = slots[i] == NOT_RECORDED ? null : seriesLookup.apply(names[i]);
+            if (series == null)
+                continue;
+            if (aggregates == null)
+                aggregates = new AggregatedSeries[slotCount];
+            aggregates[slots[i]] = series;
+        }
+        return aggregates;
+    }
+
+    private static AggregatedSeries aggregateAt(AggregatedSeries[] aggregates, int slot) {
+        return aggregates == null || slot >= aggregates.length ? null : aggregates[slot];
+    }
+
+    /** @return true if recording needs the current tick, set with {@link #setTick(int, int)} */
+    public boolean isTickNeeded() {
+        return hasRecordingPolicies() || propertyAggregates != null || preEventAggregates != null || postEventAggregates != null;
+    }
+
+    /**
+     * Sets the tick that following values are recorded for, so that recording policies can be applied.
+     *
+     * @param tick the tick, counted from the first tick after warm-up
+     * @param finalTick the final tick of the run, counted the same way
+     */
+    public void setTick(int tick, int finalTick) {
+        this.tick = tick;
+        this.finalTick = finalTick;
+    }
+
+    /** @return the final tick of the run, as last set by {@link #setTick(int, int)} */
+    int getFinalTick() {
+        return finalTick;
+    }
+
+    /**
+     * @param propertyIndex the index of the property in its attribute set
+     * @return the column slot of the property, or {@link #NOT_RECORDED}
+     */
+    public int getPropertySlot(int propertyIndex) {
+        return slotAt(propertySlots, propertyIndex);
+    }
+
+    /**
+     * @param preEventIndex the index of the pre-event in its attribute set
+     * @return the column slot of the pre-event, or {@link #NOT_RECORDED}
+     */
+    public int getPreEventSlot(int preEventIndex) {
+        return slotAt(preEventSlots, preEventIndex);
+    }
+
+    /**
+     * @param postEventIndex the index of the post-event in its attribute set
+     * @return the column slot of the post-event, or {@link #NOT_RECORDED}
+     */
+    public int getPostEventSlot(int postEventIndex) {
+        return slotAt(postEventSlots, postEventIndex);
+    }
+
+    /** Attributes added to the set after the plan was compiled are not recorded */
+    private static int slotAt(int[] slots, int index) {
+        return index < slots.length ? slots[index] : NOT_RECORDED;
+    }
+
+    /**
+     * Records a property value for this tick.
+     *
+     * @param slot the column slot of the property
+     * @param value the value to store
+     */
+    public void recordProperty(int slot, Object value) {
+        AggregatedSeries series = aggregateAt(propertyAggregates, slot);
+        if (series != null) {
+            series.accumulate(tick, value);
+            if (!areAggregatedValuesStored)
+                return;
+        }
+        if (propertyFilter == null || propertyFilter.admitValue(slot, tick, finalTick, value))
+            database.addPropertyValueAt(slot, value);
+    }
+
+    /**
+     * Records an {@code int} property value for this tick without boxing.
+     *
+     * @param slot the column slot of the property
+     * @param value the value to store
+     */
+    public void recordIntProperty(int slot, int value) {
+        AggregatedSeries series = aggregateAt(propertyAggregates, slot);
+        if (series != null) {
+            series.accumulateInt(tick, value);
+            if (!areAggregatedValuesStored)
+                return;
+        }
+        if (propertyFilter == null || propertyFilter.admitBits(slot, tick, finalTick, value))
+            database.addIntPropertyValueAt(slot, value);
+    }
+
+    /**
+     * Records a {@code long} property value for this tick without boxing.
+     *
+     * @param slot the column slot of the property
+     * @param value the value to store
+     */
+    public void recordLongProperty(int slot, long value) {
+        AggregatedSeries series = aggregateAt(propertyAggregates, slot);
+        if (series != null) {
+            series.accumulateLong(tick, value);
+            if (!areAggregatedValuesStored)
+                return;
+        }
+        if (propertyFilter == null || propertyFilter.admitBits(slot, tick, finalTick, value))
+            database.addLongPropertyValueAt(slot, value);
+    }
+
+    /**
+     * Records a {@code double} property value for this tick without boxing.
+     *
+     * @param slot the column slot of the property
+     * @param value the value to store
+     */
+    public void recordDoubleProperty(int slot, double value) {
+        AggregatedSeries series = aggregateAt(propertyAggregates, slot);
+        if (series != null) {
+            series.accumulateDouble(tick, value);
+            if (!areAggregatedValuesStored)
+                return;
+        }
+        if (propertyFilter == null || propertyFilter.admitBits(slot, tick, finalTick, Double.doubleToLongBits(value)))
+            database.addDoublePropertyValueAt(slot, value);
+    }
+
+    /**
+     * Records a {@code boolean} property value for this tick without boxing.
+     *
+     * @param slot the column slot of the property
+     * @param value the value to store
+     */
+    public void recordBooleanProperty(int slot, boolean value) {
+        AggregatedSeries series = aggregateAt(propertyAggregates, slot);
+        if (series != null) {
+            series.accumulateBoolean(tick, value);
+            if (!areAggregatedValuesStored)
+                return;
+        }
+        if (propertyFilter == null || propertyFilter.admitBits(slot, tick, finalTick, value ? 1 : 0))
+            database.addBooleanPropertyValueAt(slot, value);
+    }
+
+    /**
+     * Records a pre-event trigger status for this tick.
+     *
+     * @param slot the column slot of the pre-event
+     * @param isTriggered whether it was triggered
+     */
+    public void recordPreEvent(int slot, boolean isTriggered) {
+        AggregatedSeries series = aggregateAt(preEventAggregates, slot);
+        if (series != null) {
+            series.accumulateBoolean(tick, isTriggered);
+            if (!areAggregatedValuesStored)
+                return;
+        }
+        if (preEventFilter == null || preEventFilter.admitBits(slot, tick, finalTick, isTriggered ? 1 : 0))
+            database.addPreEventValueAt(slot, isTriggered);
+    }
+
+    /**
+     * Records a post-event trigger status for this tick.
+     *
+     * @param slot the column slot of the post-event
+     * @param isTriggered whether it was triggered
+     */
+    public void recordPostEvent(int slot, boolean isTriggered) {
+        AggregatedSeries series = aggregateAt(postEventAggregates, slot);
+        if (series != null) {
+            series.accumulateBoolean(tick, isTriggered);
+            if (!areAggregatedValuesStored)
+                return;
+        }
+        if (postEventFilter == null || postEventFilter.admitBits(slot, tick, finalTick, isTriggered ? 1 : 0))
+            database.addPostEventValueAt(slot, isTriggered);
+    }
+
+    // === Sparse series ===
+
+    /**
+     * @param propertyName the name of a recorded property
+     * @return the property's recording policy
+     */
+    public RecordingPolicy getPropertyRecordingPolicy(String propertyName) {
+        return policyOf(propertyFilter, propertyName);
+    }
+
+    /**
+     * @param preEventName the name of a recorded pre-event
+     * @return the pre-event's recording policy
+     */
+    public RecordingPolicy getPreEventRecordingPolicy(String preEventName) {
+        return policyOf(preEventFilter, preEventName);
+    }
+
+    /**
+     * @param postEventName the name of a recorded post-event
+     * @return the post-event's recording policy
+     */
+    public RecordingPolicy getPostEventRecordingPolicy(String postEventName) {
+        return policyOf(postEventFilter, postEventName);
+    }
+
+    /**
+     * @param propertyName the name of a recorded property
+     * @return the ticks of the property's recorded values, or {@code null} if it is recorded every tick
+     */
+    public List<Integer> getPropertyTicks(String propertyName) {
+        return ticksOf(propertyFilter, propertyName);
+    }
+
+    /**
+     * @param preEventName the name of a recorded pre-event
+     * @return the ticks of the pre-event's recorded values, or {@code null} if it is recorded every tick
+     */
+    public List<Integer> getPreEventTicks(String preEventName) {
+        return ticksOf(preEventFilter, preEventName);
+    }
+
+    /**
+     * @param postEventName the name of a recorded post-event
+     * @return the ticks of the post-event's recorded values, or {@code null} if it is recorded every tick
+     */
+    public List<Integer> getPostEventTicks(String postEventName) {
+        return ticksOf(postEventFilter, postEventName);
+    }
+
+    private static RecordingPolicy policyOf(RecordingFilter filter, String name) {
+        int slot = filter == null ? NOT_RECORDED : filter.slotOf(name);
+        return slot == NOT_RECORDED ? RecordingPolicy.everyTick() : filter.getPolicy(slot);
+    }
+
+    private static List<Integer> ticksOf(RecordingFilter filter, String name) {
+        int slot = filter == null ? NOT_RECORDED : filter.slotOf(name);
+        return slot == NOT_RECORDED ? null : filter.getTicks(slot);
+    }
+}
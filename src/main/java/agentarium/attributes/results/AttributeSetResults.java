@@ -3,13 +3,24 @@ package agentarium.attributes.results;
 import agentarium.attributes.AttributeSet;
 import agentarium.attributes.Event;
 import agentarium.attributes.Property;
+import agentarium.attributes.RecordingPolicy;
 import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
 import agentarium.attributes.results.databases.AttributeSetResultsDatabaseFactory;
+import agentarium.attributes.results.databases.ResultsStorageReport;
+import agentarium.attributes.results.databases.TickStatistics;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Stores and manages the recorded results for a single {@link AttributeSet},
@@ -17,6 +28,10 @@ import java.util.Map;
  *
  * <p>This class is responsible for writing tick-level data to the backing database,
  * and for providing access to stored values after simulation.
+ *
+ * <p>Attributes recorded with a {@link RecordingPolicy} other than every tick form sparse series: the ticks of
+ * their values are available from {@link #getPropertyTicks(String)} and the event equivalents, and
+ * {@link #getAlignedPropertyValues(String)} gives series that line up across model elements for accumulation.
  */
 public class AttributeSetResults {
 
@@ -41,6 +56,9 @@ public class AttributeSetResults {
     /** Names of all recorded post-events */
     private final List<String> postEventNamesList = new ArrayList<>();
 
+    /** Column slots of the recorded attributes, resolved once so that ticks are recorded by index */
+    private final AttributeSetRecordingPlan recordingPlan;
+
     /**
      * Constructs the results container for a given attribute set.
      *
@@ -56,6 +74,7 @@ public class AttributeSetResults {
         this.database = AttributeSetResultsDatabaseFactory.createDatabase();
 
         assert database != null;
+        database.setOwnerNames(modelElementName, attributeSetName);
         database.connect();
 
         // Register properties marked for recording
@@ -64,6 +83,7 @@ public class AttributeSetResults {
             if (property.isRecorded()) {
                 propertyNamesList.add(property.getName());
                 propertyTypesMap.put(property.getName(), property.getType());
+                database.declarePropertyType(property.getName(), property.getType());
             }
         }
 
@@ -80,6 +100,8 @@ public class AttributeSetResults {
             if (event.isRecorded())
                 postEventNamesList.add(event.getName());
         }
+
+        recordingPlan = new AttributeSetRecordingPlan(attributeSet, database);
     }
 
     /** @return the name of the owning model element (agent/environment) */
@@ -107,6 +129,26 @@ public class AttributeSetResults {
         return postEventNamesList;
     }
 
+    /**
+     * Returns the plan mapping each recorded attribute of the set, by index, to its column slot.
+     *
+     * @return the recording plan
+     */
+    public AttributeSetRecordingPlan getRecordingPlan() {
+        return recordingPlan;
+    }
+
+    /**
+     * Folds the values of this attribute set's aggregated attributes into a worker thread's aggregation as they
+     * are recorded.
+     *
+     * @param aggregation the worker's aggregation
+     * @param areAggregatedValuesStored whether the raw values of aggregated attributes are also stored
+     */
+    public void attachAggregation(ResultsAggregation aggregation, boolean areAggregatedValuesStored) {
+        recordingPlan.attachAggregation(attributeSetName, aggregation, areAggregatedValuesStored);
+    }
+
     /**
      * Returns the recorded value type of a given property.
      *
@@ -127,6 +169,46 @@ public class AttributeSetResults {
         database.addPropertyValue(propertyName, value);
     }
 
+    /**
+     * Records an {@code int} property value to the backing database for this tick without boxing.
+     *
+     * @param propertyName the property to record
+     * @param value the value to store
+     */
+    public void recordIntProperty(String propertyName, int value) {
+        database.addIntPropertyValue(propertyName, value);
+    }
+
+    /**
+     * Records a {@code long} property value to the backing database for this tick without boxing.
+     *
+     * @param propertyName the property to record
+     * @param value the value to store
+     */
+    public void recordLongProperty(String propertyName, long value) {
+        database.addLongPropertyValue(propertyName, value);
+    }
+
+    /**
+     * Records a {@code double} property value to the backing database for this tick without boxing.
+     *
+     * @param propertyName the property to record
+     * @param value the value to store
+     */
+    public void recordDoubleProperty(String propertyName, double value) {
+        database.addDoublePropertyValue(propertyName, value);
+    }
+
+    /**
+     * Records a {@code boolean} property value to the backing database for this tick without boxing.
+     *
+     * @param propertyName the property to record
+     * @param value the value to store
+     */
+    public void recordBooleanProperty(String propertyName, boolean value) {
+        database.addBooleanPropertyValue(propertyName, value);
+    }
+
     /**
      * Records a pre-event trigger status for this tick.
      *
@@ -179,10 +261,323 @@ public class AttributeSetResults {
         return (List<Boolean>) (List<?>) database.getPostEventColumnAsList(eventName);
     }
 
+    // === Streaming retrieval ===
+
+    /**
+     * Retrieves the values of a property recorded from one tick up to, but not including, another, reading only
+     * those values from the database.
+     *
+     * @param propertyName the property name
+     * @param fromTick the first tick, counted from the first tick after warm-up
+     * @param toTick the tick after the last tick
+     * @return the values recorded within the ticks, or {@code null} if the property has no recorded values
+     */
+    public List<Object> getPropertyValues(String propertyName, int fromTick, int toTick) {
+        checkTickRange(fromTick, toTick);
+        List<Integer> ticks = recordingPlan.getPropertyTicks(propertyName);
+        return database.getPropertyColumnRange(propertyName, indexOfTick(ticks, fromTick), indexOfTick(ticks, toTick));
+    }
+
+    /**
+     * Retrieves the trigger states of a pre-event recorded from one tick up to, but not including, another.
+     *
+     * @param eventName the pre-event name
+     * @param fromTick the first tick, counted from the first tick after warm-up
+     * @param toTick the tick after the last tick
+     * @return the trigger states recorded within the ticks, or {@code null} if the pre-event has none
+     */
+    @SuppressWarnings("unchecked")
+    public List<Boolean> getPreEventValues(String eventName, int fromTick, int toTick) {
+        checkTickRange(fromTick, toTick);
+        List<Integer> ticks = recordingPlan.getPreEventTicks(eventName);
+        return (List<Boolean>) (List<?>) database.getPreEventColumnRange(eventName, indexOfTick(ticks, fromTick), indexOfTick(ticks, toTick));
+    }
+
+    /**
+     * Retrieves the trigger states of a post-event recorded from one tick up to, but not including, another.
+     *
+     * @param eventName the post-event name
+     * @param fromTick the first tick, counted from the first tick after warm-up
+     * @param toTick the tick after the last tick
+     * @return the trigger states recorded within the ticks, or {@code null} if the post-event has none
+     */
+    @SuppressWarnings("unchecked")
+    public List<Boolean> getPostEventValues(String eventName, int fromTick, int toTick) {
+        checkTickRange(fromTick, toTick);
+        List<Integer> ticks = recordingPlan.getPostEventTicks(eventName);
+        return (List<Boolean>) (List<?>) database.getPostEventColumnRange(eventName, indexOfTick(ticks, fromTick), indexOfTick(ticks, toTick));
+    }
+
+    private static void checkTickRange(int fromTick, int toTick) {
+        if (fromTick < 0 || toTick < fromTick)
+            throw new IllegalArgumentException("Invalid range of ticks: " + fromTick + " to " + toTick);
+    }
+
+    /**
+     * Finds the index of the first value recorded at or after a tick. Series recorded every tick hold the value
+     * of tick {@code n} at index {@code n}; sparse series are searched by their recorded ticks.
+     */
+    private static int indexOfTick(List<Integer> ticks, int tick) {
+        if (ticks == null)
+            return tick;
+        int low = 0;
+        int high = ticks.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ticks.get(middle) < tick)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Streams a property's recorded values, reading them from the database as the stream is consumed.
+     *
+     * @param propertyName the property name
+     * @return a sequential stream of the values
+     */
+    public Stream<Object> streamPropertyValues(String propertyName) {
+        return streamOf(database.getPropertyColumnIterator(propertyName));
+    }
+
+    /**
+     * Streams a pre-event's recorded trigger states, reading them from the database as the stream is consumed.
+     *
+     * @param eventName the pre-event name
+     * @return a sequential stream of the trigger states
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Boolean> streamPreEventValues(String eventName) {
+        return (Stream<Boolean>) (Stream<?>) streamOf(database.getPreEventColumnIterator(eventName));
+    }
+
+    /**
+     * Streams a post-event's recorded trigger states, reading them from the database as the stream is consumed.
+     *
+     * @param eventName the post-event name
+     * @return a sequential stream of the trigger states
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Boolean> streamPostEventValues(String eventName) {
+        return (Stream<Boolean>) (Stream<?>) streamOf(database.getPostEventColumnIterator(eventName));
+    }
+
+    /**
+     * Streams a numeric property's recorded values as {@code double}s, without boxing them where the database
+     * stores them as primitives.
+     *
+     * @param propertyName the property name
+     * @return a sequential stream of the values
+     */
+    public DoubleStream streamPropertyDoubles(String propertyName) {
+        return StreamSupport.doubleStream(Spliterators.spliteratorUnknownSize(
+                database.getPropertyColumnDoubleIterator(propertyName), Spliterator.ORDERED), false);
+    }
+
+    /**
+     * Streams an integral property's recorded values as {@code long}s, without boxing them where the database
+     * stores them as primitives.
+     *
+     * @param propertyName the property name
+     * @return a sequential stream of the values
+     */
+    public LongStream streamPropertyLongs(String propertyName) {
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(
+                database.getPropertyColumnLongIterator(propertyName), Spliterator.ORDERED), false);
+    }
+
+    private static Stream<Object> streamOf(Iterator<Object> values) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(values, Spliterator.ORDERED), false);
+    }
+
+    /**
+     * Retrieves the ticks at which a property's values were recorded, counted from the first tick after warm-up.
+     *
+     * @param propertyName the property name
+     * @return the tick of each value returned by {@link #getPropertyValues(String)}
+     */
+    public List<Integer> getPropertyTicks(String propertyName) {
+        List<Integer> ticks = recordingPlan.getPropertyTicks(propertyName);
+        return ticks != null ? ticks : consecutiveTicks(getPropertyValues(propertyName).size());
+    }
+
+    /**
+     * Retrieves the ticks at which a pre-event's trigger states were recorded.
+     *
+     * @param eventName the pre-event name
+     * @return the tick of each value returned by {@link #getPreEventValues(String)}
+     */
+    public List<Integer> getPreEventTicks(String eventName) {
+        List<Integer> ticks = recordingPlan.getPreEventTicks(eventName);
+        return ticks != null ? ticks : consecutiveTicks(getPreEventValues(eventName).size());
+    }
+
+    /**
+     * Retrieves the ticks at which a post-event's trigger states were recorded.
+     *
+     * @param eventName the post-event name
+     * @return the tick of each value returned by {@link #getPostEventValues(String)}
+     */
+    public List<Integer> getPostEventTicks(String eventName) {
+        List<Integer> ticks = recordingPlan.getPostEventTicks(eventName);
+        return ticks != null ? ticks : consecutiveTicks(getPostEventValues(eventName).size());
+    }
+
+    /**
+     * Retrieves a property's values in a form that lines up with the same property of other model elements.
+     *
+     * <p>Series recorded on change are expanded to one value per tick, each value carried forward until the
+     * next change. Other series are returned as recorded, since their policies pick the same ticks for every
+     * model element.
+     *
+     * @param propertyName the property name
+     * @return the aligned values
+     */
+    public List<Object> getAlignedPropertyValues(String propertyName) {
+        List<Object> values = getPropertyValues(propertyName);
+        if (!recordingPlan.getPropertyRecordingPolicy(propertyName).isOnChange())
+            return values;
+        return carriedForward(recordingPlan.getPropertyTicks(propertyName), values);
+    }
+
+    /**
+     * Retrieves a pre-event's trigger states in a form that lines up with other model elements.
+     *
+     * @param eventName the pre-event name
+     * @return the aligned trigger states
+     * @see #getAlignedPropertyValues(String)
+     */
+    public List<Boolean> getAlignedPreEventValues(String eventName) {
+        List<Boolean> values = getPreEventValues(eventName);
+        if (!recordingPlan.getPreEventRecordingPolicy(eventName).isOnChange())
+            return values;
+        return carriedForward(recordingPlan.getPreEventTicks(eventName), values);
+    }
+
+    /**
+     * Retrieves a post-event's trigger states in a form that lines up with other model elements.
+     *
+     * @param eventName the post-event name
+     * @return the aligned trigger states
+     * @see #getAlignedPropertyValues(String)
+     */
+    public List<Boolean> getAlignedPostEventValues(String eventName) {
+        List<Boolean> values = getPostEventValues(eventName);
+        if (!recordingPlan.getPostEventRecordingPolicy(eventName).isOnChange())
+            return values;
+        return carriedForward(recordingPlan.getPostEventTicks(eventName), values);
+    }
+
+    // === Aggregation ===
+
+    /**
+     * Folds a property's values into per-tick statistics shared with other model elements.
+     *
+     * <p>Series recorded every tick are scanned by the database. Sparse series are folded at the ticks they were
+     * recorded, and series recorded on change at every tick, as in {@link #getAlignedPropertyValues(String)}.
+     *
+     * @param propertyName the property name
+     * @param statistics the statistics to fold the values into
+     */
+    public void addPropertyValuesTo(String propertyName, TickStatistics statistics) {
+        List<Integer> ticks = recordingPlan.getPropertyTicks(propertyName);
+        if (ticks == null)
+            database.addPropertyColumnTo(propertyName, statistics);
+        else
+            addSparseValuesTo(statistics, ticks, getPropertyValues(propertyName),
+                    recordingPlan.getPropertyRecordingPolicy(propertyName).isOnChange());
+    }
+
+    /**
+     * Folds a pre-event's trigger states into per-tick statistics shared with other model elements.
+     *
+     * @param eventName the pre-event name
+     * @param statistics the statistics to fold the trigger states into
+     * @see #addPropertyValuesTo(String, TickStatistics)
+     */
+    public void addPreEventValuesTo(String eventName, TickStatistics statistics) {
+        List<Integer> ticks = recordingPlan.getPreEventTicks(eventName);
+        if (ticks == null)
+            database.addPreEventColumnTo(eventName, statistics);
+        else
+            addSparseValuesTo(statistics, ticks, getPreEventValues(eventName),
+                    recordingPlan.getPreEventRecordingPolicy(eventName).isOnChange());
+    }
+
+    /**
+     * Folds a post-event's trigger states into per-tick statistics shared with other model elements.
+     *
+     * @param eventName the post-event name
+     * @param statistics the statistics to fold the trigger states into
+     * @see #addPropertyValuesTo(String, TickStatistics)
+     */
+    public void addPostEventValuesTo(String eventName, TickStatistics statistics) {
+        List<Integer> ticks = recordingPlan.getPostEventTicks(eventName);
+        if (ticks == null)
+            database.addPostEventColumnTo(eventName, statistics);
+        else
+            addSparseValuesTo(statistics, ticks, getPostEventValues(eventName),
+                    recordingPlan.getPostEventRecordingPolicy(eventName).isOnChange());
+    }
+
+    private <T> void addSparseValuesTo(TickStatistics statistics, List<Integer> ticks, List<T> values, boolean isOnChange) {
+        if (values == null)
+            return;
+        if (isOnChange) {
+            List<T> aligned = carriedForward(ticks, values);
+            for (int tick = 0; tick < aligned.size(); tick++)
+                statistics.add(tick, aligned.get(tick));
+        } else {
+            for (int i = 0; i < values.size(); i++)
+                statistics.add(ticks.get(i), values.get(i));
+        }
+    }
+
+    /** Expands a sparse series to one value per tick up to the final tick, carrying each value forward */
+    private <T> List<T> carriedForward(List<Integer> ticks, List<T> values) {
+        int finalTick = recordingPlan.getFinalTick();
+        int tickCount = finalTick != Integer.MAX_VALUE ? finalTick + 1 : ticks.isEmpty() ? 0 : ticks.get(ticks.size() - 1) + 1;
+        List<T> aligned = new ArrayList<>(tickCount);
+        T current = null;
+        int next = 0;
+        for (int tick = 0; tick < tickCount; tick++) {
+            while (next < ticks.size() && ticks.get(next) <= tick)
+                current = values.get(next++);
+            aligned.add(current);
+        }
+        return aligned;
+    }
+
+    /** A list of the ticks 0 to {@code count - 1}, for series recorded every tick */
+    private static List<Integer> consecutiveTicks(int count) {
+        return new AbstractList<>() {
+            @Override
+            public Integer get(int index) {
+                if (index < 0 || index >= count)
+                    throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + count);
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
     /**
      * Closes the underlying database and releases any held resources.
      */
     public void disconnectDatabase() {
         database.disconnect();
     }
+
+    /**
+     * @return a report of how much memory this attribute set's recorded values take
+     */
+    public ResultsStorageReport getStorageReport() {
+        return database.getStorageReport();
+    }
 }
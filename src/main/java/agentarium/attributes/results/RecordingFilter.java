@@ -0,0 +1,152 @@
+package agentarium.attributes.results;
+
+import agentarium.attributes.Attribute;
+import agentarium.attributes.RecordingPolicy;
+import agentarium.attributes.results.databases.columns.IntResultsColumn;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Applies the {@link RecordingPolicy} of each recorded attribute of one kind (properties, pre-events or
+ * post-events) to the values offered for recording, keeping the tick of every value it admits.
+ *
+ * <p>Attributes are addressed by column slot. Attributes recorded every tick have no policy here and are always
+ * admitted without their ticks being kept.
+ */
+final class RecordingFilter {
+
+    /** Policy of each slot, or {@code null} for slots recorded every tick */
+    private final RecordingPolicy[] policies;
+
+    /** Name of the attribute in each slot with a policy */
+    private final String[] names;
+
+    /** Ticks of the values admitted to each slot with a policy */
+    private final IntResultsColumn[] ticks;
+
+    /** Last admitted value of each on-change slot, as a bit pattern for primitive values */
+    private final long[] lastBits;
+    private final Object[] lastValues;
+    private final boolean[] hasLastValue;
+
+    private RecordingFilter(int slotCount) {
+        policies = new RecordingPolicy[slotCount];
+        names = new String[slotCount];
+        ticks = new IntResultsColumn[slotCount];
+        lastBits = new long[slotCount];
+        lastValues = new Object[slotCount];
+        hasLastValue = new boolean[slotCount];
+    }
+
+    /**
+     * Creates a filter for attributes whose slots have been registered.
+     *
+     * @param attributes looks up the attributes by index in their set
+     * @param slots the slot of each attribute, by the same index
+     * @return the filter, or {@code null} if every recorded attribute is recorded every tick
+     */
+    static RecordingFilter of(IntFunction<? extends Attribute> attributes, int[] slots) {
+        int slotCount = 0;
+        boolean hasPolicies = false;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == AttributeSetRecordingPlan.NOT_RECORDED)
+                continue;
+            slotCount = Math.max(slotCount, slots[i] + 1);
+            hasPolicies |= !attributes.apply(i).getRecordingPolicy().isEveryTick();
+        }
+        if (!hasPolicies)
+            return null;
+
+        RecordingFilter filter = new RecordingFilter(slotCount);
+        for (int i = 0; i < slots.length; i++) {
+            RecordingPolicy policy = attributes.apply(i).getRecordingPolicy();
+            if (slots[i] == AttributeSetRecordingPlan.NOT_RECORDED || policy.isEveryTick())
+                continue;
+            filter.policies[slots[i]] = policy;
+            filter.names[slots[i]] = attributes.apply(i).getName();
+            filter.ticks[slots[i]] = new IntResultsColumn();
+        }
+        return filter;
+    }
+
+    /**
+     * Admits a primitive value, given as its bit pattern, if the slot's policy records it at this tick.
+     *
+     * @param slot the column slot
+     * @param tick the current tick
+     * @param finalTick the final tick of the run
+     * @param bits the value's bit pattern
+     * @return true if the value should be recorded
+     */
+    boolean admitBits(int slot, int tick, int finalTick, long bits) {
+        RecordingPolicy policy = policies[slot];
+        if (policy == null)
+            return true;
+        if (!policy.isRecordedAt(tick, finalTick))
+            return false;
+        if (policy.isOnChange()) {
+            if (hasLastValue[slot] && lastBits[slot] == bits)
+                return false;
+            lastBits[slot] = bits;
+            hasLastValue[slot] = true;
+        }
+        ticks[slot].addInt(tick);
+        return true;
+    }
+
+    /**
+     * Admits an object value if the slot's policy records it at this tick.
+     *
+     * @param slot the column slot
+     * @param tick the current tick
+     * @param finalTick the final tick of the run
+     * @param value the value
+     * @return true if the value should be recorded
+     */
+    boolean admitValue(int slot, int tick, int finalTick, Object value) {
+        RecordingPolicy policy = policies[slot];
+        if (policy == null)
+            return true;
+        if (!policy.isRecordedAt(tick, finalTick))
+            return false;
+        if (policy.isOnChange()) {
+            if (hasLastValue[slot] && Objects.equals(lastValues[slot], value))
+                return false;
+            lastValues[slot] = value;
+            hasLastValue[slot] = true;
+        }
+        ticks[slot].addInt(tick);
+        return true;
+    }
+
+    /**
+     * @param name the name of an attribute
+     * @return the slot of the attribute, or {@link AttributeSetRecordingPlan#NOT_RECORDED} if it has no policy
+     */
+    int slotOf(String name) {
+        for (int slot = 0; slot < names.length; slot++) {
+            if (name.equals(names[slot]))
+                return slot;
+        }
+        return AttributeSetRecordingPlan.NOT_RECORDED;
+    }
+
+    /**
+     * @param slot a slot returned by {@link #slotOf(String)}
+     * @return the policy of the slot
+     */
+    RecordingPolicy getPolicy(int slot) {
+        return policies[slot];
+    }
+
+    /**
+     * @param slot a slot returned by {@link #slotOf(String)}
+     * @return the ticks of the values recorded to the slot
+     */
+    @SuppressWarnings("unchecked")
+    List<Integer> getTicks(int slot) {
+        return (List<Integer>) (List<?>) ticks[slot].asList();
+    }
+}
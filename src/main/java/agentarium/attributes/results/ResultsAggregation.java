@@ -0,0 +1,173 @@
+package agentarium.attributes.results;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link ResultsAggregator}s applied to agents' recorded attributes while a model runs, together with their
+ * per-tick partial results.
+ *
+ * <p>Aggregators are registered on the aggregation held by the model settings. Each worker thread takes an
+ * {@link #emptyCopy()} and attaches it to the results of its agents, which then fold every recorded value into
+ * the matching series as it is recorded. The workers' aggregations are merged with {@link #combine} when the run
+ * ends, and the finished per-tick values replace the accumulated results of the aggregated attributes, so they
+ * need not be computed from every agent's stored series.
+ */
+public final class ResultsAggregation {
+
+    private static final char PROPERTY = 'p';
+    private static final char PRE_EVENT = 'b';
+    private static final char POST_EVENT = 'a';
+
+    /** Series keyed by attribute kind, attribute set name and attribute name */
+    private final Map<String, AggregatedSeries> seriesMap = new LinkedHashMap<>();
+
+    /** Names of the aggregated attributes of each attribute set, keyed the same way without the attribute name */
+    private final Map<String, List<String>> namesMap = new LinkedHashMap<>();
+
+    /**
+     * Registers an aggregator for an agent property.
+     *
+     * @param attributeSetName the name of the attribute set
+     * @param propertyName the name of the property
+     * @param aggregator the aggregator
+     */
+    public void addPropertyAggregator(String attributeSetName, String propertyName, ResultsAggregator<?> aggregator) {
+        add(PROPERTY, attributeSetName, propertyName, aggregator);
+    }
+
+    /**
+     * Registers an aggregator for an agent pre-event.
+     *
+     * @param attributeSetName the name of the attribute set
+     * @param preEventName the name of the pre-event
+     * @param aggregator the aggregator
+     */
+    public void addPreEventAggregator(String attributeSetName, String preEventName, ResultsAggregator<?> aggregator) {
+        add(PRE_EVENT, attributeSetName, preEventName, aggregator);
+    }
+
+    /**
+     * Registers an aggregator for an agent post-event.
+     *
+     * @param attributeSetName the name of the attribute set
+     * @param postEventName the name of the post-event
+     * @param aggregator the aggregator
+     */
+    public void addPostEventAggregator(String attributeSetName, String postEventName, ResultsAggregator<?> aggregator) {
+        add(POST_EVENT, attributeSetName, postEventName, aggregator);
+    }
+
+    private void add(char kind, String attributeSetName, String name, ResultsAggregator<?> aggregator) {
+        if (aggregator == null)
+            throw new IllegalArgumentException("Aggregator must not be null");
+        if (seriesMap.put(key(kind, attributeSetName, name), new AggregatedSeries(aggregator)) == null)
+            namesMap.computeIfAbsent(kind + attributeSetName, k -> new ArrayList<>()).add(name);
+    }
+
+    private static String key(char kind, String attributeSetName, String name) {
+        return kind + attributeSetName + '\u0000' + name;
+    }
+
+    /** @return true if no aggregators are registered */
+    public boolean isEmpty() {
+        return seriesMap.isEmpty();
+    }
+
+    /** @return an aggregation with the same aggregators and no partial results */
+    public ResultsAggregation emptyCopy() {
+        ResultsAggregation copy = new ResultsAggregation();
+        for (Map.Entry<String, AggregatedSeries> entry : seriesMap.entrySet())
+            copy.seriesMap.put(entry.getKey(), entry.getValue().emptyCopy());
+        for (Map.Entry<String, List<String>> entry : namesMap.entrySet())
+            copy.namesMap.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        return copy;
+    }
+
+    /**
+     * Merges another aggregation's partial results into this one, tick by tick.
+     *
+     * @param other an aggregation copied from the same registrations
+     */
+    public void combine(ResultsAggregation other) {
+        for (Map.Entry<String, AggregatedSeries> entry : other.seriesMap.entrySet()) {
+            AggregatedSeries series = seriesMap.get(entry.getKey());
+            if (series == null)
+                throw new IllegalArgumentException("Cannot combine aggregations with different aggregators");
+            series.combine(entry.getValue());
+        }
+    }
+
+    // === Attaching to recorded results ===
+
+    AggregatedSeries getPropertySeries(String attributeSetName, String propertyName) {
+        return seriesMap.get(key(PROPERTY, attributeSetName, propertyName));
+    }
+
+    AggregatedSeries getPreEventSeries(String attributeSetName, String preEventName) {
+        return seriesMap.get(key(PRE_EVENT, attributeSetName, preEventName));
+    }
+
+    AggregatedSeries getPostEventSeries(String attributeSetName, String postEventName) {
+        return seriesMap.get(key(POST_EVENT, attributeSetName, postEventName));
+    }
+
+    // === Finished results ===
+
+    /**
+     * @param attributeSetName the name of an attribute set
+     * @return the names of its aggregated properties
+     */
+    public List<String> getPropertyNames(String attributeSetName) {
+        return namesMap.getOrDefault(PROPERTY + attributeSetName, List.of());
+    }
+
+    /**
+     * @param attributeSetName the name of an attribute set
+     * @return the names of its aggregated pre-events
+     */
+    public List<String> getPreEventNames(String attributeSetName) {
+        return namesMap.getOrDefault(PRE_EVENT + attributeSetName, List.of());
+    }
+
+    /**
+     * @param attributeSetName the name of an attribute set
+     * @return the names of its aggregated post-events
+     */
+    public List<String> getPostEventNames(String attributeSetName) {
+        return namesMap.getOrDefault(POST_EVENT + attributeSetName, List.of());
+    }
+
+    /**
+     * @param attributeSetName the name of the attribute set
+     * @param propertyName the name of the property
+     * @return the finished value of each tick, or {@code null} if the property is not aggregated
+     */
+    public List<Object> getPropertyValues(String attributeSetName, String propertyName) {
+        return finish(getPropertySeries(attributeSetName, propertyName));
+    }
+
+    /**
+     * @param attributeSetName the name of the attribute set
+     * @param preEventName the name of the pre-event
+     * @return the finished value of each tick, or {@code null} if the pre-event is not aggregated
+     */
+    public List<Object> getPreEventValues(String attributeSetName, String preEventName) {
+        return finish(getPreEventSeries(attributeSetName, preEventName));
+    }
+
+    /**
+     * @param attributeSetName the name of the attribute set
+     * @param postEventName the name of the post-event
+     * @return the finished value of each tick, or {@code null} if the post-event is not aggregated
+     */
+    public List<Object> getPostEventValues(String attributeSetName, String postEventName) {
+        return finish(getPostEventSeries(attributeSetName, postEventName));
+    }
+
+    private static List<Object> finish(AggregatedSeries series) {
+        return series == null ? null : series.finish();
+    }
+}
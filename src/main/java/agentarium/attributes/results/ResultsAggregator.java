@@ -0,0 +1,177 @@
+package agentarium.attributes.results;
+
+/**
+ * An associative reduction of one recorded attribute across agents, applied per tick while the model runs.
+ *
+ * <p>Each worker thread keeps one partial result per tick, starting from {@link #identity()} and folding in the
+ * value of every agent it runs with {@link #accumulate(Object, Object)}. The partial results of the workers
+ * are merged with {@link #combine(Object, Object)} when the run ends, and each tick's result is then passed
+ * through {@link #finish(Object)}. Since agents are folded in no particular order, {@code accumulate} and
+ * {@code combine} must not depend on it.
+ *
+ * <p>Partial results may be mutable, in which case {@code identity()} must return a new instance each time and
+ * the other methods may update and return their first argument. The primitive {@code accumulate} variants box
+ * their value by default and can be overridden to avoid it.
+ *
+ * @param <A> the type of partial result
+ */
+public interface ResultsAggregator<A> {
+
+    /** @return a new partial result covering no agents */
+    A identity();
+
+    /**
+     * Folds one agent's value for a tick into a partial result.
+     *
+     * @param partial the partial result of the tick so far
+     * @param value the agent's value, boxed
+     * @return the updated partial result
+     */
+    A accumulate(A partial, Object value);
+
+    /**
+     * Merges two partial results for the same tick.
+     *
+     * @param left a partial result
+     * @param right another partial result
+     * @return the partial result covering the agents of both
+     */
+    A combine(A left, A right);
+
+    /**
+     * Turns a tick's merged partial result into the value stored in the accumulated results.
+     *
+     * @param partial the merged partial result
+     * @return the value to store
+     */
+    default Object finish(A partial) {
+        return partial;
+    }
+
+    /** Folds an {@code int} value into a partial result */
+    default A accumulateInt(A partial, int value) {
+        return accumulate(partial, value);
+    }
+
+    /** Folds a {@code long} value into a partial result */
+    default A accumulateLong(A partial, long value) {
+        return accumulate(partial, value);
+    }
+
+    /** Folds a {@code double} value into a partial result */
+    default A accumulateDouble(A partial, double value) {
+        return accumulate(partial, value);
+    }
+
+    /** Folds a {@code boolean} value into a partial result */
+    default A accumulateBoolean(A partial, boolean value) {
+        return accumulate(partial, value);
+    }
+
+    /**
+     * Returns an aggregator summing numeric values as doubles, counting {@code true} as one so that it also
+     * counts triggered events. Other values, including nulls, are ignored.
+     *
+     * @return the aggregator
+     */
+    static ResultsAggregator<double[]> summing() {
+        return new ResultsAggregator<>() {
+            @Override
+            public double[] identity() {
+                return new double[1];
+            }
+
+            @Override
+            public double[] accumulate(double[] partial, Object value) {
+                if (value instanceof Number)
+                    partial[0] += ((Number) value).doubleValue();
+                else if (Boolean.TRUE.equals(value))
+                    partial[0]++;
+                return partial;
+            }
+
+            @Override
+            public double[] accumulateDouble(double[] partial, double value) {
+                partial[0] += value;
+                return partial;
+            }
+
+            @Override
+            public double[] accumulateInt(double[] partial, int value) {
+                partial[0] += value;
+                return partial;
+            }
+
+            @Override
+            public double[] accumulateBoolean(double[] partial, boolean value) {
+                if (value)
+                    partial[0]++;
+                return partial;
+            }
+
+            @Override
+            public double[] combine(double[] left, double[] right) {
+                left[0] += right[0];
+                return left;
+            }
+
+            @Override
+            public Object finish(double[] partial) {
+                return partial[0];
+            }
+        };
+    }
+
+    /**
+     * Returns an aggregator averaging numeric values as doubles, counting {@code true} as one so that it gives
+     * the fraction of agents triggering an event. Other values, including nulls, are ignored.
+     *
+     * @return the aggregator, finishing to {@link Double#NaN} for ticks without values
+     */
+    static ResultsAggregator<double[]> averaging() {
+        return new ResultsAggregator<>() {
+            @Override
+            public double[] identity() {
+                return new double[2];
+            }
+
+            @Override
+            public double[] accumulate(double[] partial, Object value) {
+                if (value instanceof Number)
+                    return accumulateDouble(partial, ((Number) value).doubleValue());
+                if (value instanceof Boolean)
+                    return accumulateDouble(partial, (Boolean) value ? 1 : 0);
+                return partial;
+            }
+
+            @Override
+            public double[] accumulateDouble(double[] partial, double value) {
+                partial[0] += value;
+                partial[1]++;
+                return partial;
+            }
+
+            @Override
+            public double[] accumulateInt(double[] partial, int value) {
+                return accumulateDouble(partial, value);
+            }
+
+            @Override
+            public double[] accumulateBoolean(double[] partial, boolean value) {
+                return accumulateDouble(partial, value ? 1 : 0);
+            }
+
+            @Override
+            public double[] combine(double[] left, double[] right) {
+                left[0] += right[0];
+                left[1] += right[1];
+                return left;
+            }
+
+            @Override
+            public Object finish(double[] partial) {
+                return partial[1] == 0 ? Double.NaN : partial[0] / partial[1];
+            }
+        };
+    }
+}
@@ -0,0 +1,364 @@
+package agentarium.attributes.results.databases;
+
+import utils.DeepCopier;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+/**
+ * An {@link AttributeSetResultsDatabase} that hands recorded values to a background writer instead of writing
+ * them on the simulation thread.
+ *
+ * <p>Values added tick by tick are appended to a bounded buffer owned by the recording thread, and a dedicated
+ * writer thread drains the buffer into the wrapped database, so serialisation and disk latency overlap with the
+ * simulation instead of adding to each tick. When the buffer is full, recording blocks until the writer catches
+ * up. Values other than strings and boxed primitives are deep copied before they are buffered, so a mutable
+ * value is written as it was when recorded. Reading or replacing a column, and disconnecting, first wait for the
+ * database's buffered values to be written, so results always reflect every value added.
+ *
+ * <p>{@link agentarium.Model#run()} closes the writers of its {@link ResultsBackend} once the simulation has
+ * finished, before results are accumulated; from then on the wrapped databases are written synchronously.
+ * {@link #closeWriters()} closes the writers of every backend. Asynchronous
+ * writing is enabled with {@link AttributeSetResultsDatabaseFactory#setAsynchronousWrites(boolean)}.
+ */
+public class AsyncAttributeSetResultsDatabase extends AttributeSetResultsDatabase {
+
+    /** The database values are written to */
+    private final AttributeSetResultsDatabase delegate;
+
+    /** The backend bound when this database was created, whose writers it uses, or null if none was bound */
+    private final ResultsBackend backend = ResultsBackend.current();
+
+    /** The writer of the thread that recorded the first value, or null before then */
+    private AsyncResultsWriter writer = null;
+
+    /**
+     * Wraps a database so that values added to it are written in the background.
+     *
+     * @param delegate the database values are written to
+     */
+    public AsyncAttributeSetResultsDatabase(AttributeSetResultsDatabase delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Sets how many values each recording thread may buffer before recording blocks. Applies to writers started
+     * from now on.
+     *
+     * @param capacity the number of values buffered per thread, at least 1
+     */
+    public static void setBufferCapacity(int capacity) {
+        AsyncResultsWriter.setBufferCapacity(capacity);
+    }
+
+    /** @return the number of values buffered per recording thread */
+    public static int getBufferCapacity() {
+        return AsyncResultsWriter.getBufferCapacity();
+    }
+
+    /**
+     * Writes every buffered value and stops all background writers. Must only be called once no thread is
+     * recording values.
+     */
+    public static void closeWriters() {
+        AsyncResultsWriter.closeAll();
+    }
+
+    /** @return the database values are written to */
+    public AttributeSetResultsDatabase getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    protected void setDatabasePath(String databasePath) {
+        super.setDatabasePath(databasePath);
+        delegate.setDatabasePath(databasePath);
+    }
+
+    @Override
+    public void setOwnerNames(String modelElementName, String attributeSetName) {
+        super.setOwnerNames(modelElementName, attributeSetName);
+        delegate.setOwnerNames(modelElementName, attributeSetName);
+    }
+
+    @Override
+    public void declarePropertyType(String propertyName, Class<?> type) {
+        synchronized (delegate) {
+            delegate.declarePropertyType(propertyName, type);
+        }
+    }
+
+    @Override
+    public void connect() {
+        synchronized (delegate) {
+            delegate.connect();
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        awaitWrites();
+        synchronized (delegate) {
+            delegate.disconnect();
+        }
+    }
+
+    // === Tick-by-tick value addition ===
+
+    @Override
+    public <T> void addPropertyValue(String propertyName, T propertyValue) {
+        append(AsyncResultsWriter.PROPERTY, propertyName, propertyValue);
+    }
+
+    @Override
+    public <T> void addPreEventValue(String preEventName, T preEventValue) {
+        append(AsyncResultsWriter.PRE_EVENT, preEventName, preEventValue);
+    }
+
+    @Override
+    public <T> void addPostEventValue(String postEventName, T postEventValue) {
+        append(AsyncResultsWriter.POST_EVENT, postEventName, postEventValue);
+    }
+
+    private void append(int kind, String name, Object value) {
+        if (writer == null)
+            writer = AsyncResultsWriter.current(backend);
+
+        if (writer.isClosed())
+            write(kind, name, value);
+        else
+            writer.append(this, kind, name, snapshotOf(value));
+    }
+
+    /**
+     * Copies a value that the simulation may change before the writer thread writes it, so that it is written as
+     * it was when recorded. Null, strings and the usual boxed primitives are immutable and passed as they are.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object snapshotOf(Object value) {
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Double || value instanceof Boolean)
+            return value;
+        return DeepCopier.deepCopy(value, (Class<Object>) value.getClass());
+    }
+
+    /** Writes a value to the wrapped database; called by the writer thread, or directly once it has closed */
+    void write(int kind, String name, Object value) {
+        synchronized (delegate) {
+            if (kind == AsyncResultsWriter.PROPERTY)
+                delegate.addPropertyValue(name, value);
+            else if (kind == AsyncResultsWriter.PRE_EVENT)
+                delegate.addPreEventValue(name, value);
+            else
+                delegate.addPostEventValue(name, value);
+        }
+    }
+
+    /** Waits until every value buffered for this database has been written */
+    private void awaitWrites() {
+        if (writer != null)
+            writer.flush();
+    }
+
+    // === Column replacement ===
+
+    @Override
+    public void setPropertyColumn(String propertyName, List<Object> propertyValues) {
+        awaitWrites();
+        synchronized (delegate) {
+            delegate.setPropertyColumn(propertyName, propertyValues);
+        }
+    }
+
+    @Override
+    public void setPreEventColumn(String preEventName, List<Object> preEventValues) {
+        awaitWrites();
+        synchronized (delegate) {
+            delegate.setPreEventColumn(preEventName, preEventValues);
+        }
+    }
+
+    @Override
+    public void setPostEventColumn(String postEventName, List<Object> postEventValues) {
+        awaitWrites();
+        synchronized (delegate) {
+            delegate.setPostEventColumn(postEventName, postEventValues);
+        }
+    }
+
+    // === Column retrieval ===
+
+    @Override
+    public List<Object> getPropertyColumnAsList(String propertyName) {
+        awaitWrites();
+        synchronized (delegate) {
+            return delegate.getPropertyColumnAsList(propertyName);
+        }
+    }
+
+    @Override
+    public List<Object> getPreEventColumnAsList(String preEventName) {
+        awaitWrites();
+        synchronized (delegate) {
+            return delegate.getPreEventColumnAsList(preEventName);
+        }
+    }
+
+    @Override
+    public List<Object> getPostEventColumnAsList(String postEventName) {
+        awaitWrites();
+        synchronized (delegate) {
+            return delegate.getPostEventColumnAsList(postEventName);
+        }
+    }
+
+    @Override
+    public List<Object> getPropertyColumnRange(String propertyName, int fromIndex, int toIndex) {
+        awaitWrites();
+        synchronized (delegate) {
+            return delegate.getPropertyColumnRange(propertyName, fromIndex, toIndex);
+        }
+    }
+
+    @Override
+    public List<Object> getPreEventColumnRange(String preEventName, int fromIndex, int toIndex) {
+        awaitWrites();
+        synchronized (delegate) {
+            return delegate.getPreEventColumnRange(preEventName, fromIndex, toIndex);
+        }
+    }
+
+    @Override
+    public List<Object> getPostEventColumnRange(String postEventName, int fromIndex, int toIndex) {
+        awaitWrites();
+        synchronized (delegate) {
+            return delegate.getPostEventColumnRange(postEventName, fromIndex, toIndex);
+        }
+    }
+
+    /** Iterates over the delegate's column, reading from it under the same lock as the writer */
+    @Override
+    public Iterator<Object> getPropertyColumnIterator(String propertyName) {
+        awaitWrites();
+        synchronized (delegate) {
+            return synchronisedIterator(delegate.getPropertyColumnIterator(propertyName));
+        }
+    }
+
+    @Override
+    public Iterator<Object> getPreEventColumnIterator(String preEventName) {
+        awaitWrites();
+        synchronized (delegate) {
+            return synchronisedIterator(delegate.getPreEventColumnIterator(preEventName));
+        }
+    }
+
+    @Override
+    public Iterator<Object> getPostEventColumnIterator(String postEventName) {
+        awaitWrites();
+        synchronized (delegate) {
+            return synchronisedIterator(delegate.getPostEventColumnIterator(postEventName));
+        }
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble getPropertyColumnDoubleIterator(String propertyName) {
+        awaitWrites();
+        PrimitiveIterator.OfDouble values;
+        synchronized (delegate) {
+            values = delegate.getPropertyColumnDoubleIterator(propertyName);
+        }
+        return new PrimitiveIterator.OfDouble() {
+            @Override
+            public boolean hasNext() {
+                synchronized (delegate) {
+                    return values.hasNext();
+                }
+            }
+
+            @Override
+            public double nextDouble() {
+                synchronized (delegate) {
+                    return values.nextDouble();
+                }
+            }
+        };
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong getPropertyColumnLongIterator(String propertyName) {
+        awaitWrites();
+        PrimitiveIterator.OfLong values;
+        synchronized (delegate) {
+            values = delegate.getPropertyColumnLongIterator(propertyName);
+        }
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                synchronized (delegate) {
+                    return values.hasNext();
+                }
+            }
+
+            @Override
+            public long nextLong() {
+                synchronized (delegate) {
+                    return values.nextLong();
+                }
+            }
+        };
+    }
+
+    private Iterator<Object> synchronisedIterator(Iterator<Object> values) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                synchronized (delegate) {
+                    return values.hasNext();
+                }
+            }
+
+            @Override
+            public Object next() {
+                synchronized (delegate) {
+                    return values.next();
+                }
+            }
+        };
+    }
+
+    // === Aggregation ===
+
+    @Override
+    public void addPropertyColumnTo(String propertyName, TickStatistics statistics) {
+        awaitWrites();
+        synchronized (delegate) {
+            delegate.addPropertyColumnTo(propertyName, statistics);
+        }
+    }
+
+    @Override
+    public void addPreEventColumnTo(String preEventName, TickStatistics statistics) {
+        awaitWrites();
+        synchronized (delegate) {
+            delegate.addPreEventColumnTo(preEventName, statistics);
+        }
+    }
+
+    @Override
+    public void addPostEventColumnTo(String postEventName, TickStatistics statistics) {
+        awaitWrites();
+        synchronized (delegate) {
+            delegate.addPostEventColumnTo(postEventName, statistics);
+        }
+    }
+
+    @Override
+    public ResultsStorageReport getStorageReport() {
+        awaitWrites();
+        synchronized (delegate) {
+            return delegate.getStorageReport();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package agentarium.attributes.results.databases;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A bounded buffer of results records drained into their databases by a dedicated writer thread.
+ *
+ * <p>Each thread that records through an {@link AsyncAttributeSetResultsDatabase} gets its own writer, so workers
+ * never contend for a buffer. Appending blocks while the buffer is full, which holds a worker back when its
+ * writer cannot keep up rather than letting records pile up in memory.
+ *
+ * <p>Writers belong to the {@link ResultsBackend} of the databases they write to, so that a run closes only its
+ * own writers while other runs in the same JVM keep recording.
+ */
+final class AsyncResultsWriter implements Runnable {
+
+    /** Kinds of record */
+    static final int PROPERTY = 0;
+    static final int PRE_EVENT = 1;
+    static final int POST_EVENT = 2;
+    private static final int BARRIER = 3;
+    private static final int STOP = 4;
+
+    /** Number of records a writer's buffer holds before appending blocks */
+    private static volatile int bufferCapacity = 8192;
+
+    /** The open writer of each thread */
+    private static final ThreadLocal<AsyncResultsWriter> currentWriter = new ThreadLocal<>();
+
+    /** Writers not yet closed */
+    private static final List<AsyncResultsWriter> openWriters = Collections.synchronizedList(new ArrayList<>());
+
+    /** The backend whose databases this writer writes to, or null for databases created without one */
+    private final ResultsBackend owner;
+
+    private final BlockingQueue<Record> buffer;
+    private final Thread thread;
+    private volatile boolean isClosed = false;
+
+    /** The first error raised while writing, rethrown to the recording thread */
+    private volatile RuntimeException failure = null;
+
+    private AsyncResultsWriter(ResultsBackend owner, String ownerThreadName) {
+        this.owner = owner;
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        thread = new Thread(this, "results-writer-" + ownerThreadName);
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Sets the buffer capacity of writers created from now on.
+     *
+     * @param capacity the number of records buffered per writer, at least 1
+     */
+    static void setBufferCapacity(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Buffer capacity must be at least 1, got " + capacity);
+        bufferCapacity = capacity;
+    }
+
+    /** @return the buffer capacity of new writers */
+    static int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    /**
+     * Returns the calling thread's writer, starting one if the thread has none, its writer was closed or its
+     * writer belongs to another backend.
+     *
+     * @param owner the backend of the database about to record, or null if it was created without one
+     * @return the writer
+     */
+    static AsyncResultsWriter current(ResultsBackend owner) {
+        AsyncResultsWriter writer = currentWriter.get();
+        if (writer == null || writer.isClosed || writer.owner != owner) {
+            writer = new AsyncResultsWriter(owner, Thread.currentThread().getName());
+            currentWriter.set(writer);
+            openWriters.add(writer);
+            writer.thread.start();
+        }
+        return writer;
+    }
+
+    /**
+     * Writes every buffered record and stops all writer threads. Databases whose writer has been closed write
+     * synchronously from then on.
+     *
+     * @throws RuntimeException if any writer failed to write a record
+     */
+    static void closeAll() {
+        List<AsyncResultsWriter> snapshot;
+        synchronized (openWriters) {
+            snapshot = new ArrayList<>(openWriters);
+        }
+        close(snapshot);
+    }
+
+    /**
+     * Writes every record buffered for a backend's databases and stops the writer threads of that backend,
+     * leaving other writers running.
+     *
+     * @param owner the backend
+     * @throws RuntimeException if any of its writers failed to write a record
+     */
+    static void closeAll(ResultsBackend owner) {
+        List<AsyncResultsWriter> snapshot = new ArrayList<>();
+        synchronized (openWriters) {
+            for (AsyncResultsWriter writer : openWriters)
+                if (writer.owner == owner)
+                    snapshot.add(writer);
+        }
+        close(snapshot);
+    }
+
+    private static void close(List<AsyncResultsWriter> snapshot) {
+        RuntimeException firstFailure = null;
+        for (AsyncResultsWriter writer : snapshot) {
+            try {
+                writer.close();
+            } catch (RuntimeException e) {
+                if (firstFailure == null)
+                    firstFailure = e;
+            }
+        }
+        if (firstFailure != null)
+            throw firstFailure;
+    }
+
+    /** @return whether this writer has been closed */
+    boolean isClosed() {
+        return isClosed;
+    }
+
+    /**
+     * Appends a record, blocking while the buffer is full.
+     *
+     * @param target the database the record is written to
+     * @param kind the kind of record
+     * @param name the name of the attribute
+     * @param value the recorded value
+     */
+    void append(AsyncAttributeSetResultsDatabase target, int kind, String name, Object value) {
+        checkFailure();
+        put(new Record(target, kind, name, value, null));
+    }
+
+    /**
+     * Waits until every record appended so far has been written.
+     */
+    void flush() {
+        if (isClosed) {
+            checkFailure();
+            return;
+        }
+
+        CountDownLatch written = new CountDownLatch(1);
+        put(new Record(null, BARRIER, null, null, written));
+        try {
+            written.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for results to be written", e);
+        }
+        checkFailure();
+    }
+
+    /** Writes every buffered record and stops the writer thread */
+    private void close() {
+        if (isClosed)
+            return;
+
+        put(new Record(null, STOP, null, null, null));
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        isClosed = true;
+        openWriters.remove(this);
+        checkFailure();
+    }
+
+    private void put(Record record) {
+        try {
+            buffer.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while buffering results", e);
+        }
+    }
+
+    private void checkFailure() {
+        RuntimeException error = failure;
+        if (error != null)
+            throw new RuntimeException("Failed to write buffered results: " + error.getMessage(), error);
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            Record record;
+            try {
+                record = buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (record.kind == STOP)
+                return;
+            if (record.kind == BARRIER) {
+                record.written.countDown();
+                continue;
+            }
+            if (failure != null)
+                continue;
+
+            try {
+                record.target.write(record.kind, record.name, record.value);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+    }
+
+    /** A single buffered value, or a control marker */
+    private static final class Record {
+        private final AsyncAttributeSetResultsDatabase target;
+        private final int kind;
+        private final String name;
+        private final Object value;
+        private final CountDownLatch written;
+
+        private Record(AsyncAttributeSetResultsDatabase target, int kind, String name, Object value, CountDownLatch written) {
+            this.target = target;
+            this.kind = kind;
+            this.name = name;
+            this.value = value;
+            this.written = written;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package agentarium.attributes.results.databases;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PrimitiveIterator;
 
 /**
  * Abstract base class representing a database for storing and retrieving simulation results
@@ -14,6 +18,21 @@ public abstract class AttributeSetResultsDatabase {
     /** Optional path or identifier for the backing database (e.g. file path) */
     private String databasePath = null;
 
+    /** Name of the model element whose results this database holds, if known */
+    private String modelElementName = null;
+
+    /** Name of the attribute set whose results this database holds, if known */
+    private String attributeSetName = null;
+
+    /** Property column names registered for slot-based recording, indexed by slot */
+    private final List<String> propertySlotNames = new ArrayList<>();
+
+    /** Pre-event column names registered for slot-based recording, indexed by slot */
+    private final List<String> preEventSlotNames = new ArrayList<>();
+
+    /** Post-event column names registered for slot-based recording, indexed by slot */
+    private final List<String> postEventSlotNames = new ArrayList<>();
+
     /**
      * Sets the path to the database used for output (e.g. CSV file, SQLite DB, etc.).
      *
@@ -30,6 +49,44 @@ public abstract class AttributeSetResultsDatabase {
         return databasePath;
     }
 
+    /**
+     * Describes whose results this database holds, for backends that store several databases together.
+     *
+     * <p>Called before {@link #connect()}. Databases created for other purposes, e.g. accumulated results,
+     * may never have it called.
+     *
+     * @param modelElementName the name of the agent or environment
+     * @param attributeSetName the name of the attribute set
+     */
+    public void setOwnerNames(String modelElementName, String attributeSetName) {
+        this.modelElementName = modelElementName;
+        this.attributeSetName = attributeSetName;
+    }
+
+    /** @return the name of the model element whose results this database holds, or null if not set */
+    public String getModelElementName() {
+        return modelElementName;
+    }
+
+    /** @return the name of the attribute set whose results this database holds, or null if not set */
+    public String getAttributeSetName() {
+        return attributeSetName;
+    }
+
+    /**
+     * Declares the type of a property's values, e.g. the type of its {@link agentarium.attributes.Property}, so
+     * that backends can choose how to store the property before its first value is recorded.
+     *
+     * <p>Default implementation does nothing. Subclasses that store values by type should override it.
+     *
+     * @param propertyName the name of the property
+     * @param type the type of the property's values
+     */
+    public void declarePropertyType(String propertyName, Class<?> type) {
+        // Default implementation: No operation
+        return;
+    }
+
     /**
      * Opens the database or output stream for writing.
      *
@@ -59,6 +116,200 @@ public abstract class AttributeSetResultsDatabase {
      */
     public abstract <T> void addPropertyValue(String propertyName, T propertyValue);
 
+    /**
+     * Adds a new {@code int} property value for the current tick.
+     *
+     * <p>The default implementation boxes the value and delegates to
+     * {@link #addPropertyValue(String, Object)}. Subclasses with primitive storage should override it.
+     *
+     * @param propertyName the name of the property
+     * @param propertyValue the value to record
+     */
+    public void addIntPropertyValue(String propertyName, int propertyValue) {
+        addPropertyValue(propertyName, propertyValue);
+    }
+
+    /**
+     * Adds a new {@code long} property value for the current tick.
+     *
+     * <p>The default implementation boxes the value and delegates to
+     * {@link #addPropertyValue(String, Object)}. Subclasses with primitive storage should override it.
+     *
+     * @param propertyName the name of the property
+     * @param propertyValue the value to record
+     */
+    public void addLongPropertyValue(String propertyName, long propertyValue) {
+        addPropertyValue(propertyName, propertyValue);
+    }
+
+    /**
+     * Adds a new {@code double} property value for the current tick.
+     *
+     * <p>The default implementation boxes the value and delegates to
+     * {@link #addPropertyValue(String, Object)}. Subclasses with primitive storage should override it.
+     *
+     * @param propertyName the name of the property
+     * @param propertyValue the value to record
+     */
+    public void addDoublePropertyValue(String propertyName, double propertyValue) {
+        addPropertyValue(propertyName, propertyValue);
+    }
+
+    /**
+     * Adds a new {@code boolean} property value for the current tick.
+     *
+     * <p>The default implementation boxes the value and delegates to
+     * {@link #addPropertyValue(String, Object)}. Subclasses with primitive storage should override it.
+     *
+     * @param propertyName the name of the property
+     * @param propertyValue the value to record
+     */
+    public void addBooleanPropertyValue(String propertyName, boolean propertyValue) {
+        addPropertyValue(propertyName, propertyValue);
+    }
+
+    // === Slot-based recording ===
+
+    /**
+     * Registers a property column for slot-based recording and returns its slot.
+     *
+     * <p>Slots are resolved once, when a recording plan is compiled, so that values can then be appended
+     * with the {@code add...ValueAt} methods without passing or hashing the column name each tick.
+     * Registering the same name twice returns the same slot.
+     *
+     * @param propertyName the name of the property
+     * @return the slot identifying the column
+     */
+    public int registerPropertyColumn(String propertyName) {
+        return registerSlot(propertySlotNames, propertyName);
+    }
+
+    /**
+     * Registers a pre-event column for slot-based recording and returns its slot.
+     *
+     * @param preEventName the name of the pre-event
+     * @return the slot identifying the column
+     */
+    public int registerPreEventColumn(String preEventName) {
+        return registerSlot(preEventSlotNames, preEventName);
+    }
+
+    /**
+     * Registers a post-event column for slot-based recording and returns its slot.
+     *
+     * @param postEventName the name of the post-event
+     * @return the slot identifying the column
+     */
+    public int registerPostEventColumn(String postEventName) {
+        return registerSlot(postEventSlotNames, postEventName);
+    }
+
+    private static int registerSlot(List<String> slotNames, String name) {
+        int slot = slotNames.indexOf(name);
+        if (slot >= 0)
+            return slot;
+        slotNames.add(name);
+        return slotNames.size() - 1;
+    }
+
+    /**
+     * @param slot a slot returned by {@link #registerPropertyColumn(String)}
+     * @return the name of the property column in that slot
+     */
+    protected String getPropertySlotName(int slot) {
+        return propertySlotNames.get(slot);
+    }
+
+    /**
+     * @param slot a slot returned by {@link #registerPreEventColumn(String)}
+     * @return the name of the pre-event column in that slot
+     */
+    protected String getPreEventSlotName(int slot) {
+        return preEventSlotNames.get(slot);
+    }
+
+    /**
+     * @param slot a slot returned by {@link #registerPostEventColumn(String)}
+     * @return the name of the post-event column in that slot
+     */
+    protected String getPostEventSlotName(int slot) {
+        return postEventSlotNames.get(slot);
+    }
+
+    /**
+     * Adds a property value to a registered column for the current tick.
+     *
+     * <p>The default implementation looks up the column name and delegates to
+     * {@link #addPropertyValue(String, Object)}. Subclasses can override the {@code ...At} methods to
+     * append to the column directly.
+     *
+     * @param slot the slot of the property column
+     * @param propertyValue the value to record
+     */
+    public void addPropertyValueAt(int slot, Object propertyValue) {
+        addPropertyValue(getPropertySlotName(slot), propertyValue);
+    }
+
+    /**
+     * Adds an {@code int} property value to a registered column for the current tick.
+     *
+     * @param slot the slot of the property column
+     * @param propertyValue the value to record
+     */
+    public void addIntPropertyValueAt(int slot, int propertyValue) {
+        addIntPropertyValue(getPropertySlotName(slot), propertyValue);
+    }
+
+    /**
+     * Adds a {@code long} property value to a registered column for the current tick.
+     *
+     * @param slot the slot of the property column
+     * @param propertyValue the value to record
+     */
+    public void addLongPropertyValueAt(int slot, long propertyValue) {
+        addLongPropertyValue(getPropertySlotName(slot), propertyValue);
+    }
+
+    /**
+     * Adds a {@code double} property value to a registered column for the current tick.
+     *
+     * @param slot the slot of the property column
+     * @param propertyValue the value to record
+     */
+    public void addDoublePropertyValueAt(int slot, double propertyValue) {
+        addDoublePropertyValue(getPropertySlotName(slot), propertyValue);
+    }
+
+    /**
+     * Adds a {@code boolean} property value to a registered column for the current tick.
+     *
+     * @param slot the slot of the property column
+     * @param propertyValue the value to record
+     */
+    public void addBooleanPropertyValueAt(int slot, boolean propertyValue) {
+        addBooleanPropertyValue(getPropertySlotName(slot), propertyValue);
+    }
+
+    /**
+     * Adds a pre-event trigger state to a registered column for the current tick.
+     *
+     * @param slot the slot of the pre-event column
+     * @param isTriggered whether the pre-event was triggered
+     */
+    public void addPreEventValueAt(int slot, boolean isTriggered) {
+        addPreEventValue(getPreEventSlotName(slot), isTriggered);
+    }
+
+    /**
+     * Adds a post-event trigger state to a registered column for the current tick.
+     *
+     * @param slot the slot of the post-event column
+     * @param isTriggered whether the post-event was triggered
+     */
+    public void addPostEventValueAt(int slot, boolean isTriggered) {
+        addPostEventValue(getPostEventSlotName(slot), isTriggered);
+    }
+
     /**
      * Adds a new pre-event value (e.g. trigger status) for the current tick.
      *
@@ -124,4 +375,207 @@ public abstract class AttributeSetResultsDatabase {
      * @return a list of recorded post-event values
      */
     public abstract List<Object> getPostEventColumnAsList(String postEventName);
+
+    // === Streaming retrieval ===
+
+    /**
+     * Retrieves the values of a property from one index up to, but not including, another.
+     *
+     * <p>The default implementation copies the range out of {@link #getPropertyColumnAsList(String)}.
+     * Subclasses should override it to read only the range.
+     *
+     * @param propertyName the name of the property
+     * @param fromIndex the index of the first value
+     * @param toIndex the index after the last value, clamped to the size of the column
+     * @return the values in the range, or {@code null} if the column does not exist and is not created on read
+     */
+    public List<Object> getPropertyColumnRange(String propertyName, int fromIndex, int toIndex) {
+        return rangeOf(getPropertyColumnAsList(propertyName), fromIndex, toIndex);
+    }
+
+    /**
+     * Retrieves the values of a pre-event from one index up to, but not including, another.
+     *
+     * @param preEventName the name of the pre-event
+     * @param fromIndex the index of the first value
+     * @param toIndex the index after the last value, clamped to the size of the column
+     * @return the values in the range, or {@code null} if the column does not exist and is not created on read
+     * @see #getPropertyColumnRange(String, int, int)
+     */
+    public List<Object> getPreEventColumnRange(String preEventName, int fromIndex, int toIndex) {
+        return rangeOf(getPreEventColumnAsList(preEventName), fromIndex, toIndex);
+    }
+
+    /**
+     * Retrieves the values of a post-event from one index up to, but not including, another.
+     *
+     * @param postEventName the name of the post-event
+     * @param fromIndex the index of the first value
+     * @param toIndex the index after the last value, clamped to the size of the column
+     * @return the values in the range, or {@code null} if the column does not exist and is not created on read
+     * @see #getPropertyColumnRange(String, int, int)
+     */
+    public List<Object> getPostEventColumnRange(String postEventName, int fromIndex, int toIndex) {
+        return rangeOf(getPostEventColumnAsList(postEventName), fromIndex, toIndex);
+    }
+
+    /**
+     * Checks a range of indices, throwing if it is invalid.
+     *
+     * @param fromIndex the index of the first value
+     * @param toIndex the index after the last value
+     * @throws IllegalArgumentException if {@code fromIndex} is negative or greater than {@code toIndex}
+     */
+    protected static void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex < fromIndex)
+            throw new IllegalArgumentException("Invalid range of values: " + fromIndex + " to " + toIndex);
+    }
+
+    private static List<Object> rangeOf(List<Object> values, int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (values == null)
+            return null;
+        int to = Math.min(toIndex, values.size());
+        return fromIndex >= to ? new ArrayList<>() : new ArrayList<>(values.subList(fromIndex, to));
+    }
+
+    /**
+     * Iterates over the values of a property without necessarily holding them all in memory at once.
+     *
+     * <p>The default implementation iterates over {@link #getPropertyColumnAsList(String)}. Subclasses
+     * storing values outside memory should override it to read them in pages.
+     *
+     * @param propertyName the name of the property
+     * @return an iterator over the values, empty if the column does not exist
+     */
+    public Iterator<Object> getPropertyColumnIterator(String propertyName) {
+        return iteratorOf(getPropertyColumnAsList(propertyName));
+    }
+
+    /**
+     * Iterates over the values of a pre-event.
+     *
+     * @param preEventName the name of the pre-event
+     * @return an iterator over the values, empty if the column does not exist
+     * @see #getPropertyColumnIterator(String)
+     */
+    public Iterator<Object> getPreEventColumnIterator(String preEventName) {
+        return iteratorOf(getPreEventColumnAsList(preEventName));
+    }
+
+    /**
+     * Iterates over the values of a post-event.
+     *
+     * @param postEventName the name of the post-event
+     * @return an iterator over the values, empty if the column does not exist
+     * @see #getPropertyColumnIterator(String)
+     */
+    public Iterator<Object> getPostEventColumnIterator(String postEventName) {
+        return iteratorOf(getPostEventColumnAsList(postEventName));
+    }
+
+    private static Iterator<Object> iteratorOf(List<Object> values) {
+        return values == null ? Collections.emptyIterator() : values.iterator();
+    }
+
+    /**
+     * Iterates over the values of a numeric property as {@code double}s.
+     *
+     * <p>The default implementation unboxes the values of {@link #getPropertyColumnIterator(String)}.
+     * Subclasses with primitive storage should override it to avoid boxing.
+     *
+     * @param propertyName the name of the property
+     * @return an iterator over the values, empty if the column does not exist
+     * @throws ClassCastException from the iterator if a value is not a {@link Number}
+     */
+    public PrimitiveIterator.OfDouble getPropertyColumnDoubleIterator(String propertyName) {
+        Iterator<Object> values = getPropertyColumnIterator(propertyName);
+        return new PrimitiveIterator.OfDouble() {
+            @Override
+            public boolean hasNext() {
+                return values.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return ((Number) values.next()).doubleValue();
+            }
+        };
+    }
+
+    /**
+     * Iterates over the values of an integral property as {@code long}s.
+     *
+     * @param propertyName the name of the property
+     * @return an iterator over the values, empty if the column does not exist
+     * @throws ClassCastException from the iterator if a value is not a {@link Number}
+     * @see #getPropertyColumnDoubleIterator(String)
+     */
+    public PrimitiveIterator.OfLong getPropertyColumnLongIterator(String propertyName) {
+        Iterator<Object> values = getPropertyColumnIterator(propertyName);
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return values.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return ((Number) values.next()).longValue();
+            }
+        };
+    }
+
+    // === Aggregation ===
+
+    /**
+     * Folds the values of a property into per-tick statistics, the {@code n}-th value at tick {@code n}.
+     *
+     * <p>The default implementation iterates over {@link #getPropertyColumnIterator(String)}. Subclasses should
+     * override it to scan their storage without boxing or deserialising each value.
+     *
+     * @param propertyName the name of the property
+     * @param statistics the statistics to fold the values into
+     */
+    public void addPropertyColumnTo(String propertyName, TickStatistics statistics) {
+        addAll(getPropertyColumnIterator(propertyName), statistics);
+    }
+
+    /**
+     * Folds the trigger states of a pre-event into per-tick statistics.
+     *
+     * @param preEventName the name of the pre-event
+     * @param statistics the statistics to fold the values into
+     * @see #addPropertyColumnTo(String, TickStatistics)
+     */
+    public void addPreEventColumnTo(String preEventName, TickStatistics statistics) {
+        addAll(getPreEventColumnIterator(preEventName), statistics);
+    }
+
+    /**
+     * Folds the trigger states of a post-event into per-tick statistics.
+     *
+     * @param postEventName the name of the post-event
+     * @param statistics the statistics to fold the values into
+     * @see #addPropertyColumnTo(String, TickStatistics)
+     */
+    public void addPostEventColumnTo(String postEventName, TickStatistics statistics) {
+        addAll(getPostEventColumnIterator(postEventName), statistics);
+    }
+
+    private static void addAll(Iterator<Object> values, TickStatistics statistics) {
+        for (int tick = 0; values.hasNext(); tick++)
+            statistics.add(tick, values.next());
+    }
+
+    /**
+     * Reports how much memory this database's recorded values take.
+     *
+     * <p>Databases that do not hold their values in memory report {@link ResultsStorageReport#EMPTY}.
+     *
+     * @return the storage report
+     */
+    public ResultsStorageReport getStorageReport() {
+        return ResultsStorageReport.EMPTY;
+    }
 }
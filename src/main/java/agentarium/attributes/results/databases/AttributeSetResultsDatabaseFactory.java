@@ -12,6 +12,10 @@ import java.util.function.Supplier;
  * <p>Supports dynamic switching between in-memory and disk-based result storage
  * via static configuration methods. This allows the simulation to use different
  * result backends without changing core logic.
+ *
+ * <p>The static configuration only applies to threads with no {@link ResultsBackend} bound. A model run binds
+ * its own backend to every thread working for it, so runs sharing the JVM are unaffected by this configuration
+ * and by each other.
  */
 public final class AttributeSetResultsDatabaseFactory {
 
@@ -19,10 +23,13 @@ public final class AttributeSetResultsDatabaseFactory {
     private AttributeSetResultsDatabaseFactory() {}
 
     /** The class used to instantiate new database instances */
-    private static Class<?> databaseClass = null;
+    private static volatile Class<?> databaseClass = null;
+
+    /** Whether created databases write tick-by-tick values on a background thread */
+    private static volatile boolean areWritesAsynchronous = false;
 
     /** Optional supplier used for test-time custom injection */
-    private static Supplier<AttributeSetResultsDatabase> customFactory = null;
+    private static volatile Supplier<AttributeSetResultsDatabase> customFactory = null;
 
     /**
      * Manually sets the class used for creating result databases.
@@ -35,8 +42,8 @@ public final class AttributeSetResultsDatabaseFactory {
     }
 
     /**
-     * Sets a custom factory to be used instead of the default class-based instantiation.
-     * This is useful for testing.
+     * Sets a custom factory to be used instead of the default class-based instantiation on threads with no
+     * {@link ResultsBackend} bound. This is useful for testing.
      *
      * @param factory the custom supplier of {@link AttributeSetResultsDatabase} instances
      */
@@ -67,21 +74,77 @@ public final class AttributeSetResultsDatabaseFactory {
         setDatabaseClass(DiskBasedAttributeSetResultsDatabase.class);
     }
 
+    /**
+     * Sets the results database to a disk-based backend shared by every attribute set recorded for a run, or on a
+     * thread outside a run. Keeps the number of files and connections independent of the number of agents.
+     */
+    public static void setDatabaseToSharedDiskBased() {
+        setDatabaseClass(SharedDiskBasedAttributeSetResultsDatabase.class);
+    }
+
+    /**
+     * Sets the results database to a backend storing each column in a memory-mapped file.
+     * Useful for results too large for the heap that should still be recorded at close to in-memory speed.
+     */
+    public static void setDatabaseToMemoryMapped() {
+        setDatabaseClass(MemoryMappedAttributeSetResultsDatabase.class);
+    }
+
+    /**
+     * Sets the results database to record in memory and spill columns to memory-mapped files when memory runs low.
+     * Useful when results usually fit in the heap but occasionally do not.
+     */
+    public static void setDatabaseToTiered() {
+        setDatabaseClass(TieredAttributeSetResultsDatabase.class);
+    }
+
+    /**
+     * Sets whether databases created from now on are wrapped in an {@link AsyncAttributeSetResultsDatabase},
+     * so that values recorded each tick are written by a background thread.
+     *
+     * @param areWritesAsynchronous whether to write recorded values asynchronously
+     */
+    public static void setAsynchronousWrites(boolean areWritesAsynchronous) {
+        AttributeSetResultsDatabaseFactory.areWritesAsynchronous = areWritesAsynchronous;
+    }
+
+    /** @return whether created databases write recorded values asynchronously */
+    public static boolean areWritesAsynchronous() {
+        return areWritesAsynchronous;
+    }
+
     /**
      * Creates a new instance of the configured results database.
      *
-     * <p>If no database class has been configured, the default is a disk-based database.
-     * A unique database path is generated automatically.
+     * <p>If a {@link ResultsBackend} is bound to the calling thread, the database is created from it. Otherwise
+     * the custom factory is used if one is set, and if no database class has been configured either, the
+     * default is a disk-based database. A unique database path is generated automatically.
      *
      * @return a new {@link AttributeSetResultsDatabase} instance, or {@code null} on error
      */
     public static AttributeSetResultsDatabase createDatabase() {
-        if (customFactory != null)
-            return customFactory.get();
+        ResultsBackend backend = ResultsBackend.current();
+        if (backend != null)
+            return backend.createDatabase();
+
+        Supplier<AttributeSetResultsDatabase> factory = customFactory;
+        if (factory != null)
+            return factory.get();
 
         if (databaseClass == null)
             setDatabaseToDiskBased();
 
+        return createDatabase(databaseClass, areWritesAsynchronous);
+    }
+
+    /**
+     * Creates a new instance of a results database class with a unique database path.
+     *
+     * @param databaseClass the class to instantiate
+     * @param areWritesAsynchronous whether to wrap the database so that it writes recorded values asynchronously
+     * @return a new {@link AttributeSetResultsDatabase} instance, or {@code null} on error
+     */
+    static AttributeSetResultsDatabase createDatabase(Class<?> databaseClass, boolean areWritesAsynchronous) {
         if (!AttributeSetResultsDatabase.class.isAssignableFrom(databaseClass))
             return null;
 
@@ -98,7 +161,7 @@ public final class AttributeSetResultsDatabaseFactory {
 
             // Give every instance a unique path (even if your memory impl ignores it)
             db.setDatabasePath(RandomStringGenerator.generateUniqueRandomString(20) + ".db");
-            return db;
+            return areWritesAsynchronous ? new AsyncAttributeSetResultsDatabase(db) : db;
 
         } catch (NoSuchMethodException e) {
             // The invalid class in the test likely hits this path (e.g., non-static inner class)
@@ -1,8 +1,5 @@
 package agentarium.attributes.results.databases;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import java.io.File;
 import java.sql.*;
 import java.util.*;
@@ -12,9 +9,23 @@ import java.util.*;
  * in a temporary SQLite database file.
  *
  * <p>Each run of the simulation creates a new SQLite database that is deleted on shutdown.
- * Values are serialised to JSON strings to support flexible data types.
+ * Values are stored with the {@link ValueCodec} of their type: numbers, booleans and strings as native SQLite
+ * values, and other types as JSON. Columns are read back as the type declared with
+ * {@link #declarePropertyType(String, Class)} or, failing that, the class of the last value recorded.
  *
  * <p>This class supports both incremental (`addXValue`) and bulk (`setXColumn`) writes.
+ *
+ * <p>Incremental writes are buffered. Each column keeps a cached prepared statement that writes the column's
+ * next row, and buffered rows are written with {@link PreparedStatement#executeBatch()} in a single transaction
+ * once {@link #setWriteBatchSize(int) a batch} is full, and before any column is read or replaced and when the
+ * database is disconnected. Row {@code n} of a table holds the {@code n}-th value of each of its columns, so a
+ * tick's values share a row rather than each value taking a row of its own. Columns known to exist are cached,
+ * so no schema statements are issued per value.
+ *
+ * <p>The SQLite journal mode and synchronous level can be configured with {@link #setJournalMode(String)} and
+ * {@link #setSynchronousMode(String)}, or per run on the {@link ResultsBackend} bound when a database is created.
+ * Since the database only holds the results of the current run and is deleted afterwards, the defaults favour
+ * speed over durability.
  */
 public class DiskBasedAttributeSetResultsDatabase extends AttributeSetResultsDatabase {
 
@@ -22,6 +33,24 @@ public class DiskBasedAttributeSetResultsDatabase extends AttributeSetResultsDat
     private static final List<DiskBasedAttributeSetResultsDatabase> activeDatabases = Collections.synchronizedList(new ArrayList<>());
     private static boolean shutdownHookRegistered = false;
 
+    /** Journal modes accepted by SQLite's {@code journal_mode} pragma */
+    private static final Set<String> JOURNAL_MODES = Set.of("DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL", "OFF");
+
+    /** Levels accepted by SQLite's {@code synchronous} pragma */
+    private static final Set<String> SYNCHRONOUS_MODES = Set.of("OFF", "NORMAL", "FULL", "EXTRA");
+
+    /** Journal mode applied to new connections of databases created without a backend bound */
+    private static volatile String defaultJournalMode = "WAL";
+
+    /** Synchronous level applied to new connections of databases created without a backend bound */
+    private static volatile String defaultSynchronousMode = "OFF";
+
+    /** Number of buffered rows after which databases created without a backend bound commit pending writes */
+    private static volatile int defaultWriteBatchSize = 1024;
+
+    /** Number of rows a column iterator reads from the database at a time */
+    private static final int READ_PAGE_SIZE = 4096;
+
     private static Class<?> firstNonNullClass(List<?> values) {
         if (values == null) return null;
         for (Object v : values) {
@@ -38,8 +67,25 @@ public class DiskBasedAttributeSetResultsDatabase extends AttributeSetResultsDat
     private final Map<String, Class<?>> preEventClassesMap = new HashMap<>();
     private final Map<String, Class<?>> postEventClassesMap = new HashMap<>();
 
+    /** Properties whose declared type is kept whatever the classes of their values */
+    private final Set<String> declaredPropertyNames = new HashSet<>();
+
     private Connection connection;
 
+    /** Cached writers for the columns of each table, which also record which columns exist */
+    private final Map<String, ColumnWriter> propertyWriters = new HashMap<>();
+    private final Map<String, ColumnWriter> preEventWriters = new HashMap<>();
+    private final Map<String, ColumnWriter> postEventWriters = new HashMap<>();
+
+    /** Writers holding rows not yet written to the database */
+    private final List<ColumnWriter> pendingWriters = new ArrayList<>();
+
+    /** Number of rows buffered since the last commit */
+    private int pendingRowCount = 0;
+
+    /** The backend bound when this database was created, whose SQLite settings it uses, or null if none was bound */
+    private final ResultsBackend backend = ResultsBackend.current();
+
     /** Registers this instance for automatic disconnect on JVM shutdown */
     public DiskBasedAttributeSetResultsDatabase() {
         synchronized (activeDatabases) {
@@ -64,7 +110,86 @@ public class DiskBasedAttributeSetResultsDatabase extends AttributeSetResultsDat
     }
 
     /**
-     * Establishes an SQLite connection and creates the required tables.
+     * Sets the SQLite journal mode used by databases connected from now on that were created without a
+     * {@link ResultsBackend} bound.
+     *
+     * @param journalMode one of {@code DELETE}, {@code TRUNCATE}, {@code PERSIST}, {@code MEMORY}, {@code WAL} or {@code OFF}
+     */
+    public static void setJournalMode(String journalMode) {
+        defaultJournalMode = checkJournalMode(journalMode);
+    }
+
+    /** @return the SQLite journal mode used by databases created without a backend bound */
+    public static String getJournalMode() {
+        return defaultJournalMode;
+    }
+
+    /**
+     * Sets the SQLite synchronous level used by databases connected from now on that were created without a
+     * {@link ResultsBackend} bound.
+     *
+     * @param synchronousMode one of {@code OFF}, {@code NORMAL}, {@code FULL} or {@code EXTRA}
+     */
+    public static void setSynchronousMode(String synchronousMode) {
+        defaultSynchronousMode = checkSynchronousMode(synchronousMode);
+    }
+
+    /** @return the SQLite synchronous level used by databases created without a backend bound */
+    public static String getSynchronousMode() {
+        return defaultSynchronousMode;
+    }
+
+    /**
+     * Sets how many buffered rows are written in one transaction by databases created without a
+     * {@link ResultsBackend} bound.
+     *
+     * @param writeBatchSize the number of rows per transaction, at least 1
+     */
+    public static void setWriteBatchSize(int writeBatchSize) {
+        if (writeBatchSize < 1)
+            throw new IllegalArgumentException("Write batch size must be at least 1, got " + writeBatchSize);
+        defaultWriteBatchSize = writeBatchSize;
+    }
+
+    /** @return the number of buffered rows written in one transaction by databases created without a backend bound */
+    public static int getWriteBatchSize() {
+        return defaultWriteBatchSize;
+    }
+
+    /** Normalises a journal mode, throwing {@link IllegalArgumentException} if SQLite does not accept it */
+    static String checkJournalMode(String journalMode) {
+        return checkPragmaValue("journal mode", journalMode, JOURNAL_MODES);
+    }
+
+    /** Normalises a synchronous level, throwing {@link IllegalArgumentException} if SQLite does not accept it */
+    static String checkSynchronousMode(String synchronousMode) {
+        return checkPragmaValue("synchronous mode", synchronousMode, SYNCHRONOUS_MODES);
+    }
+
+    /** @return the journal mode of this database's backend, or the configured default if it has none */
+    private String journalMode() {
+        return backend == null ? defaultJournalMode : backend.getJournalMode();
+    }
+
+    /** @return the synchronous level of this database's backend, or the configured default if it has none */
+    private String synchronousMode() {
+        return backend == null ? defaultSynchronousMode : backend.getSynchronousMode();
+    }
+
+    /** @return the write batch size of this database's backend, or the configured default if it has none */
+    private int writeBatchSize() {
+        return backend == null ? defaultWriteBatchSize : backend.getWriteBatchSize();
+    }
+
+    private static String checkPragmaValue(String pragmaName, String value, Set<String> allowedValues) {
+        String normalisedValue = value == null ? null : value.toUpperCase(Locale.ROOT);
+        if (!allowedValues.contains(normalisedValue))
+            throw new IllegalArgumentException("Unsupported SQLite " + pragmaName + " '" + value + "', expected one of " + allowedValues);
+        return normalisedValue;
+    }
+
+    /**
+     * Establishes an SQLite connection, applies the configured pragmas and creates the required tables.
      */
     @Override
     public void connect() {
@@ -73,7 +198,12 @@ public class DiskBasedAttributeSetResultsDatabase extends AttributeSetResultsDat
 
         try {
             connection = DriverManager.getConnection("jdbc:sqlite:" + getDatabasePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = " + journalMode() + ";");
+                statement.execute("PRAGMA synchronous = " + synchronousMode() + ";");
+            }
             createAttributeTables();
+            connection.setAutoCommit(false);
         } catch (SQLException e) {
             System.err.println("Failed to establish SQLite connection: " + e.getMessage());
         }
@@ -87,16 +217,21 @@ public class DiskBasedAttributeSetResultsDatabase extends AttributeSetResultsDat
         synchronized (activeDatabases) {
             try {
                 if (connection != null) {
+                    try {
+                        flush();
+                    } catch (RuntimeException e) {
+                        System.err.println("Error writing buffered results: " + e.getMessage());
+                    }
+                    closeWriters();
                     try {
                         connection.close();
                     } catch (SQLException e) {
                         System.err.println("Error closing SQLite connection: " + e.getMessage());
                     }
                     String databasePath = getDatabasePath();
-                    File databaseFile = new File(databasePath);
-                    if (databaseFile.exists() && !databaseFile.delete()) {
-                        System.err.println("Failed to delete database file: " + databasePath);
-                    }
+                    deleteFile(databasePath);
+                    deleteFile(databasePath + "-wal");
+                    deleteFile(databasePath + "-shm");
                 }
             } finally {
                 // ALWAYS deregister, even if we were never connected
@@ -106,65 +241,76 @@ public class DiskBasedAttributeSetResultsDatabase extends AttributeSetResultsDat
         }
     }
 
+    private static void deleteFile(String path) {
+        File file = new File(path);
+        if (file.exists() && !file.delete())
+            System.err.println("Failed to delete database file: " + path);
+    }
+
+    /**
+     * Reads the property as the declared type if its values can be stored natively. Other types are read as the
+     * class of the values recorded, since a declared type such as {@code Object} says too little to read JSON.
+     */
+    @Override
+    public void declarePropertyType(String propertyName, Class<?> type) {
+        if (!ValueCodec.isNative(type))
+            return;
+        propertyClassesMap.put(propertyName, type);
+        declaredPropertyNames.add(propertyName);
+    }
+
     // === Property/Event Value Recording (Per-Tick) ===
 
     @Override
     public <T> void addPropertyValue(String propertyName, T propertyValue) {
-        propertyClassesMap.put(propertyName, propertyValue.getClass());
-        ensureColumnExists(PROPERTIES_TABLE_NAME, propertyName);
-        insertData(PROPERTIES_TABLE_NAME, propertyName, serialiseValue(propertyValue));
+        if (!declaredPropertyNames.contains(propertyName))
+            propertyClassesMap.put(propertyName, propertyValue.getClass());
+        appendValue(PROPERTIES_TABLE_NAME, propertyWriters, propertyName, propertyClassesMap.get(propertyName), propertyValue);
     }
 
     @Override
     public <T> void addPreEventValue(String preEventName, T preEventValue) {
         preEventClassesMap.put(preEventName, preEventValue.getClass());
-        ensureColumnExists(PRE_EVENTS_TABLE_NAME, preEventName);
-        insertData(PRE_EVENTS_TABLE_NAME, preEventName, serialiseValue(preEventValue));
+        appendValue(PRE_EVENTS_TABLE_NAME, preEventWriters, preEventName, preEventValue.getClass(), preEventValue);
     }
 
     @Override
     public <T> void addPostEventValue(String postEventName, T postEventValue) {
         postEventClassesMap.put(postEventName, postEventValue.getClass());
-        ensureColumnExists(POST_EVENTS_TABLE_NAME, postEventName);
-        insertData(POST_EVENTS_TABLE_NAME, postEventName, serialiseValue(postEventValue));
+        appendValue(POST_EVENTS_TABLE_NAME, postEventWriters, postEventName, postEventValue.getClass(), postEventValue);
     }
 
     // === Bulk Column Replacement ===
 
     @Override
     public void setPropertyColumn(String propertyName, List<Object> propertyValues) {
-        // Always ensure the column exists
-        ensureColumnExists(PROPERTIES_TABLE_NAME, propertyName);
-
         // Infer and remember the element type if we can (skip if empty/all null)
         Class<?> inferred = firstNonNullClass(propertyValues);
-        if (inferred != null) {
+        if (inferred != null && !declaredPropertyNames.contains(propertyName)) {
             propertyClassesMap.put(propertyName, inferred);
         }
         // Replace data (handles empty list by clearing the table)
-        setColumn(PROPERTIES_TABLE_NAME, propertyName,
+        setColumn(PROPERTIES_TABLE_NAME, propertyWriters, propertyName, propertyClassesMap.get(propertyName),
                 (propertyValues == null) ? Collections.emptyList() : propertyValues);
     }
 
     @Override
     public void setPreEventColumn(String preEventName, List<Object> preEventValues) {
-        ensureColumnExists(PRE_EVENTS_TABLE_NAME, preEventName);
         Class<?> inferred = firstNonNullClass(preEventValues);
         if (inferred != null) {
             preEventClassesMap.put(preEventName, inferred);
         }
-        setColumn(PRE_EVENTS_TABLE_NAME, preEventName,
+        setColumn(PRE_EVENTS_TABLE_NAME, preEventWriters, preEventName, preEventClassesMap.get(preEventName),
                 (preEventValues == null) ? Collections.emptyList() : preEventValues);
     }
 
     @Override
     public void setPostEventColumn(String postEventName, List<Object> postEventValues) {
-        ensureColumnExists(POST_EVENTS_TABLE_NAME, postEventName);
         Class<?> inferred = firstNonNullClass(postEventValues);
         if (inferred != null) {
             postEventClassesMap.put(postEventName, inferred);
         }
-        setColumn(POST_EVENTS_TABLE_NAME, postEventName,
+        setColumn(POST_EVENTS_TABLE_NAME, postEventWriters, postEventName, postEventClassesMap.get(postEventName),
                 (postEventValues == null) ? Collections.emptyList() : postEventValues);
     }
 
@@ -172,24 +318,150 @@ public class DiskBasedAttributeSetResultsDatabase extends AttributeSetResultsDat
 
     @Override
     public List<Object> getPropertyColumnAsList(String propertyName) {
-        return retrieveColumn(PROPERTIES_TABLE_NAME, propertyName, propertyClassesMap.get(propertyName));
+        return retrieveColumn(PROPERTIES_TABLE_NAME, propertyWriters, propertyName, propertyClassesMap.get(propertyName));
     }
 
     @Override
     public List<Object> getPreEventColumnAsList(String preEventName) {
-        return retrieveColumn(PRE_EVENTS_TABLE_NAME, preEventName, preEventClassesMap.get(preEventName));
+        return retrieveColumn(PRE_EVENTS_TABLE_NAME, preEventWriters, preEventName, preEventClassesMap.get(preEventName));
     }
 
     @Override
     public List<Object> getPostEventColumnAsList(String postEventName) {
-        return retrieveColumn(POST_EVENTS_TABLE_NAME, postEventName, postEventClassesMap.get(postEventName));
+        return retrieveColumn(POST_EVENTS_TABLE_NAME, postEventWriters, postEventName, postEventClassesMap.get(postEventName));
+    }
+
+    /** Reads only the rows of the range, through the primary key */
+    @Override
+    public List<Object> getPropertyColumnRange(String propertyName, int fromIndex, int toIndex) {
+        return retrieveRange(PROPERTIES_TABLE_NAME, propertyWriters, propertyName, propertyClassesMap.get(propertyName), fromIndex, toIndex);
+    }
+
+    @Override
+    public List<Object> getPreEventColumnRange(String preEventName, int fromIndex, int toIndex) {
+        return retrieveRange(PRE_EVENTS_TABLE_NAME, preEventWriters, preEventName, preEventClassesMap.get(preEventName), fromIndex, toIndex);
+    }
+
+    @Override
+    public List<Object> getPostEventColumnRange(String postEventName, int fromIndex, int toIndex) {
+        return retrieveRange(POST_EVENTS_TABLE_NAME, postEventWriters, postEventName, postEventClassesMap.get(postEventName), fromIndex, toIndex);
+    }
+
+    /** Reads the column a page of rows at a time, so only one page is held in memory */
+    @Override
+    public Iterator<Object> getPropertyColumnIterator(String propertyName) {
+        return new ColumnIterator(PROPERTIES_TABLE_NAME, propertyWriters, propertyName, propertyClassesMap);
+    }
+
+    @Override
+    public Iterator<Object> getPreEventColumnIterator(String preEventName) {
+        return new ColumnIterator(PRE_EVENTS_TABLE_NAME, preEventWriters, preEventName, preEventClassesMap);
+    }
+
+    @Override
+    public Iterator<Object> getPostEventColumnIterator(String postEventName) {
+        return new ColumnIterator(POST_EVENTS_TABLE_NAME, postEventWriters, postEventName, postEventClassesMap);
+    }
+
+    // === Aggregation ===
+
+    /**
+     * Converts numbers and booleans to doubles in SQL, as selected by the {@link ValueCodec} of the column's type,
+     * so other values are never read.
+     */
+    @Override
+    public void addPropertyColumnTo(String propertyName, TickStatistics statistics) {
+        addColumnTo(PROPERTIES_TABLE_NAME, propertyWriters, propertyName, propertyClassesMap.get(propertyName), statistics);
+    }
+
+    @Override
+    public void addPreEventColumnTo(String preEventName, TickStatistics statistics) {
+        addColumnTo(PRE_EVENTS_TABLE_NAME, preEventWriters, preEventName, preEventClassesMap.get(preEventName), statistics);
+    }
+
+    @Override
+    public void addPostEventColumnTo(String postEventName, TickStatistics statistics) {
+        addColumnTo(POST_EVENTS_TABLE_NAME, postEventWriters, postEventName, postEventClassesMap.get(postEventName), statistics);
+    }
+
+    private void addColumnTo(String tableName, Map<String, ColumnWriter> writers, String columnName, Class<?> type,
+                             TickStatistics statistics) {
+        writerFor(tableName, writers, columnName, type);
+        flush();
+        ValueCodec codec = ValueCodec.forType(type);
+        String quotedColumn = quote(columnName);
+        String sql = "SELECT id - 1, " + codec.numericValueSql(quotedColumn) + " FROM " + tableName
+                + " WHERE " + codec.numericFilterSql(quotedColumn) + ";";
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            addNumericRows(rs, statistics);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error aggregating column '" + columnName + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Folds rows of a tick index and the two expressions of {@link ValueCodec#numericValueSql} into per-tick
+     * statistics.
+     *
+     * @param rs the rows
+     * @param statistics the statistics to fold the values into
+     * @throws SQLException if the rows cannot be read
+     */
+    static void addNumericRows(ResultSet rs, TickStatistics statistics) throws SQLException {
+        while (rs.next()) {
+            int tick = rs.getInt(1);
+            double value = rs.getDouble(2);
+            if (rs.wasNull())
+                value = Double.NaN;
+            if (rs.getBoolean(3))
+                statistics.addBoolean(tick, value != 0);
+            else
+                statistics.addDouble(tick, value);
+        }
     }
 
     // === Table & Column Management ===
 
-    /** Ensures a table column exists, creating it if needed. */
-    private void ensureColumnExists(String tableName, String columnName) {
-        String sql = "ALTER TABLE " + tableName + " ADD COLUMN " + columnName + " TEXT;";
+    /** Quotes a column or table name for use in SQL */
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Returns the writer for a column, creating the column and preparing its statement on first use. A column
+     * created before its type is known is declared without a type, so it stores whatever values it is given.
+     */
+    private ColumnWriter writerFor(String tableName, Map<String, ColumnWriter> writers, String columnName, Class<?> type) {
+        ColumnWriter writer = writers.get(columnName);
+        if (writer != null)
+            return writer;
+
+        ensureColumnExists(tableName, columnName, ValueCodec.forType(type).getSqlType());
+        String quotedColumn = quote(columnName);
+        String sql = "INSERT INTO " + tableName + " (id, " + quotedColumn + ") VALUES (?, ?) "
+                + "ON CONFLICT(id) DO UPDATE SET " + quotedColumn + " = excluded." + quotedColumn + ";";
+        try {
+            writer = new ColumnWriter(connection.prepareStatement(sql), lastRowId(tableName, quotedColumn) + 1);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error preparing writes for column '" + columnName + "': " + e.getMessage(), e);
+        }
+        writers.put(columnName, writer);
+        return writer;
+    }
+
+    /** Finds the last row holding a value in a column */
+    private long lastRowId(String tableName, String quotedColumn) throws SQLException {
+        String sql = "SELECT COALESCE(MAX(id), 0) FROM " + tableName + " WHERE " + quotedColumn + " IS NOT NULL;";
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /** Ensures a table column exists, creating it with a declared SQLite type if needed. */
+    private void ensureColumnExists(String tableName, String columnName, String sqlType) {
+        String sql = "ALTER TABLE " + tableName + " ADD COLUMN " + quote(columnName) + " " + sqlType + ";";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -215,70 +487,192 @@ public class DiskBasedAttributeSetResultsDatabase extends AttributeSetResultsDat
         }
     }
 
-    /** Inserts a single value into a column. */
-    private void insertData(String tableName, String columnName, String value) {
-        ensureColumnExists(tableName, columnName);
-        String sql = "INSERT INTO " + tableName + " (" + columnName + ") VALUES (?);";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, value);
-            stmt.executeUpdate();
+    /** Buffers a value in the next row of a column, committing once a batch is full. */
+    private void appendValue(String tableName, Map<String, ColumnWriter> writers, String columnName, Class<?> type, Object value) {
+        ColumnWriter writer = writerFor(tableName, writers, columnName, type);
+        try {
+            writer.addRow(value);
         } catch (SQLException e) {
-            throw new RuntimeException("Error inserting data into '" + tableName + "': " + e.getMessage(), e);
+            throw new RuntimeException("Error buffering data for '" + tableName + "': " + e.getMessage(), e);
+        }
+        if (!writer.isPending) {
+            writer.isPending = true;
+            pendingWriters.add(writer);
+        }
+        if (++pendingRowCount >= writeBatchSize())
+            flush();
+    }
+
+    /** Writes all buffered rows and commits them in one transaction. */
+    private void flush() {
+        if (connection == null || pendingWriters.isEmpty())
+            return;
+
+        try {
+            for (ColumnWriter writer : pendingWriters) {
+                writer.statement.executeBatch();
+                writer.isPending = false;
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error writing buffered results: " + e.getMessage(), e);
+        } finally {
+            pendingWriters.clear();
+            pendingRowCount = 0;
         }
     }
 
-    /** Replaces all rows in a column with the provided values. */
-    private void setColumn(String tableName, String columnName, List<Object> values) {
-        ensureColumnExists(tableName, columnName);
-        String deleteSQL = "DELETE FROM " + tableName + ";";
-        try (PreparedStatement deleteStmt = connection.prepareStatement(deleteSQL)) {
-            deleteStmt.executeUpdate();
+    /** Closes the cached statements of every column. */
+    private void closeWriters() {
+        for (Map<String, ColumnWriter> writers : List.of(propertyWriters, preEventWriters, postEventWriters)) {
+            for (ColumnWriter writer : writers.values()) {
+                try {
+                    writer.statement.close();
+                } catch (SQLException e) {
+                    System.err.println("Error closing SQLite statement: " + e.getMessage());
+                }
+            }
+            writers.clear();
+        }
+    }
+
+    /** Replaces all rows in a column with the provided values, leaving the table's other columns untouched. */
+    private void setColumn(String tableName, Map<String, ColumnWriter> writers, String columnName, Class<?> type, List<Object> values) {
+        ColumnWriter writer = writerFor(tableName, writers, columnName, type);
+        flush();
+        String clearSQL = "UPDATE " + tableName + " SET " + quote(columnName) + " = NULL;";
+        try (PreparedStatement clearStmt = connection.prepareStatement(clearSQL)) {
+            clearStmt.executeUpdate();
+            writer.nextRowId = 1;
             for (Object value : values)
-                insertData(tableName, columnName, serialiseValue(value));
+                writer.addRow(value);
+            writer.statement.executeBatch();
+            connection.commit();
         } catch (SQLException e) {
             throw new RuntimeException("Error replacing column '" + columnName + "': " + e.getMessage(), e);
         }
     }
 
-    /** Retrieves all rows from a column, deserialising them to the correct type. */
-    private List<Object> retrieveColumn(String tableName, String columnName, Class<?> type) {
-        ensureColumnExists(tableName, columnName);
-        String sql = "SELECT " + columnName + " FROM " + tableName + ";";
+    /** Retrieves all rows from a column, reading them as the column's type. */
+    private List<Object> retrieveColumn(String tableName, Map<String, ColumnWriter> writers, String columnName, Class<?> type) {
+        writerFor(tableName, writers, columnName, type);
+        flush();
+        ValueCodec codec = ValueCodec.forType(type);
+        String quotedColumn = quote(columnName);
+        String sql = "SELECT " + quotedColumn + " FROM " + tableName + " WHERE " + quotedColumn + " IS NOT NULL ORDER BY id;";
         List<Object> results = new ArrayList<>();
         try (PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
-            while (rs.next()) {
-                String value = rs.getString(columnName);
-                if (value != null)
-                    results.add(type != null ? deserialiseValue(value, type) : value);
-            }
+            while (rs.next())
+                results.add(codec.read(rs, 1));
         } catch (SQLException e) {
             throw new RuntimeException("Error retrieving column '" + columnName + "': " + e.getMessage(), e);
         }
         return results;
     }
 
-    // === JSON (De)serialisation Utilities ===
+    /**
+     * Retrieves the values of a column from one index up to another. Row {@code n + 1} holds a column's
+     * {@code n}-th value, so the range is read through the primary key without scanning earlier rows.
+     */
+    private List<Object> retrieveRange(String tableName, Map<String, ColumnWriter> writers, String columnName, Class<?> type,
+                                       int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        writerFor(tableName, writers, columnName, type);
+        flush();
+        ValueCodec codec = ValueCodec.forType(type);
+        String quotedColumn = quote(columnName);
+        String sql = "SELECT " + quotedColumn + " FROM " + tableName
+                + " WHERE id > ? AND id <= ? AND " + quotedColumn + " IS NOT NULL ORDER BY id;";
+        List<Object> results = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, fromIndex);
+            stmt.setLong(2, toIndex);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next())
+                    results.add(codec.read(rs, 1));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving range of column '" + columnName + "': " + e.getMessage(), e);
+        }
+        return results;
+    }
+
+    /** Iterates over a column a page of rows at a time, each page resuming after the last row read */
+    private final class ColumnIterator implements Iterator<Object> {
+        private final String sql;
+        private final String columnName;
+        private final Map<String, Class<?>> classesMap;
+        private final List<Object> page = new ArrayList<>();
+        private int pageIndex = 0;
+        private long lastRowId = 0;
+        private boolean isExhausted = false;
+
+        private ColumnIterator(String tableName, Map<String, ColumnWriter> writers, String columnName, Map<String, Class<?>> classesMap) {
+            writerFor(tableName, writers, columnName, classesMap.get(columnName));
+            String quotedColumn = quote(columnName);
+            this.sql = "SELECT id, " + quotedColumn + " FROM " + tableName
+                    + " WHERE id > ? AND " + quotedColumn + " IS NOT NULL ORDER BY id LIMIT " + READ_PAGE_SIZE + ";";
+            this.columnName = columnName;
+            this.classesMap = classesMap;
+        }
 
-    private static String serialiseValue(Object value) {
-        if (value == null)
-            return null;
-        try {
-            return new ObjectMapper().writeValueAsString(value);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error serialising value: " + e.getMessage(), e);
+        @Override
+        public boolean hasNext() {
+            if (pageIndex < page.size())
+                return true;
+            if (isExhausted)
+                return false;
+            readPage();
+            return pageIndex < page.size();
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return page.get(pageIndex++);
+        }
+
+        private void readPage() {
+            flush();
+            page.clear();
+            pageIndex = 0;
+            ValueCodec codec = ValueCodec.forType(classesMap.get(columnName));
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setLong(1, lastRowId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        lastRowId = rs.getLong(1);
+                        page.add(codec.read(rs, 2));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Error reading column '" + columnName + "': " + e.getMessage(), e);
+            }
+            isExhausted = page.size() < READ_PAGE_SIZE;
         }
     }
 
-    private Object deserialiseValue(String value, Class<?> type) {
-        if (value == null)
-            return null;
-        if (type == null)
-            throw new IllegalArgumentException("Cannot deserialise: type is null");
-        try {
-            return new ObjectMapper().readValue(value, type);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error deserialising value: " + value + " with type: " + type.getName(), e);
+    /** A cached insert statement for one column, together with the row its next value goes to */
+    private static final class ColumnWriter {
+        private final PreparedStatement statement;
+        private long nextRowId;
+        private boolean isPending = false;
+
+        private ColumnWriter(PreparedStatement statement, long nextRowId) {
+            this.statement = statement;
+            this.nextRowId = nextRowId;
+        }
+
+        /** Buffers a value, stored with the codec of its own class so that columns of mixed types keep each value */
+        private void addRow(Object value) throws SQLException {
+            statement.setLong(1, nextRowId++);
+            if (value == null)
+                statement.setNull(2, Types.NULL);
+            else
+                ValueCodec.forType(value.getClass()).bind(statement, 2, value);
+            statement.addBatch();
         }
     }
 }
@@ -0,0 +1,414 @@
+package agentarium.attributes.results.databases;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single results column stored in a memory-mapped file, used by {@link MemoryMappedAttributeSetResultsDatabase}.
+ *
+ * <p>{@code int}, {@code long}, {@code double} and {@code boolean} columns store their values at a fixed width,
+ * so appending a value is a single write into the mapping. String and object columns store a fixed-width
+ * dictionary id per value, with the distinct values held in a companion dictionary file as length-prefixed
+ * entries; strings are stored as UTF-8 and other objects as their class name and JSON form.
+ *
+ * <p>Each file starts with a header holding the number of values written, which is only updated once the value
+ * itself has been written. A file is therefore consistent at every point, and can be read back after the process
+ * writing it has been aborted.
+ */
+final class MappedColumnFile {
+
+    /** Column types */
+    static final byte INT = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    static final byte BOOLEAN = 4;
+    static final byte STRING = 5;
+    static final byte OBJECT = 6;
+
+    /** Marks a file as a results column */
+    private static final int MAGIC = 0x41525243;
+
+    /** Header layout: magic, type, then the value count (column) or entry count and end (dictionary) */
+    private static final int TYPE_OFFSET = 4;
+    private static final int COUNT_OFFSET = 8;
+    private static final int END_OFFSET = 16;
+    private static final int HEADER_SIZE = 24;
+
+    /** Dictionary id standing for a null value */
+    private static final int NULL_ID = -1;
+
+    /** Number of distinct values remembered for deduplication; later values are stored without deduplicating */
+    private static final int MAX_CACHED_DICTIONARY_ENTRIES = 4096;
+
+    /** Number of bytes a new file is mapped with */
+    private static final int INITIAL_MAPPED_SIZE = 4096;
+
+    private final File valuesFile;
+    private final File dictionaryFile;
+    private final byte type;
+    private final int width;
+
+    private MappedByteBuffer values;
+    private MappedByteBuffer dictionary;
+    private long count;
+    private int dictionaryCount;
+    private int dictionaryEnd;
+
+    /** Ids of recently written dictionary entries, by their encoded form */
+    private final Map<String, Integer> dictionaryIds = new HashMap<>();
+
+    private MappedColumnFile(File valuesFile, byte type) {
+        this.valuesFile = valuesFile;
+        this.dictionaryFile = new File(valuesFile.getPath() + ".dict");
+        this.type = type;
+        this.width = widthOf(type);
+    }
+
+    /**
+     * Creates an empty column file, replacing any existing file of the same name.
+     *
+     * @param valuesFile the file holding the column's values
+     * @param type the type of the column
+     * @return the column
+     */
+    static MappedColumnFile create(File valuesFile, byte type) {
+        MappedColumnFile column = new MappedColumnFile(valuesFile, type);
+        column.delete();
+        column.values = map(valuesFile, INITIAL_MAPPED_SIZE);
+        column.values.putInt(0, MAGIC);
+        column.values.put(TYPE_OFFSET, type);
+        column.values.putLong(COUNT_OFFSET, 0);
+        if (column.hasDictionary()) {
+            column.dictionary = map(column.dictionaryFile, INITIAL_MAPPED_SIZE);
+            column.dictionary.putInt(0, MAGIC);
+            column.dictionary.put(TYPE_OFFSET, type);
+            column.dictionary.putLong(COUNT_OFFSET, 0);
+            column.dictionary.putLong(END_OFFSET, HEADER_SIZE);
+            column.dictionaryEnd = HEADER_SIZE;
+        }
+        return column;
+    }
+
+    /**
+     * Opens an existing column file, e.g. one left behind by an aborted run.
+     *
+     * @param valuesFile the file holding the column's values
+     * @return the column
+     * @throws IllegalArgumentException if the file is not a results column
+     */
+    static MappedColumnFile open(File valuesFile) {
+        MappedByteBuffer values = map(valuesFile, 0);
+        if (values.capacity() < HEADER_SIZE || values.getInt(0) != MAGIC)
+            throw new IllegalArgumentException("File " + valuesFile + " is not a results column");
+
+        MappedColumnFile column = new MappedColumnFile(valuesFile, values.get(TYPE_OFFSET));
+        column.values = values;
+        column.count = Math.min(values.getLong(COUNT_OFFSET), (values.capacity() - HEADER_SIZE) / column.width);
+        if (column.hasDictionary()) {
+            column.dictionary = map(column.dictionaryFile, 0);
+            column.dictionaryCount = (int) column.dictionary.getLong(COUNT_OFFSET);
+            column.dictionaryEnd = (int) Math.min(column.dictionary.getLong(END_OFFSET), column.dictionary.capacity());
+        }
+        return column;
+    }
+
+    /**
+     * Returns the type of column that stores a value, so that its boxed form is preserved.
+     *
+     * @param value a value, or null
+     * @return the column type
+     */
+    static byte typeOf(Object value) {
+        if (value instanceof Integer)
+            return INT;
+        if (value instanceof Long)
+            return LONG;
+        if (value instanceof Double)
+            return DOUBLE;
+        if (value instanceof Boolean)
+            return BOOLEAN;
+        if (value instanceof String)
+            return STRING;
+        return OBJECT;
+    }
+
+    private static int widthOf(byte type) {
+        switch (type) {
+            case LONG:
+            case DOUBLE:
+                return Long.BYTES;
+            case BOOLEAN:
+                return 1;
+            case INT:
+            case STRING:
+            case OBJECT:
+                return Integer.BYTES;
+            default:
+                throw new IllegalArgumentException("Unknown results column type " + type);
+        }
+    }
+
+    /** @return the type of the column */
+    byte getType() {
+        return type;
+    }
+
+    /** @return the number of values in the column */
+    long size() {
+        return count;
+    }
+
+    /**
+     * Whether a value can be appended to this column without changing its type.
+     *
+     * @param value a value, or null
+     * @return true if the value can be appended
+     */
+    boolean accepts(Object value) {
+        if (type == OBJECT)
+            return true;
+        if (value == null)
+            return type == STRING;
+        return typeOf(value) == type;
+    }
+
+    void appendInt(int value) {
+        ensureValueCapacity().putInt(nextPosition(), value);
+        commitValue();
+    }
+
+    void appendLong(long value) {
+        ensureValueCapacity().putLong(nextPosition(), value);
+        commitValue();
+    }
+
+    void appendDouble(double value) {
+        ensureValueCapacity().putDouble(nextPosition(), value);
+        commitValue();
+    }
+
+    void appendBoolean(boolean value) {
+        ensureValueCapacity().put(nextPosition(), value ? (byte) 1 : (byte) 0);
+        commitValue();
+    }
+
+    /**
+     * Appends a value of any type this column {@link #accepts(Object) accepts}.
+     *
+     * @param value the value
+     */
+    void append(Object value) {
+        switch (type) {
+            case INT:
+                appendInt((Integer) value);
+                break;
+            case LONG:
+                appendLong((Long) value);
+                break;
+            case DOUBLE:
+                appendDouble((Double) value);
+                break;
+            case BOOLEAN:
+                appendBoolean((Boolean) value);
+                break;
+            default:
+                int id = value == null ? NULL_ID : dictionaryIdOf(value);
+                ensureValueCapacity().putInt(nextPosition(), id);
+                commitValue();
+        }
+    }
+
+    /**
+     * Reads every value of the column.
+     *
+     * @return the values, boxed
+     */
+    List<Object> readAll() {
+        List<Object> dictionaryValues = hasDictionary() ? readDictionary() : null;
+        List<Object> result = new ArrayList<>((int) Math.min(count, Integer.MAX_VALUE));
+        for (long i = 0; i < count; i++) {
+            int position = (int) (HEADER_SIZE + i * width);
+            switch (type) {
+                case INT:
+                    result.add(values.getInt(position));
+                    break;
+                case LONG:
+                    result.add(values.getLong(position));
+                    break;
+                case DOUBLE:
+                    result.add(values.getDouble(position));
+                    break;
+                case BOOLEAN:
+                    result.add(values.get(position) != 0);
+                    break;
+                default:
+                    int id = values.getInt(position);
+                    result.add(id == NULL_ID || id >= dictionaryValues.size() ? null : dictionaryValues.get(id));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Folds every value of the column into per-tick statistics, reading fixed-width values straight from the
+     * mapped file.
+     *
+     * @param statistics the statistics to fold the values into
+     */
+    void addTo(TickStatistics statistics) {
+        if (hasDictionary()) {
+            List<Object> all = readAll();
+            for (int i = 0; i < all.size(); i++)
+                statistics.add(i, all.get(i));
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int position = HEADER_SIZE + i * width;
+            switch (type) {
+                case INT:
+                    statistics.addDouble(i, values.getInt(position));
+                    break;
+                case LONG:
+                    statistics.addDouble(i, values.getLong(position));
+                    break;
+                case DOUBLE:
+                    statistics.addDouble(i, values.getDouble(position));
+                    break;
+                default:
+                    statistics.addBoolean(i, values.get(position) != 0);
+            }
+        }
+    }
+
+    /** Releases the mappings and deletes the column's files */
+    void delete() {
+        values = null;
+        dictionary = null;
+        deleteFile(valuesFile);
+        deleteFile(dictionaryFile);
+    }
+
+    // === Values ===
+
+    private int nextPosition() {
+        return (int) (HEADER_SIZE + count * width);
+    }
+
+    private MappedByteBuffer ensureValueCapacity() {
+        long required = HEADER_SIZE + (count + 1) * width;
+        if (required > values.capacity())
+            values = remap(valuesFile, values, required);
+        return values;
+    }
+
+    /** Publishes the value just written by advancing the count */
+    private void commitValue() {
+        values.putLong(COUNT_OFFSET, ++count);
+    }
+
+    // === Dictionary ===
+
+    private boolean hasDictionary() {
+        return type == STRING || type == OBJECT;
+    }
+
+    private int dictionaryIdOf(Object value) {
+        String encoded;
+        String className = null;
+        if (type == STRING) {
+            encoded = (String) value;
+        } else {
+            className = value.getClass().getName();
+            encoded = className + '\n' + ValueCodec.toJson(value);
+        }
+
+        Integer cachedId = dictionaryIds.get(encoded);
+        if (cachedId != null)
+            return cachedId;
+
+        byte[] bytes = encoded.getBytes(StandardCharsets.UTF_8);
+        long required = (long) dictionaryEnd + Integer.BYTES + bytes.length;
+        if (required > Integer.MAX_VALUE)
+            throw new IllegalStateException("Results dictionary " + dictionaryFile + " is full");
+        if (required > dictionary.capacity())
+            dictionary = remap(dictionaryFile, dictionary, required);
+
+        dictionary.putInt(dictionaryEnd, bytes.length);
+        dictionary.put(dictionaryEnd + Integer.BYTES, bytes);
+        dictionaryEnd = (int) required;
+        int id = dictionaryCount++;
+        dictionary.putLong(END_OFFSET, dictionaryEnd);
+        dictionary.putLong(COUNT_OFFSET, dictionaryCount);
+
+        if (dictionaryIds.size() < MAX_CACHED_DICTIONARY_ENTRIES)
+            dictionaryIds.put(encoded, id);
+        return id;
+    }
+
+    private List<Object> readDictionary() {
+        List<Object> entries = new ArrayList<>(dictionaryCount);
+        Map<String, Class<?>> classes = new HashMap<>();
+        int position = HEADER_SIZE;
+        for (int i = 0; i < dictionaryCount && position + Integer.BYTES <= dictionaryEnd; i++) {
+            int length = dictionary.getInt(position);
+            if (length < 0 || position + Integer.BYTES + length > dictionaryEnd)
+                break;
+            byte[] bytes = new byte[length];
+            dictionary.get(position + Integer.BYTES, bytes);
+            position += Integer.BYTES + length;
+
+            String encoded = new String(bytes, StandardCharsets.UTF_8);
+            if (type == STRING) {
+                entries.add(encoded);
+                continue;
+            }
+            int separator = encoded.indexOf('\n');
+            String className = encoded.substring(0, separator);
+            Class<?> entryClass = classes.computeIfAbsent(className, MappedColumnFile::loadClass);
+            entries.add(ValueCodec.fromJson(encoded.substring(separator + 1), entryClass));
+        }
+        return entries;
+    }
+
+    private static Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("Cannot read results value of unknown class " + className, e);
+        }
+    }
+
+    // === Mapping ===
+
+    /** Maps a file for reading and writing, growing it to at least the given size */
+    private static MappedByteBuffer map(File file, long size) {
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long mappedSize = Math.max(size, channel.size());
+            if (mappedSize > Integer.MAX_VALUE)
+                throw new IllegalStateException("Results column " + file + " is full");
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to map results column " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Maps a larger region of a file, at least doubling it so that growing is amortised */
+    private static MappedByteBuffer remap(File file, MappedByteBuffer current, long required) {
+        long grownSize = Math.max(required, Math.min((long) current.capacity() * 2, Integer.MAX_VALUE));
+        return map(file, grownSize);
+    }
+
+    private static void deleteFile(File file) {
+        if (file.exists() && !file.delete())
+            System.err.println("Failed to delete results column file: " + file);
+    }
+}
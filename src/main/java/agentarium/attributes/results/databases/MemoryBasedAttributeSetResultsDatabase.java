@@ -1,9 +1,15 @@
 package agentarium.attributes.results.databases;
 
-import java.util.ArrayList;
+import agentarium.attributes.results.databases.columns.*;
+
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
 
 /**
  * An in-memory implementation of {@link AttributeSetResultsDatabase}.
@@ -12,19 +18,130 @@ import java.util.Map;
  * It is useful for lightweight simulations, unit tests, or post-processing before output.
  *
  * <p>Unlike {@link DiskBasedAttributeSetResultsDatabase}, this class does not persist results to disk.
+ *
+ * <p>Property values recorded through the primitive {@code addXPropertyValue} methods are stored in
+ * primitive {@link ResultsColumn}s, so recording numeric properties does not allocate per tick.
+ *
+ * <p>Columns written through the slot-based {@code add...ValueAt} methods are cached by slot after their first
+ * value, so later values are appended without looking the column up by name.
+ *
+ * <p>Pre- and post-event columns holding {@link Boolean}s are stored as bits in a {@link BooleanResultsColumn}.
+ * Columns grow in chunks rather than by copying, and new columns are sized to hold
+ * {@link #setInitialColumnCapacity(int) the expected number of ticks} up front. A primitive column given a null
+ * value is converted to an {@link ObjectResultsColumn}.
+ *
+ * <p>When {@link #setColumnsCompressed(boolean) compression} is turned on, new columns compress their values:
+ * integers are delta encoded, doubles are XOR encoded, and booleans and objects are run-length encoded. Values
+ * are decoded transparently when columns are read. {@link #getStorageReport()} reports the memory saved.
+ *
+ * <p>A database takes its column capacity and compression when it is created, from the {@link ResultsBackend}
+ * bound to the creating thread if there is one, and from the static settings otherwise.
  */
 public class MemoryBasedAttributeSetResultsDatabase extends AttributeSetResultsDatabase {
 
     // === Internal maps to store values by name ===
-    private final Map<String, List<Object>> propertiesMap = new HashMap<>();
+    private final Map<String, ResultsColumn> propertiesMap = new HashMap<>();
     private final Map<String, Class<?>> propertyClassesMap = new HashMap<>();
 
-    private final Map<String, List<Object>> preEventsMap = new HashMap<>();
+    private final Map<String, ResultsColumn> preEventsMap = new HashMap<>();
     private final Map<String, Class<?>> preEventClassesMap = new HashMap<>();
 
-    private final Map<String, List<Object>> postEventsMap = new HashMap<>();
+    private final Map<String, ResultsColumn> postEventsMap = new HashMap<>();
     private final Map<String, Class<?>> postEventClassesMap = new HashMap<>();
 
+    // === Columns cached by slot, filled on first use and cleared when a column is replaced ===
+    private ResultsColumn[] propertySlotColumns = new ResultsColumn[0];
+    private Class<?>[] propertySlotClasses = new Class<?>[0];
+    private ResultsColumn[] preEventSlotColumns = new ResultsColumn[0];
+    private ResultsColumn[] postEventSlotColumns = new ResultsColumn[0];
+
+    /** Number of values this database's new columns hold before they first grow */
+    private final int columnCapacity = ResultsBackend.current() == null
+            ? initialColumnCapacity : ResultsBackend.current().getInitialColumnCapacity();
+
+    /** Whether this database's new columns compress their values */
+    private final boolean isCompressed = ResultsBackend.current() == null
+            ? areColumnsCompressed : ResultsBackend.current().areColumnsCompressed();
+
+    /** Number of values new columns hold before they first grow */
+    private static volatile int initialColumnCapacity = 16;
+
+    /**
+     * Sets the number of values columns created from now on hold before they first grow, typically the number
+     * of ticks to be recorded.
+     *
+     * @param initialColumnCapacity the initial capacity of new columns, at least 1
+     */
+    public static void setInitialColumnCapacity(int initialColumnCapacity) {
+        if (initialColumnCapacity < 1)
+            throw new IllegalArgumentException("Initial column capacity must be at least 1, got " + initialColumnCapacity);
+        MemoryBasedAttributeSetResultsDatabase.initialColumnCapacity = initialColumnCapacity;
+    }
+
+    /** @return the number of values new columns hold before they first grow */
+    public static int getInitialColumnCapacity() {
+        return initialColumnCapacity;
+    }
+
+    /** Whether new columns compress their values */
+    private static volatile boolean areColumnsCompressed = false;
+
+    /**
+     * Sets whether columns created from now on compress their values.
+     *
+     * @param areColumnsCompressed whether to compress new columns
+     */
+    public static void setColumnsCompressed(boolean areColumnsCompressed) {
+        MemoryBasedAttributeSetResultsDatabase.areColumnsCompressed = areColumnsCompressed;
+    }
+
+    /** @return whether new columns compress their values */
+    public static boolean areColumnsCompressed() {
+        return areColumnsCompressed;
+    }
+
+    // === Column creation ===
+
+    private ResultsColumn newIntColumn() {
+        return newIntColumn(columnCapacity);
+    }
+
+    private ResultsColumn newIntColumn(int capacity) {
+        return isCompressed ? new DeltaIntResultsColumn(capacity) : new IntResultsColumn(capacity);
+    }
+
+    private ResultsColumn newLongColumn() {
+        return newLongColumn(columnCapacity);
+    }
+
+    private ResultsColumn newLongColumn(int capacity) {
+        return isCompressed ? new DeltaLongResultsColumn(capacity) : new LongResultsColumn(capacity);
+    }
+
+    private ResultsColumn newDoubleColumn() {
+        return newDoubleColumn(columnCapacity);
+    }
+
+    private ResultsColumn newDoubleColumn(int capacity) {
+        return isCompressed ? new XorDoubleResultsColumn(capacity) : new DoubleResultsColumn(capacity);
+    }
+
+    private ResultsColumn newBooleanColumn() {
+        return newBooleanColumn(columnCapacity);
+    }
+
+    private ResultsColumn newBooleanColumn(int capacity) {
+        return isCompressed ? new RunLengthBooleanResultsColumn() : new BooleanResultsColumn(capacity);
+    }
+
+    private ResultsColumn newObjectColumn() {
+        return newObjectColumn(columnCapacity);
+    }
+
+    private ResultsColumn newObjectColumn(int capacity) {
+        return isCompressed ? new RunLengthResultsColumn() : new ObjectResultsColumn(capacity);
+    }
+
     private static Class<?> firstNonNullClass(List<?> values) {
         if (values == null) return null;
         for (Object v : values) {
@@ -46,14 +163,21 @@ public class MemoryBasedAttributeSetResultsDatabase extends AttributeSetResultsD
     // === Tick-by-tick value addition ===
     @Override
     public <T> void addPropertyValue(String propertyName, T propertyValue) {
-        propertiesMap.computeIfAbsent(propertyName, k -> new ArrayList<>());
+        ResultsColumn column = propertiesMap.get(propertyName);
+        if (column == null) {
+            column = newObjectColumn();
+            propertiesMap.put(propertyName, column);
+        } else if (propertyValue == null && !column.acceptsNull()) {
+            column = toObjectColumn(propertiesMap, propertyName);
+            Arrays.fill(propertySlotColumns, null);
+        }
         // If we don't yet know the element type for this column, infer it from the first non-null value
         if (propertyValue != null && !propertyClassesMap.containsKey(propertyName)) {
             propertyClassesMap.put(propertyName, propertyValue.getClass());
         }
         // Allow nulls; otherwise enforce the recorded element type
         if (propertyValue == null || propertyClassesMap.get(propertyName).isInstance(propertyValue)) {
-            propertiesMap.get(propertyName).add(propertyValue);
+            column.add(propertyValue);
         } else {
             throw new IllegalArgumentException(
                     "Property '" + propertyName + "' is not an instance of " + propertyValue.getClass().getSimpleName());
@@ -61,39 +185,249 @@ public class MemoryBasedAttributeSetResultsDatabase extends AttributeSetResultsD
     }
 
     @Override
-    public <T> void addPreEventValue(String preEventName, T preEventValue) {
-        preEventsMap.computeIfAbsent(preEventName, k -> new ArrayList<>());
-        if (preEventValue != null && !preEventClassesMap.containsKey(preEventName)) {
-            preEventClassesMap.put(preEventName, preEventValue.getClass());
+    public void addIntPropertyValue(String propertyName, int propertyValue) {
+        ResultsColumn column = propertiesMap.get(propertyName);
+        if (column == null) {
+            column = newIntColumn();
+            propertiesMap.put(propertyName, column);
+            propertyClassesMap.put(propertyName, Integer.class);
         }
-        if (preEventValue == null || preEventClassesMap.get(preEventName).isInstance(preEventValue)) {
-            preEventsMap.get(preEventName).add(preEventValue);
-        } else {
-            throw new IllegalArgumentException(
-                    "Pre-event '" + preEventName + "' is not an instance of " + preEventValue.getClass().getSimpleName());
+        if (column instanceof IntColumn)
+            ((IntColumn) column).addInt(propertyValue);
+        else
+            addPropertyValue(propertyName, propertyValue);
+    }
+
+    @Override
+    public void addLongPropertyValue(String propertyName, long propertyValue) {
+        ResultsColumn column = propertiesMap.get(propertyName);
+        if (column == null) {
+            column = newLongColumn();
+            propertiesMap.put(propertyName, column);
+            propertyClassesMap.put(propertyName, Long.class);
+        }
+        if (column instanceof LongColumn)
+            ((LongColumn) column).addLong(propertyValue);
+        else
+            addPropertyValue(propertyName, propertyValue);
+    }
+
+    @Override
+    public void addDoublePropertyValue(String propertyName, double propertyValue) {
+        ResultsColumn column = propertiesMap.get(propertyName);
+        if (column == null) {
+            column = newDoubleColumn();
+            propertiesMap.put(propertyName, column);
+            propertyClassesMap.put(propertyName, Double.class);
         }
+        if (column instanceof DoubleColumn)
+            ((DoubleColumn) column).addDouble(propertyValue);
+        else
+            addPropertyValue(propertyName, propertyValue);
+    }
+
+    @Override
+    public void addBooleanPropertyValue(String propertyName, boolean propertyValue) {
+        ResultsColumn column = propertiesMap.get(propertyName);
+        if (column == null) {
+            column = newBooleanColumn();
+            propertiesMap.put(propertyName, column);
+            propertyClassesMap.put(propertyName, Boolean.class);
+        }
+        if (column instanceof BooleanColumn)
+            ((BooleanColumn) column).addBoolean(propertyValue);
+        else
+            addPropertyValue(propertyName, propertyValue);
+    }
+
+    @Override
+    public <T> void addPreEventValue(String preEventName, T preEventValue) {
+        if (addEventValue(preEventsMap, preEventClassesMap, "Pre-event", preEventName, preEventValue))
+            Arrays.fill(preEventSlotColumns, null);
     }
 
     @Override
     public <T> void addPostEventValue(String postEventName, T postEventValue) {
-        postEventsMap.computeIfAbsent(postEventName, k -> new ArrayList<>());
-        if (postEventValue != null && !postEventClassesMap.containsKey(postEventName)) {
-            postEventClassesMap.put(postEventName, postEventValue.getClass());
+        if (addEventValue(postEventsMap, postEventClassesMap, "Post-event", postEventName, postEventValue))
+            Arrays.fill(postEventSlotColumns, null);
+    }
+
+    /**
+     * Appends an event value, storing {@link Boolean} columns as bits.
+     *
+     * @return whether an existing column was converted to an object column, invalidating cached slots
+     */
+    private boolean addEventValue(Map<String, ResultsColumn> eventsMap, Map<String, Class<?>> eventClassesMap,
+                                  String description, String eventName, Object eventValue) {
+        ResultsColumn column = eventsMap.get(eventName);
+        boolean isConverted = false;
+        if (column == null) {
+            column = eventValue instanceof Boolean ? newBooleanColumn() : newObjectColumn();
+            eventsMap.put(eventName, column);
+        } else if (eventValue == null && !column.acceptsNull()) {
+            column = toObjectColumn(eventsMap, eventName);
+            isConverted = true;
+        }
+        if (eventValue != null && !eventClassesMap.containsKey(eventName)) {
+            eventClassesMap.put(eventName, eventValue.getClass());
         }
-        if (postEventValue == null || postEventClassesMap.get(postEventName).isInstance(postEventValue)) {
-            postEventsMap.get(postEventName).add(postEventValue);
+        if (eventValue == null || eventClassesMap.get(eventName).isInstance(eventValue)) {
+            column.add(eventValue);
         } else {
             throw new IllegalArgumentException(
-                    "Post-event '" + postEventName + "' is not an instance of " + postEventValue.getClass().getSimpleName());
+                    description + " '" + eventName + "' is not an instance of " + eventValue.getClass().getSimpleName());
+        }
+        return isConverted;
+    }
+
+    /** Replaces a primitive column with an object column holding the same values, so that it can hold nulls */
+    private ResultsColumn toObjectColumn(Map<String, ResultsColumn> columns, String name) {
+        ResultsColumn column = newObjectColumn();
+        for (Object value : columns.get(name).asList())
+            column.add(value);
+        columns.put(name, column);
+        return column;
+    }
+
+    /** Creates a column holding the given values, storing them as booleans if they are all non-null booleans */
+    private ResultsColumn eventColumnOf(List<Object> values) {
+        if (values == null)
+            return newObjectColumn();
+        boolean areBooleans = true;
+        for (Object value : values) {
+            if (!(value instanceof Boolean)) {
+                areBooleans = false;
+                break;
+            }
+        }
+        if (!areBooleans)
+            return objectColumnOf(values);
+        ResultsColumn column = newBooleanColumn();
+        for (Object value : values)
+            column.add(value);
+        return column;
+    }
+
+    // === Slot-based value addition ===
+    @Override
+    public void addPropertyValueAt(int slot, Object propertyValue) {
+        ResultsColumn column = cachedColumn(propertySlotColumns, slot);
+        if (column != null && propertyValue != null && propertySlotClasses[slot].isInstance(propertyValue)) {
+            column.add(propertyValue);
+            return;
         }
+        String propertyName = getPropertySlotName(slot);
+        addPropertyValue(propertyName, propertyValue);
+        cachePropertySlot(slot, propertyName);
+    }
+
+    @Override
+    public void addIntPropertyValueAt(int slot, int propertyValue) {
+        ResultsColumn column = cachedColumn(propertySlotColumns, slot);
+        if (column instanceof IntColumn) {
+            ((IntColumn) column).addInt(propertyValue);
+            return;
+        }
+        String propertyName = getPropertySlotName(slot);
+        addIntPropertyValue(propertyName, propertyValue);
+        cachePropertySlot(slot, propertyName);
+    }
+
+    @Override
+    public void addLongPropertyValueAt(int slot, long propertyValue) {
+        ResultsColumn column = cachedColumn(propertySlotColumns, slot);
+        if (column instanceof LongColumn) {
+            ((LongColumn) column).addLong(propertyValue);
+            return;
+        }
+        String propertyName = getPropertySlotName(slot);
+        addLongPropertyValue(propertyName, propertyValue);
+        cachePropertySlot(slot, propertyName);
+    }
+
+    @Override
+    public void addDoublePropertyValueAt(int slot, double propertyValue) {
+        ResultsColumn column = cachedColumn(propertySlotColumns, slot);
+        if (column instanceof DoubleColumn) {
+            ((DoubleColumn) column).addDouble(propertyValue);
+            return;
+        }
+        String propertyName = getPropertySlotName(slot);
+        addDoublePropertyValue(propertyName, propertyValue);
+        cachePropertySlot(slot, propertyName);
+    }
+
+    @Override
+    public void addBooleanPropertyValueAt(int slot, boolean propertyValue) {
+        ResultsColumn column = cachedColumn(propertySlotColumns, slot);
+        if (column instanceof BooleanColumn) {
+            ((BooleanColumn) column).addBoolean(propertyValue);
+            return;
+        }
+        String propertyName = getPropertySlotName(slot);
+        addBooleanPropertyValue(propertyName, propertyValue);
+        cachePropertySlot(slot, propertyName);
+    }
+
+    @Override
+    public void addPreEventValueAt(int slot, boolean isTriggered) {
+        ResultsColumn column = cachedColumn(preEventSlotColumns, slot);
+        if (column instanceof BooleanColumn) {
+            ((BooleanColumn) column).addBoolean(isTriggered);
+            return;
+        }
+        String preEventName = getPreEventSlotName(slot);
+        addPreEventValue(preEventName, isTriggered);
+        ResultsColumn namedColumn = preEventsMap.get(preEventName);
+        if (namedColumn instanceof BooleanColumn) {
+            preEventSlotColumns = ensureSlot(preEventSlotColumns, slot);
+            preEventSlotColumns[slot] = namedColumn;
+        }
+    }
+
+
+    @Override
+    public void addPostEventValueAt(int slot, boolean isTriggered) {
+        ResultsColumn column = cachedColumn(postEventSlotColumns, slot);
+        if (column instanceof BooleanColumn) {
+            ((BooleanColumn) column).addBoolean(isTriggered);
+            return;
+        }
+        String postEventName = getPostEventSlotName(slot);
+        addPostEventValue(postEventName, isTriggered);
+        ResultsColumn namedColumn = postEventsMap.get(postEventName);
+        if (namedColumn instanceof BooleanColumn) {
+            postEventSlotColumns = ensureSlot(postEventSlotColumns, slot);
+            postEventSlotColumns[slot] = namedColumn;
+        }
+    }
+
+
+    /** Caches the column and element type of a property slot once its type is known */
+    private void cachePropertySlot(int slot, String propertyName) {
+        Class<?> propertyClass = propertyClassesMap.get(propertyName);
+        if (propertyClass == null)
+            return;
+        propertySlotColumns = ensureSlot(propertySlotColumns, slot);
+        propertySlotClasses = ensureSlot(propertySlotClasses, slot);
+        propertySlotColumns[slot] = propertiesMap.get(propertyName);
+        propertySlotClasses[slot] = propertyClass;
+    }
+
+    private static <T> T cachedColumn(T[] slotColumns, int slot) {
+        return slot < slotColumns.length ? slotColumns[slot] : null;
+    }
+
+    private static <T> T[] ensureSlot(T[] slotColumns, int slot) {
+        return slot < slotColumns.length ? slotColumns : Arrays.copyOf(slotColumns, Math.max(slot + 1, slotColumns.length * 2));
     }
 
     // === Column replacement ===
     @Override
     public void setPropertyColumn(String propertyName, List<Object> propertyValues) {
-        // Create the column if it doesn't exist, then replace the data
-        propertiesMap.computeIfAbsent(propertyName, k -> new ArrayList<>());
-        propertiesMap.put(propertyName, propertyValues == null ? new ArrayList<>() : new ArrayList<>(propertyValues));
+        Arrays.fill(propertySlotColumns, null);
+        // Replace the data with a fresh object column
+        propertiesMap.put(propertyName, objectColumnOf(propertyValues));
 
         // Infer & record the element type from the first non-null value (if any)
         Class<?> inferred = firstNonNullClass(propertyValues);
@@ -104,8 +438,8 @@ public class MemoryBasedAttributeSetResultsDatabase extends AttributeSetResultsD
 
     @Override
     public void setPreEventColumn(String preEventName, List<Object> preEventValues) {
-        preEventsMap.computeIfAbsent(preEventName, k -> new ArrayList<>());
-        preEventsMap.put(preEventName, preEventValues == null ? new ArrayList<>() : new ArrayList<>(preEventValues));
+        Arrays.fill(preEventSlotColumns, null);
+        preEventsMap.put(preEventName, eventColumnOf(preEventValues));
 
         Class<?> inferred = firstNonNullClass(preEventValues);
         if (inferred != null) {
@@ -115,8 +449,8 @@ public class MemoryBasedAttributeSetResultsDatabase extends AttributeSetResultsD
 
     @Override
     public void setPostEventColumn(String postEventName, List<Object> postEventValues) {
-        postEventsMap.computeIfAbsent(postEventName, k -> new ArrayList<>());
-        postEventsMap.put(postEventName, postEventValues == null ? new ArrayList<>() : new ArrayList<>(postEventValues));
+        Arrays.fill(postEventSlotColumns, null);
+        postEventsMap.put(postEventName, eventColumnOf(postEventValues));
 
         Class<?> inferred = firstNonNullClass(postEventValues);
         if (inferred != null) {
@@ -124,19 +458,243 @@ public class MemoryBasedAttributeSetResultsDatabase extends AttributeSetResultsD
         }
     }
 
+    /** Creates an object column holding the given values */
+    private ResultsColumn objectColumnOf(List<Object> values) {
+        if (!isCompressed)
+            return values == null ? new ObjectResultsColumn() : new ObjectResultsColumn(values);
+        ResultsColumn column = newObjectColumn();
+        if (values != null) {
+            for (Object value : values)
+                column.add(value);
+        }
+        return column;
+    }
+
     // === Column retrieval ===
     @Override
     public List<Object> getPropertyColumnAsList(String propertyName) {
-        return propertiesMap.get(propertyName);
+        ResultsColumn column = propertiesMap.get(propertyName);
+        return column == null ? null : column.asList();
     }
 
     @Override
     public List<Object> getPreEventColumnAsList(String preEventName) {
-        return preEventsMap.get(preEventName);
+        ResultsColumn column = preEventsMap.get(preEventName);
+        return column == null ? null : column.asList();
     }
 
     @Override
     public List<Object> getPostEventColumnAsList(String postEventName) {
-        return postEventsMap.get(postEventName);
+        ResultsColumn column = postEventsMap.get(postEventName);
+        return column == null ? null : column.asList();
+    }
+
+    /** Returns a read-only view of the range, so no values are copied */
+    @Override
+    public List<Object> getPropertyColumnRange(String propertyName, int fromIndex, int toIndex) {
+        return rangeView(propertiesMap.get(propertyName), fromIndex, toIndex);
+    }
+
+    @Override
+    public List<Object> getPreEventColumnRange(String preEventName, int fromIndex, int toIndex) {
+        return rangeView(preEventsMap.get(preEventName), fromIndex, toIndex);
+    }
+
+    @Override
+    public List<Object> getPostEventColumnRange(String postEventName, int fromIndex, int toIndex) {
+        return rangeView(postEventsMap.get(postEventName), fromIndex, toIndex);
+    }
+
+    private static List<Object> rangeView(ResultsColumn column, int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (column == null)
+            return null;
+        int to = Math.min(toIndex, column.size());
+        return fromIndex >= to ? List.of() : column.asList().subList(fromIndex, to);
+    }
+
+    /** Reads primitive columns without boxing */
+    @Override
+    public PrimitiveIterator.OfDouble getPropertyColumnDoubleIterator(String propertyName) {
+        ResultsColumn column = propertiesMap.get(propertyName);
+        if (column instanceof DoubleColumn)
+            return doubleIterator(column.size(), ((DoubleColumn) column)::getDouble);
+        if (column instanceof IntColumn)
+            return doubleIterator(column.size(), ((IntColumn) column)::getInt);
+        if (column instanceof LongColumn)
+            return doubleIterator(column.size(), ((LongColumn) column)::getLong);
+        return super.getPropertyColumnDoubleIterator(propertyName);
+    }
+
+    /** Reads integral primitive columns without boxing */
+    @Override
+    public PrimitiveIterator.OfLong getPropertyColumnLongIterator(String propertyName) {
+        ResultsColumn column = propertiesMap.get(propertyName);
+        if (column instanceof LongColumn)
+            return longIterator(column.size(), ((LongColumn) column)::getLong);
+        if (column instanceof IntColumn)
+            return longIterator(column.size(), ((IntColumn) column)::getInt);
+        return super.getPropertyColumnLongIterator(propertyName);
+    }
+
+    private static PrimitiveIterator.OfDouble doubleIterator(int size, IntToDoubleFunction values) {
+        return new PrimitiveIterator.OfDouble() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (index >= size)
+                    throw new NoSuchElementException();
+                return values.applyAsDouble(index++);
+            }
+        };
+    }
+
+    private static PrimitiveIterator.OfLong longIterator(int size, IntToLongFunction values) {
+        return new PrimitiveIterator.OfLong() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (index >= size)
+                    throw new NoSuchElementException();
+                return values.applyAsLong(index++);
+            }
+        };
+    }
+
+    // === Aggregation ===
+
+    /** Scans primitive columns without boxing */
+    @Override
+    public void addPropertyColumnTo(String propertyName, TickStatistics statistics) {
+        addColumnTo(propertiesMap.get(propertyName), statistics, 0);
+    }
+
+    @Override
+    public void addPreEventColumnTo(String preEventName, TickStatistics statistics) {
+        addColumnTo(preEventsMap.get(preEventName), statistics, 0);
+    }
+
+    @Override
+    public void addPostEventColumnTo(String postEventName, TickStatistics statistics) {
+        addColumnTo(postEventsMap.get(postEventName), statistics, 0);
+    }
+
+    private static void addColumnTo(ResultsColumn column, TickStatistics statistics, int firstTick) {
+        if (column == null)
+            return;
+        int size = column.size();
+        if (column instanceof DoubleColumn) {
+            DoubleColumn doubles = (DoubleColumn) column;
+            for (int i = 0; i < size; i++)
+                statistics.addDouble(firstTick + i, doubles.getDouble(i));
+        } else if (column instanceof IntColumn) {
+            IntColumn ints = (IntColumn) column;
+            for (int i = 0; i < size; i++)
+                statistics.addDouble(firstTick + i, ints.getInt(i));
+        } else if (column instanceof LongColumn) {
+            LongColumn longs = (LongColumn) column;
+            for (int i = 0; i < size; i++)
+                statistics.addDouble(firstTick + i, longs.getLong(i));
+        } else if (column instanceof BooleanColumn) {
+            BooleanColumn booleans = (BooleanColumn) column;
+            for (int i = 0; i < size; i++)
+                statistics.addBoolean(firstTick + i, booleans.getBoolean(i));
+        } else {
+            for (int i = 0; i < size; i++)
+                statistics.add(firstTick + i, column.get(i));
+        }
+    }
+
+    // === Spilling, used by TieredAttributeSetResultsDatabase ===
+
+    /** Number of values a column emptied by a spill holds before it first grows */
+    private static final int SPILLED_COLUMN_CAPACITY = 16;
+
+    /** @return the property, pre-event and post-event columns, in that order */
+    List<Map<String, ResultsColumn>> getColumnMaps() {
+        return List.of(propertiesMap, preEventsMap, postEventsMap);
+    }
+
+    /**
+     * Replaces a column with an empty column of the same type, once its values have been moved elsewhere.
+     *
+     * @param columns the map holding the column, one of {@link #getColumnMaps()}
+     * @param name the name of the column
+     */
+    void emptyColumn(Map<String, ResultsColumn> columns, String name) {
+        ResultsColumn column = columns.get(name);
+        ResultsColumn empty;
+        if (column instanceof IntColumn)
+            empty = newIntColumn(SPILLED_COLUMN_CAPACITY);
+        else if (column instanceof LongColumn)
+            empty = newLongColumn(SPILLED_COLUMN_CAPACITY);
+        else if (column instanceof DoubleColumn)
+            empty = newDoubleColumn(SPILLED_COLUMN_CAPACITY);
+        else if (column instanceof BooleanColumn)
+            empty = newBooleanColumn(SPILLED_COLUMN_CAPACITY);
+        else
+            empty = newObjectColumn(SPILLED_COLUMN_CAPACITY);
+        columns.put(name, empty);
+        Arrays.fill(propertySlotColumns, null);
+        Arrays.fill(preEventSlotColumns, null);
+        Arrays.fill(postEventSlotColumns, null);
+    }
+
+    /**
+     * Folds the values held in memory for a column into per-tick statistics, starting at a given tick.
+     *
+     * @param columns the map holding the column, one of {@link #getColumnMaps()}
+     * @param name the name of the column
+     * @param statistics the statistics to fold the values into
+     * @param firstTick the tick of the first value held in memory
+     */
+    static void addColumnTo(Map<String, ResultsColumn> columns, String name, TickStatistics statistics, int firstTick) {
+        addColumnTo(columns.get(name), statistics, firstTick);
+    }
+
+    /** @return the estimated number of bytes the columns take in memory */
+    long getStoredSizeInBytes() {
+        long storedBytes = 0;
+        for (Map<String, ResultsColumn> columns : getColumnMaps()) {
+            for (ResultsColumn column : columns.values())
+                storedBytes += column.getStoredSizeInBytes();
+        }
+        return storedBytes;
+    }
+
+    // === Storage ===
+
+    /**
+     * Reports how much memory this database's columns take, compared with storing them uncompressed.
+     *
+     * @return the storage report
+     */
+    @Override
+    public ResultsStorageReport getStorageReport() {
+        int columnCount = 0;
+        long valueCount = 0;
+        long rawBytes = 0;
+        long storedBytes = 0;
+        for (Map<String, ResultsColumn> columns : List.of(propertiesMap, preEventsMap, postEventsMap)) {
+            for (ResultsColumn column : columns.values()) {
+                columnCount++;
+                valueCount += column.size();
+                rawBytes += column.getRawSizeInBytes();
+                storedBytes += column.getStoredSizeInBytes();
+            }
+        }
+        return new ResultsStorageReport(columnCount, valueCount, rawBytes, storedBytes);
     }
 }
@@ -0,0 +1,380 @@
+package agentarium.attributes.results.databases;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link AttributeSetResultsDatabase} that stores each column in its own memory-mapped file.
+ *
+ * <p>Values are written straight into mapped files rather than through SQL or JSON, so recording costs little
+ * more than writing to an array, while the operating system pages results out when they do not fit in memory.
+ * {@code int}, {@code long}, {@code double} and {@code boolean} values are stored at a fixed width, and strings
+ * are stored once each in a dictionary, with values referring to them by id. Other objects are also stored in the
+ * dictionary, as their class name and JSON form.
+ *
+ * <p>A database is a directory holding an {@code index} file and one file per column. The index is an
+ * append-only log naming each column and the file holding it, and column files only count a value once it has
+ * been written, so a directory left behind by an aborted run can be read with {@link #open(String)}. A column's
+ * type is set by its first value; a column of primitive values that is given a null is rewritten as an object
+ * column.
+ *
+ * <p>The directory is deleted on {@link #disconnect()} unless {@link #setFilesDeletedOnDisconnect(boolean)} has
+ * been turned off. It is not deleted on JVM shutdown, so that results survive a failed run.
+ */
+public class MemoryMappedAttributeSetResultsDatabase extends AttributeSetResultsDatabase {
+
+    private static final String INDEX_FILE_NAME = "index";
+    private static final String COLUMN_FILE_SUFFIX = ".col";
+
+    private static final byte PROPERTY_KIND = 0;
+    private static final byte PRE_EVENT_KIND = 1;
+    private static final byte POST_EVENT_KIND = 2;
+
+    /** Whether a database's files are deleted when it is disconnected */
+    private static volatile boolean areFilesDeletedOnDisconnect = true;
+
+    private final Map<String, MappedColumnFile> propertyColumns = new HashMap<>();
+    private final Map<String, MappedColumnFile> preEventColumns = new HashMap<>();
+    private final Map<String, MappedColumnFile> postEventColumns = new HashMap<>();
+
+    /** The directory holding the database's files, while connected */
+    private File directory;
+
+    /** Number of the next column file to create */
+    private int nextColumnNumber = 0;
+
+    /**
+     * Sets whether databases delete their files when disconnected. Turning this off keeps the results of every
+     * run on disk, to be read with {@link #open(String)}.
+     *
+     * @param areFilesDeletedOnDisconnect whether files are deleted on disconnect
+     */
+    public static void setFilesDeletedOnDisconnect(boolean areFilesDeletedOnDisconnect) {
+        MemoryMappedAttributeSetResultsDatabase.areFilesDeletedOnDisconnect = areFilesDeletedOnDisconnect;
+    }
+
+    /** @return whether databases delete their files when disconnected */
+    public static boolean areFilesDeletedOnDisconnect() {
+        return areFilesDeletedOnDisconnect;
+    }
+
+    /**
+     * Opens the directory of an existing database, e.g. one left behind by an aborted run.
+     *
+     * <p>Every value written before the run stopped can be read, and further values can be added. A column
+     * whose entry in the index was not completely written is ignored.
+     *
+     * @param directoryPath the path of the database's directory
+     * @return the connected database
+     * @throws IllegalArgumentException if the directory does not hold a database
+     */
+    public static MemoryMappedAttributeSetResultsDatabase open(String directoryPath) {
+        File directory = new File(directoryPath);
+        File index = new File(directory, INDEX_FILE_NAME);
+        if (!index.isFile())
+            throw new IllegalArgumentException("No results database found at " + directoryPath);
+
+        MemoryMappedAttributeSetResultsDatabase database = new MemoryMappedAttributeSetResultsDatabase();
+        database.setDatabasePath(directoryPath);
+        database.directory = directory;
+
+        ByteBuffer entries;
+        try {
+            entries = ByteBuffer.wrap(Files.readAllBytes(index.toPath()));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read results index " + index + ": " + e.getMessage(), e);
+        }
+        while (entries.remaining() >= Integer.BYTES) {
+            int length = entries.getInt();
+            if (length < Byte.BYTES + Integer.BYTES || length > entries.remaining())
+                break;
+            byte kind = entries.get();
+            int number = entries.getInt();
+            byte[] name = new byte[length - Byte.BYTES - Integer.BYTES];
+            entries.get(name);
+
+            File columnFile = database.columnFile(number);
+            if (columnFile.isFile())
+                database.columnsOfKind(kind).put(new String(name, StandardCharsets.UTF_8), MappedColumnFile.open(columnFile));
+            database.nextColumnNumber = Math.max(database.nextColumnNumber, number + 1);
+        }
+        return database;
+    }
+
+    /**
+     * Stores the database in a directory named after the given path, replacing a {@code .db} extension.
+     *
+     * @param databasePath the path chosen for the database
+     */
+    @Override
+    protected void setDatabasePath(String databasePath) {
+        if (databasePath != null && databasePath.endsWith(".db"))
+            databasePath = databasePath.substring(0, databasePath.length() - ".db".length()) + ".columns";
+        super.setDatabasePath(databasePath);
+    }
+
+    /**
+     * Creates the database's directory.
+     */
+    @Override
+    public void connect() {
+        if (directory != null)
+            return;
+
+        File newDirectory = new File(getDatabasePath());
+        if (!newDirectory.isDirectory() && !newDirectory.mkdirs())
+            throw new RuntimeException("Failed to create results directory " + newDirectory);
+        directory = newDirectory;
+    }
+
+    /**
+     * Releases the column files and, unless turned off, deletes the database's directory.
+     */
+    @Override
+    public void disconnect() {
+        if (directory == null)
+            return;
+
+        propertyColumns.clear();
+        preEventColumns.clear();
+        postEventColumns.clear();
+
+        if (areFilesDeletedOnDisconnect) {
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    if (!file.delete())
+                        System.err.println("Failed to delete results file: " + file);
+                }
+            }
+            if (!directory.delete())
+                System.err.println("Failed to delete results directory: " + directory);
+        }
+        directory = null;
+    }
+
+    // === Tick-by-tick value addition ===
+
+    @Override
+    public <T> void addPropertyValue(String propertyName, T propertyValue) {
+        append(PROPERTY_KIND, "Property", propertyName, propertyValue);
+    }
+
+    @Override
+    public void addIntPropertyValue(String propertyName, int propertyValue) {
+        MappedColumnFile column = primitiveColumn(propertyName, MappedColumnFile.INT);
+        if (column != null)
+            column.appendInt(propertyValue);
+        else
+            addPropertyValue(propertyName, propertyValue);
+    }
+
+    @Override
+    public void addLongPropertyValue(String propertyName, long propertyValue) {
+        MappedColumnFile column = primitiveColumn(propertyName, MappedColumnFile.LONG);
+        if (column != null)
+            column.appendLong(propertyValue);
+        else
+            addPropertyValue(propertyName, propertyValue);
+    }
+
+    @Override
+    public void addDoublePropertyValue(String propertyName, double propertyValue) {
+        MappedColumnFile column = primitiveColumn(propertyName, MappedColumnFile.DOUBLE);
+        if (column != null)
+            column.appendDouble(propertyValue);
+        else
+            addPropertyValue(propertyName, propertyValue);
+    }
+
+    @Override
+    public void addBooleanPropertyValue(String propertyName, boolean propertyValue) {
+        MappedColumnFile column = primitiveColumn(propertyName, MappedColumnFile.BOOLEAN);
+        if (column != null)
+            column.appendBoolean(propertyValue);
+        else
+            addPropertyValue(propertyName, propertyValue);
+    }
+
+    @Override
+    public <T> void addPreEventValue(String preEventName, T preEventValue) {
+        append(PRE_EVENT_KIND, "Pre-event", preEventName, preEventValue);
+    }
+
+    @Override
+    public <T> void addPostEventValue(String postEventName, T postEventValue) {
+        append(POST_EVENT_KIND, "Post-event", postEventName, postEventValue);
+    }
+
+    // === Column replacement ===
+
+    @Override
+    public void setPropertyColumn(String propertyName, List<Object> propertyValues) {
+        replace(PROPERTY_KIND, propertyName, propertyValues);
+    }
+
+    @Override
+    public void setPreEventColumn(String preEventName, List<Object> preEventValues) {
+        replace(PRE_EVENT_KIND, preEventName, preEventValues);
+    }
+
+    @Override
+    public void setPostEventColumn(String postEventName, List<Object> postEventValues) {
+        replace(POST_EVENT_KIND, postEventName, postEventValues);
+    }
+
+    // === Column retrieval ===
+
+    @Override
+    public List<Object> getPropertyColumnAsList(String propertyName) {
+        return read(propertyColumns, propertyName);
+    }
+
+    @Override
+    public List<Object> getPreEventColumnAsList(String preEventName) {
+        return read(preEventColumns, preEventName);
+    }
+
+    @Override
+    public List<Object> getPostEventColumnAsList(String postEventName) {
+        return read(postEventColumns, postEventName);
+    }
+
+    // === Aggregation ===
+
+    /** Scans fixed-width columns in the mapped files without boxing */
+    @Override
+    public void addPropertyColumnTo(String propertyName, TickStatistics statistics) {
+        addColumnTo(propertyColumns, propertyName, statistics);
+    }
+
+    @Override
+    public void addPreEventColumnTo(String preEventName, TickStatistics statistics) {
+        addColumnTo(preEventColumns, preEventName, statistics);
+    }
+
+    @Override
+    public void addPostEventColumnTo(String postEventName, TickStatistics statistics) {
+        addColumnTo(postEventColumns, postEventName, statistics);
+    }
+
+    // === Helpers ===
+
+    private Map<String, MappedColumnFile> columnsOfKind(byte kind) {
+        if (kind == PROPERTY_KIND)
+            return propertyColumns;
+        if (kind == PRE_EVENT_KIND)
+            return preEventColumns;
+        if (kind == POST_EVENT_KIND)
+            return postEventColumns;
+        throw new IllegalArgumentException("Unknown results column kind " + kind);
+    }
+
+    /** Returns a property's column if it stores the given primitive type, creating it if it does not exist */
+    private MappedColumnFile primitiveColumn(String propertyName, byte type) {
+        MappedColumnFile column = propertyColumns.get(propertyName);
+        if (column == null)
+            return createColumn(PROPERTY_KIND, propertyName, type);
+        return column.getType() == type ? column : null;
+    }
+
+    private void append(byte kind, String description, String name, Object value) {
+        Map<String, MappedColumnFile> columns = columnsOfKind(kind);
+        MappedColumnFile column = columns.get(name);
+        if (column == null) {
+            column = createColumn(kind, name, MappedColumnFile.typeOf(value));
+        } else if (!column.accepts(value)) {
+            if (value != null)
+                throw new IllegalArgumentException(
+                        description + " '" + name + "' is not an instance of " + value.getClass().getSimpleName());
+            // A primitive column cannot hold nulls, so it becomes an object column
+            List<Object> values = column.readAll();
+            column = writeColumn(kind, name, MappedColumnFile.OBJECT, values);
+        }
+        column.append(value);
+    }
+
+    private void replace(byte kind, String name, List<Object> values) {
+        List<Object> newValues = values != null ? values : new ArrayList<>();
+        writeColumn(kind, name, columnTypeOf(newValues), newValues);
+    }
+
+    /** Returns the narrowest column type able to hold every value */
+    private static byte columnTypeOf(List<Object> values) {
+        byte type = 0;
+        boolean hasNull = false;
+        for (Object value : values) {
+            if (value == null) {
+                hasNull = true;
+                continue;
+            }
+            byte valueType = MappedColumnFile.typeOf(value);
+            if (type == 0)
+                type = valueType;
+            else if (type != valueType)
+                return MappedColumnFile.OBJECT;
+        }
+        if (type == 0 || (hasNull && type != MappedColumnFile.STRING))
+            return MappedColumnFile.OBJECT;
+        return type;
+    }
+
+    /** Writes values to a new column file, which then replaces any existing column of the same name */
+    private MappedColumnFile writeColumn(byte kind, String name, byte type, List<Object> values) {
+        MappedColumnFile previous = columnsOfKind(kind).get(name);
+        MappedColumnFile column = createColumn(kind, name, type);
+        for (Object value : values)
+            column.append(value);
+        if (previous != null)
+            previous.delete();
+        return column;
+    }
+
+    /** Creates a column file and records it in the index */
+    private MappedColumnFile createColumn(byte kind, String name, byte type) {
+        if (directory == null)
+            throw new IllegalStateException("Results database is not connected");
+
+        int number = nextColumnNumber++;
+        MappedColumnFile column = MappedColumnFile.create(columnFile(number), type);
+
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer entry = ByteBuffer.allocate(Integer.BYTES + Byte.BYTES + Integer.BYTES + nameBytes.length);
+        entry.putInt(Byte.BYTES + Integer.BYTES + nameBytes.length).put(kind).putInt(number).put(nameBytes).flip();
+        File index = new File(directory, INDEX_FILE_NAME);
+        try (FileChannel channel = FileChannel.open(index.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (entry.hasRemaining())
+                channel.write(entry);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write results index " + index + ": " + e.getMessage(), e);
+        }
+
+        columnsOfKind(kind).put(name, column);
+        return column;
+    }
+
+    private File columnFile(int number) {
+        return new File(directory, number + COLUMN_FILE_SUFFIX);
+    }
+
+    private static void addColumnTo(Map<String, MappedColumnFile> columns, String name, TickStatistics statistics) {
+        MappedColumnFile column = columns.get(name);
+        if (column != null)
+            column.addTo(statistics);
+    }
+
+    private static List<Object> read(Map<String, MappedColumnFile> columns, String name) {
+        MappedColumnFile column = columns.get(name);
+        return column != null ? column.readAll() : new ArrayList<>();
+    }
+}
@@ -0,0 +1,251 @@
+package agentarium.attributes.results.databases;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * The results storage of one model run: the database class created for each attribute set, whether recorded
+ * values are written asynchronously, how in-memory columns are laid out, the memory budget of tiered databases,
+ * and the SQLite settings of disk-based databases.
+ *
+ * <p>A backend is bound to each thread working for its run, with {@link #bind()} or by wrapping the thread's
+ * task with {@link #wrap(Callable)}. While a backend is bound, {@link AttributeSetResultsDatabaseFactory#createDatabase()}
+ * creates databases from it rather than from the factory's static configuration, and the databases it creates
+ * take their settings from it rather than from the static configuration of their class. Runs with different
+ * results storage can therefore share one JVM and one thread pool. Background writers started for a backend's
+ * databases are stopped with {@link #closeWriters()}, leaving those of other runs writing.
+ *
+ * <p>A tiered database spills once the memory held by every tiered database, whichever run it belongs to,
+ * crosses the budget of its own backend, since runs sharing a JVM share its heap.
+ */
+public final class ResultsBackend {
+
+    /** The backend bound to each thread, or null if the thread uses the factory's static configuration */
+    private static final ThreadLocal<ResultsBackend> boundBackend = new ThreadLocal<>();
+
+    /** The class of the databases created for each attribute set */
+    private final Class<? extends AttributeSetResultsDatabase> databaseClass;
+
+    /** Whether created databases write recorded values on a background thread */
+    private final boolean areWritesAsynchronous;
+
+    /** Number of values new in-memory columns hold before they first grow */
+    private final int initialColumnCapacity;
+
+    /** Whether new in-memory columns compress their values */
+    private final boolean areColumnsCompressed;
+
+    /** Bytes tiered databases may hold in memory before spilling */
+    private final long memoryBudget;
+
+    /** SQLite journal mode of disk-based databases */
+    private final String journalMode;
+
+    /** SQLite synchronous level of disk-based databases */
+    private final String synchronousMode;
+
+    /** Number of buffered rows disk-based databases write in one transaction */
+    private final int writeBatchSize;
+
+    /**
+     * Creates a results backend whose tiered and disk-based databases use the static configuration of their
+     * classes at the time the backend is created.
+     *
+     * @param databaseClass the class of the databases created for each attribute set, with a no-argument constructor
+     * @param areWritesAsynchronous whether created databases write recorded values on a background thread
+     * @param initialColumnCapacity the number of values new in-memory columns hold before they first grow
+     * @param areColumnsCompressed whether new in-memory columns compress their values
+     */
+    public ResultsBackend(Class<? extends AttributeSetResultsDatabase> databaseClass,
+                          boolean areWritesAsynchronous,
+                          int initialColumnCapacity,
+                          boolean areColumnsCompressed) {
+        this(databaseClass, areWritesAsynchronous, initialColumnCapacity, areColumnsCompressed,
+                TieredAttributeSetResultsDatabase.getMemoryBudget(),
+                DiskBasedAttributeSetResultsDatabase.getJournalMode(),
+                DiskBasedAttributeSetResultsDatabase.getSynchronousMode(),
+                DiskBasedAttributeSetResultsDatabase.getWriteBatchSize());
+    }
+
+    /**
+     * Creates a results backend.
+     *
+     * @param databaseClass the class of the databases created for each attribute set, with a no-argument constructor
+     * @param areWritesAsynchronous whether created databases write recorded values on a background thread
+     * @param initialColumnCapacity the number of values new in-memory columns hold before they first grow
+     * @param areColumnsCompressed whether new in-memory columns compress their values
+     * @param memoryBudget the bytes tiered databases may hold in memory before spilling, at least 1
+     * @param journalMode the SQLite journal mode of disk-based databases, as accepted by
+     *                    {@link DiskBasedAttributeSetResultsDatabase#setJournalMode(String)}
+     * @param synchronousMode the SQLite synchronous level of disk-based databases, as accepted by
+     *                        {@link DiskBasedAttributeSetResultsDatabase#setSynchronousMode(String)}
+     * @param writeBatchSize the number of buffered rows disk-based databases write in one transaction, at least 1
+     */
+    public ResultsBackend(Class<? extends AttributeSetResultsDatabase> databaseClass,
+                          boolean areWritesAsynchronous,
+                          int initialColumnCapacity,
+                          boolean areColumnsCompressed,
+                          long memoryBudget,
+                          String journalMode,
+                          String synchronousMode,
+                          int writeBatchSize) {
+        if (initialColumnCapacity < 1)
+            throw new IllegalArgumentException("Initial column capacity must be at least 1, got " + initialColumnCapacity);
+        if (memoryBudget < 1)
+            throw new IllegalArgumentException("Memory budget must be at least 1 byte, got " + memoryBudget);
+        if (writeBatchSize < 1)
+            throw new IllegalArgumentException("Write batch size must be at least 1, got " + writeBatchSize);
+        this.databaseClass = Objects.requireNonNull(databaseClass, "databaseClass");
+        this.areWritesAsynchronous = areWritesAsynchronous;
+        this.initialColumnCapacity = initialColumnCapacity;
+        this.areColumnsCompressed = areColumnsCompressed;
+        this.memoryBudget = memoryBudget;
+        this.journalMode = DiskBasedAttributeSetResultsDatabase.checkJournalMode(journalMode);
+        this.synchronousMode = DiskBasedAttributeSetResultsDatabase.checkSynchronousMode(synchronousMode);
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    /** @return the backend bound to the calling thread, or null if none is bound */
+    public static ResultsBackend current() {
+        return boundBackend.get();
+    }
+
+    /** @return the class of the databases created for each attribute set */
+    public Class<? extends AttributeSetResultsDatabase> getDatabaseClass() {
+        return databaseClass;
+    }
+
+    /** @return whether created databases write recorded values on a background thread */
+    public boolean areWritesAsynchronous() {
+        return areWritesAsynchronous;
+    }
+
+    /** @return the number of values new in-memory columns hold before they first grow */
+    public int getInitialColumnCapacity() {
+        return initialColumnCapacity;
+    }
+
+    /** @return whether new in-memory columns compress their values */
+    public boolean areColumnsCompressed() {
+        return areColumnsCompressed;
+    }
+
+    /** @return the bytes tiered databases may hold in memory before spilling */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /** @return the SQLite journal mode of disk-based databases */
+    public String getJournalMode() {
+        return journalMode;
+    }
+
+    /** @return the SQLite synchronous level of disk-based databases */
+    public String getSynchronousMode() {
+        return synchronousMode;
+    }
+
+    /** @return the number of buffered rows disk-based databases write in one transaction */
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    /**
+     * Creates a database for an attribute set, with this backend's settings whichever backend is bound.
+     *
+     * @return a new database, or {@code null} if the database class cannot be instantiated
+     */
+    public AttributeSetResultsDatabase createDatabase() {
+        Binding binding = bind();
+        try {
+            return AttributeSetResultsDatabaseFactory.createDatabase(databaseClass, areWritesAsynchronous);
+        } finally {
+            binding.close();
+        }
+    }
+
+    // === Binding ===
+
+    /**
+     * Binds this backend to the calling thread until the returned binding is closed, which restores the backend
+     * bound before.
+     *
+     * <pre>{@code
+     * ResultsBackend.Binding binding = backend.bind();
+     * try {
+     *     // databases created here use the backend
+     * } finally {
+     *     binding.close();
+     * }
+     * }</pre>
+     *
+     * @return the binding
+     */
+    public Binding bind() {
+        Binding binding = new Binding(boundBackend.get());
+        boundBackend.set(this);
+        return binding;
+    }
+
+    /**
+     * Wraps a task so that this backend is bound to whichever thread runs it.
+     *
+     * @param task the task
+     * @param <V> the result type of the task
+     * @return the wrapped task
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        Objects.requireNonNull(task, "task");
+        return () -> {
+            Binding binding = bind();
+            try {
+                return task.call();
+            } finally {
+                binding.close();
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so that this backend is bound to whichever thread runs it.
+     *
+     * @param task the task
+     * @return the wrapped task
+     */
+    public Runnable wrap(Runnable task) {
+        Objects.requireNonNull(task, "task");
+        return () -> {
+            Binding binding = bind();
+            try {
+                task.run();
+            } finally {
+                binding.close();
+            }
+        };
+    }
+
+    /**
+     * Writes every value buffered for this backend's asynchronous databases and stops their writer threads.
+     * Must only be called once no thread records to those databases.
+     */
+    public void closeWriters() {
+        AsyncResultsWriter.closeAll(this);
+    }
+
+    /** A backend bound to a thread, restoring the thread's previous backend when closed */
+    public static final class Binding implements AutoCloseable {
+        private final ResultsBackend previousBackend;
+
+        private Binding(ResultsBackend previousBackend) {
+            this.previousBackend = previousBackend;
+        }
+
+        @Override
+        public void close() {
+            if (previousBackend == null)
+                boundBackend.remove();
+            else
+                boundBackend.set(previousBackend);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package agentarium.attributes.results.databases;
+
+/**
+ * A summary of how much memory recorded results take, compared with storing them uncompressed.
+ *
+ * <p>Sizes are estimates of the values themselves: primitive values count their width, and object values count
+ * one reference each, so the objects they refer to are not included. Reports are immutable and can be combined
+ * with {@link #plus(ResultsStorageReport)}.
+ */
+public final class ResultsStorageReport {
+
+    /** A report covering no columns */
+    public static final ResultsStorageReport EMPTY = new ResultsStorageReport(0, 0, 0, 0);
+
+    private final int columnCount;
+    private final long valueCount;
+    private final long rawBytes;
+    private final long storedBytes;
+
+    /**
+     * Creates a report.
+     *
+     * @param columnCount the number of columns covered
+     * @param valueCount the number of values in those columns
+     * @param rawBytes the estimated size of the values uncompressed
+     * @param storedBytes the estimated size of the values as stored
+     */
+    public ResultsStorageReport(int columnCount, long valueCount, long rawBytes, long storedBytes) {
+        this.columnCount = columnCount;
+        this.valueCount = valueCount;
+        this.rawBytes = rawBytes;
+        this.storedBytes = storedBytes;
+    }
+
+    /**
+     * Combines this report with another.
+     *
+     * @param other the report to add
+     * @return a report covering the columns of both
+     */
+    public ResultsStorageReport plus(ResultsStorageReport other) {
+        if (other == null)
+            return this;
+        return new ResultsStorageReport(columnCount + other.columnCount, valueCount + other.valueCount,
+                rawBytes + other.rawBytes, storedBytes + other.storedBytes);
+    }
+
+    /** @return the number of columns covered */
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /** @return the number of values in the columns covered */
+    public long getValueCount() {
+        return valueCount;
+    }
+
+    /** @return the estimated size of the values uncompressed, in bytes */
+    public long getRawBytes() {
+        return rawBytes;
+    }
+
+    /** @return the estimated size of the values as stored, in bytes */
+    public long getStoredBytes() {
+        return storedBytes;
+    }
+
+    /** @return the number of bytes saved by compression, negative if storage takes more than the raw values */
+    public long getSavedBytes() {
+        return rawBytes - storedBytes;
+    }
+
+    /** @return the raw size divided by the stored size, or 1 if nothing is stored */
+    public double getCompressionRatio() {
+        return storedBytes == 0 ? 1.0 : (double) rawBytes / storedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d columns, %d values: %d bytes stored for %d bytes raw (%.2fx, %d bytes saved)",
+                columnCount, valueCount, storedBytes, rawBytes, getCompressionRatio(), getSavedBytes());
+    }
+}
@@ -0,0 +1,213 @@
+package agentarium.attributes.results.databases;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A disk-based {@link AttributeSetResultsDatabase} that shares one SQLite file with every other instance created
+ * for the same {@link ResultsBackend}, or on the same thread if no backend is bound.
+ *
+ * <p>{@link DiskBasedAttributeSetResultsDatabase} opens a file and a connection for each attribute set of each
+ * agent, so a large model ends up with hundreds of thousands of files. Instances of this class are lightweight
+ * views onto a {@link SharedResultsStore}: since a model run binds its own backend to every thread working for
+ * it, each run writes to a single file, and the number of files and connections stays flat however many agents
+ * there are. Runs sharing a worker pool write to separate files. The file is opened when the first value is
+ * written and deleted once every instance using it has disconnected.
+ *
+ * <p>Values are stored in long format, keyed by model element, attribute set, attribute and tick, where the tick
+ * is the index of the recorded tick (ticks recorded during warm-up are not counted). Values are stored with the
+ * {@link ValueCodec} of their type, as in {@link DiskBasedAttributeSetResultsDatabase}.
+ */
+public class SharedDiskBasedAttributeSetResultsDatabase extends AttributeSetResultsDatabase {
+
+    private static final String PROPERTY_KIND = "property";
+    private static final String PRE_EVENT_KIND = "pre_event";
+    private static final String POST_EVENT_KIND = "post_event";
+
+    /** The backend bound when this database was created, whose store it uses, or null if none was bound */
+    private final ResultsBackend backend = ResultsBackend.current();
+
+    /** The store holding this database's values, while connected */
+    private SharedResultsStore store;
+
+    /** Number identifying this database's columns within the store */
+    private int owner;
+
+    private final Map<String, StoredColumn> propertyColumns = new HashMap<>();
+    private final Map<String, StoredColumn> preEventColumns = new HashMap<>();
+    private final Map<String, StoredColumn> postEventColumns = new HashMap<>();
+
+    private final Map<String, Class<?>> propertyClassesMap = new HashMap<>();
+    private final Map<String, Class<?>> preEventClassesMap = new HashMap<>();
+    private final Map<String, Class<?>> postEventClassesMap = new HashMap<>();
+
+    /** Properties whose declared type is kept whatever the classes of their values */
+    private final Set<String> declaredPropertyNames = new HashSet<>();
+
+    /**
+     * Registers with the shared store of this database's backend, or of the calling thread if it has none. The
+     * store's file is only opened once a value is written.
+     */
+    @Override
+    public void connect() {
+        if (store != null)
+            return;
+
+        store = SharedResultsStore.acquire(backend);
+        owner = store.registerOwner();
+        setDatabasePath(store.getDatabasePath());
+    }
+
+    /**
+     * Releases the shared store, which is closed and deleted once no database uses it.
+     */
+    @Override
+    public void disconnect() {
+        if (store == null)
+            return;
+
+        store.release();
+        store = null;
+        propertyColumns.clear();
+        preEventColumns.clear();
+        postEventColumns.clear();
+    }
+
+    /** Reads the property as the declared type if its values can be stored natively, as in {@link DiskBasedAttributeSetResultsDatabase} */
+    @Override
+    public void declarePropertyType(String propertyName, Class<?> type) {
+        if (!ValueCodec.isNative(type))
+            return;
+        propertyClassesMap.put(propertyName, type);
+        declaredPropertyNames.add(propertyName);
+    }
+
+    // === Tick-by-tick value addition ===
+
+    @Override
+    public <T> void addPropertyValue(String propertyName, T propertyValue) {
+        if (!declaredPropertyNames.contains(propertyName))
+            propertyClassesMap.put(propertyName, propertyValue.getClass());
+        append(propertyColumns, PROPERTY_KIND, propertyName, propertyValue);
+    }
+
+    @Override
+    public <T> void addPreEventValue(String preEventName, T preEventValue) {
+        preEventClassesMap.put(preEventName, preEventValue.getClass());
+        append(preEventColumns, PRE_EVENT_KIND, preEventName, preEventValue);
+    }
+
+    @Override
+    public <T> void addPostEventValue(String postEventName, T postEventValue) {
+        postEventClassesMap.put(postEventName, postEventValue.getClass());
+        append(postEventColumns, POST_EVENT_KIND, postEventName, postEventValue);
+    }
+
+    // === Column replacement ===
+
+    @Override
+    public void setPropertyColumn(String propertyName, List<Object> propertyValues) {
+        replace(propertyColumns, propertyClassesMap, declaredPropertyNames, PROPERTY_KIND, propertyName, propertyValues);
+    }
+
+    @Override
+    public void setPreEventColumn(String preEventName, List<Object> preEventValues) {
+        replace(preEventColumns, preEventClassesMap, Collections.emptySet(), PRE_EVENT_KIND, preEventName, preEventValues);
+    }
+
+    @Override
+    public void setPostEventColumn(String postEventName, List<Object> postEventValues) {
+        replace(postEventColumns, postEventClassesMap, Collections.emptySet(), POST_EVENT_KIND, postEventName, postEventValues);
+    }
+
+    // === Column retrieval ===
+
+    @Override
+    public List<Object> getPropertyColumnAsList(String propertyName) {
+        return read(propertyColumns, PROPERTY_KIND, propertyName, propertyClassesMap.get(propertyName));
+    }
+
+    @Override
+    public List<Object> getPreEventColumnAsList(String preEventName) {
+        return read(preEventColumns, PRE_EVENT_KIND, preEventName, preEventClassesMap.get(preEventName));
+    }
+
+    @Override
+    public List<Object> getPostEventColumnAsList(String postEventName) {
+        return read(postEventColumns, POST_EVENT_KIND, postEventName, postEventClassesMap.get(postEventName));
+    }
+
+    // === Aggregation ===
+
+    /** Converts numbers and booleans to doubles in SQL, as {@link DiskBasedAttributeSetResultsDatabase} does */
+    @Override
+    public void addPropertyColumnTo(String propertyName, TickStatistics statistics) {
+        store.addColumnTo(columnFor(propertyColumns, PROPERTY_KIND, propertyName).id, propertyClassesMap.get(propertyName), statistics);
+    }
+
+    @Override
+    public void addPreEventColumnTo(String preEventName, TickStatistics statistics) {
+        store.addColumnTo(columnFor(preEventColumns, PRE_EVENT_KIND, preEventName).id, preEventClassesMap.get(preEventName), statistics);
+    }
+
+    @Override
+    public void addPostEventColumnTo(String postEventName, TickStatistics statistics) {
+        store.addColumnTo(columnFor(postEventColumns, POST_EVENT_KIND, postEventName).id, postEventClassesMap.get(postEventName), statistics);
+    }
+
+    // === Helpers ===
+
+    /** Returns the stored column for an attribute, creating it in the store on first use */
+    private StoredColumn columnFor(Map<String, StoredColumn> columns, String kind, String attributeName) {
+        StoredColumn column = columns.get(attributeName);
+        if (column != null)
+            return column;
+
+        if (store == null)
+            throw new IllegalStateException("Results database is not connected");
+        column = new StoredColumn(store.createColumn(owner, getModelElementName(), getAttributeSetName(), kind, attributeName));
+        columns.put(attributeName, column);
+        return column;
+    }
+
+    private void append(Map<String, StoredColumn> columns, String kind, String attributeName, Object value) {
+        StoredColumn column = columnFor(columns, kind, attributeName);
+        store.append(column.id, column.nextTick++, value);
+    }
+
+    private void replace(Map<String, StoredColumn> columns, Map<String, Class<?>> classesMap, Set<String> declaredNames,
+                         String kind, String attributeName, List<Object> values) {
+        List<Object> newValues = values != null ? values : Collections.emptyList();
+        if (!declaredNames.contains(attributeName)) {
+            for (Object value : newValues) {
+                if (value != null) {
+                    classesMap.put(attributeName, value.getClass());
+                    break;
+                }
+            }
+        }
+
+        StoredColumn column = columnFor(columns, kind, attributeName);
+        store.replaceColumn(column.id, newValues);
+        column.nextTick = newValues.size();
+    }
+
+    private List<Object> read(Map<String, StoredColumn> columns, String kind, String attributeName, Class<?> type) {
+        StoredColumn column = columnFor(columns, kind, attributeName);
+        return store.readColumn(column.id, type);
+    }
+
+    /** A column of this database within the shared store */
+    private static final class StoredColumn {
+        private final long id;
+        private long nextTick = 0;
+
+        private StoredColumn(long id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package agentarium.attributes.results.databases;
+
+import utils.RandomStringGenerator;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A single SQLite file holding the results of every {@link SharedDiskBasedAttributeSetResultsDatabase} created for
+ * one {@link ResultsBackend}, and so for one model run, or created on one thread with no backend bound.
+ *
+ * <p>Keying stores by backend keeps runs that share a worker pool apart: each run writes to its own file, and a
+ * store is closed once that run's databases have disconnected, whatever other runs do.
+ *
+ * <p>Values are stored in long format: {@code result_columns} describes each recorded attribute (its model
+ * element, attribute set, kind and name) and {@code result_values} holds one row per column and recorded tick.
+ * The {@code results_long} view joins the two for analysis with external tools. The {@code value} column has no
+ * declared type, so each value keeps the SQLite type given to it by its {@link ValueCodec}.
+ *
+ * <p>The connection is opened when the first column is created rather than when the store is acquired, and the
+ * store is closed and its file deleted once every database using it has disconnected. Writes are buffered and
+ * committed in batches, using the journal mode, synchronous level and batch size of the {@link ResultsBackend}
+ * bound when the store was created, or those configured on {@link DiskBasedAttributeSetResultsDatabase} if none
+ * was bound. All methods are synchronised, since a store may be read from
+ * another thread after the worker that wrote it has finished.
+ */
+final class SharedResultsStore {
+
+    /** The open store of each backend, replaced once it has been closed; held weakly so finished runs are released */
+    private static final Map<ResultsBackend, SharedResultsStore> backendStores = new WeakHashMap<>();
+
+    /** The open store of each thread with no backend bound, replaced once it has been closed */
+    private static final ThreadLocal<SharedResultsStore> threadStores = new ThreadLocal<>();
+
+    /** Stores not yet closed, closed on JVM shutdown */
+    private static final List<SharedResultsStore> openStores = Collections.synchronizedList(new ArrayList<>());
+    private static boolean shutdownHookRegistered = false;
+
+    private final String databasePath = RandomStringGenerator.generateUniqueRandomString(20) + ".db";
+
+    /** SQLite settings applied when the store connects and writes, copied so the store does not keep its backend alive */
+    private final String journalMode;
+    private final String synchronousMode;
+    private final int writeBatchSize;
+
+    private Connection connection;
+    private PreparedStatement insertColumnStatement;
+    private PreparedStatement insertValueStatement;
+
+    /** Number of databases using the store */
+    private int referenceCount = 0;
+
+    /** Number of databases that have ever used the store, used to tell their columns apart */
+    private int ownerCount = 0;
+
+    /** Number of value rows buffered since the last commit */
+    private int pendingRowCount = 0;
+
+    private boolean isClosed = false;
+
+    private SharedResultsStore(ResultsBackend backend) {
+        journalMode = backend == null ? DiskBasedAttributeSetResultsDatabase.getJournalMode() : backend.getJournalMode();
+        synchronousMode = backend == null ? DiskBasedAttributeSetResultsDatabase.getSynchronousMode() : backend.getSynchronousMode();
+        writeBatchSize = backend == null ? DiskBasedAttributeSetResultsDatabase.getWriteBatchSize() : backend.getWriteBatchSize();
+    }
+
+    /**
+     * Returns the store of a backend, or of the calling thread if there is no backend, creating one if needed, and
+     * registers a new user of it.
+     *
+     * @param backend the backend of the database about to use the store, or null if it was created without one
+     * @return the store
+     */
+    static SharedResultsStore acquire(ResultsBackend backend) {
+        if (backend == null) {
+            SharedResultsStore store = threadStores.get();
+            if (store == null || !store.retain()) {
+                store = open(null);
+                threadStores.set(store);
+            }
+            return store;
+        }
+
+        synchronized (backendStores) {
+            SharedResultsStore store = backendStores.get(backend);
+            if (store == null || !store.retain()) {
+                store = open(backend);
+                backendStores.put(backend, store);
+            }
+            return store;
+        }
+    }
+
+    /** Creates a store with one user */
+    private static SharedResultsStore open(ResultsBackend backend) {
+        SharedResultsStore store = new SharedResultsStore(backend);
+        store.retain();
+        registerForShutdown(store);
+        return store;
+    }
+
+    private static void registerForShutdown(SharedResultsStore store) {
+        synchronized (openStores) {
+            openStores.add(store);
+            if (!shutdownHookRegistered) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    List<SharedResultsStore> snapshot;
+                    synchronized (openStores) {
+                        snapshot = new ArrayList<>(openStores);
+                    }
+                    for (SharedResultsStore openStore : snapshot)
+                        openStore.close();
+                }));
+                shutdownHookRegistered = true;
+            }
+        }
+    }
+
+    /** Adds a user unless the store has already been closed */
+    private synchronized boolean retain() {
+        if (isClosed)
+            return false;
+        referenceCount++;
+        return true;
+    }
+
+    /**
+     * Removes a user of the store, closing it once no users remain.
+     */
+    synchronized void release() {
+        if (--referenceCount <= 0)
+            close();
+    }
+
+    /**
+     * @return a number identifying a new database within this store
+     */
+    synchronized int registerOwner() {
+        return ++ownerCount;
+    }
+
+    /** @return the path of the store's file */
+    String getDatabasePath() {
+        return databasePath;
+    }
+
+    /**
+     * Creates a column for a recorded attribute.
+     *
+     * @param owner the number of the database that owns the column
+     * @param modelElementName the name of the model element, or null if unknown
+     * @param attributeSetName the name of the attribute set, or null if unknown
+     * @param kind the kind of attribute, e.g. {@code "property"}
+     * @param attributeName the name of the attribute
+     * @return the column's identifier
+     */
+    synchronized long createColumn(int owner, String modelElementName, String attributeSetName, String kind, String attributeName) {
+        ensureOpen();
+        try {
+            insertColumnStatement.setInt(1, owner);
+            insertColumnStatement.setString(2, modelElementName);
+            insertColumnStatement.setString(3, attributeSetName);
+            insertColumnStatement.setString(4, kind);
+            insertColumnStatement.setString(5, attributeName);
+            insertColumnStatement.executeUpdate();
+            try (ResultSet keys = insertColumnStatement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error creating results column '" + attributeName + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Buffers a value for a tick of a column, committing once a batch is full.
+     *
+     * @param columnId the column's identifier
+     * @param tick the index of the recorded tick
+     * @param value the value, or null
+     */
+    synchronized void append(long columnId, long tick, Object value) {
+        try {
+            addValueRow(columnId, tick, value);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error buffering results value: " + e.getMessage(), e);
+        }
+        if (++pendingRowCount >= writeBatchSize)
+            flush();
+    }
+
+    /**
+     * Replaces every value of a column.
+     *
+     * @param columnId the column's identifier
+     * @param values the values, by tick
+     */
+    synchronized void replaceColumn(long columnId, List<?> values) {
+        flush();
+        try (PreparedStatement deleteStatement = connection.prepareStatement("DELETE FROM result_values WHERE column_id = ?;")) {
+            deleteStatement.setLong(1, columnId);
+            deleteStatement.executeUpdate();
+            for (int tick = 0; tick < values.size(); tick++)
+                addValueRow(columnId, tick, values.get(tick));
+            insertValueStatement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error replacing results column: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads every value of a column, in tick order.
+     *
+     * @param columnId the column's identifier
+     * @param type the class to read the values as, or null if unknown
+     * @return the values
+     */
+    synchronized List<Object> readColumn(long columnId, Class<?> type) {
+        flush();
+        ValueCodec codec = ValueCodec.forType(type);
+        List<Object> values = new ArrayList<>();
+        String sql = "SELECT value FROM result_values WHERE column_id = ? AND value IS NOT NULL ORDER BY tick;";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, columnId);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next())
+                    values.add(codec.read(rs, 1));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading results column: " + e.getMessage(), e);
+        }
+        return values;
+    }
+
+    /**
+     * Folds the numbers and booleans of a column into per-tick statistics, converting them in SQL.
+     *
+     * @param columnId the column's identifier
+     * @param type the class of the column's values, or null if unknown
+     * @param statistics the statistics to fold the values into
+     */
+    synchronized void addColumnTo(long columnId, Class<?> type, TickStatistics statistics) {
+        flush();
+        ValueCodec codec = ValueCodec.forType(type);
+        String sql = "SELECT tick, " + codec.numericValueSql("value") + " FROM result_values WHERE column_id = ? AND "
+                + codec.numericFilterSql("value") + ";";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, columnId);
+            try (ResultSet rs = statement.executeQuery()) {
+                DiskBasedAttributeSetResultsDatabase.addNumericRows(rs, statistics);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error aggregating results column: " + e.getMessage(), e);
+        }
+    }
+
+    private void addValueRow(long columnId, long tick, Object value) throws SQLException {
+        insertValueStatement.setLong(1, columnId);
+        insertValueStatement.setLong(2, tick);
+        if (value == null)
+            insertValueStatement.setNull(3, Types.NULL);
+        else
+            ValueCodec.forType(value.getClass()).bind(insertValueStatement, 3, value);
+        insertValueStatement.addBatch();
+    }
+
+    /** Opens the connection and creates the schema on first use */
+    private void ensureOpen() {
+        if (isClosed)
+            throw new IllegalStateException("Results store " + databasePath + " has been closed");
+        if (connection != null)
+            return;
+
+        try {
+            connection = DriverManager.getConnection("jdbc:sqlite:" + databasePath);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = " + journalMode + ";");
+                statement.execute("PRAGMA synchronous = " + synchronousMode + ";");
+                statement.execute("CREATE TABLE IF NOT EXISTS result_columns (id INTEGER PRIMARY KEY, owner INTEGER NOT NULL, "
+                        + "model_element TEXT, attribute_set TEXT, kind TEXT NOT NULL, attribute TEXT NOT NULL);");
+                statement.execute("CREATE TABLE IF NOT EXISTS result_values (column_id INTEGER NOT NULL, tick INTEGER NOT NULL, "
+                        + "value, PRIMARY KEY (column_id, tick)) WITHOUT ROWID;");
+                statement.execute("CREATE VIEW IF NOT EXISTS results_long AS SELECT c.model_element, c.attribute_set, c.kind, "
+                        + "c.attribute, v.tick, v.value FROM result_values v JOIN result_columns c ON c.id = v.column_id;");
+            }
+            connection.setAutoCommit(false);
+            insertColumnStatement = connection.prepareStatement(
+                    "INSERT INTO result_columns (owner, model_element, attribute_set, kind, attribute) VALUES (?, ?, ?, ?, ?);",
+                    Statement.RETURN_GENERATED_KEYS);
+            insertValueStatement = connection.prepareStatement(
+                    "INSERT OR REPLACE INTO result_values (column_id, tick, value) VALUES (?, ?, ?);");
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to open results store " + databasePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Writes all buffered values and commits them in one transaction */
+    private void flush() {
+        if (connection == null || pendingRowCount == 0)
+            return;
+
+        try {
+            insertValueStatement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error writing buffered results: " + e.getMessage(), e);
+        } finally {
+            pendingRowCount = 0;
+        }
+    }
+
+    /** Closes the connection and deletes the store's files */
+    private synchronized void close() {
+        if (isClosed)
+            return;
+        isClosed = true;
+        openStores.remove(this);
+
+        if (connection == null)
+            return;
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println("Error writing buffered results: " + e.getMessage());
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing SQLite connection: " + e.getMessage());
+        }
+        connection = null;
+        deleteFile(databasePath);
+        deleteFile(databasePath + "-wal");
+        deleteFile(databasePath + "-shm");
+    }
+
+    private static void deleteFile(String path) {
+        File file = new File(path);
+        if (file.exists() && !file.delete())
+            System.err.println("Failed to delete database file: " + path);
+    }
+}
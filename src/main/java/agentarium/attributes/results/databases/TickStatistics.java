@@ -0,0 +1,198 @@
+package agentarium.attributes.results.databases;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The count, sum, minimum, maximum and number of {@code true} values of each tick, across the columns folded
+ * into it.
+ *
+ * <p>Databases fold columns in with {@link AttributeSetResultsDatabase#addPropertyColumnTo}, scanning them in
+ * whatever way suits their storage, and statistics folded on different threads are merged with
+ * {@link #combine(TickStatistics)}. Numbers are counted as doubles and booleans as one or zero, so the mean of
+ * an event is the fraction of columns in which it was triggered. Other values, including nulls, are ignored.
+ */
+public final class TickStatistics {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int tickCount = 0;
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private long[] trueCounts = new long[INITIAL_CAPACITY];
+    private double[] sums = new double[INITIAL_CAPACITY];
+    private double[] mins = filled(INITIAL_CAPACITY, Double.POSITIVE_INFINITY);
+    private double[] maxes = filled(INITIAL_CAPACITY, Double.NEGATIVE_INFINITY);
+
+    private static double[] filled(int length, double value) {
+        double[] array = new double[length];
+        Arrays.fill(array, value);
+        return array;
+    }
+
+    /**
+     * Folds in a boxed value.
+     *
+     * @param tick the tick of the value
+     * @param value the value, ignored unless it is a {@link Number} or {@link Boolean}
+     */
+    public void add(int tick, Object value) {
+        if (value instanceof Number)
+            addDouble(tick, ((Number) value).doubleValue());
+        else if (value instanceof Boolean)
+            addBoolean(tick, (Boolean) value);
+    }
+
+    /**
+     * Folds in a numeric value.
+     *
+     * @param tick the tick of the value
+     * @param value the value
+     */
+    public void addDouble(int tick, double value) {
+        ensureTick(tick);
+        counts[tick]++;
+        sums[tick] += value;
+        if (value < mins[tick])
+            mins[tick] = value;
+        if (value > maxes[tick])
+            maxes[tick] = value;
+    }
+
+    /**
+     * Folds in a boolean value, counted as one if {@code true} and zero otherwise.
+     *
+     * @param tick the tick of the value
+     * @param value the value
+     */
+    public void addBoolean(int tick, boolean value) {
+        addDouble(tick, value ? 1 : 0);
+        if (value)
+            trueCounts[tick]++;
+    }
+
+    /**
+     * Merges the statistics of other columns into these, tick by tick.
+     *
+     * @param other the other statistics
+     * @return these statistics
+     */
+    public TickStatistics combine(TickStatistics other) {
+        if (other.tickCount > 0)
+            ensureTick(other.tickCount - 1);
+        for (int tick = 0; tick < other.tickCount; tick++) {
+            counts[tick] += other.counts[tick];
+            trueCounts[tick] += other.trueCounts[tick];
+            sums[tick] += other.sums[tick];
+            mins[tick] = Math.min(mins[tick], other.mins[tick]);
+            maxes[tick] = Math.max(maxes[tick], other.maxes[tick]);
+        }
+        return this;
+    }
+
+    private void ensureTick(int tick) {
+        if (tick < 0)
+            throw new IllegalArgumentException("Tick must not be negative: " + tick);
+        if (tick >= counts.length) {
+            int capacity = Math.max(counts.length * 2, tick + 1);
+            int oldCapacity = counts.length;
+            counts = Arrays.copyOf(counts, capacity);
+            trueCounts = Arrays.copyOf(trueCounts, capacity);
+            sums = Arrays.copyOf(sums, capacity);
+            mins = Arrays.copyOf(mins, capacity);
+            maxes = Arrays.copyOf(maxes, capacity);
+            Arrays.fill(mins, oldCapacity, capacity, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxes, oldCapacity, capacity, Double.NEGATIVE_INFINITY);
+        }
+        if (tick >= tickCount)
+            tickCount = tick + 1;
+    }
+
+    // === Per-tick results ===
+
+    /** @return the number of ticks, up to the last tick with a value */
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    /** @return the number of values folded in for a tick */
+    public long getCount(int tick) {
+        return tick < tickCount ? counts[tick] : 0;
+    }
+
+    /** @return the number of {@code true} values folded in for a tick */
+    public long getTrueCount(int tick) {
+        return tick < tickCount ? trueCounts[tick] : 0;
+    }
+
+    /** @return the sum of a tick's values */
+    public double getSum(int tick) {
+        return tick < tickCount ? sums[tick] : 0;
+    }
+
+    /** @return the mean of a tick's values, or {@link Double#NaN} if it has none */
+    public double getMean(int tick) {
+        long count = getCount(tick);
+        return count == 0 ? Double.NaN : sums[tick] / count;
+    }
+
+    /** @return the smallest of a tick's values, or {@link Double#NaN} if it has none */
+    public double getMin(int tick) {
+        return getCount(tick) == 0 ? Double.NaN : mins[tick];
+    }
+
+    /** @return the largest of a tick's values, or {@link Double#NaN} if it has none */
+    public double getMax(int tick) {
+        return getCount(tick) == 0 ? Double.NaN : maxes[tick];
+    }
+
+    // === Series ===
+
+    /** @return the number of values of each tick */
+    public List<Long> getCounts() {
+        List<Long> values = new ArrayList<>(tickCount);
+        for (int tick = 0; tick < tickCount; tick++)
+            values.add(getCount(tick));
+        return values;
+    }
+
+    /** @return the number of {@code true} values of each tick */
+    public List<Long> getTrueCounts() {
+        List<Long> values = new ArrayList<>(tickCount);
+        for (int tick = 0; tick < tickCount; tick++)
+            values.add(getTrueCount(tick));
+        return values;
+    }
+
+    /** @return the sum of each tick */
+    public List<Double> getSums() {
+        List<Double> values = new ArrayList<>(tickCount);
+        for (int tick = 0; tick < tickCount; tick++)
+            values.add(getSum(tick));
+        return values;
+    }
+
+    /** @return the mean of each tick */
+    public List<Double> getMeans() {
+        List<Double> values = new ArrayList<>(tickCount);
+        for (int tick = 0; tick < tickCount; tick++)
+            values.add(getMean(tick));
+        return values;
+    }
+
+    /** @return the minimum of each tick */
+    public List<Double> getMins() {
+        List<Double> values = new ArrayList<>(tickCount);
+        for (int tick = 0; tick < tickCount; tick++)
+            values.add(getMin(tick));
+        return values;
+    }
+
+    /** @return the maximum of each tick */
+    public List<Double> getMaxes() {
+        List<Double> values = new ArrayList<>(tickCount);
+        for (int tick = 0; tick < tickCount; tick++)
+            values.add(getMax(tick));
+        return values;
+    }
+}
@@ -0,0 +1,663 @@
+package agentarium.attributes.results.databases;
+
+import agentarium.attributes.results.databases.columns.*;
+import utils.RandomStringGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link AttributeSetResultsDatabase} that records in memory and spills columns to disk when memory runs low.
+ *
+ * <p>Values are recorded as in {@link MemoryBasedAttributeSetResultsDatabase}. Every
+ * {@link #setSpillCheckInterval(int) few thousand values} a database compares the memory its columns take, summed
+ * over every tiered database, with the memory budget of the {@link ResultsBackend} bound when it was created (or
+ * {@link #setMemoryBudget(long) the default budget} if none was bound), and the heap in use with
+ * {@link #setHeapUsageThreshold(double) the heap usage threshold}. Once either is crossed, it moves the values of
+ * its largest columns to a {@link MemoryMappedAttributeSetResultsDatabase}, largest first, until the total is back
+ * under three quarters of the budget. The values moved are those already recorded, which are not read again
+ * until the run ends; recording carries on in memory, and a column can spill several times. Only columns of
+ * primitives and strings spill; columns of other objects always stay in memory.
+ *
+ * <p>Reads are transparent: a column's spilled values are followed by those still in memory. Every spill is
+ * counted in {@link #getSpillCount()}, {@link #getSpilledBytes()} and {@link #getSpilledValueCount()}, and
+ * {@link #getStorageReport()} covers only the values held in memory.
+ */
+public class TieredAttributeSetResultsDatabase extends MemoryBasedAttributeSetResultsDatabase {
+
+    private static final int PROPERTIES = 0;
+    private static final int PRE_EVENTS = 1;
+    private static final int POST_EVENTS = 2;
+
+    /** Fraction of the memory budget that spilling brings the memory held back under */
+    private static final double SPILL_TARGET = 0.75;
+
+    /** The fewest values a column must hold to be spilled, so that spills are not dominated by file overhead */
+    private static final int MIN_VALUES_TO_SPILL = 256;
+
+    /** Estimated bytes held in memory by every tiered database */
+    private static final AtomicLong heldBytes = new AtomicLong();
+
+    private static final AtomicLong spillCount = new AtomicLong();
+    private static final AtomicLong spilledBytes = new AtomicLong();
+    private static final AtomicLong spilledValueCount = new AtomicLong();
+
+    /** Bytes tiered databases created without a backend bound may hold in memory between them before spilling */
+    private static volatile long defaultMemoryBudget = Runtime.getRuntime().maxMemory() / 4;
+
+    /** Fraction of the maximum heap in use above which databases spill */
+    private static volatile double heapUsageThreshold = 0.9;
+
+    /** Number of values recorded by a database between checks of its memory */
+    private static volatile int spillCheckInterval = 4096;
+
+    /** The backend bound when this database was created, whose memory budget it uses, or null if none was bound */
+    private final ResultsBackend backend = ResultsBackend.current();
+
+    /** Number of values of each column moved to the spill database, by kind and name */
+    private final List<Map<String, Integer>> spilledCounts = List.of(new HashMap<>(), new HashMap<>(), new HashMap<>());
+
+    /** The database holding spilled values, created on the first spill */
+    private MemoryMappedAttributeSetResultsDatabase spillDatabase;
+
+    private String spillDatabasePath;
+
+    /** Bytes this database last added to {@link #heldBytes} */
+    private long reportedBytes = 0;
+
+    private int valuesSinceCheck = 0;
+
+    // === Configuration ===
+
+    /**
+     * Sets how much memory tiered databases may hold between them before those created without a
+     * {@link ResultsBackend} bound spill to disk.
+     *
+     * @param memoryBudget the budget in bytes, at least 1
+     */
+    public static void setMemoryBudget(long memoryBudget) {
+        if (memoryBudget < 1)
+            throw new IllegalArgumentException("Memory budget must be at least 1 byte, got " + memoryBudget);
+        defaultMemoryBudget = memoryBudget;
+    }
+
+    /** @return the memory budget of databases created without a backend bound, a quarter of the maximum heap by default */
+    public static long getMemoryBudget() {
+        return defaultMemoryBudget;
+    }
+
+    /**
+     * Sets the fraction of the maximum heap in use, as reported by the {@link java.lang.management.MemoryMXBean},
+     * above which databases spill whatever their budget. Since the heap in use includes garbage not yet
+     * collected, this is a backstop rather than a precise limit.
+     *
+     * @param heapUsageThreshold a fraction greater than 0 and at most 1, where 1 turns the check off
+     */
+    public static void setHeapUsageThreshold(double heapUsageThreshold) {
+        if (!(heapUsageThreshold > 0 && heapUsageThreshold <= 1))
+            throw new IllegalArgumentException("Heap usage threshold must be greater than 0 and at most 1, got " + heapUsageThreshold);
+        TieredAttributeSetResultsDatabase.heapUsageThreshold = heapUsageThreshold;
+    }
+
+    /** @return the fraction of the maximum heap in use above which databases spill */
+    public static double getHeapUsageThreshold() {
+        return heapUsageThreshold;
+    }
+
+    /**
+     * Sets how many values a database records between checks of its memory.
+     *
+     * @param spillCheckInterval the number of values, at least 1
+     */
+    public static void setSpillCheckInterval(int spillCheckInterval) {
+        if (spillCheckInterval < 1)
+            throw new IllegalArgumentException("Spill check interval must be at least 1, got " + spillCheckInterval);
+        TieredAttributeSetResultsDatabase.spillCheckInterval = spillCheckInterval;
+    }
+
+    /** @return the number of values a database records between checks of its memory */
+    public static int getSpillCheckInterval() {
+        return spillCheckInterval;
+    }
+
+    // === Metrics ===
+
+    /** @return the number of columns spilled to disk */
+    public static long getSpillCount() {
+        return spillCount.get();
+    }
+
+    /** @return the estimated number of bytes of memory freed by spilling */
+    public static long getSpilledBytes() {
+        return spilledBytes.get();
+    }
+
+    /** @return the number of values spilled to disk */
+    public static long getSpilledValueCount() {
+        return spilledValueCount.get();
+    }
+
+    /** @return the estimated number of bytes tiered databases hold in memory, as of their last checks */
+    public static long getHeldBytes() {
+        return heldBytes.get();
+    }
+
+    /** Resets the spill counts, e.g. between runs */
+    public static void resetSpillMetrics() {
+        spillCount.set(0);
+        spilledBytes.set(0);
+        spilledValueCount.set(0);
+    }
+
+    // === Connection ===
+
+    /**
+     * Keeps the path for the spill database, which is only created once a column spills.
+     *
+     * @param databasePath the path chosen for the database
+     */
+    @Override
+    protected void setDatabasePath(String databasePath) {
+        spillDatabasePath = databasePath;
+    }
+
+    /**
+     * Releases the memory counted against the budget and deletes any spilled values.
+     */
+    @Override
+    public void disconnect() {
+        heldBytes.addAndGet(-reportedBytes);
+        reportedBytes = 0;
+        if (spillDatabase != null) {
+            spillDatabase.disconnect();
+            spillDatabase = null;
+        }
+        for (Map<String, Integer> counts : spilledCounts)
+            counts.clear();
+        super.disconnect();
+    }
+
+    // === Tick-by-tick value addition ===
+
+    @Override
+    public <T> void addPropertyValue(String propertyName, T propertyValue) {
+        super.addPropertyValue(propertyName, propertyValue);
+        valueAdded();
+    }
+
+    @Override
+    public void addIntPropertyValue(String propertyName, int propertyValue) {
+        super.addIntPropertyValue(propertyName, propertyValue);
+        valueAdded();
+    }
+
+    @Override
+    public void addLongPropertyValue(String propertyName, long propertyValue) {
+        super.addLongPropertyValue(propertyName, propertyValue);
+        valueAdded();
+    }
+
+    @Override
+    public void addDoublePropertyValue(String propertyName, double propertyValue) {
+        super.addDoublePropertyValue(propertyName, propertyValue);
+        valueAdded();
+    }
+
+    @Override
+    public void addBooleanPropertyValue(String propertyName, boolean propertyValue) {
+        super.addBooleanPropertyValue(propertyName, propertyValue);
+        valueAdded();
+    }
+
+    @Override
+    public <T> void addPreEventValue(String preEventName, T preEventValue) {
+        super.addPreEventValue(preEventName, preEventValue);
+        valueAdded();
+    }
+
+    @Override
+    public <T> void addPostEventValue(String postEventName, T postEventValue) {
+        super.addPostEventValue(postEventName, postEventValue);
+        valueAdded();
+    }
+
+    // === Slot-based value addition ===
+
+    @Override
+    public void addPropertyValueAt(int slot, Object propertyValue) {
+        super.addPropertyValueAt(slot, propertyValue);
+        valueAdded();
+    }
+
+    @Override
+    public void addIntPropertyValueAt(int slot, int propertyValue) {
+        super.addIntPropertyValueAt(slot, propertyValue);
+        valueAdded();
+    }
+
+    @Override
+    public void addLongPropertyValueAt(int slot, long propertyValue) {
+        super.addLongPropertyValueAt(slot, propertyValue);
+        valueAdded();
+    }
+
+    @Override
+    public void addDoublePropertyValueAt(int slot, double propertyValue) {
+        super.addDoublePropertyValueAt(slot, propertyValue);
+        valueAdded();
+    }
+
+    @Override
+    public void addBooleanPropertyValueAt(int slot, boolean propertyValue) {
+        super.addBooleanPropertyValueAt(slot, propertyValue);
+        valueAdded();
+    }
+
+    @Override
+    public void addPreEventValueAt(int slot, boolean isTriggered) {
+        super.addPreEventValueAt(slot, isTriggered);
+        valueAdded();
+    }
+
+    @Override
+    public void addPostEventValueAt(int slot, boolean isTriggered) {
+        super.addPostEventValueAt(slot, isTriggered);
+        valueAdded();
+    }
+
+    // === Column replacement ===
+
+    @Override
+    public void setPropertyColumn(String propertyName, List<Object> propertyValues) {
+        dropSpilledValues(PROPERTIES, propertyName);
+        super.setPropertyColumn(propertyName, propertyValues);
+        checkMemory();
+    }
+
+    @Override
+    public void setPreEventColumn(String preEventName, List<Object> preEventValues) {
+        dropSpilledValues(PRE_EVENTS, preEventName);
+        super.setPreEventColumn(preEventName, preEventValues);
+        checkMemory();
+    }
+
+    @Override
+    public void setPostEventColumn(String postEventName, List<Object> postEventValues) {
+        dropSpilledValues(POST_EVENTS, postEventName);
+        super.setPostEventColumn(postEventName, postEventValues);
+        checkMemory();
+    }
+
+    // === Column retrieval ===
+
+    @Override
+    public List<Object> getPropertyColumnAsList(String propertyName) {
+        return withSpilledValues(PROPERTIES, propertyName, super.getPropertyColumnAsList(propertyName));
+    }
+
+    @Override
+    public List<Object> getPreEventColumnAsList(String preEventName) {
+        return withSpilledValues(PRE_EVENTS, preEventName, super.getPreEventColumnAsList(preEventName));
+    }
+
+    @Override
+    public List<Object> getPostEventColumnAsList(String postEventName) {
+        return withSpilledValues(POST_EVENTS, postEventName, super.getPostEventColumnAsList(postEventName));
+    }
+
+    /** Reads only the part of the range that is spilled from disk */
+    @Override
+    public List<Object> getPropertyColumnRange(String propertyName, int fromIndex, int toIndex) {
+        int spilled = spilledCount(PROPERTIES, propertyName);
+        if (spilled == 0)
+            return super.getPropertyColumnRange(propertyName, fromIndex, toIndex);
+        checkRange(fromIndex, toIndex);
+        List<Object> values = new ArrayList<>();
+        if (fromIndex < spilled)
+            values.addAll(spillDatabase.getPropertyColumnRange(propertyName, fromIndex, Math.min(toIndex, spilled)));
+        if (toIndex > spilled)
+            addAllIfPresent(values, super.getPropertyColumnRange(propertyName, Math.max(fromIndex - spilled, 0), toIndex - spilled));
+        return values;
+    }
+
+    @Override
+    public List<Object> getPreEventColumnRange(String preEventName, int fromIndex, int toIndex) {
+        int spilled = spilledCount(PRE_EVENTS, preEventName);
+        if (spilled == 0)
+            return super.getPreEventColumnRange(preEventName, fromIndex, toIndex);
+        checkRange(fromIndex, toIndex);
+        List<Object> values = new ArrayList<>();
+        if (fromIndex < spilled)
+            values.addAll(spillDatabase.getPreEventColumnRange(preEventName, fromIndex, Math.min(toIndex, spilled)));
+        if (toIndex > spilled)
+            addAllIfPresent(values, super.getPreEventColumnRange(preEventName, Math.max(fromIndex - spilled, 0), toIndex - spilled));
+        return values;
+    }
+
+    @Override
+    public List<Object> getPostEventColumnRange(String postEventName, int fromIndex, int toIndex) {
+        int spilled = spilledCount(POST_EVENTS, postEventName);
+        if (spilled == 0)
+            return super.getPostEventColumnRange(postEventName, fromIndex, toIndex);
+        checkRange(fromIndex, toIndex);
+        List<Object> values = new ArrayList<>();
+        if (fromIndex < spilled)
+            values.addAll(spillDatabase.getPostEventColumnRange(postEventName, fromIndex, Math.min(toIndex, spilled)));
+        if (toIndex > spilled)
+            addAllIfPresent(values, super.getPostEventColumnRange(postEventName, Math.max(fromIndex - spilled, 0), toIndex - spilled));
+        return values;
+    }
+
+    @Override
+    public Iterator<Object> getPropertyColumnIterator(String propertyName) {
+        if (spilledCount(PROPERTIES, propertyName) == 0)
+            return super.getPropertyColumnIterator(propertyName);
+        return concat(spillDatabase.getPropertyColumnIterator(propertyName), iteratorOf(super.getPropertyColumnAsList(propertyName)));
+    }
+
+    @Override
+    public Iterator<Object> getPreEventColumnIterator(String preEventName) {
+        if (spilledCount(PRE_EVENTS, preEventName) == 0)
+            return super.getPreEventColumnIterator(preEventName);
+        return concat(spillDatabase.getPreEventColumnIterator(preEventName), iteratorOf(super.getPreEventColumnAsList(preEventName)));
+    }
+
+    @Override
+    public Iterator<Object> getPostEventColumnIterator(String postEventName) {
+        if (spilledCount(POST_EVENTS, postEventName) == 0)
+            return super.getPostEventColumnIterator(postEventName);
+        return concat(spillDatabase.getPostEventColumnIterator(postEventName), iteratorOf(super.getPostEventColumnAsList(postEventName)));
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble getPropertyColumnDoubleIterator(String propertyName) {
+        if (spilledCount(PROPERTIES, propertyName) == 0)
+            return super.getPropertyColumnDoubleIterator(propertyName);
+        PrimitiveIterator.OfDouble spilled = spillDatabase.getPropertyColumnDoubleIterator(propertyName);
+        PrimitiveIterator.OfDouble inMemory = inMemoryDoubles(propertyName);
+        return new PrimitiveIterator.OfDouble() {
+            @Override
+            public boolean hasNext() {
+                return spilled.hasNext() || inMemory.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return spilled.hasNext() ? spilled.nextDouble() : inMemory.nextDouble();
+            }
+        };
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong getPropertyColumnLongIterator(String propertyName) {
+        if (spilledCount(PROPERTIES, propertyName) == 0)
+            return super.getPropertyColumnLongIterator(propertyName);
+        PrimitiveIterator.OfLong spilled = spillDatabase.getPropertyColumnLongIterator(propertyName);
+        PrimitiveIterator.OfLong inMemory = inMemoryLongs(propertyName);
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return spilled.hasNext() || inMemory.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return spilled.hasNext() ? spilled.nextLong() : inMemory.nextLong();
+            }
+        };
+    }
+
+    /** Iterates over the values of a property held in memory, which super's iterators do not when it is boxed */
+    private PrimitiveIterator.OfDouble inMemoryDoubles(String propertyName) {
+        ResultsColumn column = getColumnMaps().get(PROPERTIES).get(propertyName);
+        if (column instanceof DoubleColumn || column instanceof IntColumn || column instanceof LongColumn)
+            return super.getPropertyColumnDoubleIterator(propertyName);
+        Iterator<Object> values = iteratorOf(super.getPropertyColumnAsList(propertyName));
+        return new PrimitiveIterator.OfDouble() {
+            @Override
+            public boolean hasNext() {
+                return values.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return ((Number) values.next()).doubleValue();
+            }
+        };
+    }
+
+    private PrimitiveIterator.OfLong inMemoryLongs(String propertyName) {
+        ResultsColumn column = getColumnMaps().get(PROPERTIES).get(propertyName);
+        if (column instanceof LongColumn || column instanceof IntColumn)
+            return super.getPropertyColumnLongIterator(propertyName);
+        Iterator<Object> values = iteratorOf(super.getPropertyColumnAsList(propertyName));
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return values.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return ((Number) values.next()).longValue();
+            }
+        };
+    }
+
+    // === Aggregation ===
+
+    /** Scans the spilled values in their mapped files, then the values in memory */
+    @Override
+    public void addPropertyColumnTo(String propertyName, TickStatistics statistics) {
+        addColumnTo(PROPERTIES, propertyName, statistics);
+    }
+
+    @Override
+    public void addPreEventColumnTo(String preEventName, TickStatistics statistics) {
+        addColumnTo(PRE_EVENTS, preEventName, statistics);
+    }
+
+    @Override
+    public void addPostEventColumnTo(String postEventName, TickStatistics statistics) {
+        addColumnTo(POST_EVENTS, postEventName, statistics);
+    }
+
+    private void addColumnTo(int kind, String name, TickStatistics statistics) {
+        int spilled = spilledCount(kind, name);
+        if (spilled > 0) {
+            if (kind == PROPERTIES)
+                spillDatabase.addPropertyColumnTo(name, statistics);
+            else if (kind == PRE_EVENTS)
+                spillDatabase.addPreEventColumnTo(name, statistics);
+            else
+                spillDatabase.addPostEventColumnTo(name, statistics);
+        }
+        addColumnTo(getColumnMaps().get(kind), name, statistics, spilled);
+    }
+
+    // === Spilling ===
+
+    private void valueAdded() {
+        if (++valuesSinceCheck >= spillCheckInterval)
+            checkMemory();
+    }
+
+    /** Updates this database's share of the memory held, and spills if the budget or heap threshold is crossed */
+    private void checkMemory() {
+        valuesSinceCheck = 0;
+        long total = updateHeldBytes();
+        long memoryBudget = backend == null ? defaultMemoryBudget : backend.getMemoryBudget();
+        boolean isHeapLow = isHeapUsageAboveThreshold();
+        if (total <= memoryBudget && !isHeapLow)
+            return;
+
+        List<Map.Entry<String, ResultsColumn>> candidates = new ArrayList<>();
+        List<Integer> kinds = new ArrayList<>();
+        List<Map<String, ResultsColumn>> columnMaps = getColumnMaps();
+        for (int kind = PROPERTIES; kind <= POST_EVENTS; kind++) {
+            for (Map.Entry<String, ResultsColumn> entry : columnMaps.get(kind).entrySet()) {
+                if (entry.getValue().size() >= MIN_VALUES_TO_SPILL && isSpillable(entry.getValue())) {
+                    candidates.add(entry);
+                    kinds.add(kind);
+                }
+            }
+        }
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++)
+            order.add(i);
+        order.sort((a, b) -> Long.compare(candidates.get(b).getValue().getStoredSizeInBytes(),
+                candidates.get(a).getValue().getStoredSizeInBytes()));
+
+        long target = (long) (memoryBudget * SPILL_TARGET);
+        for (int i : order) {
+            if (!isHeapLow && total <= target)
+                break;
+            spill(kinds.get(i), candidates.get(i).getKey(), candidates.get(i).getValue());
+            total = updateHeldBytes();
+        }
+    }
+
+    /**
+     * Whether a column's values read back from the spill database as they were recorded. Only primitive and string
+     * columns do; other objects would come back through a JSON round trip, so their columns stay in memory.
+     */
+    private static boolean isSpillable(ResultsColumn column) {
+        if (column instanceof IntColumn || column instanceof LongColumn || column instanceof DoubleColumn
+                || column instanceof BooleanColumn)
+            return true;
+        for (int i = 0; i < column.size(); i++) {
+            Object value = column.get(i);
+            if (value != null && !(value instanceof String))
+                return false;
+        }
+        return true;
+    }
+
+    private long updateHeldBytes() {
+        long bytes = getStoredSizeInBytes();
+        long total = heldBytes.addAndGet(bytes - reportedBytes);
+        reportedBytes = bytes;
+        return total;
+    }
+
+    private static boolean isHeapUsageAboveThreshold() {
+        if (heapUsageThreshold >= 1)
+            return false;
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        return heap.getUsed() > heapUsageThreshold * max;
+    }
+
+    /** Appends a column's values to the spill database and empties it in memory */
+    private void spill(int kind, String name, ResultsColumn column) {
+        MemoryMappedAttributeSetResultsDatabase spill = spillDatabase();
+        int size = column.size();
+        if (kind != PROPERTIES) {
+            for (int i = 0; i < size; i++) {
+                if (kind == PRE_EVENTS)
+                    spill.addPreEventValue(name, column.get(i));
+                else
+                    spill.addPostEventValue(name, column.get(i));
+            }
+        } else if (column instanceof IntColumn) {
+            for (int i = 0; i < size; i++)
+                spill.addIntPropertyValue(name, ((IntColumn) column).getInt(i));
+        } else if (column instanceof LongColumn) {
+            for (int i = 0; i < size; i++)
+                spill.addLongPropertyValue(name, ((LongColumn) column).getLong(i));
+        } else if (column instanceof DoubleColumn) {
+            for (int i = 0; i < size; i++)
+                spill.addDoublePropertyValue(name, ((DoubleColumn) column).getDouble(i));
+        } else if (column instanceof BooleanColumn) {
+            for (int i = 0; i < size; i++)
+                spill.addBooleanPropertyValue(name, ((BooleanColumn) column).getBoolean(i));
+        } else {
+            for (int i = 0; i < size; i++)
+                spill.addPropertyValue(name, column.get(i));
+        }
+
+        long bytes = column.getStoredSizeInBytes();
+        emptyColumn(getColumnMaps().get(kind), name);
+        spilledCounts.get(kind).merge(name, size, Integer::sum);
+        spillCount.incrementAndGet();
+        spilledBytes.addAndGet(bytes);
+        spilledValueCount.addAndGet(size);
+    }
+
+    private MemoryMappedAttributeSetResultsDatabase spillDatabase() {
+        if (spillDatabase == null) {
+            MemoryMappedAttributeSetResultsDatabase database = new MemoryMappedAttributeSetResultsDatabase();
+            database.setDatabasePath(spillDatabasePath != null ? spillDatabasePath
+                    : RandomStringGenerator.generateUniqueRandomString(20) + ".db");
+            database.connect();
+            spillDatabase = database;
+        }
+        return spillDatabase;
+    }
+
+    private int spilledCount(int kind, String name) {
+        return spilledCounts.get(kind).getOrDefault(name, 0);
+    }
+
+    /** Forgets a column's spilled values before it is replaced */
+    private void dropSpilledValues(int kind, String name) {
+        if (spilledCounts.get(kind).remove(name) == null)
+            return;
+        if (kind == PROPERTIES)
+            spillDatabase.setPropertyColumn(name, Collections.emptyList());
+        else if (kind == PRE_EVENTS)
+            spillDatabase.setPreEventColumn(name, Collections.emptyList());
+        else
+            spillDatabase.setPostEventColumn(name, Collections.emptyList());
+    }
+
+    private List<Object> withSpilledValues(int kind, String name, List<Object> inMemory) {
+        if (spilledCount(kind, name) == 0)
+            return inMemory;
+        List<Object> values;
+        if (kind == PROPERTIES)
+            values = spillDatabase.getPropertyColumnAsList(name);
+        else if (kind == PRE_EVENTS)
+            values = spillDatabase.getPreEventColumnAsList(name);
+        else
+            values = spillDatabase.getPostEventColumnAsList(name);
+        addAllIfPresent(values, inMemory);
+        return values;
+    }
+
+    private static void addAllIfPresent(List<Object> values, List<Object> more) {
+        if (more != null)
+            values.addAll(more);
+    }
+
+    private static Iterator<Object> iteratorOf(List<Object> values) {
+        return values == null ? Collections.emptyIterator() : values.iterator();
+    }
+
+    private static Iterator<Object> concat(Iterator<Object> first, Iterator<Object> second) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return first.hasNext() || second.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                if (first.hasNext())
+                    return first.next();
+                if (second.hasNext())
+                    return second.next();
+                throw new NoSuchElementException();
+            }
+        };
+    }
+}
@@ -0,0 +1,362 @@
+package agentarium.attributes.results.databases;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.function.DoubleFunction;
+import java.util.function.LongFunction;
+
+/**
+ * Converts the values of one type to and from SQLite, as used by {@link DiskBasedAttributeSetResultsDatabase} and
+ * {@link SharedResultsStore}.
+ *
+ * <p>Codecs are looked up by type with {@link #forType(Class)}, normally the type declared by a property, and are
+ * created once per type. Integral numbers and booleans are stored as SQLite {@code INTEGER}s, floating-point
+ * numbers as {@code REAL}s and strings as {@code TEXT}, so they are written and read without parsing. Any other
+ * type is stored as JSON {@code TEXT}, read with a Jackson reader created once for the type.
+ *
+ * <p>SQLite stores {@code NaN} as {@code NULL}, which would read back as a missing value, so floating-point
+ * codecs store it as the text {@code 'NaN'} instead.
+ */
+abstract class ValueCodec {
+
+    /** Shared JSON mapper; {@link ObjectMapper} is thread-safe once configured */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /** Shared JSON writer, which serialises each value according to its own class */
+    private static final ObjectWriter JSON_WRITER = OBJECT_MAPPER.writer();
+
+    private static final ValueCodec BOOLEAN = new BooleanCodec();
+    private static final ValueCodec STRING = new StringCodec();
+
+    /** The codec of each type, created on first use */
+    private static final ClassValue<ValueCodec> CODECS = new ClassValue<>() {
+        @Override
+        protected ValueCodec computeValue(Class<?> type) {
+            return createCodec(type);
+        }
+    };
+
+    /** The JSON codec of each type, created on first use */
+    private static final ClassValue<JsonCodec> JSON_CODECS = new ClassValue<>() {
+        @Override
+        protected JsonCodec computeValue(Class<?> type) {
+            return new JsonCodec(type);
+        }
+    };
+
+    private static ValueCodec createCodec(Class<?> type) {
+        if (type == Integer.class || type == int.class)
+            return new IntegralCodec(value -> (int) value);
+        if (type == Long.class || type == long.class)
+            return new IntegralCodec(value -> value);
+        if (type == Short.class || type == short.class)
+            return new IntegralCodec(value -> (short) value);
+        if (type == Byte.class || type == byte.class)
+            return new IntegralCodec(value -> (byte) value);
+        if (type == Double.class || type == double.class)
+            return new FloatingPointCodec(value -> value);
+        if (type == Float.class || type == float.class)
+            return new FloatingPointCodec(value -> (float) value);
+        if (type == Boolean.class || type == boolean.class)
+            return BOOLEAN;
+        if (type == String.class)
+            return STRING;
+        return JSON_CODECS.get(type);
+    }
+
+    /**
+     * Returns the codec for a type.
+     *
+     * @param type the type of the values, or null if unknown
+     * @return the codec, which reads values of an unknown type as SQLite returns them
+     */
+    static ValueCodec forType(Class<?> type) {
+        return type == null ? UntypedCodec.INSTANCE : CODECS.get(type);
+    }
+
+    /**
+     * @param type a type
+     * @return true if values of the type are stored as native SQLite values rather than as JSON
+     */
+    static boolean isNative(Class<?> type) {
+        return type != null && !(forType(type) instanceof JsonCodec);
+    }
+
+    /** @return the SQLite type of columns holding the values, used as the column's declared type */
+    abstract String getSqlType();
+
+    /**
+     * Binds a non-null value to a statement parameter.
+     *
+     * @param statement the statement
+     * @param index the index of the parameter
+     * @param value the value
+     * @throws SQLException if the value cannot be bound
+     */
+    abstract void bind(PreparedStatement statement, int index, Object value) throws SQLException;
+
+    /**
+     * Reads a non-null value from a result column.
+     *
+     * @param rs the result set, positioned on a row
+     * @param index the index of the column
+     * @return the value
+     * @throws SQLException if the value cannot be read
+     */
+    abstract Object read(ResultSet rs, int index) throws SQLException;
+
+    /**
+     * Selects a column's value as a double, followed by whether the value was a boolean, as read by
+     * {@link DiskBasedAttributeSetResultsDatabase#addNumericRows}. A {@code NaN} selects null.
+     *
+     * <p>Since every value is stored with the codec of its own class, numbers are matched by their SQLite
+     * storage class whatever the column's type.
+     *
+     * @param column the quoted column
+     * @return the SQL of the two selected expressions
+     */
+    String numericValueSql(String column) {
+        return column + ", 0";
+    }
+
+    /**
+     * Matches the rows holding a number or boolean.
+     *
+     * @param column the quoted column
+     * @return the SQL condition
+     */
+    String numericFilterSql(String column) {
+        return "typeof(" + column + ") IN ('integer', 'real')";
+    }
+
+    /**
+     * Binds a value, or null, to a statement parameter.
+     *
+     * @param statement the statement
+     * @param index the index of the parameter
+     * @param value the value, or null
+     * @throws SQLException if the value cannot be bound
+     */
+    final void bindNullable(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value == null)
+            statement.setNull(index, Types.NULL);
+        else
+            bind(statement, index, value);
+    }
+
+    // === JSON ===
+
+    /**
+     * Serialises a value to JSON, for storage formats that have no native representation of it.
+     *
+     * @param value the value, or null
+     * @return the JSON, or null if the value is null
+     */
+    static String toJson(Object value) {
+        if (value == null)
+            return null;
+        try {
+            return JSON_WRITER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error serialising value: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deserialises a JSON value, using the reader cached for its type.
+     *
+     * @param json the JSON, or null
+     * @param type the type to read
+     * @return the value, or null if the JSON is null
+     */
+    static Object fromJson(String json, Class<?> type) {
+        if (json == null)
+            return null;
+        if (type == null)
+            throw new IllegalArgumentException("Cannot deserialise: type is null");
+        return JSON_CODECS.get(type).readJson(json);
+    }
+
+    // === Codecs ===
+
+    /** Integral numbers, stored as {@code INTEGER}s and boxed back to their own type */
+    private static final class IntegralCodec extends ValueCodec {
+        private final LongFunction<Object> boxer;
+
+        private IntegralCodec(LongFunction<Object> boxer) {
+            this.boxer = boxer;
+        }
+
+        @Override
+        String getSqlType() {
+            return "INTEGER";
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setLong(index, ((Number) value).longValue());
+        }
+
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return boxer.apply(rs.getLong(index));
+        }
+    }
+
+    /** Floating-point numbers, stored as {@code REAL}s, except {@code NaN}, stored as text */
+    private static final class FloatingPointCodec extends ValueCodec {
+        private static final String NAN = "NaN";
+
+        private final DoubleFunction<Object> boxer;
+
+        private FloatingPointCodec(DoubleFunction<Object> boxer) {
+            this.boxer = boxer;
+        }
+
+        @Override
+        String getSqlType() {
+            return "REAL";
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+            double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number))
+                statement.setString(index, NAN);
+            else
+                statement.setDouble(index, number);
+        }
+
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            Object value = rs.getObject(index);
+            return boxer.apply(value instanceof Number ? ((Number) value).doubleValue() : Double.NaN);
+        }
+
+        @Override
+        String numericValueSql(String column) {
+            return "CASE WHEN " + column + " = '" + NAN + "' THEN NULL ELSE " + column + " END, 0";
+        }
+
+        @Override
+        String numericFilterSql(String column) {
+            return "(" + super.numericFilterSql(column) + " OR " + column + " = '" + NAN + "')";
+        }
+    }
+
+    /** Booleans, stored as {@code INTEGER}s of one or zero */
+    private static final class BooleanCodec extends ValueCodec {
+        @Override
+        String getSqlType() {
+            return "INTEGER";
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setInt(index, (Boolean) value ? 1 : 0);
+        }
+
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return rs.getInt(index) != 0;
+        }
+
+        @Override
+        String numericValueSql(String column) {
+            return column + ", 1";
+        }
+    }
+
+    /** Strings, stored as {@code TEXT} */
+    private static final class StringCodec extends ValueCodec {
+        @Override
+        String getSqlType() {
+            return "TEXT";
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setString(index, (String) value);
+        }
+
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return rs.getString(index);
+        }
+    }
+
+    /** Values of other types, stored as JSON {@code TEXT} */
+    private static final class JsonCodec extends ValueCodec {
+        private final Class<?> type;
+        private final ObjectReader reader;
+
+        private JsonCodec(Class<?> type) {
+            this.type = type;
+            this.reader = OBJECT_MAPPER.readerFor(type);
+        }
+
+        @Override
+        String getSqlType() {
+            return "TEXT";
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setString(index, toJson(value));
+        }
+
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return readJson(rs.getString(index));
+        }
+
+        /** Also matches JSON numbers and booleans, in case the type serialises to them */
+        @Override
+        String numericValueSql(String column) {
+            return "CASE WHEN " + column + " = 'true' THEN 1.0 WHEN " + column + " = 'false' THEN 0.0"
+                    + " ELSE CAST(" + column + " AS REAL) END, " + column + " IN ('true', 'false')";
+        }
+
+        @Override
+        String numericFilterSql(String column) {
+            return "(" + column + " GLOB '[0-9]*' OR " + column + " GLOB '-[0-9]*' OR " + column + " IN ('true', 'false'))";
+        }
+
+        private Object readJson(String json) {
+            if (json == null)
+                return null;
+            try {
+                return reader.readValue(json);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Error deserialising value: " + json + " with type: " + type.getName(), e);
+            }
+        }
+    }
+
+    /** Values of a column whose type is unknown, read as SQLite returns them */
+    private static final class UntypedCodec extends ValueCodec {
+        private static final UntypedCodec INSTANCE = new UntypedCodec();
+
+        @Override
+        String getSqlType() {
+            return "";
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setObject(index, value);
+        }
+
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return rs.getObject(index);
+        }
+    }
+}
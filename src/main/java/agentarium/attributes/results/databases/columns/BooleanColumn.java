@@ -0,0 +1,22 @@
+package agentarium.attributes.results.databases.columns;
+
+/**
+ * A {@link ResultsColumn} that stores {@code boolean} values without boxing them.
+ */
+public interface BooleanColumn {
+
+    /**
+     * Appends a value to the column without boxing.
+     *
+     * @param value the value to append
+     */
+    void addBoolean(boolean value);
+
+    /**
+     * Retrieves a recorded value without boxing.
+     *
+     * @param index the row index of the value
+     * @return the value at the given index
+     */
+    boolean getBoolean(int index);
+}
@@ -0,0 +1,93 @@
+package agentarium.attributes.results.databases.columns;
+
+import java.util.Arrays;
+
+/**
+ * A {@link ResultsColumn} storing {@code boolean} values as bits, in chunks of {@code long} words.
+ *
+ * <p>Each value takes a single bit, so a column of event triggers uses a sixty-fourth of the memory of
+ * a list of boxed {@link Boolean}s.
+ */
+public class BooleanResultsColumn extends ResultsColumn implements BooleanColumn {
+
+    /** Number of values held in each word */
+    private static final int BITS_PER_WORD = Long.SIZE;
+
+    private final int firstChunkWords;
+    private long[][] chunks = new long[4][];
+    private int chunkCount = 0;
+
+    /** The chunk values are appended to, and the word within it holding the next value */
+    private long[] currentChunk;
+    private int currentWord = 0;
+
+    private int size = 0;
+
+    /** Constructs an empty column with the default initial capacity. */
+    public BooleanResultsColumn() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty column able to hold the given number of values before growing.
+     *
+     * @param initialCapacity the initial capacity of the column
+     */
+    public BooleanResultsColumn(int initialCapacity) {
+        firstChunkWords = Math.max(1, (initialCapacity + BITS_PER_WORD - 1) / BITS_PER_WORD);
+        addChunk();
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+        int bit = size % BITS_PER_WORD;
+        if (bit == 0 && size > 0 && ++currentWord == currentChunk.length)
+            addChunk();
+        if (value)
+            currentChunk[currentWord] |= 1L << bit;
+        size++;
+    }
+
+    private void addChunk() {
+        if (chunkCount == chunks.length)
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        currentChunk = new long[chunkSize(chunkCount, firstChunkWords)];
+        chunks[chunkCount++] = currentChunk;
+        currentWord = 0;
+    }
+
+    @Override
+    public boolean getBoolean(int index) {
+        checkIndex(index, size);
+        int word = index / BITS_PER_WORD;
+        int chunk = chunkOf(word, firstChunkWords);
+        return (chunks[chunk][word - chunkStart(chunk, firstChunkWords)] & (1L << (index % BITS_PER_WORD))) != 0;
+    }
+
+    @Override
+    public long getStoredSizeInBytes() {
+        return (long) (chunkStart(chunkCount - 1, firstChunkWords) + currentChunk.length) * Long.BYTES;
+    }
+
+    @Override
+    public long getRawSizeInBytes() {
+        return size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object get(int index) {
+        return getBoolean(index);
+    }
+
+    @Override
+    public void add(Object value) {
+        if (!(value instanceof Boolean))
+            throw new IllegalArgumentException("Value " + value + " cannot be stored in a boolean column");
+        addBoolean((Boolean) value);
+    }
+}
@@ -0,0 +1,215 @@
+package agentarium.attributes.results.databases.columns;
+
+import java.util.Arrays;
+
+/**
+ * Encodings used by the sealed blocks of {@link EncodedResultsColumn}s.
+ *
+ * <p>Every block starts with its number of values as a varint. Integer blocks then hold the first value and the
+ * difference between each value and the one before it, zig-zag encoded so that small negative differences stay
+ * small, as varints. Double blocks use the XOR encoding of Facebook's Gorilla time-series store: each value is
+ * XORed with the one before it, a repeated value takes a single bit, and otherwise only the bits between the
+ * leading and trailing zeros of the XOR are written.
+ */
+final class ColumnCodecs {
+
+    // Prevent instantiation
+    private ColumnCodecs() {}
+
+    // === Delta and zig-zag varint encoding ===
+
+    /**
+     * Encodes integer values as zig-zag varint differences.
+     *
+     * @param values the values
+     * @param count the number of values to encode
+     * @return the encoded block
+     */
+    static byte[] encodeDeltas(long[] values, int count) {
+        ByteWriter writer = new ByteWriter(count + 8);
+        writer.writeVarint(count);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            writer.writeVarint(zigZag(values[i] - previous));
+            previous = values[i];
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes a block written by {@link #encodeDeltas(long[], int)}.
+     *
+     * @param block the encoded block
+     * @param values the array to decode into, large enough for the block
+     * @return the number of values decoded
+     */
+    static int decodeDeltas(byte[] block, long[] values) {
+        int[] position = {0};
+        int count = (int) readVarint(block, position);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unZigZag(readVarint(block, position));
+            values[i] = previous;
+        }
+        return count;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarint(byte[] block, int[] position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = block[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    // === XOR encoding ===
+
+    /**
+     * Encodes the bit patterns of double values with Gorilla XOR compression.
+     *
+     * @param values the values' bit patterns, from {@link Double#doubleToRawLongBits(double)}
+     * @param count the number of values to encode
+     * @return the encoded block
+     */
+    static byte[] encodeXor(long[] values, int count) {
+        ByteWriter writer = new ByteWriter(count + 16);
+        writer.writeVarint(count);
+        if (count == 0)
+            return writer.toByteArray();
+
+        writer.writeBits(values[0], 64);
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        for (int i = 1; i < count; i++) {
+            long xor = values[i] ^ values[i - 1];
+            if (xor == 0) {
+                writer.writeBits(0, 1);
+                continue;
+            }
+            writer.writeBits(1, 1);
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                // The meaningful bits fit in the previous window
+                writer.writeBits(0, 1);
+                writer.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+            } else {
+                int meaningful = 64 - leading - trailing;
+                writer.writeBits(1, 1);
+                writer.writeBits(leading, 5);
+                writer.writeBits(meaningful - 1, 6);
+                writer.writeBits(xor >>> trailing, meaningful);
+                previousLeading = leading;
+                previousTrailing = trailing;
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes a block written by {@link #encodeXor(long[], int)}.
+     *
+     * @param block the encoded block
+     * @param values the array to decode the bit patterns into, large enough for the block
+     * @return the number of values decoded
+     */
+    static int decodeXor(byte[] block, long[] values) {
+        int[] position = {0};
+        int count = (int) readVarint(block, position);
+        if (count == 0)
+            return 0;
+
+        BitReader reader = new BitReader(block, position[0]);
+        values[0] = reader.readBits(64);
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < count; i++) {
+            if (reader.readBits(1) == 0) {
+                values[i] = values[i - 1];
+                continue;
+            }
+            if (reader.readBits(1) == 1) {
+                leading = (int) reader.readBits(5);
+                trailing = 64 - leading - ((int) reader.readBits(6) + 1);
+            }
+            values[i] = values[i - 1] ^ (reader.readBits(64 - leading - trailing) << trailing);
+        }
+        return count;
+    }
+
+    /** Writes bytes, varints and bit strings to a growable buffer */
+    private static final class ByteWriter {
+        private byte[] bytes;
+        private int length = 0;
+        private int bitsInLastByte = 8;
+
+        private ByteWriter(int initialCapacity) {
+            bytes = new byte[Math.max(16, initialCapacity)];
+        }
+
+        private void writeByte(int b) {
+            if (length == bytes.length)
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            bytes[length++] = (byte) b;
+            bitsInLastByte = 8;
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        /** Writes the lowest bits of a value, most significant first */
+        private void writeBits(long value, int bitCount) {
+            for (int bit = bitCount - 1; bit >= 0; bit--) {
+                if (bitsInLastByte == 8) {
+                    writeByte(0);
+                    bitsInLastByte = 0;
+                }
+                if (((value >>> bit) & 1) != 0)
+                    bytes[length - 1] |= (byte) (0x80 >>> bitsInLastByte);
+                bitsInLastByte++;
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+    /** Reads bit strings written by {@link ByteWriter#writeBits(long, int)} */
+    private static final class BitReader {
+        private final byte[] bytes;
+        private long bitPosition;
+
+        private BitReader(byte[] bytes, int bytePosition) {
+            this.bytes = bytes;
+            this.bitPosition = (long) bytePosition * 8;
+        }
+
+        private long readBits(int bitCount) {
+            long value = 0;
+            for (int i = 0; i < bitCount; i++) {
+                int b = bytes[(int) (bitPosition >>> 3)];
+                value = (value << 1) | ((b >>> (7 - (bitPosition & 7))) & 1);
+                bitPosition++;
+            }
+            return value;
+        }
+    }
+}
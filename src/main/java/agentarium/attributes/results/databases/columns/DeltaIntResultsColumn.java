@@ -0,0 +1,60 @@
+package agentarium.attributes.results.databases.columns;
+
+/**
+ * An {@link EncodedResultsColumn} storing {@code int} values, sealed with delta and zig-zag varint encoding.
+ *
+ * <p>Suited to counters and other integers that change by small steps from one tick to the next.
+ */
+public class DeltaIntResultsColumn extends EncodedResultsColumn implements IntColumn {
+
+    /** Constructs an empty column with the default initial capacity. */
+    public DeltaIntResultsColumn() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty column.
+     *
+     * @param initialCapacity the number of values expected
+     */
+    public DeltaIntResultsColumn(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    @Override
+    public void addInt(int value) {
+        addBits(value);
+    }
+
+    @Override
+    public int getInt(int index) {
+        return (int) getBits(index);
+    }
+
+    @Override
+    public Object get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public void add(Object value) {
+        if (!(value instanceof Integer))
+            throw new IllegalArgumentException("Value " + value + " cannot be stored in a int column");
+        addInt((Integer) value);
+    }
+
+    @Override
+    protected byte[] encode(long[] values, int count) {
+        return ColumnCodecs.encodeDeltas(values, count);
+    }
+
+    @Override
+    protected void decode(byte[] block, long[] values) {
+        ColumnCodecs.decodeDeltas(block, values);
+    }
+
+    @Override
+    protected int getValueWidth() {
+        return Integer.BYTES;
+    }
+}
@@ -0,0 +1,60 @@
+package agentarium.attributes.results.databases.columns;
+
+/**
+ * An {@link EncodedResultsColumn} storing {@code long} values, sealed with delta and zig-zag varint encoding.
+ *
+ * <p>Suited to counters, timestamps and other integers that change by small steps from one tick to the next.
+ */
+public class DeltaLongResultsColumn extends EncodedResultsColumn implements LongColumn {
+
+    /** Constructs an empty column with the default initial capacity. */
+    public DeltaLongResultsColumn() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty column.
+     *
+     * @param initialCapacity the number of values expected
+     */
+    public DeltaLongResultsColumn(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    @Override
+    public void addLong(long value) {
+        addBits(value);
+    }
+
+    @Override
+    public long getLong(int index) {
+        return getBits(index);
+    }
+
+    @Override
+    public Object get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public void add(Object value) {
+        if (!(value instanceof Long))
+            throw new IllegalArgumentException("Value " + value + " cannot be stored in a long column");
+        addLong((Long) value);
+    }
+
+    @Override
+    protected byte[] encode(long[] values, int count) {
+        return ColumnCodecs.encodeDeltas(values, count);
+    }
+
+    @Override
+    protected void decode(byte[] block, long[] values) {
+        ColumnCodecs.decodeDeltas(block, values);
+    }
+
+    @Override
+    protected int getValueWidth() {
+        return Long.BYTES;
+    }
+}
@@ -0,0 +1,84 @@
+package agentarium.attributes.results.databases.columns;
+
+import java.util.Arrays;
+
+/**
+ * A {@link ResultsColumn} storing {@code double} values in chunks of primitive arrays.
+ */
+public class DoubleResultsColumn extends ResultsColumn implements DoubleColumn {
+
+    private final int firstChunkSize;
+    private double[][] chunks = new double[4][];
+    private int chunkCount = 0;
+
+    /** The chunk values are appended to, and the position of the next value in it */
+    private double[] currentChunk;
+    private int currentOffset = 0;
+
+    private int size = 0;
+
+    /** Constructs an empty column with the default initial capacity. */
+    public DoubleResultsColumn() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty column able to hold the given number of values before growing.
+     *
+     * @param initialCapacity the initial capacity of the column
+     */
+    public DoubleResultsColumn(int initialCapacity) {
+        firstChunkSize = Math.max(1, initialCapacity);
+        addChunk();
+    }
+
+    @Override
+    public void addDouble(double value) {
+        if (currentOffset == currentChunk.length)
+            addChunk();
+        currentChunk[currentOffset++] = value;
+        size++;
+    }
+
+    private void addChunk() {
+        if (chunkCount == chunks.length)
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        currentChunk = new double[chunkSize(chunkCount, firstChunkSize)];
+        chunks[chunkCount++] = currentChunk;
+        currentOffset = 0;
+    }
+
+    @Override
+    public double getDouble(int index) {
+        checkIndex(index, size);
+        int chunk = chunkOf(index, firstChunkSize);
+        return chunks[chunk][index - chunkStart(chunk, firstChunkSize)];
+    }
+
+    @Override
+    public long getStoredSizeInBytes() {
+        return (long) (chunkStart(chunkCount - 1, firstChunkSize) + currentChunk.length) * Double.BYTES;
+    }
+
+    @Override
+    public long getRawSizeInBytes() {
+        return (long) size * Double.BYTES;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object get(int index) {
+        return getDouble(index);
+    }
+
+    @Override
+    public void add(Object value) {
+        if (!(value instanceof Double))
+            throw new IllegalArgumentException("Value " + value + " cannot be stored in a double column");
+        addDouble((Double) value);
+    }
+}
@@ -0,0 +1,113 @@
+package agentarium.attributes.results.databases.columns;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Abstract base class for primitive {@link ResultsColumn}s that compress their values in sealed blocks.
+ *
+ * <p>Values are appended to an open block, held as 64-bit patterns. Once it holds {@link #BLOCK_SIZE} values the
+ * block is sealed: it is encoded by the subclass and the open block is reused. Reading a value from a sealed block
+ * decodes the whole block, which is kept until a value from another block is read, so reading a column in order
+ * decodes each block once.
+ */
+public abstract class EncodedResultsColumn extends ResultsColumn {
+
+    /** Number of values in a sealed block */
+    public static final int BLOCK_SIZE = 1024;
+
+    private final List<byte[]> sealedBlocks = new ArrayList<>();
+    private long sealedBytes = 0;
+
+    private long[] openBlock;
+    private int openCount = 0;
+    private int size = 0;
+
+    /** The most recently decoded sealed block, allocated on first read */
+    private long[] decodedBlock;
+    private int decodedBlockIndex = -1;
+
+    /**
+     * Constructs an empty column.
+     *
+     * @param initialCapacity the number of values expected, used to size the open block
+     */
+    protected EncodedResultsColumn(int initialCapacity) {
+        openBlock = new long[Math.max(1, Math.min(initialCapacity, BLOCK_SIZE))];
+    }
+
+    /**
+     * Encodes a full block of values.
+     *
+     * @param values the values' bit patterns
+     * @param count the number of values
+     * @return the encoded block
+     */
+    protected abstract byte[] encode(long[] values, int count);
+
+    /**
+     * Decodes a block written by {@link #encode(long[], int)}.
+     *
+     * @param block the encoded block
+     * @param values the array to decode the bit patterns into
+     */
+    protected abstract void decode(byte[] block, long[] values);
+
+    /** @return the number of bytes an uncompressed value of this column takes */
+    protected abstract int getValueWidth();
+
+    /**
+     * Appends a value's bit pattern, sealing the open block once it is full.
+     *
+     * @param bits the value's bit pattern
+     */
+    protected final void addBits(long bits) {
+        if (openCount == openBlock.length)
+            openBlock = Arrays.copyOf(openBlock, Math.min(BLOCK_SIZE, openBlock.length * 2));
+        openBlock[openCount++] = bits;
+        size++;
+        if (openCount == BLOCK_SIZE) {
+            byte[] block = encode(openBlock, openCount);
+            sealedBlocks.add(block);
+            sealedBytes += block.length;
+            openCount = 0;
+        }
+    }
+
+    /**
+     * Retrieves a value's bit pattern, decoding its block if it has been sealed.
+     *
+     * @param index the row index of the value
+     * @return the value's bit pattern
+     */
+    protected final long getBits(int index) {
+        checkIndex(index, size);
+        int block = index / BLOCK_SIZE;
+        int offset = index % BLOCK_SIZE;
+        if (block == sealedBlocks.size())
+            return openBlock[offset];
+        if (block != decodedBlockIndex) {
+            if (decodedBlock == null)
+                decodedBlock = new long[BLOCK_SIZE];
+            decode(sealedBlocks.get(block), decodedBlock);
+            decodedBlockIndex = block;
+        }
+        return decodedBlock[offset];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getStoredSizeInBytes() {
+        return sealedBytes + (long) openCount * Long.BYTES;
+    }
+
+    @Override
+    public long getRawSizeInBytes() {
+        return (long) size * getValueWidth();
+    }
+}
@@ -0,0 +1,22 @@
+package agentarium.attributes.results.databases.columns;
+
+/**
+ * A {@link ResultsColumn} that stores {@code int} values without boxing them.
+ */
+public interface IntColumn {
+
+    /**
+     * Appends a value to the column without boxing.
+     *
+     * @param value the value to append
+     */
+    void addInt(int value);
+
+    /**
+     * Retrieves a recorded value without boxing.
+     *
+     * @param index the row index of the value
+     * @return the value at the given index
+     */
+    int getInt(int index);
+}
@@ -0,0 +1,84 @@
+package agentarium.attributes.results.databases.columns;
+
+import java.util.Arrays;
+
+/**
+ * A {@link ResultsColumn} storing {@code int} values in chunks of primitive arrays.
+ */
+public class IntResultsColumn extends ResultsColumn implements IntColumn {
+
+    private final int firstChunkSize;
+    private int[][] chunks = new int[4][];
+    private int chunkCount = 0;
+
+    /** The chunk values are appended to, and the position of the next value in it */
+    private int[] currentChunk;
+    private int currentOffset = 0;
+
+    private int size = 0;
+
+    /** Constructs an empty column with the default initial capacity. */
+    public IntResultsColumn() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty column able to hold the given number of values before growing.
+     *
+     * @param initialCapacity the initial capacity of the column
+     */
+    public IntResultsColumn(int initialCapacity) {
+        firstChunkSize = Math.max(1, initialCapacity);
+        addChunk();
+    }
+
+    @Override
+    public void addInt(int value) {
+        if (currentOffset == currentChunk.length)
+            addChunk();
+        currentChunk[currentOffset++] = value;
+        size++;
+    }
+
+    private void addChunk() {
+        if (chunkCount == chunks.length)
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        currentChunk = new int[chunkSize(chunkCount, firstChunkSize)];
+        chunks[chunkCount++] = currentChunk;
+        currentOffset = 0;
+    }
+
+    @Override
+    public int getInt(int index) {
+        checkIndex(index, size);
+        int chunk = chunkOf(index, firstChunkSize);
+        return chunks[chunk][index - chunkStart(chunk, firstChunkSize)];
+    }
+
+    @Override
+    public long getStoredSizeInBytes() {
+        return (long) (chunkStart(chunkCount - 1, firstChunkSize) + currentChunk.length) * Integer.BYTES;
+    }
+
+    @Override
+    public long getRawSizeInBytes() {
+        return (long) size * Integer.BYTES;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public void add(Object value) {
+        if (!(value instanceof Integer))
+            throw new IllegalArgumentException("Value " + value + " cannot be stored in a int column");
+        addInt((Integer) value);
+    }
+}
@@ -0,0 +1,22 @@
+package agentarium.attributes.results.databases.columns;
+
+/**
+ * A {@link ResultsColumn} that stores {@code long} values without boxing them.
+ */
+public interface LongColumn {
+
+    /**
+     * Appends a value to the column without boxing.
+     *
+     * @param value the value to append
+     */
+    void addLong(long value);
+
+    /**
+     * Retrieves a recorded value without boxing.
+     *
+     * @param index the row index of the value
+     * @return the value at the given index
+     */
+    long getLong(int index);
+}
@@ -0,0 +1,84 @@
+package agentarium.attributes.results.databases.columns;
+
+import java.util.Arrays;
+
+/**
+ * A {@link ResultsColumn} storing {@code long} values in chunks of primitive arrays.
+ */
+public class LongResultsColumn extends ResultsColumn implements LongColumn {
+
+    private final int firstChunkSize;
+    private long[][] chunks = new long[4][];
+    private int chunkCount = 0;
+
+    /** The chunk values are appended to, and the position of the next value in it */
+    private long[] currentChunk;
+    private int currentOffset = 0;
+
+    private int size = 0;
+
+    /** Constructs an empty column with the default initial capacity. */
+    public LongResultsColumn() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty column able to hold the given number of values before growing.
+     *
+     * @param initialCapacity the initial capacity of the column
+     */
+    public LongResultsColumn(int initialCapacity) {
+        firstChunkSize = Math.max(1, initialCapacity);
+        addChunk();
+    }
+
+    @Override
+    public void addLong(long value) {
+        if (currentOffset == currentChunk.length)
+            addChunk();
+        currentChunk[currentOffset++] = value;
+        size++;
+    }
+
+    private void addChunk() {
+        if (chunkCount == chunks.length)
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        currentChunk = new long[chunkSize(chunkCount, firstChunkSize)];
+        chunks[chunkCount++] = currentChunk;
+        currentOffset = 0;
+    }
+
+    @Override
+    public long getLong(int index) {
+        checkIndex(index, size);
+        int chunk = chunkOf(index, firstChunkSize);
+        return chunks[chunk][index - chunkStart(chunk, firstChunkSize)];
+    }
+
+    @Override
+    public long getStoredSizeInBytes() {
+        return (long) (chunkStart(chunkCount - 1, firstChunkSize) + currentChunk.length) * Long.BYTES;
+    }
+
+    @Override
+    public long getRawSizeInBytes() {
+        return (long) size * Long.BYTES;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public void add(Object value) {
+        if (!(value instanceof Long))
+            throw new IllegalArgumentException("Value " + value + " cannot be stored in a long column");
+        addLong((Long) value);
+    }
+}
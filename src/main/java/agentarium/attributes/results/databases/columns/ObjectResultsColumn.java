@@ -0,0 +1,68 @@
+package agentarium.attributes.results.databases.columns;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link ResultsColumn} holding arbitrary objects.
+ *
+ * <p>This is the column used for properties of non-primitive types and for values recorded
+ * through the generic {@code addPropertyValue} path.
+ */
+public class ObjectResultsColumn extends ResultsColumn {
+
+    private final List<Object> values;
+
+    /** Constructs an empty object column. */
+    public ObjectResultsColumn() {
+        this.values = new ArrayList<>();
+    }
+
+    /**
+     * Constructs an empty object column able to hold the given number of values before growing.
+     *
+     * @param initialCapacity the initial capacity of the column
+     */
+    public ObjectResultsColumn(int initialCapacity) {
+        this.values = new ArrayList<>(Math.max(0, initialCapacity));
+    }
+
+    /**
+     * Constructs an object column holding a copy of the given values.
+     *
+     * @param values the initial values of the column
+     */
+    public ObjectResultsColumn(List<Object> values) {
+        this.values = new ArrayList<>(values);
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public Object get(int index) {
+        return values.get(index);
+    }
+
+    @Override
+    public void add(Object value) {
+        values.add(value);
+    }
+
+    @Override
+    public boolean acceptsNull() {
+        return true;
+    }
+
+    /**
+     * Returns the backing list of this column directly.
+     *
+     * @return the list of recorded values
+     */
+    @Override
+    public List<Object> asList() {
+        return values;
+    }
+}
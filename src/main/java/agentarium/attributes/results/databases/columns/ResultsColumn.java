@@ -0,0 +1,147 @@
+package agentarium.attributes.results.databases.columns;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Abstract base class for a single column of recorded values held in memory.
+ *
+ * <p>Columns are append-only during a simulation run. Primitive subclasses store their values
+ * in primitive arrays so that recording a tick does not allocate; values are only boxed when
+ * the column is read back as a list.
+ *
+ * <p>Primitive columns grow in chunks rather than by copying: the first chunk holds the initial
+ * capacity, and each further chunk is as large as every chunk before it combined, so a column
+ * never copies its values and the chunk holding an index is found with a division and a bit scan.
+ */
+public abstract class ResultsColumn {
+
+    /** Default number of values a new column can hold before it has to grow */
+    protected static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /** Number of bytes assumed for a reference when estimating the size of a column */
+    protected static final int REFERENCE_BYTES = 8;
+
+    /**
+     * @return the number of values recorded in this column
+     */
+    public abstract int size();
+
+    /**
+     * Retrieves a recorded value, boxing it if the column is primitive.
+     *
+     * @param index the row index of the value
+     * @return the value at the given index
+     */
+    public abstract Object get(int index);
+
+    /**
+     * Appends a boxed value to this column.
+     *
+     * @param value the value to append
+     * @throws IllegalArgumentException if the value cannot be stored in this column
+     */
+    public abstract void add(Object value);
+
+    /**
+     * Whether null values can be appended to this column.
+     *
+     * @return true if the column holds nulls; primitive columns return false
+     */
+    public boolean acceptsNull() {
+        return false;
+    }
+
+    /**
+     * Estimates the number of bytes this column's values take in memory.
+     *
+     * <p>The default implementation assumes one reference per value.
+     *
+     * @return the estimated stored size of the column
+     */
+    public long getStoredSizeInBytes() {
+        return (long) size() * REFERENCE_BYTES;
+    }
+
+    /**
+     * Estimates the number of bytes this column's values would take uncompressed: their primitive width, or
+     * one reference per value for object columns.
+     *
+     * @return the estimated uncompressed size of the column
+     */
+    public long getRawSizeInBytes() {
+        return (long) size() * REFERENCE_BYTES;
+    }
+
+    /**
+     * Returns the column as a list of boxed values.
+     *
+     * <p>The default implementation returns a read-only view backed by this column,
+     * so no copy of the recorded values is made.
+     *
+     * @return a list view of the column
+     */
+    public List<Object> asList() {
+        return new AbstractList<Object>() {
+            @Override
+            public Object get(int index) {
+                return ResultsColumn.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return ResultsColumn.this.size();
+            }
+        };
+    }
+
+    /**
+     * Computes the number of values a chunk of a primitive column holds.
+     *
+     * @param chunk the number of the chunk, starting from 0
+     * @param firstChunkSize the number of values the first chunk holds
+     * @return the size of the chunk
+     */
+    protected static int chunkSize(int chunk, int firstChunkSize) {
+        if (chunk == 0)
+            return firstChunkSize;
+        long size = (long) firstChunkSize << (chunk - 1);
+        if (size > Integer.MAX_VALUE - 8)
+            throw new IllegalStateException("Results column cannot hold more than " + Integer.MAX_VALUE + " values");
+        return (int) size;
+    }
+
+    /**
+     * Finds the chunk of a primitive column holding a value.
+     *
+     * @param index the row index of the value
+     * @param firstChunkSize the number of values the first chunk holds
+     * @return the number of the chunk
+     */
+    protected static int chunkOf(int index, int firstChunkSize) {
+        return 32 - Integer.numberOfLeadingZeros(index / firstChunkSize);
+    }
+
+    /**
+     * Computes the row index of the first value in a chunk of a primitive column.
+     *
+     * @param chunk the number of the chunk
+     * @param firstChunkSize the number of values the first chunk holds
+     * @return the row index of the chunk's first value
+     */
+    protected static int chunkStart(int chunk, int firstChunkSize) {
+        return chunk == 0 ? 0 : firstChunkSize << (chunk - 1);
+    }
+
+    /**
+     * Checks that a row index is within a column.
+     *
+     * @param index the row index
+     * @param size the number of values in the column
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    protected static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+    }
+}
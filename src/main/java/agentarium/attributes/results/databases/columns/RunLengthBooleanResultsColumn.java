@@ -0,0 +1,22 @@
+package agentarium.attributes.results.databases.columns;
+
+/**
+ * A {@link RunLengthResultsColumn} holding {@code boolean} values, suited to event triggers.
+ */
+public class RunLengthBooleanResultsColumn extends RunLengthResultsColumn implements BooleanColumn {
+
+    /** Constructs an empty column. */
+    public RunLengthBooleanResultsColumn() {
+        super(Boolean.class);
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+        add(Boolean.valueOf(value));
+    }
+
+    @Override
+    public boolean getBoolean(int index) {
+        return (Boolean) get(index);
+    }
+}
@@ -0,0 +1,85 @@
+package agentarium.attributes.results.databases.columns;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link ResultsColumn} storing runs of equal values once, with the length of each run.
+ *
+ * <p>Suited to event triggers, which are mostly long runs of {@code false}, and to properties that keep the same
+ * value for many ticks. Values are compared with {@link Objects#equals(Object, Object)}, so a run holds the first
+ * of its equal values.
+ */
+public class RunLengthResultsColumn extends ResultsColumn {
+
+    /** The type of value the column holds, or null to hold any value, including null */
+    private final Class<?> type;
+
+    private final List<Object> runValues = new ArrayList<>();
+
+    /** The row index after the end of each run */
+    private int[] runEnds = new int[4];
+
+    private int size = 0;
+
+    /** Constructs an empty column holding any value, including null. */
+    public RunLengthResultsColumn() {
+        this(null);
+    }
+
+    /**
+     * Constructs an empty column holding values of one type.
+     *
+     * @param type the type of value held, or null to hold any value, including null
+     */
+    public RunLengthResultsColumn(Class<?> type) {
+        this.type = type;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object get(int index) {
+        checkIndex(index, size);
+        int run = Arrays.binarySearch(runEnds, 0, runValues.size(), index);
+        // An exact match is the end of a run, so the value belongs to the next one
+        return runValues.get(run >= 0 ? run + 1 : -run - 1);
+    }
+
+    @Override
+    public void add(Object value) {
+        if (type != null && !type.isInstance(value))
+            throw new IllegalArgumentException("Value " + value + " cannot be stored in a " + type.getSimpleName() + " column");
+
+        int runCount = runValues.size();
+        if (runCount > 0 && Objects.equals(runValues.get(runCount - 1), value)) {
+            runEnds[runCount - 1]++;
+        } else {
+            if (runCount == runEnds.length)
+                runEnds = Arrays.copyOf(runEnds, runCount * 2);
+            runValues.add(value);
+            runEnds[runCount] = size + 1;
+        }
+        size++;
+    }
+
+    @Override
+    public boolean acceptsNull() {
+        return type == null;
+    }
+
+    @Override
+    public long getStoredSizeInBytes() {
+        return (long) runValues.size() * (REFERENCE_BYTES + Integer.BYTES);
+    }
+
+    @Override
+    public long getRawSizeInBytes() {
+        return (long) size * (type == Boolean.class ? 1 : REFERENCE_BYTES);
+    }
+}
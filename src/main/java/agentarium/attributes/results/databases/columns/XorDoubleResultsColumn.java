@@ -0,0 +1,61 @@
+package agentarium.attributes.results.databases.columns;
+
+/**
+ * An {@link EncodedResultsColumn} storing {@code double} values, sealed with Gorilla-style XOR encoding.
+ *
+ * <p>A value equal to the one before it takes a single bit, and values that change slowly share most of their
+ * sign, exponent and leading mantissa bits, which are not repeated.
+ */
+public class XorDoubleResultsColumn extends EncodedResultsColumn implements DoubleColumn {
+
+    /** Constructs an empty column with the default initial capacity. */
+    public XorDoubleResultsColumn() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty column.
+     *
+     * @param initialCapacity the number of values expected
+     */
+    public XorDoubleResultsColumn(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    @Override
+    public void addDouble(double value) {
+        addBits(Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public double getDouble(int index) {
+        return Double.longBitsToDouble(getBits(index));
+    }
+
+    @Override
+    public Object get(int index) {
+        return getDouble(index);
+    }
+
+    @Override
+    public void add(Object value) {
+        if (!(value instanceof Double))
+            throw new IllegalArgumentException("Value " + value + " cannot be stored in a double column");
+        addDouble((Double) value);
+    }
+
+    @Override
+    protected byte[] encode(long[] values, int count) {
+        return ColumnCodecs.encodeXor(values, count);
+    }
+
+    @Override
+    protected void decode(byte[] block, long[] values) {
+        ColumnCodecs.decodeXor(block, values);
+    }
+
+    @Override
+    protected int getValueWidth() {
+        return Double.BYTES;
+    }
+}
@@ -0,0 +1,114 @@
+package agentarium.checkpoints;
+
+import agentarium.agents.Agent;
+import agentarium.agents.AgentSet;
+import agentarium.environments.Environment;
+import agentarium.scheduler.ModelScheduler;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Assembles {@link ModelCheckpoint}s from the agents of every worker thread of a run.
+ *
+ * <p>Each worker reports its agents at the start of every tick, and once more when it finishes. The first report
+ * at or after a checkpoint tick captures the worker's part of that checkpoint: when processes are not synchronised
+ * a worker may skip ticks in which its scheduler has no work, and its agents are then the same at the checkpoint
+ * tick as at the tick it skipped to. Agents are encoded on the reporting worker's thread, and the environment is
+ * captured with the first worker's report. Once every worker has reported, the checkpoint is passed to the
+ * listener on the thread of the last worker to report.
+ */
+public final class CheckpointRecorder {
+
+    /** The ticks at whose start checkpoints are taken */
+    private final NavigableSet<Integer> checkpointTicks;
+
+    /** The number of worker threads that report to this recorder */
+    private final int numOfWorkers;
+
+    /** The environment of the run */
+    private final Environment environment;
+
+    /** Receives each checkpoint once all of its parts have been reported */
+    private final Consumer<ModelCheckpoint> listener;
+
+    /** The last tick reported by each worker thread */
+    private final Map<String, Integer> lastReportedTicks = new ConcurrentHashMap<>();
+
+    /** The checkpoints still waiting for some workers to report, by tick */
+    private final Map<Integer, PendingCheckpoint> pendingCheckpoints = new HashMap<>();
+
+    /**
+     * Creates a recorder of checkpoints.
+     *
+     * @param checkpointTicks the ticks at whose start checkpoints are taken
+     * @param numOfWorkers the number of worker threads that report to this recorder
+     * @param environment the environment of the run
+     * @param listener receives each checkpoint, possibly from a worker thread
+     */
+    public CheckpointRecorder(Collection<Integer> checkpointTicks, int numOfWorkers,
+                              Environment environment, Consumer<ModelCheckpoint> listener) {
+        if (numOfWorkers < 1)
+            throw new IllegalArgumentException("Number of workers must be at least 1, got " + numOfWorkers);
+        this.checkpointTicks = Collections.unmodifiableNavigableSet(new TreeSet<>(checkpointTicks));
+        this.numOfWorkers = numOfWorkers;
+        this.environment = Objects.requireNonNull(environment, "environment");
+        this.listener = Objects.requireNonNull(listener, "listener");
+    }
+
+    /**
+     * Reports a worker's agents at the start of a tick, capturing them for every checkpoint tick passed since the
+     * worker's last report.
+     *
+     * @param threadName the name of the worker thread
+     * @param tick the tick about to run, or the end of the run once the worker has finished
+     * @param agents the worker's agents
+     * @param scheduler the scheduler, whose state for the agents is captured with them
+     */
+    public void record(String threadName, int tick, AgentSet agents, ModelScheduler scheduler) {
+        int lastReportedTick = lastReportedTicks.getOrDefault(threadName, -1);
+        lastReportedTicks.put(threadName, tick);
+        SortedSet<Integer> dueTicks = checkpointTicks.subSet(lastReportedTick, false, tick, true);
+        if (dueTicks.isEmpty())
+            return;
+
+        byte[] schedulerState = scheduler.saveState(agents);
+        List<byte[]> agentStates = new ArrayList<>(agents.size());
+        for (Agent agent : agents)
+            agentStates.add(ModelElementState.encode(agent));
+        ModelCheckpoint.WorkerState workerState = new ModelCheckpoint.WorkerState(agentStates, schedulerState);
+
+        List<ModelCheckpoint> completed = new ArrayList<>();
+        synchronized (pendingCheckpoints) {
+            for (int dueTick : dueTicks) {
+                PendingCheckpoint pending = pendingCheckpoints.get(dueTick);
+                if (pending == null) {
+                    pending = new PendingCheckpoint(ModelElementState.encode(environment));
+                    pendingCheckpoints.put(dueTick, pending);
+                }
+                pending.workerStates.put(threadName, workerState);
+                if (pending.workerStates.size() == numOfWorkers) {
+                    pendingCheckpoints.remove(dueTick);
+                    completed.add(pending.toCheckpoint(dueTick));
+                }
+            }
+        }
+        for (ModelCheckpoint checkpoint : completed)
+            listener.accept(checkpoint);
+    }
+
+    /** The parts of a checkpoint reported so far */
+    private static final class PendingCheckpoint {
+        private final byte[] environmentState;
+        private final Map<String, ModelCheckpoint.WorkerState> workerStates = new TreeMap<>();
+
+        private PendingCheckpoint(byte[] environmentState) {
+            this.environmentState = environmentState;
+        }
+
+        private ModelCheckpoint toCheckpoint(int tick) {
+            return new ModelCheckpoint(tick, environmentState, workerStates);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package agentarium.checkpoints;
+
+import agentarium.agents.AgentSet;
+import agentarium.environments.Environment;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A snapshot of a running model at the start of one tick, from which runs can be resumed or forked.
+ *
+ * <p>A checkpoint holds the value of every property of every agent and of the environment, the tick the model's
+ * clocks had reached and the state of the scheduler of each worker thread, such as its random streams. It is taken
+ * by {@link agentarium.Model#warmUp()}, or every few ticks when
+ * {@link agentarium.ModelSettings#setCheckpointInterval(int)} is set, and restored by
+ * {@link agentarium.Model#run(ModelCheckpoint)} and {@link agentarium.Model#fork}: the model is generated and set
+ * up as usual, then its values are replaced by those of the checkpoint and the run continues from its tick.
+ *
+ * <p>Agents are held by worker thread and restored by their position among the thread's agents, since generators
+ * need not give agents the same names from one run to the next, so a model resumed from a checkpoint must run on
+ * the same number of cores and generate as many agents as the model it was taken from. Only property values are
+ * restored, so state an agent keeps outside its properties starts as set up. Results are recorded from the
+ * checkpoint's tick onwards, so a run resumed from the end of the warm-up records the same results as a run that
+ * never stopped.
+ *
+ * <p>Checkpoints are written in a compact binary form with {@link #writeTo(OutputStream)} or
+ * {@link #save(Path)}, and read back with {@link #readFrom(InputStream)} or {@link #load(Path)}.
+ */
+public final class ModelCheckpoint {
+
+    /** Marks the start of a checkpoint file */
+    private static final int MAGIC = 0x41474350;
+
+    /** The version of the binary form */
+    private static final int VERSION = 1;
+
+    /** The prefix and suffix of the names of checkpoint files written to a directory */
+    private static final String FILE_PREFIX = "checkpoint-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    /** The tick the model resumes from */
+    private final int tick;
+
+    /** The encoded state of the environment */
+    private final byte[] environmentState;
+
+    /** The state of each worker thread, by thread name */
+    private final Map<String, WorkerState> workerStates;
+
+    ModelCheckpoint(int tick, byte[] environmentState, Map<String, WorkerState> workerStates) {
+        this.tick = tick;
+        this.environmentState = environmentState;
+        this.workerStates = workerStates;
+    }
+
+    /** @return the tick at whose start the checkpoint was taken, from which runs resume */
+    public int getTick() {
+        return tick;
+    }
+
+    /** @return the names of the worker threads whose agents are held by the checkpoint */
+    public Set<String> getThreadNames() {
+        return Collections.unmodifiableSet(workerStates.keySet());
+    }
+
+    /**
+     * @param threadName the name of a worker thread
+     * @return the number of the thread's agents held by the checkpoint, or 0 if it holds none of them
+     */
+    public int getAgentCount(String threadName) {
+        WorkerState workerState = workerStates.get(threadName);
+        return workerState == null ? 0 : workerState.agentStates.size();
+    }
+
+    // === Restoring ===
+
+    /**
+     * Restores the property values of a worker thread's agents, in the order they were captured.
+     *
+     * @param threadName the name of the worker thread
+     * @param agents the thread's agents, already set up
+     * @throws IllegalArgumentException if the number of agents differs from the number captured, or an agent lacks
+     *                                  an attribute set or property held by the checkpoint
+     */
+    public void restoreAgents(String threadName, AgentSet agents) {
+        int agentCount = getAgentCount(threadName);
+        if (agents.size() != agentCount)
+            throw new IllegalArgumentException("Checkpoint holds " + agentCount + " agents of worker " + threadName
+                    + ", not " + agents.size());
+        List<byte[]> agentStates = workerStates.get(threadName).agentStates;
+        for (int i = 0; i < agentCount; i++)
+            ModelElementState.restore(agentStates.get(i), agents.get(i));
+    }
+
+    /**
+     * Restores the property values of the environment.
+     *
+     * @param environment the environment, already set up
+     * @throws IllegalArgumentException if the environment lacks an attribute set or property held by the checkpoint
+     */
+    public void restoreEnvironment(Environment environment) {
+        ModelElementState.restore(environmentState, environment);
+    }
+
+    /**
+     * @param threadName the name of a worker thread
+     * @return the state of the thread's scheduler, or {@code null} if it had none
+     */
+    public byte[] getSchedulerState(String threadName) {
+        WorkerState workerState = workerStates.get(threadName);
+        return workerState == null ? null : workerState.schedulerState;
+    }
+
+    // === Binary form ===
+
+    /**
+     * Writes the checkpoint in its binary form.
+     *
+     * @param outputStream the stream to write to, which is not closed
+     * @throws IOException if writing fails
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(tick);
+        writeBytes(out, environmentState);
+        out.writeInt(workerStates.size());
+        for (Map.Entry<String, WorkerState> entry : workerStates.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().agentStates.size());
+            for (byte[] agentState : entry.getValue().agentStates)
+                writeBytes(out, agentState);
+            writeBytes(out, entry.getValue().schedulerState);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a checkpoint written by {@link #writeTo(OutputStream)}.
+     *
+     * @param inputStream the stream to read from, which is not closed
+     * @return the checkpoint
+     * @throws IOException if reading fails or the stream does not hold a checkpoint
+     */
+    public static ModelCheckpoint readFrom(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != MAGIC)
+            throw new IOException("Not a model checkpoint");
+        int version = in.readInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported model checkpoint version " + version);
+        int tick = in.readInt();
+        byte[] environmentState = readBytes(in);
+        int workerCount = in.readInt();
+        Map<String, WorkerState> workerStates = new LinkedHashMap<>();
+        for (int i = 0; i < workerCount; i++) {
+            String threadName = in.readUTF();
+            int agentCount = in.readInt();
+            List<byte[]> agentStates = new ArrayList<>(agentCount);
+            for (int j = 0; j < agentCount; j++)
+                agentStates.add(readBytes(in));
+            workerStates.put(threadName, new WorkerState(agentStates, readBytes(in)));
+        }
+        return new ModelCheckpoint(tick, environmentState, workerStates);
+    }
+
+    /**
+     * Saves the checkpoint to a file, replacing it only once the checkpoint has been fully written so that a
+     * crash never leaves a partial checkpoint behind.
+     *
+     * @param file the file
+     * @throws IOException if writing fails
+     */
+    public void save(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporaryFile)) {
+                writeTo(out);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Loads a checkpoint saved by {@link #save(Path)}.
+     *
+     * @param file the file
+     * @return the checkpoint
+     * @throws IOException if reading fails or the file does not hold a checkpoint
+     */
+    public static ModelCheckpoint load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return readFrom(in);
+        }
+    }
+
+    /**
+     * Saves the checkpoint to a directory, in a file named after its tick.
+     *
+     * @param directory the directory, which is created if it does not exist
+     * @return the file written
+     * @throws IOException if writing fails
+     */
+    public Path saveTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_PREFIX + tick + FILE_SUFFIX);
+        save(file);
+        return file;
+    }
+
+    /**
+     * Loads the checkpoint of the latest tick saved to a directory by {@link #saveTo(Path)}, to resume a run that
+     * stopped before it finished.
+     *
+     * @param directory the directory
+     * @return the latest checkpoint, or {@code null} if the directory holds none
+     * @throws IOException if reading fails
+     */
+    public static ModelCheckpoint loadLatest(Path directory) throws IOException {
+        if (!Files.isDirectory(directory))
+            return null;
+        Path latestFile = null;
+        int latestTick = -1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                int fileTick = tickOf(file.getFileName().toString());
+                if (fileTick > latestTick) {
+                    latestTick = fileTick;
+                    latestFile = file;
+                }
+            }
+        }
+        return latestFile == null ? null : load(latestFile);
+    }
+
+    /** @return the tick in a checkpoint file name, or -1 if the name is not one */
+    private static int tickOf(String fileName) {
+        if (!fileName.startsWith(FILE_PREFIX) || !fileName.endsWith(FILE_SUFFIX))
+            return -1;
+        try {
+            return Integer.parseInt(fileName.substring(FILE_PREFIX.length(), fileName.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Writes a length-prefixed byte array, or -1 for null */
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0)
+            return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /** The encoded agents of one worker thread, in order, and the state of its scheduler */
+    static final class WorkerState {
+        private final List<byte[]> agentStates;
+        private final byte[] schedulerState;
+
+        WorkerState(List<byte[]> agentStates, byte[] schedulerState) {
+            this.agentStates = agentStates;
+            this.schedulerState = schedulerState;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package agentarium.checkpoints;
+
+import agentarium.ModelElement;
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.BooleanProperty;
+import agentarium.attributes.DoubleProperty;
+import agentarium.attributes.IntProperty;
+import agentarium.attributes.LongProperty;
+import agentarium.attributes.Properties;
+import agentarium.attributes.Property;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.*;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes the property values of a model element to a compact binary form, and restores them.
+ *
+ * <p>Values are written attribute set by attribute set with a one-byte tag: integers, longs, doubles, booleans
+ * and strings as themselves, read and written through the primitive accessors of {@link IntProperty},
+ * {@link LongProperty}, {@link DoubleProperty} and {@link BooleanProperty} where a property has them. As
+ * {@link utils.DeepCopier} does for objects it has no copy plan for, other values are written with Java
+ * serialisation if they are {@link Serializable} and as JSON otherwise.
+ */
+final class ModelElementState {
+
+    private static final byte NULL = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte STRING = 5;
+    private static final byte SERIALIZED = 6;
+    private static final byte JSON = 7;
+
+    /** Gson instance for values that are not serializable, ignoring static and transient fields */
+    private static final Gson gson = new GsonBuilder()
+            .excludeFieldsWithModifiers(Modifier.STATIC, Modifier.TRANSIENT)
+            .create();
+
+    // Prevent instantiation
+    private ModelElementState() {}
+
+    /**
+     * Encodes the current values of every property of a model element.
+     *
+     * @param element the model element
+     * @return the encoded values
+     */
+    static byte[] encode(ModelElement element) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            AttributeSetCollection collection = element.getAttributeSetCollection();
+            out.writeInt(collection.size());
+            for (int i = 0; i < collection.size(); i++) {
+                AttributeSet attributeSet = collection.get(i);
+                Properties properties = attributeSet.getProperties();
+                out.writeUTF(attributeSet.getName());
+                out.writeInt(properties.size());
+                for (int j = 0; j < properties.size(); j++) {
+                    Property<?> property = properties.get(j);
+                    out.writeUTF(property.getName());
+                    writeValue(out, property);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Error encoding the state of " + element.getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores encoded property values to a model element.
+     *
+     * @param state the encoded values
+     * @param element the model element, which must have every attribute set and property that was encoded
+     * @throws IllegalArgumentException if the element lacks an encoded attribute set or property
+     */
+    static void restore(byte[] state, ModelElement element) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(state))) {
+            AttributeSetCollection collection = element.getAttributeSetCollection();
+            int attributeSetCount = in.readInt();
+            for (int i = 0; i < attributeSetCount; i++) {
+                String attributeSetName = in.readUTF();
+                if (collection.indexOf(attributeSetName) < 0)
+                    throw new IllegalArgumentException("Checkpoint holds attribute set " + attributeSetName
+                            + " which " + element.getName() + " does not have");
+                Properties properties = collection.get(attributeSetName).getProperties();
+                int propertyCount = in.readInt();
+                for (int j = 0; j < propertyCount; j++) {
+                    String propertyName = in.readUTF();
+                    Property<?> property = properties.get(propertyName);
+                    if (property == null)
+                        throw new IllegalArgumentException("Checkpoint holds property " + propertyName + " of "
+                                + attributeSetName + " which " + element.getName() + " does not have");
+                    readValue(in, property);
+                }
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Error restoring the state of " + element.getName(), e);
+        }
+    }
+
+    // === Values ===
+
+    private static void writeValue(DataOutputStream out, Property<?> property) throws IOException {
+        if (property instanceof IntProperty) {
+            out.writeByte(INT);
+            out.writeInt(((IntProperty) property).getInt());
+            return;
+        }
+        if (property instanceof LongProperty) {
+            out.writeByte(LONG);
+            out.writeLong(((LongProperty) property).getLong());
+            return;
+        }
+        if (property instanceof DoubleProperty) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((DoubleProperty) property).getDouble());
+            return;
+        }
+        if (property instanceof BooleanProperty) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(((BooleanProperty) property).getBoolean());
+            return;
+        }
+
+        Object value = property.get();
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Serializable) {
+            out.writeByte(SERIALIZED);
+            ByteArrayOutputStream serialised = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(serialised)) {
+                objectOut.writeObject(value);
+            }
+            writeBytes(out, serialised.toByteArray());
+        } else {
+            out.writeByte(JSON);
+            out.writeUTF(value.getClass().getName());
+            writeBytes(out, gson.toJson(value).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void readValue(DataInputStream in, Property<?> property) throws IOException, ClassNotFoundException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case INT:
+                int intValue = in.readInt();
+                if (property instanceof IntProperty)
+                    ((IntProperty) property).setInt(intValue);
+                else
+                    ((Property<Object>) property).set(intValue);
+                return;
+            case LONG:
+                long longValue = in.readLong();
+                if (property instanceof LongProperty)
+                    ((LongProperty) property).setLong(longValue);
+                else
+                    ((Property<Object>) property).set(longValue);
+                return;
+            case DOUBLE:
+                double doubleValue = in.readDouble();
+                if (property instanceof DoubleProperty)
+                    ((DoubleProperty) property).setDouble(doubleValue);
+                else
+                    ((Property<Object>) property).set(doubleValue);
+                return;
+            case BOOLEAN:
+                boolean booleanValue = in.readBoolean();
+                if (property instanceof BooleanProperty)
+                    ((BooleanProperty) property).setBoolean(booleanValue);
+                else
+                    ((Property<Object>) property).set(booleanValue);
+                return;
+            default:
+                ((Property<Object>) property).set(readObject(in, tag));
+        }
+    }
+
+    private static Object readObject(DataInputStream in, byte tag) throws IOException, ClassNotFoundException {
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+            case SERIALIZED:
+                try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+                    return objectIn.readObject();
+                }
+            case JSON:
+                ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+                if (classLoader == null)
+                    classLoader = ModelElementState.class.getClassLoader();
+                Class<?> type = Class.forName(in.readUTF(), false, classLoader);
+                return gson.fromJson(new String(readBytes(in), StandardCharsets.UTF_8), type);
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
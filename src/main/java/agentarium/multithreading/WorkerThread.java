@@ -4,6 +4,10 @@ import agentarium.ModelClock;
 import agentarium.ModelSettings;
 import agentarium.agents.Agent;
 import agentarium.agents.AgentSet;
+import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.results.ResultsAggregation;
+import agentarium.checkpoints.CheckpointRecorder;
+import agentarium.checkpoints.ModelCheckpoint;
 import agentarium.multithreading.requestresponse.RequestResponseController;
 import agentarium.multithreading.requestresponse.RequestResponseInterface;
 import agentarium.multithreading.utils.WorkerCache;
@@ -41,6 +45,15 @@ public class WorkerThread<T extends Results> implements Callable<Results> {
     /** A duplicate of the agent set to allow for safe merging during synchronisation */
     private final AgentSet updatedAgents;
 
+    /** The checkpoint the run resumes from, or null to start from the first tick */
+    private final ModelCheckpoint startCheckpoint;
+
+    /** Captures this worker's agents for checkpoints, or null if none are taken */
+    private final CheckpointRecorder checkpointRecorder;
+
+    /** The tick at which this worker stops, before the end of the run when only warming up */
+    private final int endTick;
+
     /**
      * Constructs a new worker thread to simulate a subset of agents.
      *
@@ -53,11 +66,36 @@ public class WorkerThread<T extends Results> implements Callable<Results> {
                         ModelSettings settings,
                         RequestResponseController requestResponseController,
                         AgentSet agents) {
+        this(threadName, settings, requestResponseController, agents, null, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a new worker thread to simulate a subset of agents, resuming from a checkpoint and reporting its
+     * agents for checkpoints.
+     *
+     * @param threadName the thread's name (typically its numeric ID as a string)
+     * @param settings the simulation settings
+     * @param requestResponseController the controller for cross-thread coordination
+     * @param agents the agents assigned to this thread
+     * @param startCheckpoint the checkpoint to resume from, or null to start from the first tick
+     * @param checkpointRecorder the recorder to report agents to, or null if no checkpoints are taken
+     * @param endTick the tick at which to stop if it comes before the end of the run
+     */
+    public WorkerThread(String threadName,
+                        ModelSettings settings,
+                        RequestResponseController requestResponseController,
+                        AgentSet agents,
+                        ModelCheckpoint startCheckpoint,
+                        CheckpointRecorder checkpointRecorder,
+                        int endTick) {
         this.threadName = Objects.requireNonNull(threadName, "threadName");
         this.settings = Objects.requireNonNull(settings, "settings");
         this.requestResponseController = Objects.requireNonNull(requestResponseController, "requestResponseController");
         this.agents = Objects.requireNonNull(agents, "agents");
         this.updatedAgents = this.agents.duplicate();
+        this.startCheckpoint = startCheckpoint;
+        this.checkpointRecorder = checkpointRecorder;
+        this.endTick = endTick;
     }
 
     /**
@@ -81,13 +119,17 @@ public class WorkerThread<T extends Results> implements Callable<Results> {
         RequestResponseInterface requestResponseInterface = requestResponseController.getInterface(threadName);
 
         // Initial broadcast of agent state to coordinator
-        if (settings.getAreProcessesSynced())
+        if (settings.getAreProcessesSynced() && startCheckpoint == null)
             requestResponseInterface.updateCoordinatorAgents(agents);
 
         agents.setup();
+        if (startCheckpoint != null)
+            resumeFromCheckpoint(modelClock, requestResponseInterface);
+        ResultsAggregation aggregation = attachAggregation();
 
         // Simulation main loop
-        while (modelClock.isRunning()) {
+        while (modelClock.isRunning() && modelClock.getTick() < endTick) {
+            recordCheckpoint(modelClock.getTick());
             settings.getModelScheduler().runTick(agents);
 
             if (settings.getAreProcessesSynced()) {
@@ -100,15 +142,64 @@ public class WorkerThread<T extends Results> implements Callable<Results> {
             if (cache != null)
                 cache.clear();
 
-            modelClock.triggerTick();
+            if (settings.getAreProcessesSynced())
+                modelClock.triggerTick();
+            else
+                modelClock.advanceTo(settings.getModelScheduler().getNextActiveTick(agents, modelClock.getTick()));
         }
 
+        recordCheckpoint(modelClock.getTick());
+        settings.getModelScheduler().completeRun(agents);
+
         // Final setup and result collection
         AgentResults agentResults = new AgentResults(agents);
         Results results = settings.getResults();
         results.setAgentNames(agents);
         results.setAgentResults(agentResults);
+        results.setAgentResultsAggregation(aggregation);
 
         return results;
     }
+
+    /**
+     * Restores the clock, agents and scheduler state of the start checkpoint once the agents are set up, then
+     * broadcasts the restored agents to the coordinator if processes are synchronised.
+     */
+    private void resumeFromCheckpoint(ModelClock modelClock, RequestResponseInterface requestResponseInterface)
+            throws InterruptedException {
+        modelClock.resumeFrom(startCheckpoint.getTick());
+        startCheckpoint.restoreAgents(threadName, agents);
+        byte[] schedulerState = startCheckpoint.getSchedulerState(threadName);
+        if (schedulerState != null)
+            settings.getModelScheduler().restoreState(agents, schedulerState);
+
+        if (settings.getAreProcessesSynced())
+            requestResponseInterface.updateCoordinatorAgents(agents);
+    }
+
+    /** Reports this worker's agents to the checkpoint recorder at the start of a tick, if checkpoints are taken */
+    private void recordCheckpoint(int tick) {
+        if (checkpointRecorder != null)
+            checkpointRecorder.record(threadName, tick, agents, settings.getModelScheduler());
+    }
+
+    /**
+     * Attaches a copy of the settings' agent aggregators to every agent of this worker, so that aggregated
+     * values are folded into per-tick partial results as they are recorded.
+     *
+     * @return this worker's aggregation, or {@code null} if no aggregators are registered
+     */
+    private ResultsAggregation attachAggregation() {
+        ResultsAggregation settingsAggregation = settings.getAgentResultsAggregation();
+        if (settingsAggregation == null || settingsAggregation.isEmpty())
+            return null;
+
+        ResultsAggregation aggregation = settingsAggregation.emptyCopy();
+        for (Agent agent : agents) {
+            AttributeSetCollection collection = agent.getAttributeSetCollection();
+            for (int i = 0; i < collection.size(); i++)
+                collection.getResults().getAttributeSetResults(i).attachAggregation(aggregation, settings.getAreAggregatedAgentResultsStored());
+        }
+        return aggregation;
+    }
 }
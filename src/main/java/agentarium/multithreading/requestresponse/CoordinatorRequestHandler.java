@@ -15,13 +15,15 @@ import java.util.function.Predicate;
  *
  * <p>Each request type is mapped to a specific implementation of this handler. The {@link #initialise}
  * method sets up this mapping, and {@link #handleCoordinatorRequest(Request)} dispatches requests accordingly.
+ * Both must be called on the coordinator thread: each coordinator thread has its own mapping, so models running
+ * side by side in the same JVM never dispatch to each other's handlers.
  *
  * <p>All handler subclasses must implement {@link #handleRequest(Request)}.
  */
 public abstract class CoordinatorRequestHandler {
 
-    /** Static mapping from request type to its associated handler */
-    private static Map<RequestType, CoordinatorRequestHandler> requestHandlerMap;
+    /** Mapping from request type to its associated handler, for each coordinator thread */
+    private static final ThreadLocal<Map<RequestType, CoordinatorRequestHandler>> requestHandlerMaps = new ThreadLocal<>();
 
     /**
      * Initialises the handler map for the coordinator, assigning an instance of each
@@ -38,7 +40,7 @@ public abstract class CoordinatorRequestHandler {
                                   BlockingQueue<Response> responseQueue,
                                   AgentSet globalAgentSet,
                                   Environment environment) {
-        requestHandlerMap = new HashMap<>();
+        Map<RequestType, CoordinatorRequestHandler> requestHandlerMap = new HashMap<>();
         requestHandlerMap.put(RequestType.ALL_WORKERS_FINISH_TICK,
                 new AllWorkersFinishTick(threadName, settings, responseQueue, globalAgentSet, environment));
         requestHandlerMap.put(RequestType.ALL_WORKERS_UPDATE_COORDINATOR,
@@ -51,6 +53,7 @@ public abstract class CoordinatorRequestHandler {
                 new FilteredAgentsAccess(threadName, settings, responseQueue, globalAgentSet, environment));
         requestHandlerMap.put(RequestType.ENVIRONMENT_ATTRIBUTES_ACCESS,
                 new EnvironmentAttributesAccess(threadName, settings, responseQueue, globalAgentSet, environment));
+        requestHandlerMaps.set(requestHandlerMap);
     }
 
     /**
@@ -59,6 +62,10 @@ public abstract class CoordinatorRequestHandler {
      * @param request the incoming request from a worker
      */
     public static void handleCoordinatorRequest(Request request) throws InterruptedException {
+        Map<RequestType, CoordinatorRequestHandler> requestHandlerMap = requestHandlerMaps.get();
+        if (requestHandlerMap == null)
+            throw new IllegalStateException("Coordinator handlers have not been initialised on thread "
+                    + Thread.currentThread().getName());
         CoordinatorRequestHandler handler = requestHandlerMap.get(request.getRequestType());
         if (handler == null)
             throw new IllegalStateException("No coordinator handler registered for request type: " + request.getRequestType());
@@ -30,6 +30,9 @@ public class RequestResponseInterface {
     /** Shared queue for incoming responses */
     private final BlockingQueue<Response> responseQueue;
 
+    /** The controller shared by every model element of the run */
+    private final RequestResponseController requestResponseController;
+
     /**
      * Constructs a new interface bound to the given model element or thread.
      *
@@ -42,6 +45,17 @@ public class RequestResponseInterface {
         this.areProcessesSynced = settings.getAreProcessesSynced();
         this.requestQueue = requestResponseController.getRequestQueue();
         this.responseQueue = requestResponseController.getResponseQueue();
+        this.requestResponseController = requestResponseController;
+    }
+
+    /**
+     * Retrieves the controller that provides this interface's queues, which is shared by every model element of
+     * the run.
+     *
+     * @return the request-response controller
+     */
+    public RequestResponseController getRequestResponseController() {
+        return requestResponseController;
     }
 
     /**
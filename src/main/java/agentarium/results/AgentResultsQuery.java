@@ -0,0 +1,138 @@
+package agentarium.results;
+
+import agentarium.attributes.results.AttributeSetCollectionResults;
+import agentarium.attributes.results.AttributeSetResults;
+import agentarium.attributes.results.databases.TickStatistics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * A query computing per-tick statistics of one agent attribute across every agent, or every agent matching a
+ * filter, created with {@link Results#queryAgentProperty}, {@link Results#queryAgentPreEvent} or
+ * {@link Results#queryAgentPostEvent}.
+ *
+ * <p>Agents are split between the threads of a fork/join pool. Each agent's column is folded into
+ * {@link TickStatistics} by its database, which scans it in the way that suits its storage: memory-based
+ * databases read primitive columns without boxing and SQLite databases convert values to numbers in SQL. The
+ * statistics of each thread are then merged.
+ *
+ * <pre>{@code
+ * TickStatistics energy = results.queryAgentProperty("Vitals", "Energy")
+ *         .whereAgent(name -> name.startsWith("Predator"))
+ *         .run();
+ * List<Double> meanEnergy = energy.getMeans();
+ * }</pre>
+ */
+public final class AgentResultsQuery {
+
+    /** The fewest agents a task folds itself rather than splitting between two subtasks */
+    private static final int MIN_AGENTS_PER_TASK = 4;
+
+    /** The number of tasks each thread of the pool is given, so that uneven tasks balance out */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /** The kinds of attribute that can be queried */
+    enum Kind { PROPERTY, PRE_EVENT, POST_EVENT }
+
+    private final AgentResults agentResults;
+    private final Kind kind;
+    private final String attributeSetName;
+    private final String attributeName;
+
+    /** Selects the agents by name, or {@code null} to query every agent */
+    private Predicate<String> agentFilter = null;
+
+    AgentResultsQuery(AgentResults agentResults, Kind kind, String attributeSetName, String attributeName) {
+        this.agentResults = agentResults;
+        this.kind = kind;
+        this.attributeSetName = attributeSetName;
+        this.attributeName = attributeName;
+    }
+
+    /**
+     * Restricts the query to the agents whose names match a filter.
+     *
+     * @param agentFilter the filter, which may be called from several threads at once
+     * @return this query
+     */
+    public AgentResultsQuery whereAgent(Predicate<String> agentFilter) {
+        if (agentFilter == null)
+            throw new IllegalArgumentException("Agent filter must not be null");
+        this.agentFilter = agentFilter;
+        return this;
+    }
+
+    /**
+     * Runs the query on the common fork/join pool.
+     *
+     * @return the statistics of each tick across the matching agents
+     */
+    public TickStatistics run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the query on a fork/join pool.
+     *
+     * @param pool the pool to split the agents between
+     * @return the statistics of each tick across the matching agents
+     */
+    public TickStatistics run(ForkJoinPool pool) {
+        int agentCount = agentResults.getAttributeSetCollectionSetCount();
+        int agentsPerTask = Math.max(MIN_AGENTS_PER_TASK, agentCount / (pool.getParallelism() * TASKS_PER_THREAD));
+        return pool.invoke(new QueryTask(0, agentCount, agentsPerTask));
+    }
+
+    /** Folds one agent's attribute into the statistics, unless it is filtered out or lacks the attribute set */
+    private void addAgentTo(int index, TickStatistics statistics) {
+        AttributeSetCollectionResults collectionResults = agentResults.getAttributeSetCollectionResults(index);
+        if (agentFilter != null && !agentFilter.test(collectionResults.getModelElementName()))
+            return;
+        AttributeSetResults setResults = collectionResults.getAttributeSetResults(attributeSetName);
+        if (setResults == null)
+            return;
+        switch (kind) {
+            case PROPERTY:
+                setResults.addPropertyValuesTo(attributeName, statistics);
+                break;
+            case PRE_EVENT:
+                setResults.addPreEventValuesTo(attributeName, statistics);
+                break;
+            default:
+                setResults.addPostEventValuesTo(attributeName, statistics);
+        }
+    }
+
+    /** Folds a range of agents, splitting it in half until it is small enough to fold on one thread */
+    private final class QueryTask extends RecursiveTask<TickStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int agentsPerTask;
+
+        private QueryTask(int from, int to, int agentsPerTask) {
+            this.from = from;
+            this.to = to;
+            this.agentsPerTask = agentsPerTask;
+        }
+
+        @Override
+        protected TickStatistics compute() {
+            if (to - from <= agentsPerTask) {
+                TickStatistics statistics = new TickStatistics();
+                for (int i = from; i < to; i++)
+                    addAgentTo(i, statistics);
+                return statistics;
+            }
+            int middle = (from + to) >>> 1;
+            QueryTask left = new QueryTask(from, middle, agentsPerTask);
+            QueryTask right = new QueryTask(middle, to, agentsPerTask);
+            left.fork();
+            TickStatistics rightStatistics = right.compute();
+            return left.join().combine(rightStatistics);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package agentarium.results;
+
+import agentarium.attributes.results.AttributeSetCollectionResults;
+import agentarium.attributes.results.AttributeSetResults;
+import agentarium.attributes.results.ResultsAggregation;
+import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
+import utils.QuadFunction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Accumulates agent data in parallel, as a fork/join tree over the agents of each worker thread.
+ *
+ * <p>Each worker's results are submitted as soon as the worker finishes, so that its agents are reduced while
+ * other workers are still running. Runs of agents are accumulated with the accumulate methods of {@link Results}
+ * and adjacent runs are merged with its combine methods, which must be associative. The workers' reductions
+ * are combined in worker order once every worker has been submitted, and the result is stored with
+ * {@link Results#accumulateAgentAttributeData(AgentResultsReduction)}.
+ */
+public final class AgentResultsReduction {
+
+    /** The fewest agents a task accumulates itself rather than splitting between two subtasks */
+    private static final int MIN_AGENTS_PER_TASK = 8;
+
+    /** The number of tasks each thread of the pool is given, so that uneven tasks balance out */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /** Provides the accumulate and combine methods */
+    private final Results results;
+
+    private final ForkJoinPool pool;
+
+    /** The reduction of each worker's agents, by worker index, or {@code null} until it is submitted */
+    private final List<ForkJoinTask<Partial>> workerReductions;
+
+    /**
+     * Creates a reduction for the results of a number of worker threads.
+     *
+     * @param results the results whose accumulate and combine methods are applied
+     * @param pool the pool to reduce agents on
+     * @param workerCount the number of worker threads
+     */
+    public AgentResultsReduction(Results results, ForkJoinPool pool, int workerCount) {
+        this.results = results;
+        this.pool = pool;
+        this.workerReductions = new ArrayList<>(Collections.nCopies(workerCount, null));
+    }
+
+    /**
+     * Starts reducing the agents of a finished worker thread.
+     *
+     * @param workerIndex the index of the worker
+     * @param workerResults the results returned by the worker
+     */
+    public void submit(int workerIndex, Results workerResults) {
+        AgentResults agentResults = workerResults.getAgentResults();
+        int agentCount = agentResults.getAttributeSetCollectionSetCount();
+        int agentsPerTask = Math.max(MIN_AGENTS_PER_TASK, agentCount / (pool.getParallelism() * TASKS_PER_THREAD));
+        workerReductions.set(workerIndex, pool.submit(new ReductionTask(
+                agentResults, workerResults.getAgentResultsAggregation(), 0, agentCount, agentsPerTask)));
+    }
+
+    /**
+     * Waits for every submitted worker's reduction and combines them in worker order.
+     *
+     * @return the accumulated values of every agent
+     */
+    Partial join() {
+        Partial combined = new Partial();
+        for (ForkJoinTask<Partial> reduction : workerReductions) {
+            if (reduction == null)
+                continue;
+            try {
+                combined = combine(combined, reduction.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while accumulating agent results", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to accumulate agent results: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return combined;
+    }
+
+    /** Merges the right partial into the left, which comes before it in agent order, and returns the left */
+    private Partial combine(Partial left, Partial right) {
+        combineColumns(left.properties, right.properties, results::combineAgentPropertyResults);
+        combineColumns(left.preEvents, right.preEvents, results::combineAgentPreEventResults);
+        combineColumns(left.postEvents, right.postEvents, results::combineAgentPostEventResults);
+        return left;
+    }
+
+    private static void combineColumns(Map<String, Map<String, List<?>>> left, Map<String, Map<String, List<?>>> right,
+                                       QuadFunction<String, String, List<?>, List<?>, List<?>> combiner) {
+        for (Map.Entry<String, Map<String, List<?>>> set : right.entrySet()) {
+            Map<String, List<?>> leftColumns = left.computeIfAbsent(set.getKey(), k -> new LinkedHashMap<>());
+            for (Map.Entry<String, List<?>> column : set.getValue().entrySet()) {
+                String name = column.getKey();
+                if (leftColumns.containsKey(name))
+                    leftColumns.put(name, combiner.apply(set.getKey(), name, leftColumns.get(name), column.getValue()));
+                else
+                    leftColumns.put(name, column.getValue());
+            }
+        }
+    }
+
+    /**
+     * The accumulated values of a run of agents, keyed by attribute set name and then attribute name.
+     *
+     * <p>Values are held in memory while agents are folded in, so each accumulated column is written to its
+     * database once rather than read back and rewritten for every agent.
+     */
+    static final class Partial {
+        private final Map<String, Map<String, List<?>>> properties = new LinkedHashMap<>();
+        private final Map<String, Map<String, List<?>>> preEvents = new LinkedHashMap<>();
+        private final Map<String, Map<String, List<?>>> postEvents = new LinkedHashMap<>();
+
+        /**
+         * Folds a range of agents into the accumulated values, in order.
+         *
+         * @param results provides the accumulate methods
+         * @param agentResults the agents' raw results
+         * @param aggregation the aggregation whose attributes are skipped, or {@code null} if none
+         * @param from the index of the first agent
+         * @param to the index after the last agent
+         * @param initialDatabases the databases holding each attribute's values before its first agent is folded
+         *                         in, keyed by attribute set name, or {@code null} to start from {@code null}
+         */
+        void accumulate(Results results, AgentResults agentResults, ResultsAggregation aggregation, int from, int to,
+                        Map<String, AttributeSetResultsDatabase> initialDatabases) {
+            for (int i = from; i < to; i++) {
+                AttributeSetCollectionResults collectionResults = agentResults.getAttributeSetCollectionResults(i);
+                for (int j = 0; j < collectionResults.getAttributeSetCount(); j++) {
+                    AttributeSetResults setResults = collectionResults.getAttributeSetResults(j);
+                    String attributeSetName = setResults.getAttributeSetName();
+                    AttributeSetResultsDatabase initialDatabase = initialDatabases == null ? null : initialDatabases.get(attributeSetName);
+
+                    Map<String, List<?>> propertyColumns = properties.computeIfAbsent(attributeSetName, k -> new LinkedHashMap<>());
+                    for (String propertyName : setResults.getPropertyNamesList()) {
+                        if (aggregation != null && aggregation.getPropertyNames(attributeSetName).contains(propertyName))
+                            continue;
+                        List<?> accumulatedValues = propertyColumns.containsKey(propertyName) || initialDatabase == null
+                                ? propertyColumns.get(propertyName)
+                                : initialDatabase.getPropertyColumnAsList(propertyName);
+                        propertyColumns.put(propertyName, results.accumulateAgentPropertyResults(attributeSetName, propertyName,
+                                accumulatedValues, setResults.getAlignedPropertyValues(propertyName)));
+                    }
+
+                    Map<String, List<?>> preEventColumns = preEvents.computeIfAbsent(attributeSetName, k -> new LinkedHashMap<>());
+                    for (String preEventName : setResults.getPreEventNamesList()) {
+                        if (aggregation != null && aggregation.getPreEventNames(attributeSetName).contains(preEventName))
+                            continue;
+                        List<?> accumulatedValues = preEventColumns.containsKey(preEventName) || initialDatabase == null
+                                ? preEventColumns.get(preEventName)
+                                : initialDatabase.getPreEventColumnAsList(preEventName);
+                        preEventColumns.put(preEventName, results.accumulateAgentPreEventResults(attributeSetName, preEventName,
+                                accumulatedValues, setResults.getAlignedPreEventValues(preEventName)));
+                    }
+
+                    Map<String, List<?>> postEventColumns = postEvents.computeIfAbsent(attributeSetName, k -> new LinkedHashMap<>());
+                    for (String postEventName : setResults.getPostEventNamesList()) {
+                        if (aggregation != null && aggregation.getPostEventNames(attributeSetName).contains(postEventName))
+                            continue;
+                        List<?> accumulatedValues = postEventColumns.containsKey(postEventName) || initialDatabase == null
+                                ? postEventColumns.get(postEventName)
+                                : initialDatabase.getPostEventColumnAsList(postEventName);
+                        postEventColumns.put(postEventName, results.accumulateAgentPostEventResults(attributeSetName, postEventName,
+                                accumulatedValues, setResults.getAlignedPostEventValues(postEventName)));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Writes each accumulated column to the database of its attribute set, once.
+         *
+         * @param databases the databases, keyed by attribute set name
+         */
+        @SuppressWarnings("unchecked")
+        void store(Map<String, AttributeSetResultsDatabase> databases) {
+            for (Map.Entry<String, AttributeSetResultsDatabase> entry : databases.entrySet()) {
+                AttributeSetResultsDatabase database = entry.getValue();
+                for (Map.Entry<String, List<?>> column : properties.getOrDefault(entry.getKey(), Map.of()).entrySet())
+                    database.setPropertyColumn(column.getKey(), (List<Object>) column.getValue());
+                for (Map.Entry<String, List<?>> column : preEvents.getOrDefault(entry.getKey(), Map.of()).entrySet())
+                    database.setPreEventColumn(column.getKey(), (List<Object>) column.getValue());
+                for (Map.Entry<String, List<?>> column : postEvents.getOrDefault(entry.getKey(), Map.of()).entrySet())
+                    database.setPostEventColumn(column.getKey(), (List<Object>) column.getValue());
+            }
+        }
+    }
+
+    /** Reduces a range of one worker's agents, splitting it in half until it is small enough to accumulate */
+    private final class ReductionTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        /** Tasks only run within one pool and are never serialised */
+        private final transient AgentResults agentResults;
+        private final transient ResultsAggregation aggregation;
+        private final int from;
+        private final int to;
+        private final int agentsPerTask;
+
+        private ReductionTask(AgentResults agentResults, ResultsAggregation aggregation, int from, int to, int agentsPerTask) {
+            this.agentResults = agentResults;
+            this.aggregation = aggregation;
+            this.from = from;
+            this.to = to;
+            this.agentsPerTask = agentsPerTask;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= agentsPerTask) {
+                Partial partial = new Partial();
+                partial.accumulate(results, agentResults, aggregation, from, to, null);
+                return partial;
+            }
+            int middle = (from + to) >>> 1;
+            ReductionTask left = new ReductionTask(agentResults, aggregation, from, middle, agentsPerTask);
+            ReductionTask right = new ReductionTask(agentResults, aggregation, middle, to, agentsPerTask);
+            left.fork();
+            Partial rightPartial = right.compute();
+            return combine(left.join(), rightPartial);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package agentarium.results;
+
+import agentarium.ModelSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The results of a batch of model runs, such as the replicates or parameter points of an
+ * {@link agentarium.Ensemble}, held in the order the runs were given.
+ */
+public class EnsembleResults implements Iterable<Results> {
+
+    /** The settings of each run */
+    private final List<ModelSettings> settings;
+
+    /** The results of each run */
+    private final List<Results> results;
+
+    /**
+     * Creates the results of a batch of runs.
+     *
+     * @param settings the settings of each run
+     * @param results the results of each run, in the same order
+     */
+    public EnsembleResults(List<ModelSettings> settings, List<Results> results) {
+        if (settings.size() != results.size())
+            throw new IllegalArgumentException("Got the results of " + results.size() + " runs, but the settings of "
+                    + settings.size());
+        this.settings = Collections.unmodifiableList(new ArrayList<>(settings));
+        this.results = Collections.unmodifiableList(new ArrayList<>(results));
+    }
+
+    /** @return the number of runs */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * @param runIndex the position of a run in the batch
+     * @return the results of the run
+     */
+    public Results get(int runIndex) {
+        return results.get(runIndex);
+    }
+
+    /**
+     * @param runIndex the position of a run in the batch
+     * @return the settings the run was given
+     */
+    public ModelSettings getSettings(int runIndex) {
+        return settings.get(runIndex);
+    }
+
+    /** @return the results of every run, in order */
+    public List<Results> getResults() {
+        return results;
+    }
+
+    @Override
+    public Iterator<Results> iterator() {
+        return results.iterator();
+    }
+}
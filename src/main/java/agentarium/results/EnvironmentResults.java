@@ -59,6 +59,39 @@ public class EnvironmentResults extends ModelElementResults {
         return getPostEventValues(environmentName, attributeSetName, eventName);
     }
 
+    /**
+     * Retrieves the ticks at which a property's values were recorded.
+     *
+     * @param attributeSetName the name of the attribute set
+     * @param propertyName the name of the property
+     * @return the tick of each recorded property value
+     */
+    public List<Integer> getPropertyTicks(String attributeSetName, String propertyName) {
+        return getPropertyTicks(environmentName, attributeSetName, propertyName);
+    }
+
+    /**
+     * Retrieves the ticks at which a pre-event's trigger states were recorded.
+     *
+     * @param attributeSetName the name of the attribute set
+     * @param eventName the name of the event
+     * @return the tick of each recorded trigger state
+     */
+    public List<Integer> getPreEventTicks(String attributeSetName, String eventName) {
+        return getPreEventTicks(environmentName, attributeSetName, eventName);
+    }
+
+    /**
+     * Retrieves the ticks at which a post-event's trigger states were recorded.
+     *
+     * @param attributeSetName the name of the attribute set
+     * @param eventName the name of the event
+     * @return the tick of each recorded trigger state
+     */
+    public List<Integer> getPostEventTicks(String attributeSetName, String eventName) {
+        return getPostEventTicks(environmentName, attributeSetName, eventName);
+    }
+
     /**
      * Returns the full results object for the environment's attribute sets.
      *
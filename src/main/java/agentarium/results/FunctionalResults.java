@@ -16,6 +16,9 @@ public class FunctionalResults extends Results {
     private final QuadFunction<String, String, List<?>, List<?>, List<?>> accumulateProperty;
     private final QuadFunction<String, String, List<Boolean>, List<Boolean>, List<?>> accumulatePreEvent;
     private final QuadFunction<String, String, List<Boolean>, List<Boolean>, List<?>> accumulatePostEvent;
+    private final QuadFunction<String, String, List<?>, List<?>, List<?>> combineProperty;
+    private final QuadFunction<String, String, List<?>, List<?>, List<?>> combinePreEvent;
+    private final QuadFunction<String, String, List<?>, List<?>, List<?>> combinePostEvent;
 
     /**
      * Constructs a new FunctionalResults instance.
@@ -28,10 +31,34 @@ public class FunctionalResults extends Results {
             QuadFunction<String, String, List<?>, List<?>, List<?>> accumulateProperty,
             QuadFunction<String, String, List<Boolean>, List<Boolean>, List<?>> accumulatePreEvent,
             QuadFunction<String, String, List<Boolean>, List<Boolean>, List<?>> accumulatePostEvent
+    ) {
+        this(accumulateProperty, accumulatePreEvent, accumulatePostEvent, null, null, null);
+    }
+
+    /**
+     * Constructs a new FunctionalResults instance that can also accumulate agent data in parallel.
+     *
+     * @param accumulateProperty  logic for accumulating agent property values
+     * @param accumulatePreEvent  logic for accumulating agent pre-event values
+     * @param accumulatePostEvent logic for accumulating agent post-event values
+     * @param combineProperty     associative logic for combining the accumulated property values of two runs of agents
+     * @param combinePreEvent     associative logic for combining the accumulated pre-event values of two runs of agents
+     * @param combinePostEvent    associative logic for combining the accumulated post-event values of two runs of agents
+     */
+    public FunctionalResults(
+            QuadFunction<String, String, List<?>, List<?>, List<?>> accumulateProperty,
+            QuadFunction<String, String, List<Boolean>, List<Boolean>, List<?>> accumulatePreEvent,
+            QuadFunction<String, String, List<Boolean>, List<Boolean>, List<?>> accumulatePostEvent,
+            QuadFunction<String, String, List<?>, List<?>, List<?>> combineProperty,
+            QuadFunction<String, String, List<?>, List<?>, List<?>> combinePreEvent,
+            QuadFunction<String, String, List<?>, List<?>, List<?>> combinePostEvent
     ) {
         this.accumulateProperty = accumulateProperty;
         this.accumulatePreEvent = accumulatePreEvent;
         this.accumulatePostEvent = accumulatePostEvent;
+        this.combineProperty = combineProperty;
+        this.combinePreEvent = combinePreEvent;
+        this.combinePostEvent = combinePostEvent;
     }
 
     @Override
@@ -51,4 +78,34 @@ public class FunctionalResults extends Results {
                                                       List<?> accumulatedValues, List<Boolean> valuesToBeProcessed) {
         return accumulatePostEvent.apply(attributeSetName, postEventName, (List<Boolean>) accumulatedValues, valuesToBeProcessed);
     }
+
+    /** @return true if combine logic was supplied for properties, pre-events and post-events */
+    @Override
+    public boolean canCombineAgentResults() {
+        return combineProperty != null && combinePreEvent != null && combinePostEvent != null;
+    }
+
+    @Override
+    protected List<?> combineAgentPropertyResults(String attributeSetName, String propertyName,
+                                                  List<?> leftAccumulatedValues, List<?> rightAccumulatedValues) {
+        if (combineProperty == null)
+            return super.combineAgentPropertyResults(attributeSetName, propertyName, leftAccumulatedValues, rightAccumulatedValues);
+        return combineProperty.apply(attributeSetName, propertyName, leftAccumulatedValues, rightAccumulatedValues);
+    }
+
+    @Override
+    protected List<?> combineAgentPreEventResults(String attributeSetName, String preEventName,
+                                                  List<?> leftAccumulatedValues, List<?> rightAccumulatedValues) {
+        if (combinePreEvent == null)
+            return super.combineAgentPreEventResults(attributeSetName, preEventName, leftAccumulatedValues, rightAccumulatedValues);
+        return combinePreEvent.apply(attributeSetName, preEventName, leftAccumulatedValues, rightAccumulatedValues);
+    }
+
+    @Override
+    protected List<?> combineAgentPostEventResults(String attributeSetName, String postEventName,
+                                                   List<?> leftAccumulatedValues, List<?> rightAccumulatedValues) {
+        if (combinePostEvent == null)
+            return super.combineAgentPostEventResults(attributeSetName, postEventName, leftAccumulatedValues, rightAccumulatedValues);
+        return combinePostEvent.apply(attributeSetName, postEventName, leftAccumulatedValues, rightAccumulatedValues);
+    }
 }
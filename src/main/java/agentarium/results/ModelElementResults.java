@@ -2,11 +2,14 @@ package agentarium.results;
 
 import agentarium.ModelElement;
 import agentarium.attributes.results.AttributeSetCollectionResults;
+import agentarium.attributes.results.databases.ResultsStorageReport;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
 
 /**
  * Container class for storing and accessing results from one or more {@link ModelElement}s,
@@ -107,6 +110,124 @@ public class ModelElementResults {
                 .getPostEventValues(eventName);
     }
 
+    /**
+     * Retrieves the values of a property recorded from one tick up to, but not including, another.
+     *
+     * @param modelElementName the name of the agent/environment
+     * @param attributeSetName the name of the attribute set
+     * @param propertyName the name of the property
+     * @param fromTick the first tick
+     * @param toTick the tick after the last tick
+     * @return the property values recorded within the ticks
+     */
+    public List<Object> getPropertyValues(String modelElementName, String attributeSetName, String propertyName, int fromTick, int toTick) {
+        return attributeSetCollectionResultsMap.get(modelElementName)
+                .getAttributeSetResults(attributeSetName)
+                .getPropertyValues(propertyName, fromTick, toTick);
+    }
+
+    /**
+     * Retrieves the trigger values of a pre-event recorded from one tick up to, but not including, another.
+     *
+     * @param modelElementName the name of the agent/environment
+     * @param attributeSetName the attribute set's name
+     * @param eventName the event's name
+     * @param fromTick the first tick
+     * @param toTick the tick after the last tick
+     * @return the trigger values recorded within the ticks
+     */
+    public List<Boolean> getPreEventValues(String modelElementName, String attributeSetName, String eventName, int fromTick, int toTick) {
+        return attributeSetCollectionResultsMap.get(modelElementName)
+                .getAttributeSetResults(attributeSetName)
+                .getPreEventValues(eventName, fromTick, toTick);
+    }
+
+    /**
+     * Retrieves the trigger values of a post-event recorded from one tick up to, but not including, another.
+     *
+     * @param modelElementName the name of the agent/environment
+     * @param attributeSetName the attribute set's name
+     * @param eventName the event's name
+     * @param fromTick the first tick
+     * @param toTick the tick after the last tick
+     * @return the trigger values recorded within the ticks
+     */
+    public List<Boolean> getPostEventValues(String modelElementName, String attributeSetName, String eventName, int fromTick, int toTick) {
+        return attributeSetCollectionResultsMap.get(modelElementName)
+                .getAttributeSetResults(attributeSetName)
+                .getPostEventValues(eventName, fromTick, toTick);
+    }
+
+    /**
+     * Streams the recorded values of a property, reading them as the stream is consumed.
+     *
+     * @param modelElementName the name of the agent/environment
+     * @param attributeSetName the name of the attribute set
+     * @param propertyName the name of the property
+     * @return a sequential stream of the property values
+     */
+    public Stream<Object> streamPropertyValues(String modelElementName, String attributeSetName, String propertyName) {
+        return attributeSetCollectionResultsMap.get(modelElementName)
+                .getAttributeSetResults(attributeSetName)
+                .streamPropertyValues(propertyName);
+    }
+
+    /**
+     * Streams the recorded values of a numeric property as {@code double}s.
+     *
+     * @param modelElementName the name of the agent/environment
+     * @param attributeSetName the name of the attribute set
+     * @param propertyName the name of the property
+     * @return a sequential stream of the property values
+     */
+    public DoubleStream streamPropertyDoubles(String modelElementName, String attributeSetName, String propertyName) {
+        return attributeSetCollectionResultsMap.get(modelElementName)
+                .getAttributeSetResults(attributeSetName)
+                .streamPropertyDoubles(propertyName);
+    }
+
+    /**
+     * Retrieves the ticks at which a property's values were recorded.
+     *
+     * @param modelElementName the name of the agent/environment
+     * @param attributeSetName the name of the attribute set
+     * @param propertyName the name of the property
+     * @return the tick of each recorded property value
+     */
+    public List<Integer> getPropertyTicks(String modelElementName, String attributeSetName, String propertyName) {
+        return attributeSetCollectionResultsMap.get(modelElementName)
+                .getAttributeSetResults(attributeSetName)
+                .getPropertyTicks(propertyName);
+    }
+
+    /**
+     * Retrieves the ticks at which a pre-event's trigger states were recorded.
+     *
+     * @param modelElementName the name of the agent/environment
+     * @param attributeSetName the attribute set's name
+     * @param eventName the event's name
+     * @return the tick of each recorded trigger state
+     */
+    public List<Integer> getPreEventTicks(String modelElementName, String attributeSetName, String eventName) {
+        return attributeSetCollectionResultsMap.get(modelElementName)
+                .getAttributeSetResults(attributeSetName)
+                .getPreEventTicks(eventName);
+    }
+
+    /**
+     * Retrieves the ticks at which a post-event's trigger states were recorded.
+     *
+     * @param modelElementName the name of the agent/environment
+     * @param attributeSetName the attribute set's name
+     * @param eventName the event's name
+     * @return the tick of each recorded trigger state
+     */
+    public List<Integer> getPostEventTicks(String modelElementName, String attributeSetName, String eventName) {
+        return attributeSetCollectionResultsMap.get(modelElementName)
+                .getAttributeSetResults(attributeSetName)
+                .getPostEventTicks(eventName);
+    }
+
     /**
      * Retrieves the {@link AttributeSetCollectionResults} for a specific model element.
      *
@@ -134,6 +255,16 @@ public class ModelElementResults {
         return attributeSetCollectionResultsList.size();
     }
 
+    /**
+     * @return a report of how much memory the recorded values of every model element take
+     */
+    public ResultsStorageReport getStorageReport() {
+        ResultsStorageReport report = ResultsStorageReport.EMPTY;
+        for (AttributeSetCollectionResults results : attributeSetCollectionResultsList)
+            report = report.plus(results.getStorageReport());
+        return report;
+    }
+
     /**
      * Disconnects all underlying databases associated with stored attribute set results.
      * Should be called when results are no longer needed to free resources.
@@ -4,12 +4,17 @@ import agentarium.agents.Agent;
 import agentarium.agents.AgentSet;
 import agentarium.attributes.results.AttributeSetCollectionResults;
 import agentarium.attributes.results.AttributeSetResults;
+import agentarium.attributes.results.ResultsAggregation;
 import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
 import agentarium.attributes.results.databases.AttributeSetResultsDatabaseFactory;
+import agentarium.attributes.results.databases.ResultsStorageReport;
 import utils.DeepCopier;
 import utils.DeepCopyable;
 
 import java.util.*;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Abstract base class for storing and manipulating simulation results.
@@ -27,6 +32,9 @@ public abstract class Results implements DeepCopyable<Results> {
     private AgentResults agentResults;
     private EnvironmentResults environmentResults;
 
+    /** Per-tick aggregates of agent attributes folded while the model ran, or {@code null} if none */
+    private ResultsAggregation agentResultsAggregation;
+
     private final Map<String, AttributeSetResultsDatabase> accumulatedAgentAttributeSetResultsDatabaseMap = new HashMap<>();
     private final Map<String, AttributeSetResultsDatabase> processedEnvironmentAttributeSetResultsDatabaseMap = new HashMap<>();
     private final List<AttributeSetResultsDatabase> accumulatedAgentAttributeSetResultsDatabaseList = new ArrayList<>();
@@ -94,6 +102,23 @@ public abstract class Results implements DeepCopyable<Results> {
             isRawAgentAttributeSetDataConnected = true;
     }
 
+    /**
+     * Sets the agent aggregates folded while the model ran, which replace the accumulation of the attributes
+     * they cover.
+     *
+     * @param agentResultsAggregation the aggregates, or {@code null} if none
+     */
+    public void setAgentResultsAggregation(ResultsAggregation agentResultsAggregation) {
+        if (isImmutable)
+            throw new IllegalStateException("Cannot modify Results: object is immutable.");
+        this.agentResultsAggregation = agentResultsAggregation;
+    }
+
+    /** @return the agent aggregates folded while the model ran, or {@code null} if none */
+    public ResultsAggregation getAgentResultsAggregation() {
+        return agentResultsAggregation;
+    }
+
     /**
      * Sets the raw environment results and connects the underlying database.
      *
@@ -151,6 +176,149 @@ public abstract class Results implements DeepCopyable<Results> {
         return environmentResults.getPostEventValues(attributeSetName, eventName);
     }
 
+    // === Streaming and Tick Range Getters ===
+
+    public List<Object> getAgentPropertyValues(String agentName, String attributeSetName, String propertyName, int fromTick, int toTick) {
+        if (!isRawAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of agent attribute database is not allowed when the appropriate database is disconnected.");
+        return agentResults.getPropertyValues(agentName, attributeSetName, propertyName, fromTick, toTick);
+    }
+
+    public List<Boolean> getAgentPreEventValues(String agentName, String attributeSetName, String eventName, int fromTick, int toTick) {
+        if (!isRawAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of agent attribute database is not allowed when the appropriate database is disconnected.");
+        return agentResults.getPreEventValues(agentName, attributeSetName, eventName, fromTick, toTick);
+    }
+
+    public List<Boolean> getAgentPostEventValues(String agentName, String attributeSetName, String eventName, int fromTick, int toTick) {
+        if (!isRawAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of agent attribute database is not allowed when the appropriate database is disconnected.");
+        return agentResults.getPostEventValues(agentName, attributeSetName, eventName, fromTick, toTick);
+    }
+
+    public Stream<Object> streamAgentPropertyValues(String agentName, String attributeSetName, String propertyName) {
+        if (!isRawAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of agent attribute database is not allowed when the appropriate database is disconnected.");
+        return agentResults.streamPropertyValues(agentName, attributeSetName, propertyName);
+    }
+
+    public DoubleStream streamAgentPropertyDoubles(String agentName, String attributeSetName, String propertyName) {
+        if (!isRawAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of agent attribute database is not allowed when the appropriate database is disconnected.");
+        return agentResults.streamPropertyDoubles(agentName, attributeSetName, propertyName);
+    }
+
+    public List<Object> getAccumulatedAgentPropertyValues(String attributeSetName, String propertyName, int fromTick, int toTick) {
+        if (!isAccumulatedAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of accumulated attribute database is not allowed when the appropriate database is disconnected.");
+        return accumulatedAgentAttributeSetResultsDatabaseMap.get(attributeSetName).getPropertyColumnRange(propertyName, fromTick, toTick);
+    }
+
+    public List<Object> getAccumulatedAgentPreEventValues(String attributeSetName, String eventName, int fromTick, int toTick) {
+        if (!isAccumulatedAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of accumulated attribute database is not allowed when the appropriate database is disconnected.");
+        return accumulatedAgentAttributeSetResultsDatabaseMap.get(attributeSetName).getPreEventColumnRange(eventName, fromTick, toTick);
+    }
+
+    public List<Object> getAccumulatedAgentPostEventValues(String attributeSetName, String eventName, int fromTick, int toTick) {
+        if (!isAccumulatedAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of accumulated attribute database is not allowed when the appropriate database is disconnected.");
+        return accumulatedAgentAttributeSetResultsDatabaseMap.get(attributeSetName).getPostEventColumnRange(eventName, fromTick, toTick);
+    }
+
+    public Stream<Object> streamAccumulatedAgentPropertyValues(String attributeSetName, String propertyName) {
+        if (!isAccumulatedAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of accumulated attribute database is not allowed when the appropriate database is disconnected.");
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                accumulatedAgentAttributeSetResultsDatabaseMap.get(attributeSetName).getPropertyColumnIterator(propertyName), Spliterator.ORDERED), false);
+    }
+
+    public DoubleStream streamAccumulatedAgentPropertyDoubles(String attributeSetName, String propertyName) {
+        if (!isAccumulatedAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of accumulated attribute database is not allowed when the appropriate database is disconnected.");
+        return StreamSupport.doubleStream(Spliterators.spliteratorUnknownSize(
+                accumulatedAgentAttributeSetResultsDatabaseMap.get(attributeSetName).getPropertyColumnDoubleIterator(propertyName), Spliterator.ORDERED), false);
+    }
+
+    // === Aggregation Queries ===
+
+    /**
+     * Creates a query computing per-tick statistics of an agent property across agents.
+     *
+     * @param attributeSetName the name of the attribute set
+     * @param propertyName the name of the property
+     * @return the query, to be run with {@link AgentResultsQuery#run()}
+     */
+    public AgentResultsQuery queryAgentProperty(String attributeSetName, String propertyName) {
+        if (!isRawAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of agent attribute database is not allowed when the appropriate database is disconnected.");
+        return new AgentResultsQuery(agentResults, AgentResultsQuery.Kind.PROPERTY, attributeSetName, propertyName);
+    }
+
+    /**
+     * Creates a query computing per-tick statistics of an agent pre-event across agents.
+     *
+     * @param attributeSetName the name of the attribute set
+     * @param eventName the name of the pre-event
+     * @return the query, to be run with {@link AgentResultsQuery#run()}
+     */
+    public AgentResultsQuery queryAgentPreEvent(String attributeSetName, String eventName) {
+        if (!isRawAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of agent attribute database is not allowed when the appropriate database is disconnected.");
+        return new AgentResultsQuery(agentResults, AgentResultsQuery.Kind.PRE_EVENT, attributeSetName, eventName);
+    }
+
+    /**
+     * Creates a query computing per-tick statistics of an agent post-event across agents.
+     *
+     * @param attributeSetName the name of the attribute set
+     * @param eventName the name of the post-event
+     * @return the query, to be run with {@link AgentResultsQuery#run()}
+     */
+    public AgentResultsQuery queryAgentPostEvent(String attributeSetName, String eventName) {
+        if (!isRawAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of agent attribute database is not allowed when the appropriate database is disconnected.");
+        return new AgentResultsQuery(agentResults, AgentResultsQuery.Kind.POST_EVENT, attributeSetName, eventName);
+    }
+
+    // === Recorded Tick Getters ===
+
+    public List<Integer> getAgentPropertyTicks(String agentName, String attributeSetName, String propertyName) {
+        if (!isRawAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of agent attribute database is not allowed when the appropriate database is disconnected.");
+        return agentResults.getPropertyTicks(agentName, attributeSetName, propertyName);
+    }
+
+    public List<Integer> getAgentPreEventTicks(String agentName, String attributeSetName, String eventName) {
+        if (!isRawAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of agent attribute database is not allowed when the appropriate database is disconnected.");
+        return agentResults.getPreEventTicks(agentName, attributeSetName, eventName);
+    }
+
+    public List<Integer> getAgentPostEventTicks(String agentName, String attributeSetName, String eventName) {
+        if (!isRawAgentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of agent attribute database is not allowed when the appropriate database is disconnected.");
+        return agentResults.getPostEventTicks(agentName, attributeSetName, eventName);
+    }
+
+    public List<Integer> getEnvironmentPropertyTicks(String attributeSetName, String propertyName) {
+        if (!isRawEnvironmentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of environment attribute database is not allowed when the appropriate database is disconnected.");
+        return environmentResults.getPropertyTicks(attributeSetName, propertyName);
+    }
+
+    public List<Integer> getEnvironmentPreEventTicks(String attributeSetName, String eventName) {
+        if (!isRawEnvironmentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of environment attribute database is not allowed when the appropriate database is disconnected.");
+        return environmentResults.getPreEventTicks(attributeSetName, eventName);
+    }
+
+    public List<Integer> getEnvironmentPostEventTicks(String attributeSetName, String eventName) {
+        if (!isRawEnvironmentAttributeSetDataConnected)
+            throw new IllegalStateException("Access of environment attribute database is not allowed when the appropriate database is disconnected.");
+        return environmentResults.getPostEventTicks(attributeSetName, eventName);
+    }
+
     // === Accumulated Agent Data Getters ===
 
     public List<Object> getAccumulatedAgentPropertyValues(String attributeSetName, String propertyName) {
@@ -193,6 +361,28 @@ public abstract class Results implements DeepCopyable<Results> {
 
     // === Database Disconnection ===
 
+    /**
+     * Reports how much memory the connected raw, accumulated and processed results take.
+     *
+     * @return the storage report
+     */
+    public ResultsStorageReport getStorageReport() {
+        ResultsStorageReport report = ResultsStorageReport.EMPTY;
+        if (isRawAgentAttributeSetDataConnected)
+            report = report.plus(agentResults.getStorageReport());
+        if (isRawEnvironmentAttributeSetDataConnected)
+            report = report.plus(environmentResults.getStorageReport());
+        if (isAccumulatedAgentAttributeSetDataConnected) {
+            for (AttributeSetResultsDatabase db : accumulatedAgentAttributeSetResultsDatabaseList)
+                report = report.plus(db.getStorageReport());
+        }
+        if (isProcessedEnvironmentAttributeSetDataConnected) {
+            for (AttributeSetResultsDatabase db : processedEnvironmentAttributeSetResultsDatabaseList)
+                report = report.plus(db.getStorageReport());
+        }
+        return report;
+    }
+
     /**
      * Disconnects all raw (per-agent and environment) databases if connected.
      */
@@ -239,53 +429,83 @@ public abstract class Results implements DeepCopyable<Results> {
 
     /**
      * Accumulates agent data over all ticks. Must be called before accessing accumulated values.
+     *
+     * <p>Series recorded on change are expanded to one value per tick before they are accumulated, so that
+     * agents whose values changed at different ticks line up. Other sparse series are accumulated as recorded.
+     *
+     * <p>Attributes with an aggregator take its per-tick results instead of being accumulated here.
+     *
+     * <p>Agents are accumulated one at a time on the calling thread, into accumulated values held in memory
+     * that start from the accumulated databases' columns. Each accumulated column is written once, after every
+     * agent has been folded in. See
+     * {@link #accumulateAgentAttributeData(AgentResultsReduction)} to accumulate them in parallel.
      */
     public void accumulateAgentAttributeData() {
         if (isImmutable)
             throw new IllegalStateException("Cannot modify Results: object is immutable.");
 
-        for (int i = 0; i < agentResults.getAttributeSetCollectionSetCount(); i++) {
-            AttributeSetCollectionResults agentAttributeSetCollectionResults = agentResults.getAttributeSetCollectionResults(i);
-
-            if (accumulatedAgentAttributeSetResultsDatabaseList.isEmpty()) {
-                for (int j = 0; j < agentAttributeSetCollectionResults.getAttributeSetCount(); j++) {
-                    String attributeName = agentAttributeSetCollectionResults.getAttributeSetResults(j).getAttributeSetName();
-                    AttributeSetResultsDatabase newDatabase = Objects.requireNonNull(AttributeSetResultsDatabaseFactory.createDatabase(), "AttributeSetResultsDatabaseFactory.createDatabase() returned null");
-                    newDatabase.connect();
-                    accumulatedAgentAttributeSetResultsDatabaseMap.put(attributeName, newDatabase);
-                    accumulatedAgentAttributeSetResultsDatabaseList.add(newDatabase);
-                }
-                isAccumulatedAgentAttributeSetDataConnected = true;
-            }
+        for (int i = 0; i < agentResults.getAttributeSetCollectionSetCount(); i++)
+            connectAccumulatedAgentDatabases(agentResults.getAttributeSetCollectionResults(i));
 
-            for (int j = 0; j < agentAttributeSetCollectionResults.getAttributeSetCount(); j++) {
-                AttributeSetResults agentAttributeSetResults = agentAttributeSetCollectionResults.getAttributeSetResults(j);
-                String attributeName = agentAttributeSetResults.getAttributeSetName();
-
-                List<String> propertyNamesList = agentAttributeSetResults.getPropertyNamesList();
-                for (String propertyName : propertyNamesList) {
-                    List<?> accumulatedValues = accumulatedAgentAttributeSetResultsDatabaseMap.get(attributeName).getPropertyColumnAsList(propertyName);
-                    List<?> valuesToBeProcessed = agentAttributeSetResults.getPropertyValues(propertyName);
-                    List<?> newAccumulatedValues = accumulateAgentPropertyResults(attributeName, propertyName, accumulatedValues, valuesToBeProcessed);
-                    accumulatedAgentAttributeSetResultsDatabaseMap.get(attributeName).setPropertyColumn(propertyName, (List<Object>) newAccumulatedValues);
-                }
-
-                List<String> preEventNamesList = agentAttributeSetResults.getPreEventNamesList();
-                for (String preEventName : preEventNamesList) {
-                    List<?> accumulatedValues = accumulatedAgentAttributeSetResultsDatabaseMap.get(attributeName).getPreEventColumnAsList(preEventName);
-                    List<Boolean> valuesToBeProcessed = agentAttributeSetResults.getPreEventValues(preEventName);
-                    List<?> newAccumulatedValues = accumulateAgentPreEventResults(attributeName, preEventName, accumulatedValues, valuesToBeProcessed);
-                    accumulatedAgentAttributeSetResultsDatabaseMap.get(attributeName).setPreEventColumn(preEventName, (List<Object>) newAccumulatedValues);
-                }
-
-                List<String> postEventNamesList = agentAttributeSetResults.getPostEventNamesList();
-                for (String postEventName : postEventNamesList) {
-                    List<?> accumulatedValues= accumulatedAgentAttributeSetResultsDatabaseMap.get(attributeName).getPostEventColumnAsList(postEventName);
-                    List<Boolean> valuesToBeProcessed = agentAttributeSetResults.getPostEventValues(postEventName);
-                    List<?> newAccumulatedValues= accumulateAgentPostEventResults(attributeName, postEventName, accumulatedValues, valuesToBeProcessed);
-                    accumulatedAgentAttributeSetResultsDatabaseMap.get(attributeName).setPostEventColumn(postEventName, (List<Object>) newAccumulatedValues);
-                }
-            }
+        AgentResultsReduction.Partial accumulated = new AgentResultsReduction.Partial();
+        accumulated.accumulate(this, agentResults, agentResultsAggregation, 0,
+                agentResults.getAttributeSetCollectionSetCount(), accumulatedAgentAttributeSetResultsDatabaseMap);
+        accumulated.store(accumulatedAgentAttributeSetResultsDatabaseMap);
+
+        if (agentResultsAggregation != null)
+            storeAgentAggregates();
+    }
+
+    /**
+     * Stores the result of accumulating agent data in parallel, in place of {@link #accumulateAgentAttributeData()}.
+     * Waits for the reduction of every worker's agents to finish and combines them in worker order, so the
+     * result matches sequential accumulation for any associative combiner.
+     *
+     * @param reduction the reduction the workers' results were submitted to
+     */
+    public void accumulateAgentAttributeData(AgentResultsReduction reduction) {
+        if (isImmutable)
+            throw new IllegalStateException("Cannot modify Results: object is immutable.");
+
+        for (int i = 0; i < agentResults.getAttributeSetCollectionSetCount(); i++)
+            connectAccumulatedAgentDatabases(agentResults.getAttributeSetCollectionResults(i));
+
+        reduction.join().store(accumulatedAgentAttributeSetResultsDatabaseMap);
+
+        if (agentResultsAggregation != null)
+            storeAgentAggregates();
+    }
+
+    /** Creates the accumulated databases of an agent's attribute sets, unless they already exist */
+    private void connectAccumulatedAgentDatabases(AttributeSetCollectionResults agentAttributeSetCollectionResults) {
+        if (!accumulatedAgentAttributeSetResultsDatabaseList.isEmpty())
+            return;
+        for (int j = 0; j < agentAttributeSetCollectionResults.getAttributeSetCount(); j++) {
+            String attributeName = agentAttributeSetCollectionResults.getAttributeSetResults(j).getAttributeSetName();
+            AttributeSetResultsDatabase newDatabase = Objects.requireNonNull(AttributeSetResultsDatabaseFactory.createDatabase(), "AttributeSetResultsDatabaseFactory.createDatabase() returned null");
+            newDatabase.connect();
+            accumulatedAgentAttributeSetResultsDatabaseMap.put(attributeName, newDatabase);
+            accumulatedAgentAttributeSetResultsDatabaseList.add(newDatabase);
+        }
+        isAccumulatedAgentAttributeSetDataConnected = true;
+    }
+
+    /** @return the raw agent results, for reductions over them */
+    AgentResults getAgentResults() {
+        return agentResults;
+    }
+
+    /** Stores the finished per-tick values of every aggregated agent attribute as its accumulated results */
+    private void storeAgentAggregates() {
+        for (Map.Entry<String, AttributeSetResultsDatabase> entry : accumulatedAgentAttributeSetResultsDatabaseMap.entrySet()) {
+            String attributeName = entry.getKey();
+            AttributeSetResultsDatabase database = entry.getValue();
+            for (String propertyName : agentResultsAggregation.getPropertyNames(attributeName))
+                database.setPropertyColumn(propertyName, agentResultsAggregation.getPropertyValues(attributeName, propertyName));
+            for (String preEventName : agentResultsAggregation.getPreEventNames(attributeName))
+                database.setPreEventColumn(preEventName, agentResultsAggregation.getPreEventValues(attributeName, preEventName));
+            for (String postEventName : agentResultsAggregation.getPostEventNames(attributeName))
+                database.setPostEventColumn(postEventName, agentResultsAggregation.getPostEventValues(attributeName, postEventName));
         }
     }
 
@@ -345,6 +565,12 @@ public abstract class Results implements DeepCopyable<Results> {
         if (isImmutable)
             throw new IllegalStateException("Cannot modify Results: object is immutable.");
         agentResults.mergeWith(otherResults.agentResults);
+        if (otherResults.agentResultsAggregation != null) {
+            if (agentResultsAggregation == null)
+                agentResultsAggregation = otherResults.agentResultsAggregation;
+            else
+                agentResultsAggregation.combine(otherResults.agentResultsAggregation);
+        }
     }
 
     // === Abstract Methods ===
@@ -367,6 +593,61 @@ public abstract class Results implements DeepCopyable<Results> {
     protected abstract List<?> accumulateAgentPostEventResults(String attributeSetName, String postEventName,
                                                                List<?> accumulatedValues, List<Boolean> valuesToBeProcessed);
 
+    // === Optional Overridable Hooks for Parallel Accumulation ===
+
+    /**
+     * Whether agent data can be accumulated in parallel, which requires every combine method. By default this is
+     * whether the class overrides all three; subclasses that only combine some attributes should override it.
+     *
+     * @return true if accumulated property, pre-event and post-event values can be combined
+     */
+    public boolean canCombineAgentResults() {
+        return overridesCombiner("combineAgentPropertyResults")
+                && overridesCombiner("combineAgentPreEventResults")
+                && overridesCombiner("combineAgentPostEventResults");
+    }
+
+    private boolean overridesCombiner(String combinerName) {
+        for (Class<?> type = getClass(); type != Results.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod(combinerName, String.class, String.class, List.class, List.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // Not declared at this level; look further up
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Combines the accumulated property values of two runs of agents, the left run coming before the right.
+     * Must be overridden to accumulate agent data in parallel, and must be associative: accumulating agents in
+     * separate runs and combining the results must give the same values as accumulating them all in order.
+     *
+     * <p>When accumulating in parallel, the first agent of each run is accumulated onto {@code null}, and the
+     * accumulate methods may be called from several threads at once for different runs of agents.
+     */
+    protected List<?> combineAgentPropertyResults(String attributeSetName, String propertyName,
+                                                  List<?> leftAccumulatedValues, List<?> rightAccumulatedValues) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not combine accumulated property results, so cannot accumulate in parallel");
+    }
+
+    /**
+     * Combines the accumulated pre-event values of two runs of agents, as {@link #combineAgentPropertyResults}.
+     */
+    protected List<?> combineAgentPreEventResults(String attributeSetName, String preEventName,
+                                                  List<?> leftAccumulatedValues, List<?> rightAccumulatedValues) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not combine accumulated pre-event results, so cannot accumulate in parallel");
+    }
+
+    /**
+     * Combines the accumulated post-event values of two runs of agents, as {@link #combineAgentPropertyResults}.
+     */
+    protected List<?> combineAgentPostEventResults(String attributeSetName, String postEventName,
+                                                   List<?> leftAccumulatedValues, List<?> rightAccumulatedValues) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not combine accumulated post-event results, so cannot accumulate in parallel");
+    }
+
     // === Optional Overridable Hooks for Environment Post-Processing ===
 
     protected List<?> processEnvironmentPropertyResults(String attributeName, String propertyName, List<?> propertyValues) {
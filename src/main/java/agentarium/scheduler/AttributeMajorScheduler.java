@@ -0,0 +1,199 @@
+package agentarium.scheduler;
+
+import agentarium.agents.Agent;
+import agentarium.agents.AgentSet;
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.BatchDoubleProperty;
+import agentarium.attributes.BatchIntProperty;
+import agentarium.attributes.BatchLongProperty;
+import agentarium.attributes.Properties;
+import agentarium.attributes.Property;
+import agentarium.attributes.results.AttributeSetResults;
+
+import java.util.Arrays;
+
+/**
+ * A scheduler that executes the model attribute by attribute rather than agent by agent.
+ *
+ * <p>For each attribute set, the pre-events of every agent are run first, then each property is run across
+ * all agents before moving on to the next property, and finally the post-events of every agent are run.
+ * Properties extending {@link BatchDoubleProperty}, {@link BatchIntProperty} or {@link BatchLongProperty}
+ * are executed as a single kernel call over a primitive array holding the values of the whole partition, as long
+ * as every agent's property {@link BatchDoubleProperty#hasSameKernelAs has the same kernel};
+ * all other properties are run one agent at a time in the same attribute-major order, skipping those whose
+ * declared inputs are unchanged. Batch kernels always run for the whole partition.</p>
+ *
+ * <p>This ordering is only equivalent to {@link InOrderScheduler} when attribute logic does not depend on
+ * other agents' state within the same tick. Agents are expected to share the same attribute layout; if they
+ * do not, the tick falls back to running each agent in order. Agent subclasses that override
+ * {@link Agent#run()} are bypassed by this scheduler.</p>
+ */
+public class AttributeMajorScheduler implements ModelScheduler {
+
+    /** Per-thread gather buffers, since one scheduler instance is shared by all worker threads */
+    private final ThreadLocal<BatchBuffers> batchBuffers = ThreadLocal.withInitial(BatchBuffers::new);
+
+    /**
+     * Executes one tick for the given agents in attribute-major order.
+     *
+     * @param agentSet the set of agents to run for this tick
+     */
+    @Override
+    public void runTick(AgentSet agentSet) {
+        int agentCount = agentSet.size();
+        if (agentCount == 0)
+            return;
+
+        AttributeSetCollection template = agentSet.get(0).getAttributeSetCollection();
+        if (!hasUniformLayout(agentSet, template)) {
+            for (Agent agent : agentSet)
+                agent.run();
+            return;
+        }
+
+        BatchBuffers buffers = batchBuffers.get();
+        buffers.ensureCapacity(agentCount);
+        boolean isRecording = isRecording(agentSet.get(0));
+
+        for (int setIndex = 0; setIndex < template.size(); setIndex++) {
+            for (int i = 0; i < agentCount; i++)
+                attributeSetOf(agentSet.get(i), setIndex).runPreEvents(resultsOf(agentSet.get(i), setIndex), isRecording);
+
+            Properties templateProperties = template.get(setIndex).getProperties();
+            for (int propertyIndex = 0; propertyIndex < templateProperties.size(); propertyIndex++)
+                runProperty(agentSet, setIndex, propertyIndex, templateProperties.get(propertyIndex), buffers);
+
+            for (int i = 0; i < agentCount; i++) {
+                Agent agent = agentSet.get(i);
+                AttributeSet attributeSet = attributeSetOf(agent, setIndex);
+                AttributeSetResults attributeSetResults = resultsOf(agent, setIndex);
+                attributeSet.recordProperties(attributeSetResults, isRecording);
+                attributeSet.runPostEvents(attributeSetResults, isRecording);
+            }
+        }
+
+        buffers.clearProperties(agentCount);
+    }
+
+    /**
+     * Runs one property slot across all agents, as a batch when every agent holds a batch property of the same
+     * type and kernel.
+     */
+    private void runProperty(AgentSet agentSet, int setIndex, int propertyIndex, Property<?> templateProperty, BatchBuffers buffers) {
+        int agentCount = agentSet.size();
+        Property<?>[] properties = buffers.properties;
+        Class<?> propertyClass = templateProperty.getClass();
+        boolean isBatchable = templateProperty instanceof BatchDoubleProperty
+                || templateProperty instanceof BatchIntProperty
+                || templateProperty instanceof BatchLongProperty;
+
+        for (int i = 0; i < agentCount; i++) {
+            properties[i] = attributeSetOf(agentSet.get(i), setIndex).getProperties().get(propertyIndex);
+            if (properties[i].getClass() != propertyClass || isBatchable && !hasSameKernel(templateProperty, properties[i]))
+                isBatchable = false;
+        }
+
+        if (!isBatchable) {
+            for (int i = 0; i < agentCount; i++) {
+                if (!properties[i].areInputsUnchanged())
+                    properties[i].run();
+            }
+            return;
+        }
+
+        if (templateProperty instanceof BatchDoubleProperty)
+            runDoubleBatch((BatchDoubleProperty) templateProperty, properties, agentCount, buffers.doubles);
+        else if (templateProperty instanceof BatchIntProperty)
+            runIntBatch((BatchIntProperty) templateProperty, properties, agentCount, buffers.ints);
+        else
+            runLongBatch((BatchLongProperty) templateProperty, properties, agentCount, buffers.longs);
+    }
+
+    /** Whether two batch properties of the same class apply the same kernel */
+    private static boolean hasSameKernel(Property<?> templateProperty, Property<?> property) {
+        if (templateProperty instanceof BatchDoubleProperty)
+            return ((BatchDoubleProperty) templateProperty).hasSameKernelAs((BatchDoubleProperty) property);
+        if (templateProperty instanceof BatchIntProperty)
+            return ((BatchIntProperty) templateProperty).hasSameKernelAs((BatchIntProperty) property);
+        return ((BatchLongProperty) templateProperty).hasSameKernelAs((BatchLongProperty) property);
+    }
+
+    /** Gathers, transforms and scatters a batch of {@code double} values */
+    private static void runDoubleBatch(BatchDoubleProperty kernel, Property<?>[] properties, int length, double[] values) {
+        for (int i = 0; i < length; i++)
+            values[i] = ((BatchDoubleProperty) properties[i]).getDouble();
+        kernel.runBatch(values, length);
+        for (int i = 0; i < length; i++)
+            ((BatchDoubleProperty) properties[i]).setDouble(values[i]);
+    }
+
+    /** Gathers, transforms and scatters a batch of {@code int} values */
+    private static void runIntBatch(BatchIntProperty kernel, Property<?>[] properties, int length, int[] values) {
+        for (int i = 0; i < length; i++)
+            values[i] = ((BatchIntProperty) properties[i]).getInt();
+        kernel.runBatch(values, length);
+        for (int i = 0; i < length; i++)
+            ((BatchIntProperty) properties[i]).setInt(values[i]);
+    }
+
+    /** Gathers, transforms and scatters a batch of {@code long} values */
+    private static void runLongBatch(BatchLongProperty kernel, Property<?>[] properties, int length, long[] values) {
+        for (int i = 0; i < length; i++)
+            values[i] = ((BatchLongProperty) properties[i]).getLong();
+        kernel.runBatch(values, length);
+        for (int i = 0; i < length; i++)
+            ((BatchLongProperty) properties[i]).setLong(values[i]);
+    }
+
+    /** Checks that every agent has the same number of attribute sets and properties as the template */
+    private static boolean hasUniformLayout(AgentSet agentSet, AttributeSetCollection template) {
+        for (Agent agent : agentSet) {
+            AttributeSetCollection collection = agent.getAttributeSetCollection();
+            if (collection.size() != template.size())
+                return false;
+            for (int setIndex = 0; setIndex < template.size(); setIndex++) {
+                if (collection.get(setIndex).getProperties().size() != template.get(setIndex).getProperties().size())
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /** Decides once per tick whether results are recorded, since all agents of a worker share its clock */
+    private static boolean isRecording(Agent agent) {
+        if (agent.getModelElementAccessor() == null)
+            return true;
+        return !agent.getModelElementAccessor().getModelClock().isWarmingUp();
+    }
+
+    private static AttributeSet attributeSetOf(Agent agent, int setIndex) {
+        return agent.getAttributeSetCollection().get(setIndex);
+    }
+
+    private static AttributeSetResults resultsOf(Agent agent, int setIndex) {
+        return agent.getAttributeSetCollection().getResults().getAttributeSetResults(setIndex);
+    }
+
+    /** Reusable arrays for gathering property references and values */
+    private static final class BatchBuffers {
+        private Property<?>[] properties = new Property<?>[0];
+        private double[] doubles = new double[0];
+        private int[] ints = new int[0];
+        private long[] longs = new long[0];
+
+        private void ensureCapacity(int capacity) {
+            if (properties.length >= capacity)
+                return;
+            properties = new Property<?>[capacity];
+            doubles = new double[capacity];
+            ints = new int[capacity];
+            longs = new long[capacity];
+        }
+
+        /** Drops property references so that agents are not retained between ticks */
+        private void clearProperties(int length) {
+            Arrays.fill(properties, 0, length, null);
+        }
+    }
+}
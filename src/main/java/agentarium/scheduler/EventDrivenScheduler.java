@@ -0,0 +1,410 @@
+package agentarium.scheduler;
+
+import agentarium.ModelClock;
+import agentarium.ModelElementAccessor;
+import agentarium.agents.AgentSet;
+import agentarium.attributes.AttributeSetCollection;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A discrete-event scheduler that only runs agents which are awake.
+ *
+ * <p>Every agent starts awake and is run in agent-set order on each tick until it goes to sleep, either until a
+ * given tick ({@link agentarium.ModelElementAccessor#sleepUntil(int)}) or until another model element wakes it
+ * ({@link agentarium.ModelElementAccessor#sleep()} and {@link agentarium.ModelElementAccessor#wakeAgent(String)}).
+ * Timed wake-ups are kept in a priority queue per worker partition, so a tick costs time proportional to the
+ * number of agents that are awake rather than the number of agents in the model.</p>
+ *
+ * <p>While an agent sleeps its attribute sets are not run. To keep each agent's results aligned with the model's
+ * per-tick series, the ticks it slept through are recorded when it wakes, and at the end of the run, with its
+ * property values at that time and its events as not triggered.</p>
+ *
+ * <p>When processes are not synchronised and no agent in a partition is awake, the worker's clock jumps straight
+ * to the next timed wake-up (or to the end of the run). A wake-up requested from another worker after its
+ * clock has jumped past that point is applied at the worker's next tick, if any. Synchronised runs always
+ * step one tick at a time, since every worker and the coordinator must take part in each tick.</p>
+ *
+ * <p>Sleep and wake requests are queued and applied by the worker running the agent, and agents are addressed
+ * by name within the run of the requesting model element, so one scheduler can be shared by concurrent runs.
+ * Each agent's sleep state is saved in {@link agentarium.checkpoints.ModelCheckpoint}s, so an agent asleep at
+ * a checkpoint stays asleep in runs resumed from it.</p>
+ */
+public class EventDrivenScheduler implements ModelScheduler {
+
+    /** Wake tick used for agents sleeping until they are explicitly woken */
+    private static final int INDEFINITELY = Integer.MAX_VALUE;
+
+    /** Wake tick of a request to wake an agent */
+    private static final int NOW = Integer.MIN_VALUE;
+
+    /** Run of model elements without a request-response interface */
+    private static final Object NO_RUN = new Object();
+
+    /** Schedule for each worker's agent set, keyed by identity and released by {@link #completeRun(AgentSet)} */
+    private final Map<AgentSet, PartitionSchedule> partitions = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Schedule holding each agent by name, for each run keyed by identity, so that any thread of a run can
+     * address sleep and wake requests to its agents
+     */
+    private final Map<Object, Map<String, PartitionSchedule>> partitionsByRun = new IdentityHashMap<>();
+
+    /**
+     * Runs every awake agent for the current tick, after applying pending and due wake-ups.
+     *
+     * @param agentSet the set of agents to run for this tick
+     */
+    @Override
+    public void runTick(AgentSet agentSet) {
+        if (agentSet.size() == 0)
+            return;
+
+        ModelClock modelClock = agentSet.get(0).getModelElementAccessor().getModelClock();
+        partitionFor(agentSet).runTick(modelClock);
+    }
+
+    /**
+     * Returns the next tick at which an agent in the set is awake or due to wake.
+     *
+     * @param agentSet the set of agents executed by the calling worker
+     * @param currentTick the tick that has just been run
+     * @return the next tick with an awake agent, or {@link Integer#MAX_VALUE} if none will wake on its own
+     */
+    @Override
+    public int getNextActiveTick(AgentSet agentSet, int currentTick) {
+        if (agentSet.size() == 0)
+            return currentTick + 1;
+        return partitionFor(agentSet).getNextActiveTick(currentTick);
+    }
+
+    /**
+     * Records the ticks that sleeping agents missed up to the end of the run.
+     *
+     * @param agentSet the set of agents executed by the calling worker
+     */
+    @Override
+    public void completeRun(AgentSet agentSet) {
+        if (agentSet.size() == 0)
+            return;
+
+        ModelClock modelClock = agentSet.get(0).getModelElementAccessor().getModelClock();
+        PartitionSchedule partition = partitions.remove(agentSet);
+        if (partition == null)
+            return;
+
+        partition.backfillAll(modelClock);
+        synchronized (partitionsByRun) {
+            Map<String, PartitionSchedule> runPartitions = partitionsByRun.get(partition.runKey);
+            if (runPartitions == null)
+                return;
+            for (int i = 0; i < agentSet.size(); i++)
+                runPartitions.remove(agentSet.get(i).getName(), partition);
+            if (runPartitions.isEmpty())
+                partitionsByRun.remove(partition.runKey);
+        }
+    }
+
+    /**
+     * @return whether each agent of the set is awake, when each sleeping agent wakes, and the last tick recorded
+     *         for each agent
+     */
+    @Override
+    public byte[] saveState(AgentSet agentSet) {
+        if (agentSet.size() == 0)
+            return null;
+        return partitionFor(agentSet).saveState();
+    }
+
+    /**
+     * Restores the sleep state of each agent. Ticks before the clock's current tick are treated as recorded,
+     * since they belong to the run the checkpoint was taken from.
+     *
+     * @throws IllegalArgumentException if the state does not describe the agents of the set
+     */
+    @Override
+    public void restoreState(AgentSet agentSet, byte[] state) {
+        if (agentSet.size() == 0 || state == null)
+            return;
+        partitionFor(agentSet).restoreState(state);
+    }
+
+    /**
+     * Puts an agent to sleep until the given tick. The agent runs again on that tick.
+     *
+     * @param accessor the accessor of the model element making the request, which identifies its run
+     * @param agentName the name of the agent
+     * @param wakeTick the tick at which the agent wakes
+     */
+    public void sleepUntil(ModelElementAccessor accessor, String agentName, int wakeTick) {
+        PartitionSchedule partition = partitionOf(accessor, agentName);
+        if (partition != null)
+            partition.request(agentName, wakeTick);
+    }
+
+    /**
+     * Puts an agent to sleep until it is woken by {@link #wake(ModelElementAccessor, String)}.
+     *
+     * @param accessor the accessor of the model element making the request, which identifies its run
+     * @param agentName the name of the agent
+     */
+    public void sleep(ModelElementAccessor accessor, String agentName) {
+        sleepUntil(accessor, agentName, INDEFINITELY);
+    }
+
+    /**
+     * Wakes an agent so that it runs from the next tick processed by its worker. Safe to call from any thread.
+     *
+     * @param accessor the accessor of the model element making the request, which identifies its run
+     * @param agentName the name of the agent
+     */
+    public void wake(ModelElementAccessor accessor, String agentName) {
+        PartitionSchedule partition = partitionOf(accessor, agentName);
+        if (partition != null)
+            partition.request(agentName, NOW);
+    }
+
+    /**
+     * Checks whether an agent is currently awake, as of the requests applied by its worker so far.
+     *
+     * @param accessor the accessor of a model element of the agent's run
+     * @param agentName the name of the agent
+     * @return true if the agent is awake or not yet scheduled
+     */
+    public boolean isAwake(ModelElementAccessor accessor, String agentName) {
+        PartitionSchedule partition = partitionOf(accessor, agentName);
+        return partition == null || partition.isAwake(agentName);
+    }
+
+    /** Returns the schedule holding an agent in the run of the given accessor, or null if there is none */
+    private PartitionSchedule partitionOf(ModelElementAccessor accessor, String agentName) {
+        synchronized (partitionsByRun) {
+            Map<String, PartitionSchedule> runPartitions = partitionsByRun.get(runKey(accessor));
+            return runPartitions == null ? null : runPartitions.get(agentName);
+        }
+    }
+
+    /** Returns the schedule for an agent set, creating it on first use */
+    private PartitionSchedule partitionFor(AgentSet agentSet) {
+        ModelElementAccessor accessor = agentSet.get(0).getModelElementAccessor();
+        PartitionSchedule partition = partitions.get(agentSet);
+        if (partition == null) {
+            partition = new PartitionSchedule(agentSet, runKey(accessor));
+            partitions.put(agentSet, partition);
+        }
+        if (partition.hasNewAgents()) {
+            synchronized (partitionsByRun) {
+                partition.registerNewAgents(partitionsByRun.computeIfAbsent(partition.runKey, key -> new HashMap<>()),
+                        accessor.getModelClock().getTick());
+            }
+        }
+        return partition;
+    }
+
+    /** @return the object identifying the run of the given accessor */
+    private static Object runKey(ModelElementAccessor accessor) {
+        Object runKey = accessor.getRequestResponseController();
+        return runKey == null ? NO_RUN : runKey;
+    }
+
+    /** A request to put an agent to sleep until a tick, or to wake it */
+    private static final class ScheduleRequest {
+        private final String agentName;
+        private final int wakeTick;
+
+        private ScheduleRequest(String agentName, int wakeTick) {
+            this.agentName = agentName;
+            this.wakeTick = wakeTick;
+        }
+    }
+
+    /** Sleep and wake state for the agents of a single worker */
+    private static final class PartitionSchedule {
+
+        /** Bytes saved for each agent: whether it is awake, its wake tick and its last recorded tick */
+        private static final int AGENT_STATE_BYTES = 1 + 2 * Integer.BYTES;
+
+        private final AgentSet agentSet;
+
+        /** The run of the worker */
+        private final Object runKey;
+
+        /** Agents to run on the current tick */
+        private final BitSet awake = new BitSet();
+
+        /** Tick at which each sleeping agent wakes */
+        private int[] wakeTicks = new int[0];
+
+        /** Last tick recorded for each agent */
+        private int[] lastRecordedTicks = new int[0];
+
+        /** Index of each agent in the set, by name */
+        private final Map<String, Integer> agentIndexes = new ConcurrentHashMap<>();
+
+        /** Timed wake-ups, as {@code wakeTick << 32 | agentIndex}; stale entries are skipped when polled */
+        private final PriorityQueue<Long> timedWakeUps = new PriorityQueue<>();
+
+        /** Sleep and wake requests, possibly from other threads, applied by the worker in the order made */
+        private final Queue<ScheduleRequest> requests = new ConcurrentLinkedQueue<>();
+
+        private PartitionSchedule(AgentSet agentSet, Object runKey) {
+            this.agentSet = agentSet;
+            this.runKey = runKey;
+        }
+
+        private boolean hasNewAgents() {
+            return agentSet.size() != wakeTicks.length;
+        }
+
+        /**
+         * Extends the schedule to agents added to the set since the last tick. New agents are awake and have
+         * nothing to record before the given tick.
+         */
+        private void registerNewAgents(Map<String, PartitionSchedule> runPartitions, int tick) {
+            int registered = wakeTicks.length;
+            int size = agentSet.size();
+            wakeTicks = Arrays.copyOf(wakeTicks, size);
+            lastRecordedTicks = Arrays.copyOf(lastRecordedTicks, size);
+            for (int i = registered; i < size; i++) {
+                awake.set(i);
+                lastRecordedTicks[i] = tick - 1;
+                agentIndexes.put(agentSet.get(i).getName(), i);
+                runPartitions.put(agentSet.get(i).getName(), this);
+            }
+        }
+
+        private void runTick(ModelClock modelClock) {
+            int tick = modelClock.getTick();
+
+            applyRequests();
+            while (!timedWakeUps.isEmpty() && (int) (timedWakeUps.peek() >>> 32) <= tick) {
+                long entry = timedWakeUps.poll();
+                int index = (int) entry;
+                if (wakeTicks[index] == (int) (entry >>> 32))
+                    wakeAgent(index);
+            }
+
+            for (int i = awake.nextSetBit(0); i >= 0; i = awake.nextSetBit(i + 1)) {
+                backfill(i, tick, modelClock);
+                agentSet.get(i).run();
+                lastRecordedTicks[i] = tick;
+            }
+        }
+
+        private int getNextActiveTick(int currentTick) {
+            applyRequests();
+            if (!awake.isEmpty())
+                return currentTick + 1;
+            if (timedWakeUps.isEmpty())
+                return INDEFINITELY;
+            return Math.max((int) (timedWakeUps.peek() >>> 32), currentTick + 1);
+        }
+
+        private void request(String agentName, int wakeTick) {
+            requests.add(new ScheduleRequest(agentName, wakeTick));
+        }
+
+        /** Applies the queued requests; called only by the worker running the agent set */
+        private void applyRequests() {
+            ScheduleRequest request;
+            while ((request = requests.poll()) != null) {
+                int index = indexOf(request.agentName);
+                if (request.wakeTick == NOW)
+                    wakeAgent(index);
+                else
+                    sleepAgent(index, request.wakeTick);
+            }
+        }
+
+        private boolean isAwake(String agentName) {
+            return awake.get(indexOf(agentName));
+        }
+
+        private void sleepAgent(int index, int wakeTick) {
+            awake.clear(index);
+            wakeTicks[index] = wakeTick;
+            if (wakeTick != INDEFINITELY)
+                timedWakeUps.add(((long) wakeTick << 32) | index);
+        }
+
+        private void wakeAgent(int index) {
+            awake.set(index);
+            wakeTicks[index] = 0;
+        }
+
+        private byte[] saveState() {
+            applyRequests();
+            ByteBuffer state = ByteBuffer.allocate(Integer.BYTES + wakeTicks.length * AGENT_STATE_BYTES);
+            state.putInt(wakeTicks.length);
+            for (int i = 0; i < wakeTicks.length; i++) {
+                state.put((byte) (awake.get(i) ? 1 : 0));
+                state.putInt(wakeTicks[i]);
+                state.putInt(lastRecordedTicks[i]);
+            }
+            return state.array();
+        }
+
+        private void restoreState(byte[] state) {
+            ByteBuffer buffer = ByteBuffer.wrap(state);
+            try {
+                int agentCount = buffer.getInt();
+                if (agentCount != wakeTicks.length || buffer.remaining() != agentCount * AGENT_STATE_BYTES)
+                    throw new IllegalArgumentException("Event-driven scheduler state of " + state.length
+                            + " bytes does not describe " + wakeTicks.length + " agents");
+                timedWakeUps.clear();
+                for (int i = 0; i < agentCount; i++) {
+                    boolean isAwake = buffer.get() != 0;
+                    int wakeTick = buffer.getInt();
+                    lastRecordedTicks[i] = Math.max(lastRecordedTicks[i], buffer.getInt());
+                    if (isAwake)
+                        wakeAgent(i);
+                    else
+                        sleepAgent(i, wakeTick);
+                }
+            } catch (BufferUnderflowException e) {
+                throw new IllegalArgumentException("Invalid event-driven scheduler state of " + state.length + " bytes", e);
+            }
+        }
+
+        /** Records every tick an agent missed before the given tick */
+        private void backfill(int index, int tick, ModelClock modelClock) {
+            int firstMissedTick = lastRecordedTicks[index] + 1;
+            if (firstMissedTick >= tick)
+                return;
+
+            AttributeSetCollection collection = agentSet.get(index).getAttributeSetCollection();
+            for (int missedTick = firstMissedTick; missedTick < tick; missedTick++) {
+                if (modelClock.isWarmUpTick(missedTick))
+                    continue;
+                for (int setIndex = 0; setIndex < collection.size(); setIndex++)
+                    collection.get(setIndex).recordIdleTick(collection.getResults().getAttributeSetResults(setIndex), missedTick);
+            }
+            lastRecordedTicks[index] = tick - 1;
+        }
+
+        /** Records the missed ticks of every agent up to the clock's final tick */
+        private void backfillAll(ModelClock modelClock) {
+            int endTick = modelClock.getTick();
+            for (int i = 0; i < wakeTicks.length; i++)
+                backfill(i, endTick, modelClock);
+        }
+
+        private int indexOf(String agentName) {
+            Integer index = agentIndexes.get(agentName);
+            if (index == null)
+                throw new IllegalArgumentException("Agent " + agentName + " is not scheduled in this partition");
+            return index;
+        }
+    }
+}
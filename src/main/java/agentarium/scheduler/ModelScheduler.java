@@ -18,4 +18,54 @@ public interface ModelScheduler {
      * @param agentSet the set of agents to execute for this tick
      */
     void runTick(AgentSet agentSet);
+
+    /**
+     * Returns the next tick at which this scheduler has work to do for the given agents.
+     *
+     * <p>When processes are not synchronised, worker threads advance their clock straight to this tick,
+     * skipping any ticks in between. The default is the tick after the current one.
+     *
+     * @param agentSet the set of agents executed by the calling worker
+     * @param currentTick the tick that has just been run
+     * @return the next tick to run
+     */
+    default int getNextActiveTick(AgentSet agentSet, int currentTick) {
+        return currentTick + 1;
+    }
+
+    /**
+     * Called once by each worker after its final tick, before results are collected.
+     *
+     * <p>The default implementation does nothing.
+     *
+     * @param agentSet the set of agents executed by the calling worker
+     */
+    default void completeRun(AgentSet agentSet) {
+        // Default implementation: No operation
+    }
+
+    /**
+     * Captures the scheduler's state for the given agents, such as the state of a random number stream, so that
+     * it can be saved in a {@link agentarium.checkpoints.ModelCheckpoint}.
+     *
+     * <p>The default implementation has no state and returns {@code null}.
+     *
+     * @param agentSet the set of agents executed by the calling worker
+     * @return the state, or {@code null} if there is none
+     */
+    default byte[] saveState(AgentSet agentSet) {
+        return null;
+    }
+
+    /**
+     * Restores state captured by {@link #saveState(AgentSet)} before a run resumes from a checkpoint.
+     *
+     * <p>The default implementation does nothing.
+     *
+     * @param agentSet the set of agents executed by the calling worker
+     * @param state the saved state
+     */
+    default void restoreState(AgentSet agentSet, byte[] state) {
+        // Default implementation: No operation
+    }
 }
@@ -3,7 +3,11 @@ package agentarium.scheduler;
 import agentarium.agents.Agent;
 import agentarium.agents.AgentSet;
 
+import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
 
 /**
  * A scheduler that executes agents in a randomised order for each tick.
@@ -11,9 +15,36 @@ import java.util.Iterator;
  * This scheduling strategy helps reduce bias introduced by fixed execution
  * orders and may more closely reflect stochastic processes in real-world systems.
  * </p>
+ * <p>
+ * When created with a seed, each worker's agents are shuffled by their own random stream, derived from the seed
+ * and the name of the worker's first agent, so that runs with the same agents are repeatable. The streams are
+ * saved in {@link agentarium.checkpoints.ModelCheckpoint}s, so a resumed run shuffles agents as the original did.
+ * </p>
  */
 public class RandomOrderScheduler implements ModelScheduler {
 
+    /** The seed of the random streams, or null to shuffle with unseeded randomness */
+    private final Long seed;
+
+    /** The random stream of each worker's agent set, created on first use and released by {@link #completeRun(AgentSet)} */
+    private final Map<AgentSet, SeededStream> streams = new IdentityHashMap<>();
+
+    /**
+     * Creates a scheduler that shuffles agents with unseeded randomness.
+     */
+    public RandomOrderScheduler() {
+        this.seed = null;
+    }
+
+    /**
+     * Creates a scheduler whose random order is determined by a seed.
+     *
+     * @param seed the seed of the random streams
+     */
+    public RandomOrderScheduler(long seed) {
+        this.seed = seed;
+    }
+
     /**
      * Executes each agent's {@code run()} method in a randomised order.
      *
@@ -21,8 +52,83 @@ public class RandomOrderScheduler implements ModelScheduler {
      */
     @Override
     public void runTick(AgentSet agentSet) {
-        Iterator<Agent> randomIterator = agentSet.getRandomIterator();
+        Iterator<Agent> randomIterator = seed == null
+                ? agentSet.getRandomIterator()
+                : agentSet.getRandomIterator(getStream(agentSet));
         while (randomIterator.hasNext())
             randomIterator.next().run();
     }
+
+    /**
+     * Releases the random stream of the agent set, whose run has finished.
+     *
+     * @param agentSet the set of agents executed by the calling worker
+     */
+    @Override
+    public void completeRun(AgentSet agentSet) {
+        synchronized (streams) {
+            streams.remove(agentSet);
+        }
+    }
+
+    /**
+     * @return the state of the agent set's random stream, or {@code null} if this scheduler is unseeded
+     */
+    @Override
+    public byte[] saveState(AgentSet agentSet) {
+        if (seed == null)
+            return null;
+        return ByteBuffer.allocate(Long.BYTES).putLong(getStream(agentSet).state).array();
+    }
+
+    @Override
+    public void restoreState(AgentSet agentSet, byte[] state) {
+        if (seed == null || state == null)
+            return;
+        if (state.length != Long.BYTES)
+            throw new IllegalArgumentException("Invalid random order scheduler state of " + state.length + " bytes");
+        getStream(agentSet).state = ByteBuffer.wrap(state).getLong();
+    }
+
+    private SeededStream getStream(AgentSet agentSet) {
+        synchronized (streams) {
+            SeededStream stream = streams.get(agentSet);
+            if (stream == null) {
+                long streamSeed = seed;
+                if (agentSet.size() > 0)
+                    streamSeed = SeededStream.mix(streamSeed ^ agentSet.get(0).getName().hashCode());
+                stream = new SeededStream(streamSeed);
+                streams.put(agentSet, stream);
+            }
+            return stream;
+        }
+    }
+
+    /**
+     * A SplitMix64 random stream, whose whole state is one {@code long} that can be saved and restored. Each
+     * stream is used only by the worker that owns its agent set.
+     */
+    private static final class SeededStream extends Random {
+        private static final long serialVersionUID = 1L;
+
+        private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+        private long state;
+
+        private SeededStream(long seed) {
+            this.state = seed;
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        @Override
+        protected int next(int bits) {
+            state += GOLDEN_GAMMA;
+            return (int) (mix(state) >>> (64 - bits));
+        }
+    }
 }
@@ -7,9 +7,17 @@ import java.io.*;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.IdentityHashMap;
 
 /**
- * Utility class providing methods to perform deep copies of objects using either:
+ * Utility class providing methods to perform deep copies of objects.
+ *
+ * <p>Objects are copied in memory by per-class {@link DeepCopyPlan}s, built once from {@link java.lang.invoke.MethodHandle}s
+ * and cached: immutable values are shared, arrays and common collections are copied directly, and other objects
+ * are copied field by field. Shared references and cycles are preserved.
+ *
+ * <p>Objects no plan can copy, such as non-serializable classes without a no-argument constructor or serializable
+ * classes that customise their serialised form, are copied as before using either:
  * <ul>
  *     <li>Java Serialization (forced for Attribute trees and preferred for Serializable objects)</li>
  *     <li>Gson-based JSON serialisation (fallback for non-Attribute, non-Serializable types)</li>
@@ -32,19 +40,34 @@ public final class DeepCopier {
     /**
      * Creates a deep copy of the given object.
      * <p>
-     * Uses Java serialization for Attribute subclasses or Serializable objects.
-     * Falls back to Gson if neither applies.
+     * Uses the object's copy plan where it has one. Otherwise uses Java serialization for Attribute subclasses
+     * or Serializable objects, and falls back to Gson if neither applies.
      *
      * @param original the object to be copied
      * @param clazz    the class of the object (used only for Gson fallback)
      * @param <T>      the type of the object
      * @return a deep copy of the original object
      */
-    @SuppressWarnings("unchecked")
     public static <T> T deepCopy(T original, Class<T> clazz) {
         if (original == null)
             return null;
 
+        if (!DeepCopyPlan.of(original.getClass()).isFallback())
+            return copyWithPlans(original);
+
+        return copyAsBefore(original, clazz);
+    }
+
+    /**
+     * Creates a deep copy of the given object without a copy plan, as {@link #deepCopy(Object, Class)} always did.
+     *
+     * @param original the object to be copied
+     * @param clazz    the class of the object (used only for Gson fallback)
+     * @param <T>      the type of the object
+     * @return a deep copy of the original object
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copyAsBefore(T original, Class<T> clazz) {
         if (original instanceof Attribute || original instanceof Serializable) {
             try {
                 return (T) deepCopyViaSerialization((Serializable) original);
@@ -68,7 +91,9 @@ public final class DeepCopier {
 
     /**
      * Creates a deep copy of the given object using a specified {@link Type}.
-     * Always uses Gson (no Attribute handling).
+     * <p>
+     * Uses the object's copy plan where it has one, and otherwise the same fallbacks as
+     * {@link #deepCopy(Object, Class)}, giving Gson the specified type.
      *
      * @param original the object to be copied
      * @param typeOfT  the specific type information of the object
@@ -78,6 +103,9 @@ public final class DeepCopier {
     public static <T> T deepCopy(T original, Type typeOfT) {
         if (original == null) return null;
 
+        if (!DeepCopyPlan.of(original.getClass()).isFallback())
+            return copyWithPlans(original);
+
         // 1) Prefer Java serialization for Attribute or Serializable (like the Class<T> overload)
         if (original instanceof Attribute || original instanceof Serializable) {
             try {
@@ -117,6 +145,24 @@ public final class DeepCopier {
         return gson.fromJson(gson.toJsonTree(original), typeOfT);
     }
 
+    /**
+     * Copies an object graph with copy plans, tracking copies by identity for the whole call.
+     *
+     * @param original the object to be copied
+     * @param <T>      the type of the object
+     * @return a deep copy of the original object
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T copyWithPlans(T original) {
+        try {
+            return (T) DeepCopyPlan.copy(original, new IdentityHashMap<>());
+        } catch (Error | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to deep copy " + original.getClass().getName(), e);
+        }
+    }
+
     private static ParameterizedType parameterizedType(final Type raw, final Type... typeArgs) {
         return new ParameterizedType() {
             @Override public Type[] getActualTypeArguments() { return typeArgs.clone(); }
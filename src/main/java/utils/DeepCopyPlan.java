@@ -0,0 +1,585 @@
+package utils;
+
+import java.io.Externalizable;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * A per-class recipe for deep copying an object, resolved once and cached for the lifetime of the class.
+ *
+ * <p>Plans are chosen by the runtime class of an object:
+ * <ul>
+ *     <li>Immutable values are shared rather than copied: strings, boxed primitives, big numbers, enums,
+ *     classes, {@code java.time} values, lambdas, empty JDK collections, and records whose components are
+ *     all immutable.</li>
+ *     <li>Primitive arrays are cloned. Object arrays are cloned and their elements copied, unless the
+ *     component type is immutable.</li>
+ *     <li>The common JDK collections and maps are rebuilt as the same class, keeping the comparator of sorted
+ *     ones, with their elements copied. Immutable lists, sets and maps are rebuilt immutable.</li>
+ *     <li>Other records are rebuilt through their canonical constructor from copies of their components, and
+ *     are shared if every component turns out to be shared.</li>
+ *     <li>Other classes are created the way the previous round trip created them, then their fields are copied
+ *     through {@link MethodHandle}s. A {@link Serializable} class is created as serialisation does, running
+ *     only the no-argument constructor of its first non-serializable superclass, and every non-static field
+ *     of its serializable classes is copied. Any other class is created with its no-argument constructor, as
+ *     Gson did, and every non-static, non-transient field of the class and its superclasses is copied. Fields
+ *     whose declared type is immutable are assigned without further lookups.</li>
+ * </ul>
+ *
+ * <p>Objects no plan can copy are copied the way {@link DeepCopier} always did: with Java serialisation if
+ * they are {@link Serializable}, and through JSON otherwise. These are other JDK classes, subclasses of JDK
+ * collections, classes that cannot be created as above, and serializable classes that customise their
+ * serialised form with transient fields, {@code serialPersistentFields}, {@link Externalizable} or the
+ * {@code writeObject}, {@code readObject}, {@code readObjectNoData}, {@code writeReplace} and
+ * {@code readResolve} methods. Non-serialisable JDK objects, such as threads, are shared.
+ *
+ * <p>Copies made in one call are tracked by identity, so shared references and cycles in the original are
+ * shared and cyclic in the copy.
+ */
+final class DeepCopyPlan {
+
+    /** Copy plans keyed by concrete class */
+    private static final ClassValue<DeepCopyPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected DeepCopyPlan computeValue(Class<?> type) {
+            return new DeepCopyPlan(type);
+        }
+    };
+
+    /** Marks an object whose copy cannot be referenced until it is complete, to detect cycles through it */
+    private static final Object IN_PROGRESS = new Object();
+
+    /** Final classes whose instances never change */
+    private static final Set<Class<?>> IMMUTABLE_CLASSES = Set.of(
+            String.class, Boolean.class, Byte.class, Short.class, Character.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class, UUID.class, Class.class
+    );
+
+    /** Creates an empty collection or map of the same class as another, with the same comparator if sorted */
+    private static final Map<Class<?>, Function<Object, Object>> EMPTY_CONTAINERS = Map.ofEntries(
+            Map.entry(ArrayList.class, source -> new ArrayList<>(((Collection<?>) source).size())),
+            Map.entry(LinkedList.class, source -> new LinkedList<>()),
+            Map.entry(ArrayDeque.class, source -> new ArrayDeque<>(((Collection<?>) source).size())),
+            Map.entry(Vector.class, source -> new Vector<>(Math.max(1, ((Collection<?>) source).size()))),
+            Map.entry(HashSet.class, source -> new HashSet<>(capacityFor(((Collection<?>) source).size()))),
+            Map.entry(LinkedHashSet.class, source -> new LinkedHashSet<>(capacityFor(((Collection<?>) source).size()))),
+            Map.entry(TreeSet.class, source -> new TreeSet<>(((TreeSet<?>) source).comparator())),
+            Map.entry(PriorityQueue.class, source -> new PriorityQueue<>(((PriorityQueue<?>) source).comparator())),
+            Map.entry(ConcurrentLinkedQueue.class, source -> new ConcurrentLinkedQueue<>()),
+            Map.entry(ConcurrentLinkedDeque.class, source -> new ConcurrentLinkedDeque<>()),
+            Map.entry(ConcurrentSkipListSet.class, source -> new ConcurrentSkipListSet<>(((ConcurrentSkipListSet<?>) source).comparator())),
+            Map.entry(HashMap.class, source -> new HashMap<>(capacityFor(((Map<?, ?>) source).size()))),
+            Map.entry(LinkedHashMap.class, source -> new LinkedHashMap<>(capacityFor(((Map<?, ?>) source).size()))),
+            Map.entry(IdentityHashMap.class, source -> new IdentityHashMap<>(((Map<?, ?>) source).size())),
+            Map.entry(Hashtable.class, source -> new Hashtable<>(capacityFor(((Map<?, ?>) source).size()))),
+            Map.entry(ConcurrentHashMap.class, source -> new ConcurrentHashMap<>(((Map<?, ?>) source).size())),
+            Map.entry(TreeMap.class, source -> new TreeMap<>(((TreeMap<?, ?>) source).comparator())),
+            Map.entry(ConcurrentSkipListMap.class, source -> new ConcurrentSkipListMap<>(((ConcurrentSkipListMap<?, ?>) source).comparator()))
+    );
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    /**
+     * {@code sun.reflect.ReflectionFactory.newConstructorForSerialization(Class)} bound to the factory, looked up
+     * reflectively since it is not a standard API, or null if the JDK does not provide it
+     */
+    private static final MethodHandle SERIALIZATION_CONSTRUCTORS = serializationConstructors();
+
+    // === Kinds of plan ===
+    private static final int SHARED = 0;
+    private static final int PRIMITIVE_ARRAY = 1;
+    private static final int OBJECT_ARRAY = 2;
+    private static final int COLLECTION = 3;
+    private static final int MAP = 4;
+    private static final int IMMUTABLE_LIST = 5;
+    private static final int IMMUTABLE_SET = 6;
+    private static final int IMMUTABLE_MAP = 7;
+    private static final int ARRAY_LIST_VIEW = 8;
+    private static final int ENUM_SET = 9;
+    private static final int ENUM_MAP = 10;
+    private static final int RECORD = 11;
+    private static final int OBJECT = 12;
+    private static final int FALLBACK = 13;
+
+    // === Kinds of field, for fields copied by an OBJECT plan ===
+    private static final int REFERENCE = 0;
+    private static final int SHARED_REFERENCE = 1;
+    private static final int BOOLEAN = 2;
+    private static final int BYTE = 3;
+    private static final int CHAR = 4;
+    private static final int SHORT = 5;
+    private static final int INT = 6;
+    private static final int LONG = 7;
+    private static final int FLOAT = 8;
+    private static final int DOUBLE = 9;
+
+    /** The kind of plan */
+    private final int kind;
+
+    /** Whether the elements of an object array are immutable, so cloning the array is enough */
+    private final boolean areElementsShared;
+
+    /** Creates an empty container for a COLLECTION or MAP plan */
+    private final Function<Object, Object> emptyContainer;
+
+    /** Handle for {@code new T()} of an OBJECT plan, or for the canonical constructor of a RECORD plan */
+    private final MethodHandle constructor;
+
+    /** The kind of each copied field of an OBJECT plan, or of each component of a RECORD plan */
+    private final int[] fieldKinds;
+
+    /** Field getters of an OBJECT plan or component accessors of a RECORD plan, paired by index */
+    private final MethodHandle[] fieldGetters;
+
+    /** Field setters of an OBJECT plan, paired by index with {@link #fieldGetters} */
+    private final MethodHandle[] fieldSetters;
+
+    /**
+     * Returns the cached copy plan for a class, building it on first use.
+     *
+     * @param type the concrete class
+     * @return the copy plan for the class
+     */
+    static DeepCopyPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /** @return whether objects of the plan's class are copied by the previous serialisation or JSON round trip */
+    boolean isFallback() {
+        return kind == FALLBACK;
+    }
+
+    /**
+     * Deep copies an object, reusing the copies already made in the same call.
+     *
+     * @param source the object to copy, possibly null
+     * @param copies the copy of each object copied so far in this call, by identity
+     * @return the copy
+     * @throws Throwable if a constructor or field access fails
+     */
+    static Object copy(Object source, Map<Object, Object> copies) throws Throwable {
+        if (source == null)
+            return null;
+        DeepCopyPlan plan = PLANS.get(source.getClass());
+        if (plan.kind == SHARED)
+            return source;
+        Object copy = copies.get(source);
+        if (copy == IN_PROGRESS)
+            throw new IllegalStateException("Cannot copy a cycle through immutable " + source.getClass().getName());
+        if (copy != null)
+            return copy;
+        return plan.copyNew(source, copies);
+    }
+
+    // === Plans ===
+
+    private DeepCopyPlan(Class<?> type) {
+        int resolvedKind = FALLBACK;
+        boolean resolvedElementsShared = false;
+        MethodHandle resolvedConstructor = null;
+        List<Integer> kinds = new ArrayList<>();
+        List<MethodHandle> getters = new ArrayList<>();
+        List<MethodHandle> setters = new ArrayList<>();
+
+        if (isImmutable(type, new HashSet<>())) {
+            resolvedKind = SHARED;
+        } else if (type.isArray()) {
+            resolvedKind = type.getComponentType().isPrimitive() ? PRIMITIVE_ARRAY : OBJECT_ARRAY;
+            resolvedElementsShared = isImmutable(type.getComponentType(), new HashSet<>());
+        } else if (EMPTY_CONTAINERS.containsKey(type)) {
+            resolvedKind = Map.class.isAssignableFrom(type) ? MAP : COLLECTION;
+        } else if (type.getName().startsWith("java.util.ImmutableCollections$")) {
+            if (List.class.isAssignableFrom(type))
+                resolvedKind = IMMUTABLE_LIST;
+            else if (Set.class.isAssignableFrom(type))
+                resolvedKind = IMMUTABLE_SET;
+            else if (Map.class.isAssignableFrom(type))
+                resolvedKind = IMMUTABLE_MAP;
+        } else if (type.getName().equals("java.util.Arrays$ArrayList")) {
+            resolvedKind = ARRAY_LIST_VIEW;
+        } else if (EnumSet.class.isAssignableFrom(type)) {
+            resolvedKind = ENUM_SET;
+        } else if (type == EnumMap.class) {
+            resolvedKind = ENUM_MAP;
+        } else if (isReflectable(type) || type == Object.class) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                if (type.isRecord()) {
+                    RecordComponent[] components = type.getRecordComponents();
+                    Class<?>[] componentTypes = new Class<?>[components.length];
+                    for (int i = 0; i < components.length; i++) {
+                        componentTypes[i] = components[i].getType();
+                        components[i].getAccessor().setAccessible(true);
+                        kinds.add(fieldKindOf(componentTypes[i]));
+                        getters.add(lookup.unreflect(components[i].getAccessor())
+                                .asType(MethodType.methodType(Object.class, Object.class)));
+                    }
+                    Constructor<?> canonical = type.getDeclaredConstructor(componentTypes);
+                    canonical.setAccessible(true);
+                    resolvedConstructor = lookup.unreflectConstructor(canonical)
+                            .asSpreader(Object[].class, components.length)
+                            .asType(MethodType.methodType(Object.class, Object[].class));
+                    resolvedKind = RECORD;
+                } else if (!Modifier.isAbstract(type.getModifiers()) && !hasCustomSerialization(type)) {
+                    boolean isSerializable = Serializable.class.isAssignableFrom(type);
+                    if (isSerializable) {
+                        resolvedConstructor = serializationConstructor(type, lookup);
+                    } else {
+                        Constructor<?> ctor = type.getDeclaredConstructor();
+                        ctor.setAccessible(true);
+                        resolvedConstructor = lookup.unreflectConstructor(ctor).asType(CONSTRUCTOR_TYPE);
+                    }
+                    // Serialisation leaves the fields of non-serializable superclasses to their constructor
+                    for (Class<?> current = type;
+                         current != Object.class && (!isSerializable || Serializable.class.isAssignableFrom(current));
+                         current = current.getSuperclass()) {
+                        for (Field field : current.getDeclaredFields()) {
+                            int modifiers = field.getModifiers();
+                            if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))
+                                continue;
+                            field.setAccessible(true);
+                            int fieldKind = fieldKindOf(field.getType());
+                            Class<?> handleType = field.getType().isPrimitive() ? field.getType() : Object.class;
+                            kinds.add(fieldKind);
+                            getters.add(lookup.unreflectGetter(field)
+                                    .asType(MethodType.methodType(handleType, Object.class)));
+                            setters.add(lookup.unreflectSetter(field)
+                                    .asType(MethodType.methodType(void.class, Object.class, handleType)));
+                        }
+                    }
+                    resolvedKind = OBJECT;
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // No way to create the object or a field that cannot be accessed: copy as before
+                resolvedKind = FALLBACK;
+                resolvedConstructor = null;
+                kinds.clear();
+                getters.clear();
+                setters.clear();
+            }
+        } else if (!Serializable.class.isAssignableFrom(type)) {
+            // A JDK object that can be neither reflected on nor serialised, such as a thread
+            resolvedKind = SHARED;
+        }
+
+        this.kind = resolvedKind;
+        this.areElementsShared = resolvedElementsShared;
+        this.emptyContainer = EMPTY_CONTAINERS.get(type);
+        this.constructor = resolvedConstructor;
+        this.fieldKinds = kinds.stream().mapToInt(Integer::intValue).toArray();
+        this.fieldGetters = getters.toArray(new MethodHandle[0]);
+        this.fieldSetters = setters.toArray(new MethodHandle[0]);
+    }
+
+    /**
+     * @param type a class
+     * @param visiting the records whose immutability is being decided, to stop at records that contain themselves
+     * @return whether every instance of the class is immutable, so that instances can be shared
+     */
+    private static boolean isImmutable(Class<?> type, Set<Class<?>> visiting) {
+        if (type.isPrimitive() || IMMUTABLE_CLASSES.contains(type) || Enum.class.isAssignableFrom(type) || type.isHidden())
+            return true;
+        if (type.getName().startsWith("java.util.Collections$Empty"))
+            return true;
+        if (type.getPackageName().equals("java.time") && Modifier.isFinal(type.getModifiers()))
+            return true;
+        if (!type.isRecord() || !Modifier.isFinal(type.getModifiers()))
+            return false;
+        if (!visiting.add(type))
+            return true;
+        for (RecordComponent component : type.getRecordComponents()) {
+            Class<?> componentType = component.getType();
+            boolean isFinalType = componentType.isPrimitive() || Modifier.isFinal(componentType.getModifiers());
+            if (!isFinalType || componentType.isArray() || !isImmutable(componentType, visiting))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param type a class
+     * @return whether the class is serializable and customises its serialised form, so that only serialisation
+     *         copies it as before
+     */
+    private static boolean hasCustomSerialization(Class<?> type) {
+        if (!Serializable.class.isAssignableFrom(type))
+            return false;
+        if (Externalizable.class.isAssignableFrom(type))
+            return true;
+        for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+            if (declaresMethod(current, "writeReplace") || declaresMethod(current, "readResolve"))
+                return true;
+            if (!Serializable.class.isAssignableFrom(current))
+                continue;
+            if (declaresMethod(current, "writeObject", ObjectOutputStream.class)
+                    || declaresMethod(current, "readObject", ObjectInputStream.class)
+                    || declaresMethod(current, "readObjectNoData"))
+                return true;
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) ? field.getName().equals("serialPersistentFields") : Modifier.isTransient(modifiers))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean declaresMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            type.getDeclaredMethod(name, parameterTypes);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle serializationConstructors() {
+        try {
+            Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+            Object factory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+            Method newConstructor = factoryClass.getMethod("newConstructorForSerialization", Class.class);
+            return MethodHandles.publicLookup().unreflect(newConstructor).bindTo(factory);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param type a serializable class
+     * @param lookup the lookup to create the handle with
+     * @return a handle for creating an instance of the class as serialisation does, without running the
+     *         constructors of its serializable classes
+     * @throws ReflectiveOperationException if its first non-serializable superclass has no accessible
+     *         no-argument constructor, or the JDK does not provide serialisation constructors
+     */
+    private static MethodHandle serializationConstructor(Class<?> type, MethodHandles.Lookup lookup)
+            throws ReflectiveOperationException {
+        Constructor<?> constructor;
+        try {
+            constructor = SERIALIZATION_CONSTRUCTORS == null ? null : (Constructor<?>) SERIALIZATION_CONSTRUCTORS.invoke(type);
+        } catch (Error | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new NoSuchMethodException("No serialisation constructor for " + type.getName());
+        }
+        if (constructor == null)
+            throw new NoSuchMethodException("No serialisation constructor for " + type.getName());
+
+        MethodHandle newInstance = lookup.findVirtual(Constructor.class, "newInstance",
+                MethodType.methodType(Object.class, Object[].class));
+        return MethodHandles.insertArguments(newInstance.bindTo(constructor), 0, (Object) new Object[0])
+                .asType(CONSTRUCTOR_TYPE);
+    }
+
+    /** @return whether the fields of a class can be made accessible to this class */
+    private static boolean isReflectable(Class<?> type) {
+        Module module = type.getModule();
+        return !type.isHidden() && (!module.isNamed() || module.isOpen(type.getPackageName(), DeepCopyPlan.class.getModule()));
+    }
+
+    private static int fieldKindOf(Class<?> type) {
+        if (type == boolean.class)
+            return BOOLEAN;
+        if (type == byte.class)
+            return BYTE;
+        if (type == char.class)
+            return CHAR;
+        if (type == short.class)
+            return SHORT;
+        if (type == int.class)
+            return INT;
+        if (type == long.class)
+            return LONG;
+        if (type == float.class)
+            return FLOAT;
+        if (type == double.class)
+            return DOUBLE;
+        if (Modifier.isFinal(type.getModifiers()) && !type.isArray() && isImmutable(type, new HashSet<>()))
+            return SHARED_REFERENCE;
+        return REFERENCE;
+    }
+
+    /** @return the initial capacity of a hash table holding a number of entries without resizing */
+    private static int capacityFor(int size) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(size / 0.75) + 1);
+    }
+
+    // === Copying ===
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object copyNew(Object source, Map<Object, Object> copies) throws Throwable {
+        switch (kind) {
+            case PRIMITIVE_ARRAY:
+                return registered(copies, source, clonePrimitiveArray(source));
+            case OBJECT_ARRAY: {
+                Object[] copy = ((Object[]) source).clone();
+                copies.put(source, copy);
+                if (!areElementsShared)
+                    for (int i = 0; i < copy.length; i++)
+                        copy[i] = copy(copy[i], copies);
+                return copy;
+            }
+            case COLLECTION: {
+                Collection<Object> copy = (Collection<Object>) emptyContainer.apply(source);
+                copies.put(source, copy);
+                for (Object element : (Collection<Object>) source)
+                    copy.add(copy(element, copies));
+                return copy;
+            }
+            case MAP: {
+                Map<Object, Object> copy = (Map<Object, Object>) emptyContainer.apply(source);
+                copies.put(source, copy);
+                for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) source).entrySet())
+                    copy.put(copy(entry.getKey(), copies), copy(entry.getValue(), copies));
+                return copy;
+            }
+            case IMMUTABLE_LIST:
+            case IMMUTABLE_SET: {
+                copies.put(source, IN_PROGRESS);
+                Object[] elements = ((Collection<Object>) source).toArray();
+                boolean isShared = true;
+                for (int i = 0; i < elements.length; i++) {
+                    Object element = elements[i];
+                    elements[i] = copy(element, copies);
+                    isShared &= elements[i] == element;
+                }
+                // Lists from Stream.toList() may hold nulls, which List.of rejects
+                Object copy = isShared ? source
+                        : kind == IMMUTABLE_LIST ? Arrays.stream(elements).toList() : Set.of(elements);
+                return registered(copies, source, copy);
+            }
+            case IMMUTABLE_MAP: {
+                copies.put(source, IN_PROGRESS);
+                Map<Object, Object> map = (Map<Object, Object>) source;
+                List<Map.Entry<Object, Object>> entries = new ArrayList<>(map.size());
+                boolean isShared = true;
+                for (Map.Entry<Object, Object> entry : map.entrySet()) {
+                    Object key = copy(entry.getKey(), copies);
+                    Object value = copy(entry.getValue(), copies);
+                    isShared &= key == entry.getKey() && value == entry.getValue();
+                    entries.add(Map.entry(key, value));
+                }
+                Object copy = isShared ? source : Map.ofEntries(entries.toArray(new Map.Entry[0]));
+                return registered(copies, source, copy);
+            }
+            case ARRAY_LIST_VIEW: {
+                Object[] elements = ((List<Object>) source).toArray();
+                List<Object> copy = Arrays.asList(elements);
+                copies.put(source, copy);
+                for (int i = 0; i < elements.length; i++)
+                    elements[i] = copy(elements[i], copies);
+                return copy;
+            }
+            case ENUM_SET:
+                return registered(copies, source, EnumSet.copyOf((EnumSet) source));
+            case ENUM_MAP: {
+                EnumMap copy = new EnumMap((EnumMap) source);
+                copies.put(source, copy);
+                for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) copy).entrySet())
+                    entry.setValue(copy(entry.getValue(), copies));
+                return copy;
+            }
+            case RECORD:
+                return copyRecord(source, copies);
+            case OBJECT:
+                return copyObject(source, copies);
+            default:
+                return registered(copies, source, DeepCopier.copyAsBefore(source, (Class<Object>) source.getClass()));
+        }
+    }
+
+    private Object copyRecord(Object source, Map<Object, Object> copies) throws Throwable {
+        copies.put(source, IN_PROGRESS);
+        Object[] components = new Object[fieldGetters.length];
+        boolean isShared = true;
+        for (int i = 0; i < components.length; i++) {
+            Object component = (Object) fieldGetters[i].invokeExact(source);
+            components[i] = fieldKinds[i] == REFERENCE ? copy(component, copies) : component;
+            isShared &= components[i] == component;
+        }
+        Object copy = isShared ? source : (Object) constructor.invokeExact(components);
+        return registered(copies, source, copy);
+    }
+
+    private Object copyObject(Object source, Map<Object, Object> copies) throws Throwable {
+        Object copy = (Object) constructor.invokeExact();
+        copies.put(source, copy);
+        for (int i = 0; i < fieldKinds.length; i++) {
+            MethodHandle getter = fieldGetters[i];
+            MethodHandle setter = fieldSetters[i];
+            switch (fieldKinds[i]) {
+                case REFERENCE:
+                    setter.invokeExact(copy, copy((Object) getter.invokeExact(source), copies));
+                    break;
+                case SHARED_REFERENCE:
+                    setter.invokeExact(copy, (Object) getter.invokeExact(source));
+                    break;
+                case BOOLEAN:
+                    setter.invokeExact(copy, (boolean) getter.invokeExact(source));
+                    break;
+                case BYTE:
+                    setter.invokeExact(copy, (byte) getter.invokeExact(source));
+                    break;
+                case CHAR:
+                    setter.invokeExact(copy, (char) getter.invokeExact(source));
+                    break;
+                case SHORT:
+                    setter.invokeExact(copy, (short) getter.invokeExact(source));
+                    break;
+                case INT:
+                    setter.invokeExact(copy, (int) getter.invokeExact(source));
+                    break;
+                case LONG:
+                    setter.invokeExact(copy, (long) getter.invokeExact(source));
+                    break;
+                case FLOAT:
+                    setter.invokeExact(copy, (float) getter.invokeExact(source));
+                    break;
+                default:
+                    setter.invokeExact(copy, (double) getter.invokeExact(source));
+            }
+        }
+        return copy;
+    }
+
+    private static Object clonePrimitiveArray(Object source) {
+        if (source instanceof int[])
+            return ((int[]) source).clone();
+        if (source instanceof double[])
+            return ((double[]) source).clone();
+        if (source instanceof long[])
+            return ((long[]) source).clone();
+        if (source instanceof boolean[])
+            return ((boolean[]) source).clone();
+        if (source instanceof byte[])
+            return ((byte[]) source).clone();
+        if (source instanceof char[])
+            return ((char[]) source).clone();
+        if (source instanceof float[])
+            return ((float[]) source).clone();
+        return ((short[]) source).clone();
+    }
+
+    private static Object registered(Map<Object, Object> copies, Object source, Object copy) {
+        copies.put(source, copy);
+        return copy;
+    }
+}
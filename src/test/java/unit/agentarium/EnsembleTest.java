@@ -0,0 +1,173 @@
+package unit.agentarium;
+
+import agentarium.Ensemble;
+import agentarium.Model;
+import agentarium.ModelSettings;
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.functional.FunctionalIntProperty;
+import agentarium.attributes.results.databases.SharedDiskBasedAttributeSetResultsDatabase;
+import agentarium.checkpoints.ModelCheckpoint;
+import agentarium.results.EnsembleResults;
+import agentarium.results.Results;
+import agentarium.scheduler.InOrderScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link Ensemble} class.
+ *
+ * <p>Verifies that models run side by side with different results storage record the same results as they
+ * would alone, and that results come back in the order of the runs.
+ */
+public class EnsembleTest {
+
+    private static ModelSettings newCountingSettings(int numOfTicks) {
+        ModelSettings settings = new ModelSettings();
+        settings.setNumOfAgents(40);
+        settings.setNumOfCores(3);
+        settings.setNumOfTicksToRun(numOfTicks);
+        settings.setNumOfWarmUpTicks(0);
+        settings.setAreAttributeSetResultsStoredOnDisk(false);
+        settings.setModelScheduler(new InOrderScheduler());
+        settings.setResultsClass(ModelTest.SummingResults.class);
+
+        AttributeSet agentSet = new AttributeSet("agentSet");
+        agentSet.getProperties().add(new FunctionalIntProperty("count", true,
+                (element, value) -> value, (element, current, next) -> next, (element, value) -> value + 1));
+        AttributeSetCollection agentAttributes = new AttributeSetCollection();
+        agentAttributes.add(agentSet);
+        settings.setBaseAgentAttributeSetCollection(agentAttributes);
+        return settings;
+    }
+
+    private static List<Integer> expectedCounts(int numOfTicks) {
+        List<Integer> counts = new ArrayList<>();
+        for (int tick = 1; tick <= numOfTicks; tick++)
+            counts.add(40 * tick);
+        return counts;
+    }
+
+    @Test
+    public void testConcurrentRunsWithDifferentStorageMatchSeparateRuns() throws Exception {
+        List<ModelSettings> runs = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ModelSettings settings = newCountingSettings(3 + i);
+            settings.setAreAttributeSetResultsCompressed(i % 2 == 1);
+            settings.setAreAttributeSetResultsWrittenAsynchronously(i % 3 == 1);
+            settings.setAreAttributeSetResultsSpilledToDisk(i % 4 == 2);
+            settings.setAreProcessesSynced(i == 5);
+            runs.add(settings);
+        }
+
+        EnsembleResults results;
+        try (Ensemble ensemble = new Ensemble(4, 2)) {
+            results = ensemble.run(runs);
+        }
+
+        assertEquals(runs.size(), results.size());
+        for (int i = 0; i < runs.size(); i++) {
+            assertSame(runs.get(i), results.getSettings(i));
+            assertEquals(expectedCounts(3 + i), results.get(i).getAccumulatedAgentPropertyValues("agentSet", "count"));
+        }
+        for (Results runResults : results)
+            runResults.disconnectAllDatabases();
+    }
+
+    @Test
+    public void testConcurrentRunsWithSharedDiskStorageKeepTheirResultsApart() throws Exception {
+        List<ModelSettings> runs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            ModelSettings settings = newCountingSettings(5 + i);
+            settings.setAttributeSetResultsDatabaseClass(SharedDiskBasedAttributeSetResultsDatabase.class);
+            runs.add(settings);
+        }
+
+        EnsembleResults results;
+        try (Ensemble ensemble = new Ensemble(2, 2)) {
+            results = ensemble.run(runs);
+        }
+
+        assertEquals(expectedCounts(5), results.get(0).getAccumulatedAgentPropertyValues("agentSet", "count"));
+        assertEquals(expectedCounts(6), results.get(1).getAccumulatedAgentPropertyValues("agentSet", "count"));
+        for (Results runResults : results)
+            runResults.disconnectAllDatabases();
+    }
+
+    @Test
+    public void testSweepRunsEachPointInOrder() throws Exception {
+        EnsembleResults results;
+        try (Ensemble ensemble = new Ensemble()) {
+            results = ensemble.sweep(List.of(4, 1, 2), EnsembleTest::newCountingSettings);
+        }
+
+        assertEquals(expectedCounts(4), results.get(0).getAccumulatedAgentPropertyValues("agentSet", "count"));
+        assertEquals(expectedCounts(1), results.get(1).getAccumulatedAgentPropertyValues("agentSet", "count"));
+        assertEquals(expectedCounts(2), results.get(2).getAccumulatedAgentPropertyValues("agentSet", "count"));
+        for (Results runResults : results)
+            runResults.disconnectAllDatabases();
+    }
+
+    @Test
+    public void testRunsFromCheckpointContinueFromItsTick() throws Exception {
+        ModelSettings settings = newCountingSettings(2);
+        settings.setNumOfWarmUpTicks(2);
+        ModelCheckpoint checkpoint = new Model(settings).warmUp();
+
+        EnsembleResults results;
+        try (Ensemble ensemble = new Ensemble(2)) {
+            results = ensemble.run(checkpoint, List.of(settings, settings));
+        }
+
+        for (Results runResults : results) {
+            assertEquals(List.of(120, 160), runResults.getAccumulatedAgentPropertyValues("agentSet", "count"));
+            runResults.disconnectAllDatabases();
+        }
+    }
+
+    @Test
+    public void testFailedRunIsReported() throws Exception {
+        ModelSettings warmUpSettings = newCountingSettings(2);
+        warmUpSettings.setNumOfWarmUpTicks(1);
+        ModelCheckpoint checkpoint = new Model(warmUpSettings).warmUp();
+        ModelSettings failing = newCountingSettings(2);
+        failing.setNumOfCores(2);
+
+        try (Ensemble ensemble = new Ensemble(2)) {
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> ensemble.run(checkpoint, List.of(failing)));
+            assertTrue(failure.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testFailedWorkerFailsItsRun() throws Exception {
+        ModelSettings failing = newCountingSettings(4);
+        AttributeSet faultySet = new AttributeSet("faultySet");
+        faultySet.getProperties().add(new FunctionalIntProperty("faulty", true,
+                (element, value) -> value, (element, current, next) -> next, (element, value) -> {
+                    if (value == 2)
+                        throw new ArithmeticException("Faulty property");
+                    return value + 1;
+                }));
+        failing.getBaseAgentAttributeSetCollection().add(faultySet);
+
+        try (Ensemble ensemble = new Ensemble(2)) {
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> ensemble.run(List.of(newCountingSettings(2), failing)));
+            assertTrue(failure.getCause() instanceof IllegalStateException);
+            assertTrue(failure.getCause().getCause() instanceof ArithmeticException);
+        }
+    }
+
+    @Test
+    public void testInvalidPoolSizesThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new Ensemble(0));
+        assertThrows(IllegalArgumentException.class, () -> new Ensemble(1, 0));
+    }
+}
@@ -3,6 +3,8 @@ package unit.agentarium;
 import agentarium.ModelSettings;
 import agentarium.agents.AgentGenerator;
 import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.results.ResultsAggregator;
+import agentarium.checkpoints.ModelCheckpoint;
 import agentarium.environments.EnvironmentGenerator;
 import agentarium.results.Results;
 import agentarium.scheduler.ModelScheduler;
@@ -10,7 +12,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -126,6 +130,53 @@ public class ModelSettingsTest {
         assertSame(scheduler, settings.getModelScheduler(), "Should return the same model scheduler that was set.");
     }
 
+    @Test
+    public void testAgentResultsAggregatorsAreRegistered() {
+        assertTrue(settings.getAgentResultsAggregation().isEmpty());
+        assertTrue(settings.getAreAggregatedAgentResultsStored());
+
+        settings.addAgentPropertyAggregator("set", "prop", ResultsAggregator.summing());
+        settings.addAgentPostEventAggregator("set", "event", ResultsAggregator.averaging());
+        settings.setAreAggregatedAgentResultsStored(false);
+
+        assertEquals(List.of("prop"), settings.getAgentResultsAggregation().getPropertyNames("set"));
+        assertEquals(List.of("event"), settings.getAgentResultsAggregation().getPostEventNames("set"));
+        assertFalse(settings.getAreAggregatedAgentResultsStored());
+    }
+
+    @Test
+    public void testParallelAccumulationSetterAndGetter() {
+        assertFalse(settings.getAreAgentResultsAccumulatedInParallel());
+        settings.setAreAgentResultsAccumulatedInParallel(true);
+        assertTrue(settings.getAreAgentResultsAccumulatedInParallel());
+    }
+
+    @Test
+    public void testSpillingSettersAndGetters() {
+        assertFalse(settings.getAreAttributeSetResultsSpilledToDisk());
+        assertEquals(0, settings.getAttributeSetResultsMemoryBudget());
+        settings.setAreAttributeSetResultsSpilledToDisk(true);
+        settings.setAttributeSetResultsMemoryBudget(1 << 20);
+        assertTrue(settings.getAreAttributeSetResultsSpilledToDisk());
+        assertEquals(1 << 20, settings.getAttributeSetResultsMemoryBudget());
+        assertThrows(IllegalArgumentException.class, () -> settings.setAttributeSetResultsMemoryBudget(-1));
+    }
+
+    @Test
+    public void testCheckpointSettersAndGetters() {
+        assertEquals(0, settings.getCheckpointInterval());
+        assertNull(settings.getCheckpointListener());
+        assertNull(settings.getCheckpointDirectory());
+        Consumer<ModelCheckpoint> listener = checkpoint -> {};
+        settings.setCheckpointInterval(10);
+        settings.setCheckpointListener(listener);
+        settings.setCheckpointDirectory(Path.of("checkpoints"));
+        assertEquals(10, settings.getCheckpointInterval());
+        assertSame(listener, settings.getCheckpointListener());
+        assertEquals(Path.of("checkpoints"), settings.getCheckpointDirectory());
+        assertThrows(IllegalArgumentException.class, () -> settings.setCheckpointInterval(-1));
+    }
+
     // Dummy Results class for testing
     public static class MockResults extends Results {
         @Override
@@ -5,12 +5,19 @@ import agentarium.ModelSettings;
 import agentarium.agents.DefaultAgentGenerator;
 import agentarium.attributes.AttributeSet;
 import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.functional.FunctionalIntProperty;
+import agentarium.attributes.results.databases.TickStatistics;
+import agentarium.checkpoints.ModelCheckpoint;
 import agentarium.environments.DefaultEnvironmentGenerator;
 import agentarium.results.Results;
 import agentarium.scheduler.InOrderScheduler;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,6 +49,178 @@ public class ModelTest {
         }
     }
 
+    /**
+     * Sums agents' property values tick by tick, and combines the sums of two runs of agents the same way.
+     */
+    public static class SummingResults extends MockResults {
+        @Override
+        protected List<?> accumulateAgentPropertyResults(String attributeSetName, String propertyName, List<?> accumulatedValues, List<?> valuesToBeProcessed) {
+            return combineAgentPropertyResults(attributeSetName, propertyName, accumulatedValues, valuesToBeProcessed);
+        }
+
+        @Override
+        protected List<?> combineAgentPropertyResults(String attributeSetName, String propertyName, List<?> leftAccumulatedValues, List<?> rightAccumulatedValues) {
+            if (leftAccumulatedValues == null || leftAccumulatedValues.isEmpty())
+                return rightAccumulatedValues;
+            List<Object> sums = new ArrayList<>();
+            for (int tick = 0; tick < rightAccumulatedValues.size(); tick++)
+                sums.add(((Number) leftAccumulatedValues.get(tick)).intValue() + ((Number) rightAccumulatedValues.get(tick)).intValue());
+            return sums;
+        }
+
+        @Override
+        protected List<?> combineAgentPreEventResults(String attributeSetName, String preEventName, List<?> leftAccumulatedValues, List<?> rightAccumulatedValues) {
+            return rightAccumulatedValues;
+        }
+
+        @Override
+        protected List<?> combineAgentPostEventResults(String attributeSetName, String postEventName, List<?> leftAccumulatedValues, List<?> rightAccumulatedValues) {
+            return rightAccumulatedValues;
+        }
+    }
+
+    /**
+     * Sums agents' property values tick by tick like {@link SummingResults}, but has no combine methods.
+     */
+    public static class SequentialSummingResults extends MockResults {
+        @Override
+        protected List<?> accumulateAgentPropertyResults(String attributeSetName, String propertyName, List<?> accumulatedValues, List<?> valuesToBeProcessed) {
+            return new SummingResults().accumulateAgentPropertyResults(attributeSetName, propertyName, accumulatedValues, valuesToBeProcessed);
+        }
+    }
+
+    private static ModelSettings newCountingSettings(boolean areAgentResultsAccumulatedInParallel) {
+        ModelSettings settings = new ModelSettings();
+        settings.setNumOfAgents(40);
+        settings.setNumOfCores(3);
+        settings.setNumOfTicksToRun(3);
+        settings.setNumOfWarmUpTicks(0);
+        settings.setAreAttributeSetResultsStoredOnDisk(false);
+        settings.setModelScheduler(new InOrderScheduler());
+        settings.setResultsClass(SummingResults.class);
+        settings.setAreAgentResultsAccumulatedInParallel(areAgentResultsAccumulatedInParallel);
+
+        AttributeSet agentSet = new AttributeSet("agentSet");
+        agentSet.getProperties().add(new FunctionalIntProperty("count", true,
+                (element, value) -> value, (element, current, next) -> next, (element, value) -> value + 1));
+        AttributeSetCollection agentAttributes = new AttributeSetCollection();
+        agentAttributes.add(agentSet);
+        settings.setBaseAgentAttributeSetCollection(agentAttributes);
+        return settings;
+    }
+
+    /**
+     * Ensures that accumulating agent results in parallel gives the same values as accumulating them in order.
+     */
+    @Test
+    public void testParallelAccumulationMatchesSequentialAccumulation() throws Exception {
+        Results sequential = new Model(newCountingSettings(false)).run();
+        Results parallel = new Model(newCountingSettings(true)).run();
+
+        assertEquals(List.of(40, 80, 120), sequential.getAccumulatedAgentPropertyValues("agentSet", "count"));
+        assertEquals(sequential.getAccumulatedAgentPropertyValues("agentSet", "count"),
+                parallel.getAccumulatedAgentPropertyValues("agentSet", "count"));
+
+        sequential.disconnectAllDatabases();
+        parallel.disconnectAllDatabases();
+    }
+
+    /**
+     * Ensures that results without combine methods are accumulated in order when parallel accumulation is requested.
+     */
+    @Test
+    public void testParallelAccumulationFallsBackWithoutCombiners() throws Exception {
+        ModelSettings settings = newCountingSettings(true);
+        settings.setResultsClass(SequentialSummingResults.class);
+        assertFalse(new SequentialSummingResults().canCombineAgentResults());
+        assertTrue(new SummingResults().canCombineAgentResults());
+
+        Results results = new Model(settings).run();
+
+        assertEquals(List.of(40, 80, 120), results.getAccumulatedAgentPropertyValues("agentSet", "count"));
+        results.disconnectAllDatabases();
+    }
+
+    /**
+     * Ensures that agent queries give per-tick statistics across all agents, or the agents matching a filter.
+     */
+    @Test
+    public void testAgentPropertyQueryComputesPerTickStatistics() throws Exception {
+        Results results = new Model(newCountingSettings(false)).run();
+
+        TickStatistics all = results.queryAgentProperty("agentSet", "count").run();
+        assertEquals(List.of(40.0, 80.0, 120.0), all.getSums());
+        assertEquals(List.of(1.0, 2.0, 3.0), all.getMeans());
+        assertEquals(List.of(40L, 40L, 40L), all.getCounts());
+
+        List<String> someAgents = results.getAgentNames().subList(0, 10);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        TickStatistics some = results.queryAgentProperty("agentSet", "count")
+                .whereAgent(someAgents::contains)
+                .run(pool);
+        pool.shutdown();
+        assertEquals(List.of(10L, 10L, 10L), some.getCounts());
+        assertEquals(List.of(1.0, 2.0, 3.0), some.getMaxes());
+        assertEquals(0, results.queryAgentProperty("otherSet", "count").run().getTickCount());
+
+        results.disconnectAllDatabases();
+    }
+
+    /**
+     * Ensures that a run resumed from the checkpoint taken at the end of the warm-up records the same results as a
+     * run that never stopped, as do runs forked from it.
+     */
+    @Test
+    public void testRunResumedAfterWarmUpMatchesUninterruptedRun() throws Exception {
+        ModelSettings settings = newCountingSettings(false);
+        settings.setNumOfWarmUpTicks(2);
+        Results uninterrupted = new Model(settings).run();
+        assertEquals(List.of(120, 160, 200), uninterrupted.getAccumulatedAgentPropertyValues("agentSet", "count"));
+
+        ModelCheckpoint checkpoint = new Model(settings).warmUp();
+        assertEquals(2, checkpoint.getTick());
+        Results resumed = new Model(settings).run(checkpoint);
+        assertEquals(uninterrupted.getAccumulatedAgentPropertyValues("agentSet", "count"),
+                resumed.getAccumulatedAgentPropertyValues("agentSet", "count"));
+
+        ModelSettings longerVariant = newCountingSettings(false);
+        longerVariant.setNumOfWarmUpTicks(2);
+        longerVariant.setNumOfTicksToRun(4);
+        List<Results> forked = Model.fork(checkpoint, List.of(settings, longerVariant), 2);
+        assertEquals(List.of(120, 160, 200), forked.get(0).getAccumulatedAgentPropertyValues("agentSet", "count"));
+        assertEquals(List.of(120, 160, 200, 240), forked.get(1).getAccumulatedAgentPropertyValues("agentSet", "count"));
+
+        ModelSettings otherCores = newCountingSettings(false);
+        otherCores.setNumOfCores(2);
+        assertThrows(IllegalArgumentException.class, () -> new Model(otherCores).run(checkpoint));
+
+        uninterrupted.disconnectAllDatabases();
+        resumed.disconnectAllDatabases();
+        for (Results results : forked)
+            results.disconnectAllDatabases();
+    }
+
+    /**
+     * Ensures that periodic checkpoints are saved to the checkpoint directory, and that a run resumed from the
+     * latest of them finishes the run.
+     */
+    @Test
+    public void testPeriodicCheckpointsAreSaved() throws Exception {
+        Path directory = Files.createTempDirectory("checkpoints");
+        ModelSettings settings = newCountingSettings(false);
+        settings.setNumOfTicksToRun(5);
+        settings.setCheckpointInterval(2);
+        settings.setCheckpointDirectory(directory);
+        new Model(settings).run().disconnectAllDatabases();
+
+        ModelCheckpoint latest = ModelCheckpoint.loadLatest(directory);
+        assertEquals(4, latest.getTick());
+        settings.setCheckpointInterval(0);
+        Results resumed = new Model(settings).run(latest);
+        assertEquals(List.of(200), resumed.getAccumulatedAgentPropertyValues("agentSet", "count"));
+        resumed.disconnectAllDatabases();
+    }
+
     /**
      * Ensures that the model runs successfully with default settings and produces non-null results.
      */
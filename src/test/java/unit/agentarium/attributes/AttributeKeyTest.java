@@ -0,0 +1,108 @@
+package unit.agentarium.attributes;
+
+import agentarium.attributes.AttributeKey;
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.Properties;
+import agentarium.attributes.Property;
+import agentarium.attributes.functional.FunctionalDoubleProperty;
+import agentarium.attributes.functional.FunctionalProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AttributeKey}.
+ *
+ * <p>Verifies typed property access through keys, resolution across collections with the same or a
+ * different layout, and rejection of unknown or mistyped keys.
+ */
+public class AttributeKeyTest {
+
+    private static final AttributeKey<Double> HUNGER = AttributeKey.of("Food", "Hunger", Double.class);
+    private static final AttributeKey<String> MOOD = AttributeKey.of("Mind", "Mood", String.class);
+
+    private AttributeSetCollection collection;
+
+    @BeforeEach
+    public void setup() {
+        collection = new AttributeSetCollection();
+        collection.add(attributeSet("Food", doubleProperty("Appetite"), doubleProperty("Hunger")));
+        collection.add(attributeSet("Mind", stringProperty("Mood")));
+    }
+
+    @Test
+    public void testGetAndSetValueThroughKey() {
+        collection.setValue(HUNGER, 2.5);
+        collection.setValue(MOOD, "calm");
+
+        assertEquals(2.5, collection.getValue(HUNGER));
+        assertEquals("calm", collection.getValue(MOOD));
+        assertSame(collection.get("Food").getProperties().get("Hunger"), collection.getProperty(HUNGER));
+    }
+
+    @Test
+    public void testKeyResolvesOnCopiesOfTheSameCollection() {
+        collection.setValue(HUNGER, 1.0);
+        AttributeSetCollection copy = collection.deepCopy();
+        copy.setValue(HUNGER, 4.0);
+
+        assertEquals(1.0, collection.getValue(HUNGER));
+        assertEquals(4.0, copy.getValue(HUNGER));
+        assertSame(copy.get("Food").getProperties().get("Hunger"), copy.getProperty(HUNGER));
+    }
+
+    @Test
+    public void testKeyResolvesOnCollectionWithDifferentLayout() {
+        collection.getValue(HUNGER);
+
+        AttributeSetCollection other = new AttributeSetCollection();
+        other.add(attributeSet("Mind", stringProperty("Mood")));
+        other.add(attributeSet("Food", doubleProperty("Hunger")));
+        other.setValue(HUNGER, 3.0);
+
+        assertSame(other.get("Food").getProperties().get("Hunger"), other.getProperty(HUNGER));
+        assertEquals(3.0, other.getValue(HUNGER));
+        assertSame(collection.get("Food").getProperties().get("Hunger"), collection.getProperty(HUNGER));
+    }
+
+    @Test
+    public void testUnknownOrMistypedKeysAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> collection.getValue(AttributeKey.of("Sleep", "Hunger", Double.class)));
+        assertThrows(IllegalArgumentException.class,
+                () -> collection.getValue(AttributeKey.of("Food", "Thirst", Double.class)));
+        assertThrows(IllegalArgumentException.class,
+                () -> collection.getValue(AttributeKey.of("Food", "Hunger", Integer.class)));
+        assertThrows(IllegalArgumentException.class, () -> AttributeKey.of("Food", null, Double.class));
+    }
+
+    @Test
+    public void testAttributeKeyMatchesDependencyDeclarationFormat() {
+        assertEquals(AttributeSet.attributeKey("Food", "Hunger"), HUNGER.getAttributeKey());
+        assertEquals(Double.class, HUNGER.getType());
+    }
+
+    private static AttributeSet attributeSet(String name, Property<?>... properties) {
+        AttributeSet attributeSet = new AttributeSet(name);
+        Properties attributeSetProperties = attributeSet.getProperties();
+        for (Property<?> property : properties)
+            attributeSetProperties.add(property);
+        return attributeSet;
+    }
+
+    private static Property<Double> doubleProperty(String name) {
+        return new FunctionalDoubleProperty(name, false,
+                (element, value) -> value,
+                (element, current, value) -> value,
+                (element, value) -> value);
+    }
+
+    private static Property<String> stringProperty(String name) {
+        return new FunctionalProperty<>(name, false, String.class,
+                (element, value) -> value,
+                (element, current, value) -> value,
+                (element, value) -> value);
+    }
+}
@@ -4,11 +4,16 @@ import agentarium.attributes.AttributeSet;
 import agentarium.attributes.AttributeSetCollection;
 import agentarium.attributes.Events;
 import agentarium.attributes.Properties;
+import agentarium.attributes.functional.FunctionalIntProperty;
 import agentarium.attributes.results.AttributeSetCollectionResults;
+import agentarium.attributes.results.databases.ResultsBackend;
+import agentarium.attributes.results.databases.SharedDiskBasedAttributeSetResultsDatabase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -74,7 +79,7 @@ public class AttributeSetCollectionTest {
         collection.run();
 
         // Ensure run() on AttributeSet is called with correct AttributeSetResults
-        verify(mockAttributeSet).run(any());
+        verify(mockAttributeSet).run(any(), anyBoolean());
     }
 
     @Test
@@ -85,4 +90,70 @@ public class AttributeSetCollectionTest {
         assertNotSame(collection, copy);
         assertEquals(collection.size(), copy.size());
     }
+
+    @Test
+    public void testParallelRunExecutesEveryAttributeSet() {
+        AttributeSet otherSet = mock(AttributeSet.class);
+        when(otherSet.getName()).thenReturn("OtherSet");
+        when(otherSet.getProperties()).thenReturn(new Properties());
+        when(otherSet.getPreEvents()).thenReturn(new Events());
+        when(otherSet.getPostEvents()).thenReturn(new Events());
+        when(mockAttributeSet.hasDeclaredDependencies()).thenReturn(true);
+        when(otherSet.hasDeclaredDependencies()).thenReturn(true);
+
+        collection.add(mockAttributeSet);
+        collection.add(otherSet);
+        collection.setup("Environment");
+        collection.setParallelExecutionEnabled(true);
+
+        collection.run();
+
+        verify(mockAttributeSet).run(collection.getResults().getAttributeSetResults(0), true);
+        verify(otherSet).run(collection.getResults().getAttributeSetResults(1), true);
+    }
+
+    @Test
+    public void testParallelRunRecordsThroughCallersResultsBackend() {
+        ResultsBackend backend = new ResultsBackend(SharedDiskBasedAttributeSetResultsDatabase.class, true, 16, false);
+        AtomicInteger runsWithBackendBound = new AtomicInteger();
+        AttributeSetCollection environmentSets = new AttributeSetCollection();
+        for (int i = 0; i < 4; i++) {
+            AttributeSet attributeSet = new AttributeSet("Set" + i);
+            attributeSet.getProperties().add(new FunctionalIntProperty("count", true,
+                    (element, value) -> value, (element, current, next) -> next, (element, value) -> {
+                        if (ResultsBackend.current() == backend)
+                            runsWithBackendBound.incrementAndGet();
+                        return value + 1;
+                    }));
+            attributeSet.declareReads();
+            environmentSets.add(attributeSet);
+        }
+        environmentSets.setParallelExecutionEnabled(true);
+
+        ResultsBackend.Binding binding = backend.bind();
+        try {
+            environmentSets.setup("Environment");
+            for (int tick = 0; tick < 50; tick++)
+                environmentSets.run();
+        } finally {
+            binding.close();
+        }
+        backend.closeWriters();
+
+        assertEquals(4 * 50, runsWithBackendBound.get());
+        for (int i = 0; i < 4; i++) {
+            List<Object> counts = environmentSets.getResults().getAttributeSetResults(i).getPropertyValues("count");
+            assertEquals(50, counts.size());
+            assertEquals(50, counts.get(49));
+        }
+        environmentSets.getResults().disconnectDatabases();
+    }
+
+    @Test
+    public void testDeepCopyKeepsParallelExecutionFlag() {
+        collection.add(mockAttributeSet);
+        collection.setParallelExecutionEnabled(true);
+
+        assertTrue(collection.deepCopy().isParallelExecutionEnabled());
+    }
 }
@@ -0,0 +1,87 @@
+package unit.agentarium.attributes;
+
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.AttributeSetExecutionPlan;
+import agentarium.attributes.functional.FunctionalDoubleProperty;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AttributeSetExecutionPlan}.
+ *
+ * <p>Verifies that independent attribute sets share a wave while conflicting or undeclared sets keep their order.
+ */
+public class AttributeSetExecutionPlanTest {
+
+    private static AttributeSet setWithProperty(String setName, String propertyName) {
+        AttributeSet attributeSet = new AttributeSet(setName);
+        attributeSet.getProperties().add(new FunctionalDoubleProperty(propertyName, true,
+                (e, v) -> v, (e, current, value) -> value, (e, v) -> v));
+        return attributeSet;
+    }
+
+    @Test
+    public void testIndependentSetsShareOneWave() {
+        AttributeSet weather = setWithProperty("Weather", "Temperature");
+        AttributeSet market = setWithProperty("Market", "Price");
+        weather.declareReads();
+        market.declareReads();
+
+        AttributeSetExecutionPlan plan = AttributeSetExecutionPlan.build(List.of(weather, market));
+
+        assertEquals(1, plan.getWaveCount());
+        assertArrayEquals(new int[] {0, 1}, plan.getWave(0));
+    }
+
+    @Test
+    public void testReaderRunsAfterWriter() {
+        AttributeSet weather = setWithProperty("Weather", "Temperature");
+        AttributeSet crops = setWithProperty("Crops", "Yield");
+        AttributeSet market = setWithProperty("Market", "Price");
+        weather.declareReads();
+        crops.declareReads(AttributeSet.attributeKey("Weather", "Temperature"));
+        market.declareReads();
+
+        AttributeSetExecutionPlan plan = AttributeSetExecutionPlan.build(List.of(weather, crops, market));
+
+        assertEquals(2, plan.getWaveCount());
+        assertArrayEquals(new int[] {0, 2}, plan.getWave(0));
+        assertArrayEquals(new int[] {1}, plan.getWave(1));
+    }
+
+    @Test
+    public void testWriterRunsAfterEarlierReader() {
+        AttributeSet reader = setWithProperty("Reader", "Value");
+        AttributeSet writer = setWithProperty("Writer", "Value");
+        reader.declareReads("Shared.Level");
+        writer.declareWrites("Shared.Level");
+
+        AttributeSetExecutionPlan plan = AttributeSetExecutionPlan.build(List.of(reader, writer));
+
+        assertEquals(2, plan.getWaveCount());
+    }
+
+    @Test
+    public void testUndeclaredSetActsAsBarrier() {
+        AttributeSet first = setWithProperty("First", "A");
+        AttributeSet barrier = setWithProperty("Barrier", "B");
+        AttributeSet last = setWithProperty("Last", "C");
+        first.declareReads();
+        last.declareReads();
+
+        AttributeSetExecutionPlan plan = AttributeSetExecutionPlan.build(List.of(first, barrier, last));
+
+        assertEquals(3, plan.getWaveCount());
+        assertArrayEquals(new int[] {0}, plan.getWave(0));
+        assertArrayEquals(new int[] {1}, plan.getWave(1));
+        assertArrayEquals(new int[] {2}, plan.getWave(2));
+    }
+
+    @Test
+    public void testEmptyListHasNoWaves() {
+        assertEquals(0, AttributeSetExecutionPlan.build(List.of()).getWaveCount());
+    }
+}
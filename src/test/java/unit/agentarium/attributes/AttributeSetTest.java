@@ -5,9 +5,13 @@ import agentarium.ModelElement;
 import agentarium.ModelElementAccessor;
 import agentarium.attributes.*;
 import agentarium.attributes.results.AttributeSetResults;
+import agentarium.attributes.results.databases.AttributeSetResultsDatabaseFactory;
+import agentarium.attributes.results.databases.MemoryBasedAttributeSetResultsDatabase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -23,8 +27,6 @@ public class AttributeSetTest {
     private Properties properties;
     private Events postEvents;
 
-    private AttributeSetResults results;
-
     @BeforeEach
     public void setup() {
         ModelElement mockModelElement = mock(ModelElement.class);
@@ -43,7 +45,16 @@ public class AttributeSetTest {
         when(postEvents.getAssociatedModelElement()).thenReturn(mockModelElement);
 
         attributeSet = new AttributeSet("TestSet", preEvents, properties, postEvents);
-        results = mock(AttributeSetResults.class);
+    }
+
+    /** @return in-memory results recording the attribute set's current attributes */
+    private AttributeSetResults newResults() {
+        AttributeSetResultsDatabaseFactory.setCustomFactory(MemoryBasedAttributeSetResultsDatabase::new);
+        try {
+            return new AttributeSetResults("Agent_0", attributeSet);
+        } finally {
+            AttributeSetResultsDatabaseFactory.clearCustomFactory();
+        }
     }
 
     @Test
@@ -53,7 +64,7 @@ public class AttributeSetTest {
 
     @Test
     public void testRunExecutesAllAttributeGroups() {
-        attributeSet.run(results);
+        attributeSet.run(newResults());
 
         verify(preEvents).run();
         verify(properties).run();
@@ -64,42 +75,65 @@ public class AttributeSetTest {
     public void testPreEventRecordingWhenMarkedAsRecorded() {
         Event recordedEvent = mock(Event.class);
         when(recordedEvent.isRecorded()).thenReturn(true);
+        when(recordedEvent.getRecordingPolicy()).thenReturn(RecordingPolicy.everyTick());
         when(recordedEvent.getName()).thenReturn("PreEvent");
         when(recordedEvent.isTriggered()).thenReturn(true);
 
         preEvents.add(recordedEvent);
+        AttributeSetResults results = newResults();
 
         attributeSet.run(results);
 
-        verify(results).recordPreEvent("PreEvent", true);
+        assertEquals(List.of(true), results.getPreEventValues("PreEvent"));
     }
 
     @Test
     public void testPropertyRecordingWhenMarkedAsRecorded() {
         Property<Integer> recordedProperty = mock(Property.class);
         when(recordedProperty.isRecorded()).thenReturn(true);
+        when(recordedProperty.getRecordingPolicy()).thenReturn(RecordingPolicy.everyTick());
         when(recordedProperty.getName()).thenReturn("Health");
         when(recordedProperty.get()).thenReturn(42);
 
         properties.add(recordedProperty);
+        AttributeSetResults results = newResults();
 
         attributeSet.run(results);
 
-        verify(results).recordProperty("Health", 42);
+        assertEquals(List.of(42), results.getPropertyValues("Health"));
+    }
+
+    @Test
+    public void testPrimitivePropertyRecordingAvoidsBoxedPath() {
+        DoubleProperty recordedProperty = mock(DoubleProperty.class);
+        when(recordedProperty.isRecorded()).thenReturn(true);
+        when(recordedProperty.getRecordingPolicy()).thenReturn(RecordingPolicy.everyTick());
+        when(recordedProperty.getName()).thenReturn("Energy");
+        when(recordedProperty.getDouble()).thenReturn(1.5);
+
+        properties.add(recordedProperty);
+        AttributeSetResults results = newResults();
+
+        attributeSet.run(results);
+
+        assertEquals(List.of(1.5), results.getPropertyValues("Energy"));
+        verify(recordedProperty, never()).get();
     }
 
     @Test
     public void testPostEventRecordingWhenMarkedAsRecorded() {
         Event recordedEvent = mock(Event.class);
         when(recordedEvent.isRecorded()).thenReturn(true);
+        when(recordedEvent.getRecordingPolicy()).thenReturn(RecordingPolicy.everyTick());
         when(recordedEvent.getName()).thenReturn("PostEvent");
         when(recordedEvent.isTriggered()).thenReturn(false);
 
         postEvents.add(recordedEvent);
+        AttributeSetResults results = newResults();
 
         attributeSet.run(results);
 
-        verify(results).recordPostEvent("PostEvent", false);
+        assertEquals(List.of(false), results.getPostEventValues("PostEvent"));
     }
 
     @Test
@@ -111,10 +145,52 @@ public class AttributeSetTest {
         Property<Double> unrecordedProperty = mock(Property.class);
         when(unrecordedProperty.isRecorded()).thenReturn(false);
         properties.add(unrecordedProperty);
+        AttributeSetResults results = newResults();
 
         attributeSet.run(results);
 
-        verify(results, never()).recordPreEvent(anyString(), anyBoolean());
-        verify(results, never()).recordProperty(anyString(), any());
+        assertTrue(results.getPreEventNamesList().isEmpty());
+        assertTrue(results.getPropertyNamesList().isEmpty());
+        verify(unrecordedProperty, never()).get();
+    }
+
+    @Test
+    public void testRecordingPlanRecordsBySlotOnlyOnRecordedTicks() {
+        DoubleProperty recordedProperty = mock(DoubleProperty.class);
+        when(recordedProperty.isRecorded()).thenReturn(true);
+        when(recordedProperty.getRecordingPolicy()).thenReturn(RecordingPolicy.everyTick());
+        when(recordedProperty.getName()).thenReturn("Energy");
+        when(recordedProperty.getDouble()).thenReturn(1.5);
+        properties.add(recordedProperty);
+
+        Event recordedEvent = mock(Event.class);
+        when(recordedEvent.isRecorded()).thenReturn(true);
+        when(recordedEvent.getRecordingPolicy()).thenReturn(RecordingPolicy.everyTick());
+        when(recordedEvent.getName()).thenReturn("PreEvent");
+        when(recordedEvent.isTriggered()).thenReturn(true);
+        preEvents.add(recordedEvent);
+
+        AttributeSetResults slotResults = newResults();
+
+        attributeSet.run(slotResults, true);
+        attributeSet.run(slotResults, false);
+        attributeSet.recordIdleTick(slotResults);
+
+        assertEquals(List.of(1.5, 1.5), slotResults.getPropertyValues("Energy"));
+        assertEquals(List.of(true, false), slotResults.getPreEventValues("PreEvent"));
+    }
+
+    @Test
+    public void testDependencyDeclarationsAreExposedAndCopied() {
+        assertFalse(attributeSet.hasDeclaredDependencies());
+
+        attributeSet.declareReads(AttributeSet.attributeKey("Weather", "Temperature"));
+        attributeSet.declareWrites("Market.Price");
+
+        AttributeSet copy = attributeSet.deepCopy();
+
+        assertTrue(copy.hasDeclaredDependencies());
+        assertTrue(copy.getDeclaredReads().contains("Weather.Temperature"));
+        assertTrue(copy.getWrites().contains("Market.Price"));
     }
 }
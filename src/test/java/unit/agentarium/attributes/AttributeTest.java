@@ -1,6 +1,7 @@
 package unit.agentarium.attributes;
 
 import agentarium.attributes.Attribute;
+import agentarium.attributes.RecordingPolicy;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,4 +52,14 @@ public class AttributeTest {
         attr.run();
         assertTrue(attr.wasRun(), "Attribute run flag should be true after calling run().");
     }
+
+    @Test
+    public void testRecordingPolicyDefaultsToEveryTick() {
+        TestAttribute attr = new TestAttribute("SampledAttr", true);
+        assertEquals(RecordingPolicy.everyTick(), attr.getRecordingPolicy());
+
+        attr.setRecordingPolicy(RecordingPolicy.everyNthTick(10));
+        assertEquals(RecordingPolicy.everyNthTick(10), attr.getRecordingPolicy());
+        assertThrows(IllegalArgumentException.class, () -> attr.setRecordingPolicy(null));
+    }
 }
@@ -0,0 +1,69 @@
+package unit.agentarium.attributes;
+
+import agentarium.attributes.BatchDoubleProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BatchDoubleProperty} class using a concrete test implementation.
+ *
+ * <p>Validates that the per-agent {@code run()} applies the batch kernel to the property's own value.
+ */
+public class BatchDoublePropertyTest {
+
+    // A concrete implementation of BatchDoubleProperty for testing
+    private static class TestBatchDoubleProperty extends BatchDoubleProperty {
+        private double value = 0.0;
+        private int lastLength = -1;
+
+        public TestBatchDoubleProperty(String name, boolean isRecorded) {
+            super(name, isRecorded);
+        }
+
+        @Override
+        public void setDouble(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double getDouble() {
+            return value;
+        }
+
+        @Override
+        public void runBatch(double[] values, int length) {
+            lastLength = length;
+            for (int i = 0; i < length; i++)
+                values[i] = values[i] * 3.0 + 1.0;
+        }
+    }
+
+    private TestBatchDoubleProperty property;
+
+    @BeforeEach
+    public void setup() {
+        property = new TestBatchDoubleProperty("TestProp", true);
+    }
+
+    @Test
+    public void testRunAppliesKernelToSingleValue() {
+        property.setDouble(2.0);
+        property.run();
+        assertEquals(7.0, property.getDouble(), 1e-9);
+        assertEquals(1, property.lastLength);
+    }
+
+    @Test
+    public void testRunBatchTransformsOnlyGivenLength() {
+        double[] values = {1.0, 2.0, 3.0};
+        property.runBatch(values, 2);
+        assertArrayEquals(new double[] {4.0, 7.0, 3.0}, values, 1e-9);
+    }
+
+    @Test
+    public void testGetTypeIsBoxedClass() {
+        assertEquals(Double.class, property.getType());
+    }
+}
@@ -0,0 +1,83 @@
+package unit.agentarium.attributes;
+
+import agentarium.attributes.BooleanProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BooleanProperty} class using a concrete test implementation.
+ *
+ * <p>Validates that the boxed accessor returns the canonical {@link Boolean} instances and that both values
+ * survive a round trip through either accessor.
+ */
+public class BooleanPropertyTest {
+
+    // A concrete implementation of BooleanProperty for testing
+    private static class TestBooleanProperty extends BooleanProperty {
+        private boolean value = false;
+
+        public TestBooleanProperty(String name, boolean isRecorded) {
+            super(name, isRecorded);
+        }
+
+        @Override
+        public void setBoolean(boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean getBoolean() {
+            return value;
+        }
+
+        @Override
+        public void run() {
+            value = !value;
+        }
+    }
+
+    private TestBooleanProperty property;
+
+    @BeforeEach
+    public void setup() {
+        property = new TestBooleanProperty("TestProp", true);
+    }
+
+    @Test
+    public void testBothValuesSurviveBoxedRoundTrip() {
+        for (boolean value : new boolean[] {true, false}) {
+            property.set(Boolean.valueOf(value));
+            assertEquals(value, property.getBoolean());
+            property.setBoolean(value);
+            assertEquals(Boolean.valueOf(value), property.get());
+        }
+    }
+
+    @Test
+    public void testBoxedGetReturnsCanonicalInstances() {
+        property.setBoolean(true);
+        assertSame(Boolean.TRUE, property.get());
+        property.setBoolean(false);
+        assertSame(Boolean.FALSE, property.get());
+    }
+
+    @Test
+    public void testRunTogglesValue() {
+        property.run();
+        assertTrue(property.getBoolean());
+        property.run();
+        assertFalse(property.getBoolean());
+    }
+
+    @Test
+    public void testSettingNullThrows() {
+        assertThrows(NullPointerException.class, () -> property.set(null));
+    }
+
+    @Test
+    public void testGetTypeIsBoxedClass() {
+        assertEquals(Boolean.class, property.getType());
+    }
+}
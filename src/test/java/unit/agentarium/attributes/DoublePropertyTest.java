@@ -0,0 +1,88 @@
+package unit.agentarium.attributes;
+
+import agentarium.attributes.DoubleProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link DoubleProperty} class using a concrete test implementation.
+ *
+ * <p>Validates that boxed and primitive accessors preserve the special {@code double} values: NaN, the sign of
+ * zero, and the infinities.
+ */
+public class DoublePropertyTest {
+
+    // A concrete implementation of DoubleProperty for testing
+    private static class TestDoubleProperty extends DoubleProperty {
+        private double value = 0.0;
+
+        public TestDoubleProperty(String name, boolean isRecorded) {
+            super(name, isRecorded);
+        }
+
+        @Override
+        public void setDouble(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double getDouble() {
+            return value;
+        }
+
+        @Override
+        public void run() {
+            value += 0.5;
+        }
+    }
+
+    private TestDoubleProperty property;
+
+    @BeforeEach
+    public void setup() {
+        property = new TestDoubleProperty("TestProp", true);
+    }
+
+    @Test
+    public void testNaNSurvivesBoxedRoundTrip() {
+        property.set(Double.valueOf(Double.NaN));
+        assertTrue(Double.isNaN(property.getDouble()));
+        assertEquals(Double.valueOf(Double.NaN), property.get());
+
+        property.run();
+        assertTrue(Double.isNaN(property.get()));
+    }
+
+    @Test
+    public void testNegativeZeroKeepsItsSign() {
+        property.setDouble(-0.0);
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(property.getDouble()));
+        assertEquals(Double.valueOf(-0.0), property.get());
+        assertNotEquals(Double.valueOf(0.0), property.get());
+
+        property.set(Double.valueOf(-0.0));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(property.getDouble()));
+    }
+
+    @Test
+    public void testInfinitiesSurviveBoxedRoundTrip() {
+        for (double value : new double[] {Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY}) {
+            property.set(Double.valueOf(value));
+            assertEquals(value, property.getDouble());
+            property.run();
+            assertEquals(Double.valueOf(value), property.get());
+        }
+    }
+
+    @Test
+    public void testSettingNullThrows() {
+        assertThrows(NullPointerException.class, () -> property.set(null));
+    }
+
+    @Test
+    public void testGetTypeIsBoxedClass() {
+        assertEquals(Double.class, property.getType());
+    }
+}
@@ -39,6 +39,25 @@ public class EventTest {
         }
     }
 
+    // An event with a no-argument constructor, copied field by field
+    private static class CopyableEvent extends Event {
+        private boolean triggered;
+
+        private CopyableEvent() {
+            super("Copyable", true);
+        }
+
+        @Override
+        public boolean isTriggered() {
+            return triggered;
+        }
+
+        @Override
+        public void run() {
+            triggered = !triggered;
+        }
+    }
+
     @BeforeEach
     public void setup() {
         testEvent = new TestEvent("MyEvent", true, false);
@@ -73,4 +92,23 @@ public class EventTest {
         };
         assertNotNull(autoNamed.getName());
     }
+
+    @Test
+    public void testDeepCopyCopiesTriggerState() {
+        CopyableEvent original = new CopyableEvent();
+        original.run();
+
+        Event copy = original.deepCopy();
+
+        assertNotSame(original, copy);
+        assertTrue(copy.isTriggered());
+        copy.run();
+        assertTrue(original.isTriggered());
+        assertFalse(copy.isTriggered());
+    }
+
+    @Test
+    public void testDeepCopyWithoutUsableConstructorThrows() {
+        assertThrows(RuntimeException.class, () -> testEvent.deepCopy());
+    }
 }
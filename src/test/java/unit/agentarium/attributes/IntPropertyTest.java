@@ -0,0 +1,81 @@
+package unit.agentarium.attributes;
+
+import agentarium.attributes.IntProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link IntProperty} class using a concrete test implementation.
+ *
+ * <p>Validates that boxed and primitive accessors agree at the limits of the {@code int} range, that updates wrap
+ * on overflow as {@code int} arithmetic does, and that boxing goes through the {@link Integer} cache.
+ */
+public class IntPropertyTest {
+
+    // A concrete implementation of IntProperty for testing
+    private static class TestIntProperty extends IntProperty {
+        private int value = 0;
+
+        public TestIntProperty(String name, boolean isRecorded) {
+            super(name, isRecorded);
+        }
+
+        @Override
+        public void setInt(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int getInt() {
+            return value;
+        }
+
+        @Override
+        public void run() {
+            value += 7;
+        }
+    }
+
+    private TestIntProperty property;
+
+    @BeforeEach
+    public void setup() {
+        property = new TestIntProperty("TestProp", true);
+    }
+
+    @Test
+    public void testLimitsSurviveBoxedRoundTrip() {
+        for (int value : new int[] {Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE}) {
+            property.set(Integer.valueOf(value));
+            assertEquals(value, property.getInt());
+            property.setInt(value);
+            assertEquals(Integer.valueOf(value), property.get());
+        }
+    }
+
+    @Test
+    public void testRunWrapsOnOverflow() {
+        property.setInt(Integer.MAX_VALUE - 3);
+        property.run();
+        assertEquals(Integer.MIN_VALUE + 3, property.getInt());
+        assertEquals(Integer.valueOf(Integer.MIN_VALUE + 3), property.get());
+    }
+
+    @Test
+    public void testBoxedGetUsesIntegerCache() {
+        property.setInt(100);
+        assertSame(Integer.valueOf(100), property.get());
+    }
+
+    @Test
+    public void testSettingNullThrows() {
+        assertThrows(NullPointerException.class, () -> property.set(null));
+    }
+
+    @Test
+    public void testGetTypeIsBoxedClass() {
+        assertEquals(Integer.class, property.getType());
+    }
+}
@@ -0,0 +1,81 @@
+package unit.agentarium.attributes;
+
+import agentarium.attributes.LongProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LongProperty} class using a concrete test implementation.
+ *
+ * <p>Validates that boxed and primitive accessors keep values outside the {@code int} range, and that updates wrap
+ * on overflow as {@code long} arithmetic does.
+ */
+public class LongPropertyTest {
+
+    // A concrete implementation of LongProperty for testing
+    private static class TestLongProperty extends LongProperty {
+        private long value = 0L;
+
+        public TestLongProperty(String name, boolean isRecorded) {
+            super(name, isRecorded);
+        }
+
+        @Override
+        public void setLong(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public long getLong() {
+            return value;
+        }
+
+        @Override
+        public void run() {
+            value += 7L;
+        }
+    }
+
+    private TestLongProperty property;
+
+    @BeforeEach
+    public void setup() {
+        property = new TestLongProperty("TestProp", true);
+    }
+
+    @Test
+    public void testValuesBeyondIntRangeSurviveBoxedRoundTrip() {
+        for (long value : new long[] {Long.MIN_VALUE, Integer.MIN_VALUE - 1L, Integer.MAX_VALUE + 1L, Long.MAX_VALUE}) {
+            property.set(Long.valueOf(value));
+            assertEquals(value, property.getLong());
+            property.setLong(value);
+            assertEquals(Long.valueOf(value), property.get());
+        }
+    }
+
+    @Test
+    public void testRunWrapsOnOverflow() {
+        property.setLong(Long.MAX_VALUE - 3L);
+        property.run();
+        assertEquals(Long.MIN_VALUE + 3L, property.getLong());
+    }
+
+    @Test
+    public void testRunDoesNotTruncateToInt() {
+        property.setLong(Integer.MAX_VALUE);
+        property.run();
+        assertEquals(Integer.MAX_VALUE + 7L, property.getLong());
+    }
+
+    @Test
+    public void testSettingNullThrows() {
+        assertThrows(NullPointerException.class, () -> property.set(null));
+    }
+
+    @Test
+    public void testGetTypeIsBoxedClass() {
+        assertEquals(Long.class, property.getType());
+    }
+}
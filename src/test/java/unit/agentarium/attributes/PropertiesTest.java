@@ -1,7 +1,12 @@
 package unit.agentarium.attributes;
 
+import agentarium.agents.Agent;
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.AttributeSetCollection;
 import agentarium.attributes.Properties;
 import agentarium.attributes.Property;
+import agentarium.attributes.functional.FunctionalDoubleProperty;
+import agentarium.attributes.functional.FunctionalIntProperty;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -88,4 +93,76 @@ public class PropertiesTest {
         assertTrue(a.wasRun());
         assertTrue(b.wasRun());
     }
+
+    /** Builds an agent whose "Demand" property counts its runs and depends on "Climate.Temperature" */
+    private static Agent agentWithIncrementalProperty() {
+        AttributeSet climate = new AttributeSet("Climate");
+        climate.getProperties().add(new FunctionalDoubleProperty("Temperature", true,
+                (e, v) -> v, (e, current, value) -> value, (e, v) -> v));
+
+        AttributeSet economy = new AttributeSet("Economy");
+        FunctionalIntProperty demand = new FunctionalIntProperty("Demand", true,
+                (e, v) -> v, (e, current, value) -> value, (e, v) -> v + 1);
+        demand.declareInputs(AttributeSet.attributeKey("Climate", "Temperature"));
+        economy.getProperties().add(demand);
+
+        AttributeSetCollection collection = new AttributeSetCollection();
+        collection.add(climate);
+        collection.add(economy);
+        return new Agent("Agent_1", collection);
+    }
+
+    @Test
+    public void testPropertyWithUnchangedInputsIsSkipped() {
+        Agent agent = agentWithIncrementalProperty();
+        Properties economy = agent.getAttributeSetCollection().get("Economy").getProperties();
+        Property<?> demand = economy.get("Demand");
+
+        economy.run();
+        economy.run();
+        economy.run();
+
+        assertEquals(1, demand.get());
+    }
+
+    @Test
+    public void testPropertyRunsAgainWhenInputChanges() {
+        Agent agent = agentWithIncrementalProperty();
+        Properties climate = agent.getAttributeSetCollection().get("Climate").getProperties();
+        Properties economy = agent.getAttributeSetCollection().get("Economy").getProperties();
+        Property<?> demand = economy.get("Demand");
+
+        economy.run();
+        ((FunctionalDoubleProperty) climate.get("Temperature")).setDouble(21.5);
+        economy.run();
+        economy.run();
+
+        assertEquals(2, demand.get());
+    }
+
+    @Test
+    public void testDeclaredInputsSurviveDeepCopy() {
+        properties.add(new FunctionalIntProperty("speed", true, (e, v) -> v, (e, c, v) -> v, (e, v) -> v));
+        properties.get("speed").declareInputs("Set.input");
+
+        Properties copy = properties.deepCopy();
+
+        assertTrue(copy.get("speed").hasDeclaredInputs());
+        assertArrayEquals(new Object[] {"Set.input"}, copy.get("speed").getDeclaredInputs());
+    }
+
+    @Test
+    public void testUnknownInputIsRejected() {
+        AttributeSet set = new AttributeSet("Set");
+        FunctionalIntProperty property = new FunctionalIntProperty("Value", true,
+                (e, v) -> v, (e, current, value) -> value, (e, v) -> v + 1);
+        property.declareInputs("Missing.Input");
+        set.getProperties().add(property);
+        AttributeSetCollection collection = new AttributeSetCollection();
+        collection.add(set);
+        Agent agent = new Agent("Agent_1", collection);
+
+        Properties agentProperties = agent.getAttributeSetCollection().get("Set").getProperties();
+        assertThrows(IllegalArgumentException.class, agentProperties::run);
+    }
 }
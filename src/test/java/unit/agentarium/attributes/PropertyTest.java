@@ -45,6 +45,65 @@ public class PropertyTest {
         }
     }
 
+    // A property copied through its no-argument constructor and field copying
+    private static class FieldCopiedProperty extends Property<Integer> {
+        private static int instancesCreated = 0;
+        private final int[] history;
+        private Integer value = 0;
+
+        private FieldCopiedProperty() {
+            super("FieldCopied", true, Integer.class);
+            history = new int[] {instancesCreated++};
+        }
+
+        @Override
+        public void set(Integer value) {
+            this.value = value;
+        }
+
+        @Override
+        public Integer get() {
+            return value;
+        }
+
+        @Override
+        public void run() {
+            value++;
+        }
+    }
+
+    // A property copied through its copy constructor
+    private static class CopyConstructedProperty extends Property<Integer> {
+        private Integer value = 0;
+        private final boolean isCopy;
+
+        public CopyConstructedProperty() {
+            super("CopyConstructed", true, Integer.class);
+            isCopy = false;
+        }
+
+        private CopyConstructedProperty(CopyConstructedProperty other) {
+            super(other.getName(), other.isRecorded(), Integer.class);
+            value = other.value;
+            isCopy = true;
+        }
+
+        @Override
+        public void set(Integer value) {
+            this.value = value;
+        }
+
+        @Override
+        public Integer get() {
+            return value;
+        }
+
+        @Override
+        public void run() {
+            value++;
+        }
+    }
+
     private TestIntegerProperty property;
 
     @BeforeEach
@@ -79,4 +138,47 @@ public class PropertyTest {
     public void testRecordingFlag() {
         assertTrue(property.isRecorded());
     }
+
+    @Test
+    public void testDeepCopyCopiesDeclaredFieldsIncludingFinal() {
+        FieldCopiedProperty original = new FieldCopiedProperty();
+        original.set(7);
+
+        FieldCopiedProperty copy = (FieldCopiedProperty) original.deepCopy();
+
+        assertNotSame(original, copy);
+        assertEquals(7, copy.get());
+        assertSame(original.history, copy.history);
+    }
+
+    @Test
+    public void testRepeatedDeepCopiesAreIndependent() {
+        FieldCopiedProperty original = new FieldCopiedProperty();
+        original.set(1);
+
+        Property<Integer> first = original.deepCopy();
+        Property<Integer> second = original.deepCopy();
+        first.run();
+
+        assertEquals(2, first.get());
+        assertEquals(1, second.get());
+        assertEquals(1, original.get());
+    }
+
+    @Test
+    public void testDeepCopyPrefersCopyConstructor() {
+        CopyConstructedProperty original = new CopyConstructedProperty();
+        original.set(3);
+
+        CopyConstructedProperty copy = (CopyConstructedProperty) original.deepCopy();
+
+        assertTrue(copy.isCopy);
+        assertEquals(3, copy.get());
+    }
+
+    @Test
+    public void testDeepCopyWithoutUsableConstructorThrows() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> property.deepCopy());
+        assertTrue(exception.getMessage().contains(TestIntegerProperty.class.getName()));
+    }
 }
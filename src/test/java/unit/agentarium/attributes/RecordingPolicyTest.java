@@ -0,0 +1,57 @@
+package unit.agentarium.attributes;
+
+import agentarium.attributes.RecordingPolicy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RecordingPolicy}.
+ *
+ * <p>Verifies which ticks each policy records and that invalid policies are rejected.
+ */
+public class RecordingPolicyTest {
+
+    @Test
+    public void testEveryTickAndEveryNthTick() {
+        assertTrue(RecordingPolicy.everyTick().isEveryTick());
+        assertTrue(RecordingPolicy.everyNthTick(1).isEveryTick());
+
+        RecordingPolicy everyThird = RecordingPolicy.everyNthTick(3);
+        assertFalse(everyThird.isEveryTick());
+        assertTrue(everyThird.isRecordedAt(0, 10));
+        assertFalse(everyThird.isRecordedAt(1, 10));
+        assertTrue(everyThird.isRecordedAt(9, 10));
+        assertThrows(IllegalArgumentException.class, () -> RecordingPolicy.everyNthTick(0));
+    }
+
+    @Test
+    public void testWindowsRecordFromFirstTickUpToEndTick() {
+        RecordingPolicy windows = RecordingPolicy.withinWindows(2, 4, 10, 11);
+        assertFalse(windows.isRecordedAt(1, 20));
+        assertTrue(windows.isRecordedAt(2, 20));
+        assertTrue(windows.isRecordedAt(3, 20));
+        assertFalse(windows.isRecordedAt(4, 20));
+        assertTrue(windows.isRecordedAt(10, 20));
+        assertFalse(windows.isRecordedAt(11, 20));
+
+        assertThrows(IllegalArgumentException.class, () -> RecordingPolicy.withinWindows(1, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> RecordingPolicy.withinWindow(5, 2));
+    }
+
+    @Test
+    public void testFinalTickOnlyAndOnChange() {
+        assertFalse(RecordingPolicy.finalTickOnly().isRecordedAt(8, 9));
+        assertTrue(RecordingPolicy.finalTickOnly().isRecordedAt(9, 9));
+
+        assertTrue(RecordingPolicy.onChange().isOnChange());
+        assertTrue(RecordingPolicy.onChange().isRecordedAt(5, 9));
+    }
+
+    @Test
+    public void testEqualityByConfiguration() {
+        assertEquals(RecordingPolicy.withinWindow(1, 5), RecordingPolicy.withinWindows(1, 5));
+        assertEquals(RecordingPolicy.withinWindow(1, 5).hashCode(), RecordingPolicy.withinWindows(1, 5).hashCode());
+        assertNotEquals(RecordingPolicy.everyNthTick(2), RecordingPolicy.everyNthTick(3));
+    }
+}
@@ -0,0 +1,67 @@
+package unit.agentarium.attributes.functional;
+
+import agentarium.attributes.functional.BatchKernels;
+import agentarium.attributes.functional.DoubleBatchFunction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BatchKernels}.
+ *
+ * <p>Checks the arithmetic of each kernel and that only the requested prefix of the array is modified.
+ */
+public class BatchKernelsTest {
+
+    @Test
+    public void testScaleAndOffset() {
+        double[] values = {1.0, 2.0, 3.0};
+        BatchKernels.scale(2.0).run(values, 3);
+        BatchKernels.offset(-1.0).run(values, 3);
+        assertArrayEquals(new double[] {1.0, 3.0, 5.0}, values, 1e-9);
+    }
+
+    @Test
+    public void testAffineRespectsLength() {
+        double[] values = {1.0, 2.0, 3.0};
+        BatchKernels.affine(10.0, 1.0).run(values, 2);
+        assertArrayEquals(new double[] {11.0, 21.0, 3.0}, values, 1e-9);
+    }
+
+    @Test
+    public void testRelaxMovesTowardsTarget() {
+        double[] values = {0.0, 20.0};
+        BatchKernels.relax(10.0, 0.5).run(values, 2);
+        assertArrayEquals(new double[] {5.0, 15.0}, values, 1e-9);
+    }
+
+    @Test
+    public void testClampBoundsValues() {
+        double[] values = {-5.0, 0.5, 5.0};
+        BatchKernels.clamp(0.0, 1.0).run(values, 3);
+        assertArrayEquals(new double[] {0.0, 0.5, 1.0}, values, 1e-9);
+    }
+
+    @Test
+    public void testClampRejectsInvertedRange() {
+        assertThrows(IllegalArgumentException.class, () -> BatchKernels.clamp(1.0, 0.0));
+    }
+
+    @Test
+    public void testChainAppliesKernelsInOrder() {
+        DoubleBatchFunction kernel = BatchKernels.chain(BatchKernels.offset(1.0), BatchKernels.scale(3.0));
+        double[] values = {1.0};
+        kernel.run(values, 1);
+        assertEquals(6.0, values[0], 1e-9);
+    }
+
+    @Test
+    public void testIntegerOffsets() {
+        int[] ints = {1, 2};
+        long[] longs = {10L, 20L};
+        BatchKernels.intOffset(3).run(ints, 2);
+        BatchKernels.longOffset(-5L).run(longs, 2);
+        assertArrayEquals(new int[] {4, 5}, ints);
+        assertArrayEquals(new long[] {5L, 15L}, longs);
+    }
+}
@@ -0,0 +1,49 @@
+package unit.agentarium.attributes.functional;
+
+import agentarium.attributes.functional.BatchKernels;
+import agentarium.attributes.functional.FunctionalBatchDoubleProperty;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FunctionalBatchDoubleProperty}.
+ *
+ * <p>Verifies that the supplied kernel drives both per-agent and batch execution, and that copies keep the
+ * kernel but start from the default value.
+ */
+public class FunctionalBatchDoublePropertyTest {
+
+    @Test
+    public void testRunUsesKernel() {
+        FunctionalBatchDoubleProperty property = new FunctionalBatchDoubleProperty("Energy", true, BatchKernels.offset(1.5));
+        property.setDouble(1.0);
+        property.run();
+        assertEquals(2.5, property.getDouble(), 1e-9);
+    }
+
+    @Test
+    public void testRunBatchDelegatesToKernel() {
+        FunctionalBatchDoubleProperty property = new FunctionalBatchDoubleProperty("Energy", true, BatchKernels.scale(2.0));
+        double[] values = {1.0, 2.0};
+        property.runBatch(values, 2);
+        assertArrayEquals(new double[] {2.0, 4.0}, values, 1e-9);
+    }
+
+    @Test
+    public void testDeepCopyKeepsMetadataAndStartsFromDefault() {
+        FunctionalBatchDoubleProperty property = new FunctionalBatchDoubleProperty("Energy", false, BatchKernels.scale(2.0));
+        property.setDouble(4.0);
+
+        FunctionalBatchDoubleProperty copy = property.deepCopy();
+
+        assertNotSame(property, copy);
+        assertEquals("Energy", copy.getName());
+        assertFalse(copy.isRecorded());
+        assertSame(property.getBatchFunction(), copy.getBatchFunction());
+        assertEquals(0.0, copy.getDouble(), 1e-9);
+
+        copy.setDouble(5.0);
+        assertEquals(4.0, property.getDouble(), 1e-9);
+    }
+}
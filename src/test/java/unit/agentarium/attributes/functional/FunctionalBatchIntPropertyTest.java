@@ -0,0 +1,39 @@
+package unit.agentarium.attributes.functional;
+
+import agentarium.attributes.functional.BatchKernels;
+import agentarium.attributes.functional.FunctionalBatchIntProperty;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FunctionalBatchIntProperty}.
+ *
+ * <p>Verifies that the supplied kernel drives per-agent execution, and that copies keep the kernel but start from
+ * the default value.
+ */
+public class FunctionalBatchIntPropertyTest {
+
+    @Test
+    public void testRunUsesKernel() {
+        FunctionalBatchIntProperty property = new FunctionalBatchIntProperty("Count", true, BatchKernels.intOffset(2));
+        property.setInt(3);
+        property.run();
+        assertEquals(5, property.getInt());
+    }
+
+    @Test
+    public void testDeepCopyKeepsMetadataAndStartsFromDefault() {
+        FunctionalBatchIntProperty property = new FunctionalBatchIntProperty("Count", false, BatchKernels.intOffset(2));
+        property.setInt(3);
+
+        FunctionalBatchIntProperty copy = property.deepCopy();
+
+        assertNotSame(property, copy);
+        assertEquals("Count", copy.getName());
+        assertFalse(copy.isRecorded());
+        assertSame(property.getBatchFunction(), copy.getBatchFunction());
+        assertEquals(0, copy.getInt());
+        assertEquals(3, property.getInt());
+    }
+}
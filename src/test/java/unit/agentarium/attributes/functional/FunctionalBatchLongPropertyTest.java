@@ -0,0 +1,39 @@
+package unit.agentarium.attributes.functional;
+
+import agentarium.attributes.functional.BatchKernels;
+import agentarium.attributes.functional.FunctionalBatchLongProperty;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FunctionalBatchLongProperty}.
+ *
+ * <p>Verifies that the supplied kernel drives per-agent execution, and that copies keep the kernel but start from
+ * the default value.
+ */
+public class FunctionalBatchLongPropertyTest {
+
+    @Test
+    public void testRunUsesKernel() {
+        FunctionalBatchLongProperty property = new FunctionalBatchLongProperty("Count", true, BatchKernels.longOffset(2L));
+        property.setLong(3L);
+        property.run();
+        assertEquals(5L, property.getLong());
+    }
+
+    @Test
+    public void testDeepCopyKeepsMetadataAndStartsFromDefault() {
+        FunctionalBatchLongProperty property = new FunctionalBatchLongProperty("Count", false, BatchKernels.longOffset(2L));
+        property.setLong(3L);
+
+        FunctionalBatchLongProperty copy = property.deepCopy();
+
+        assertNotSame(property, copy);
+        assertEquals("Count", copy.getName());
+        assertFalse(copy.isRecorded());
+        assertSame(property.getBatchFunction(), copy.getBatchFunction());
+        assertEquals(0L, copy.getLong());
+        assertEquals(3L, property.getLong());
+    }
+}
@@ -0,0 +1,54 @@
+package unit.agentarium.attributes.functional;
+
+import agentarium.attributes.functional.FunctionalBooleanProperty;
+import agentarium.attributes.functional.BooleanPropertyGetterFunction;
+import agentarium.attributes.functional.BooleanPropertyRunFunction;
+import agentarium.attributes.functional.BooleanPropertySetterFunction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link FunctionalBooleanProperty}.
+ *
+ * <p>Verifies that the get, set, and run behaviours execute as expected when provided via primitive functional interfaces.</p>
+ */
+public class FunctionalBooleanPropertyTest {
+
+    private final BooleanPropertyGetterFunction getter = (associatedModelElement, propertyValue) -> propertyValue;
+    private final BooleanPropertySetterFunction setter = (associatedModelElement, currentPropertyValue, newValue) -> newValue;
+    private final BooleanPropertyRunFunction runLogic = (associatedModelElement, propertyValue) -> !propertyValue;
+
+    @Test
+    void testSetAndGetUsePrimitiveValue() {
+        FunctionalBooleanProperty property = new FunctionalBooleanProperty("Value", true, getter, setter, runLogic);
+
+        property.setBoolean(true);
+
+        assertTrue(property.getBoolean());
+        assertEquals(Boolean.valueOf(true), property.get());
+    }
+
+    @Test
+    void testRunAppliesRunLogic() {
+        FunctionalBooleanProperty property = new FunctionalBooleanProperty("Value", true, getter, setter, runLogic);
+
+        property.run();
+
+        assertTrue(property.getBoolean());
+    }
+
+    @Test
+    void testDeepCopyKeepsMetadataAndStartsFromDefault() {
+        FunctionalBooleanProperty property = new FunctionalBooleanProperty("Value", false, getter, setter, runLogic);
+        property.setBoolean(true);
+
+        FunctionalBooleanProperty copy = property.deepCopy();
+
+        assertNotSame(property, copy);
+        assertEquals("Value", copy.getName());
+        assertFalse(copy.isRecorded());
+        assertEquals(Boolean.class, copy.getType());
+        assertFalse(copy.getBoolean());
+    }
+}
@@ -0,0 +1,54 @@
+package unit.agentarium.attributes.functional;
+
+import agentarium.attributes.functional.FunctionalDoubleProperty;
+import agentarium.attributes.functional.DoublePropertyGetterFunction;
+import agentarium.attributes.functional.DoublePropertyRunFunction;
+import agentarium.attributes.functional.DoublePropertySetterFunction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link FunctionalDoubleProperty}.
+ *
+ * <p>Verifies that the get, set, and run behaviours execute as expected when provided via primitive functional interfaces.</p>
+ */
+public class FunctionalDoublePropertyTest {
+
+    private final DoublePropertyGetterFunction getter = (associatedModelElement, propertyValue) -> propertyValue;
+    private final DoublePropertySetterFunction setter = (associatedModelElement, currentPropertyValue, newValue) -> newValue;
+    private final DoublePropertyRunFunction runLogic = (associatedModelElement, propertyValue) -> propertyValue + 0.5;
+
+    @Test
+    void testSetAndGetUsePrimitiveValue() {
+        FunctionalDoubleProperty property = new FunctionalDoubleProperty("Value", true, getter, setter, runLogic);
+
+        property.setDouble(4.2);
+
+        assertEquals(4.2, property.getDouble(), 1e-9);
+        assertEquals(Double.valueOf(4.2), property.get());
+    }
+
+    @Test
+    void testRunAppliesRunLogic() {
+        FunctionalDoubleProperty property = new FunctionalDoubleProperty("Value", true, getter, setter, runLogic);
+
+        property.run();
+
+        assertEquals(0.5, property.getDouble(), 1e-9);
+    }
+
+    @Test
+    void testDeepCopyKeepsMetadataAndStartsFromDefault() {
+        FunctionalDoubleProperty property = new FunctionalDoubleProperty("Value", false, getter, setter, runLogic);
+        property.setDouble(4.2);
+
+        FunctionalDoubleProperty copy = property.deepCopy();
+
+        assertNotSame(property, copy);
+        assertEquals("Value", copy.getName());
+        assertFalse(copy.isRecorded());
+        assertEquals(Double.class, copy.getType());
+        assertEquals(0.0, copy.getDouble(), 1e-9);
+    }
+}
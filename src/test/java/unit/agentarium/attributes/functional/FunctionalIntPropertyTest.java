@@ -0,0 +1,54 @@
+package unit.agentarium.attributes.functional;
+
+import agentarium.attributes.functional.FunctionalIntProperty;
+import agentarium.attributes.functional.IntPropertyGetterFunction;
+import agentarium.attributes.functional.IntPropertyRunFunction;
+import agentarium.attributes.functional.IntPropertySetterFunction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link FunctionalIntProperty}.
+ *
+ * <p>Verifies that the get, set, and run behaviours execute as expected when provided via primitive functional interfaces.</p>
+ */
+public class FunctionalIntPropertyTest {
+
+    private final IntPropertyGetterFunction getter = (associatedModelElement, propertyValue) -> propertyValue;
+    private final IntPropertySetterFunction setter = (associatedModelElement, currentPropertyValue, newValue) -> newValue;
+    private final IntPropertyRunFunction runLogic = (associatedModelElement, propertyValue) -> propertyValue + 7;
+
+    @Test
+    void testSetAndGetUsePrimitiveValue() {
+        FunctionalIntProperty property = new FunctionalIntProperty("Value", true, getter, setter, runLogic);
+
+        property.setInt(42);
+
+        assertEquals(42, property.getInt());
+        assertEquals(Integer.valueOf(42), property.get());
+    }
+
+    @Test
+    void testRunAppliesRunLogic() {
+        FunctionalIntProperty property = new FunctionalIntProperty("Value", true, getter, setter, runLogic);
+
+        property.run();
+
+        assertEquals(7, property.getInt());
+    }
+
+    @Test
+    void testDeepCopyKeepsMetadataAndStartsFromDefault() {
+        FunctionalIntProperty property = new FunctionalIntProperty("Value", false, getter, setter, runLogic);
+        property.setInt(42);
+
+        FunctionalIntProperty copy = property.deepCopy();
+
+        assertNotSame(property, copy);
+        assertEquals("Value", copy.getName());
+        assertFalse(copy.isRecorded());
+        assertEquals(Integer.class, copy.getType());
+        assertEquals(0, copy.getInt());
+    }
+}
@@ -0,0 +1,54 @@
+package unit.agentarium.attributes.functional;
+
+import agentarium.attributes.functional.FunctionalLongProperty;
+import agentarium.attributes.functional.LongPropertyGetterFunction;
+import agentarium.attributes.functional.LongPropertyRunFunction;
+import agentarium.attributes.functional.LongPropertySetterFunction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link FunctionalLongProperty}.
+ *
+ * <p>Verifies that the get, set, and run behaviours execute as expected when provided via primitive functional interfaces.</p>
+ */
+public class FunctionalLongPropertyTest {
+
+    private final LongPropertyGetterFunction getter = (associatedModelElement, propertyValue) -> propertyValue;
+    private final LongPropertySetterFunction setter = (associatedModelElement, currentPropertyValue, newValue) -> newValue;
+    private final LongPropertyRunFunction runLogic = (associatedModelElement, propertyValue) -> propertyValue + 7L;
+
+    @Test
+    void testSetAndGetUsePrimitiveValue() {
+        FunctionalLongProperty property = new FunctionalLongProperty("Value", true, getter, setter, runLogic);
+
+        property.setLong(42L);
+
+        assertEquals(42L, property.getLong());
+        assertEquals(Long.valueOf(42L), property.get());
+    }
+
+    @Test
+    void testRunAppliesRunLogic() {
+        FunctionalLongProperty property = new FunctionalLongProperty("Value", true, getter, setter, runLogic);
+
+        property.run();
+
+        assertEquals(7L, property.getLong());
+    }
+
+    @Test
+    void testDeepCopyKeepsMetadataAndStartsFromDefault() {
+        FunctionalLongProperty property = new FunctionalLongProperty("Value", false, getter, setter, runLogic);
+        property.setLong(42L);
+
+        FunctionalLongProperty copy = property.deepCopy();
+
+        assertNotSame(property, copy);
+        assertEquals("Value", copy.getName());
+        assertFalse(copy.isRecorded());
+        assertEquals(Long.class, copy.getType());
+        assertEquals(0L, copy.getLong());
+    }
+}
@@ -1,13 +1,17 @@
 package unit.agentarium.attributes.results;
 
 import agentarium.attributes.*;
+import agentarium.attributes.results.AttributeSetRecordingPlan;
 import agentarium.attributes.results.AttributeSetResults;
 import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
 import agentarium.attributes.results.databases.AttributeSetResultsDatabaseFactory;
+import agentarium.attributes.results.databases.MemoryBasedAttributeSetResultsDatabase;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,6 +48,11 @@ public class AttributeSetResultsTest {
         results = new AttributeSetResults("Agent_0", attributeSet);
     }
 
+    @AfterEach
+    public void tearDown() {
+        AttributeSetResultsDatabaseFactory.clearCustomFactory();
+    }
+
     @Test
     public void testMetadataIsInitialisedCorrectly() {
         assertEquals("Agent_0", results.getModelElementName());
@@ -60,6 +69,19 @@ public class AttributeSetResultsTest {
         verify(mockDatabase).addPropertyValue("prop1", 42);
     }
 
+    @Test
+    public void testRecordPrimitivePropertiesDelegateToTypedDatabaseMethods() {
+        results.recordIntProperty("prop1", 1);
+        results.recordLongProperty("prop1", 2L);
+        results.recordDoubleProperty("prop1", 3.0);
+        results.recordBooleanProperty("prop1", true);
+
+        verify(mockDatabase).addIntPropertyValue("prop1", 1);
+        verify(mockDatabase).addLongPropertyValue("prop1", 2L);
+        verify(mockDatabase).addDoublePropertyValue("prop1", 3.0);
+        verify(mockDatabase).addBooleanPropertyValue("prop1", true);
+    }
+
     @Test
     public void testRecordPreEventDelegatesToDatabase() {
         results.recordPreEvent("preEvent1", true);
@@ -96,4 +118,93 @@ public class AttributeSetResultsTest {
         @Override public boolean isTriggered() { return true; }
         @Override public void run() {}
     }
+
+    @Test
+    public void testRecordingPlanRegistersRecordedAttributesAndDelegatesBySlot() {
+        verify(mockDatabase).registerPropertyColumn("prop1");
+        verify(mockDatabase).registerPreEventColumn("preEvent1");
+        verify(mockDatabase).registerPostEventColumn("postEvent1");
+
+        AttributeSetRecordingPlan plan = results.getRecordingPlan();
+        plan.recordIntProperty(plan.getPropertySlot(0), 5);
+        plan.recordPreEvent(plan.getPreEventSlot(0), true);
+        plan.recordPostEvent(plan.getPostEventSlot(0), false);
+
+        verify(mockDatabase).addIntPropertyValueAt(0, 5);
+        verify(mockDatabase).addPreEventValueAt(0, true);
+        verify(mockDatabase).addPostEventValueAt(0, false);
+        assertEquals(AttributeSetRecordingPlan.NOT_RECORDED, plan.getPropertySlot(1));
+    }
+
+    @Test
+    public void testRecordingPoliciesStoreSparseSeriesWithTicks() {
+        AttributeSetResultsDatabaseFactory.setCustomFactory(MemoryBasedAttributeSetResultsDatabase::new);
+
+        Properties properties = new Properties();
+        TestProperty sampled = new TestProperty("sampled");
+        sampled.setRecordingPolicy(RecordingPolicy.everyNthTick(2));
+        TestProperty finalOnly = new TestProperty("final");
+        finalOnly.setRecordingPolicy(RecordingPolicy.finalTickOnly());
+        TestProperty dense = new TestProperty("dense");
+        properties.add(sampled);
+        properties.add(finalOnly);
+        properties.add(dense);
+
+        Events preEvents = new Events();
+        TestEvent changed = new TestEvent("changed");
+        changed.setRecordingPolicy(RecordingPolicy.onChange());
+        preEvents.add(changed);
+
+        AttributeSetResults sparseResults = new AttributeSetResults("Agent_1", new AttributeSet("sparseSet", preEvents, properties, new Events()));
+        AttributeSetRecordingPlan plan = sparseResults.getRecordingPlan();
+        assertTrue(plan.hasRecordingPolicies());
+
+        for (int tick = 0; tick < 5; tick++) {
+            plan.setTick(tick, 4);
+            plan.recordIntProperty(plan.getPropertySlot(0), tick * 10);
+            plan.recordIntProperty(plan.getPropertySlot(1), tick * 10);
+            plan.recordIntProperty(plan.getPropertySlot(2), tick * 10);
+            plan.recordPreEvent(plan.getPreEventSlot(0), tick >= 3);
+        }
+
+        assertEquals(List.of(0, 20, 40), sparseResults.getPropertyValues("sampled"));
+        assertEquals(List.of(0, 2, 4), sparseResults.getPropertyTicks("sampled"));
+        assertEquals(List.of(40), sparseResults.getPropertyValues("final"));
+        assertEquals(List.of(4), sparseResults.getPropertyTicks("final"));
+        assertEquals(List.of(0, 1, 2, 3, 4), sparseResults.getPropertyTicks("dense"));
+
+        assertEquals(List.of(false, true), sparseResults.getPreEventValues("changed"));
+        assertEquals(List.of(0, 3), sparseResults.getPreEventTicks("changed"));
+        assertEquals(Arrays.asList(false, false, false, true, true), sparseResults.getAlignedPreEventValues("changed"));
+        assertEquals(List.of(0, 20, 40), sparseResults.getAlignedPropertyValues("sampled"));
+    }
+
+    @Test
+    public void testTickRangesAndStreamsFollowRecordedTicks() {
+        AttributeSetResultsDatabaseFactory.setCustomFactory(MemoryBasedAttributeSetResultsDatabase::new);
+
+        Properties properties = new Properties();
+        TestProperty sampled = new TestProperty("sampled");
+        sampled.setRecordingPolicy(RecordingPolicy.everyNthTick(3));
+        properties.add(sampled);
+        properties.add(new TestProperty("dense"));
+
+        AttributeSetResults rangeResults = new AttributeSetResults("Agent_1", new AttributeSet("rangeSet", new Events(), properties, new Events()));
+        AttributeSetRecordingPlan plan = rangeResults.getRecordingPlan();
+        for (int tick = 0; tick < 10; tick++) {
+            plan.setTick(tick, 9);
+            plan.recordIntProperty(plan.getPropertySlot(0), tick);
+            plan.recordIntProperty(plan.getPropertySlot(1), tick);
+        }
+
+        assertEquals(List.of(2, 3, 4), rangeResults.getPropertyValues("dense", 2, 5));
+        assertEquals(List.of(3, 6), rangeResults.getPropertyValues("sampled", 1, 7));
+        assertEquals(List.of(9), rangeResults.getPropertyValues("sampled", 7, 100));
+        assertTrue(rangeResults.getPropertyValues("sampled", 4, 6).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> rangeResults.getPropertyValues("dense", 3, 2));
+
+        assertEquals(45, rangeResults.streamPropertyLongs("dense").sum());
+        assertEquals(18.0, rangeResults.streamPropertyDoubles("sampled").sum());
+        assertEquals(4, rangeResults.streamPropertyValues("sampled").count());
+    }
 }
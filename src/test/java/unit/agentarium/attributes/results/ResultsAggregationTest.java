@@ -0,0 +1,135 @@
+package unit.agentarium.attributes.results;
+
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.Events;
+import agentarium.attributes.Properties;
+import agentarium.attributes.results.AttributeSetRecordingPlan;
+import agentarium.attributes.results.AttributeSetResults;
+import agentarium.attributes.results.ResultsAggregation;
+import agentarium.attributes.results.ResultsAggregator;
+import agentarium.attributes.results.databases.AttributeSetResultsDatabaseFactory;
+import agentarium.attributes.results.databases.MemoryBasedAttributeSetResultsDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ResultsAggregation} and the built-in {@link ResultsAggregator}s.
+ *
+ * <p>Records values for agents split across two worker aggregations, merges them and checks the finished
+ * per-tick results.
+ */
+public class ResultsAggregationTest {
+
+    private ResultsAggregation aggregation;
+
+    @BeforeEach
+    public void setup() {
+        AttributeSetResultsDatabaseFactory.setCustomFactory(MemoryBasedAttributeSetResultsDatabase::new);
+        aggregation = new ResultsAggregation();
+        aggregation.addPropertyAggregator("set", "sum", ResultsAggregator.summing());
+        aggregation.addPropertyAggregator("set", "mean", ResultsAggregator.averaging());
+        aggregation.addPreEventAggregator("set", "event", ResultsAggregator.summing());
+    }
+
+    @AfterEach
+    public void clearCustomFactory() {
+        AttributeSetResultsDatabaseFactory.setCustomFactory(null);
+    }
+
+    private static AttributeSetResults newAgentResults(String agentName) {
+        Properties properties = new Properties();
+        properties.add(new AttributeSetResultsTest.TestProperty("sum"));
+        properties.add(new AttributeSetResultsTest.TestProperty("mean"));
+        properties.add(new AttributeSetResultsTest.TestProperty("raw"));
+        Events preEvents = new Events();
+        preEvents.add(new AttributeSetResultsTest.TestEvent("event"));
+        return new AttributeSetResults(agentName, new AttributeSet("set", preEvents, properties, new Events()));
+    }
+
+    private static void recordTicks(AttributeSetResults results, int agentValue, int ticks) {
+        AttributeSetRecordingPlan plan = results.getRecordingPlan();
+        assertTrue(plan.isTickNeeded());
+        for (int tick = 0; tick < ticks; tick++) {
+            plan.setTick(tick, ticks - 1);
+            plan.recordIntProperty(plan.getPropertySlot(0), agentValue + tick);
+            plan.recordIntProperty(plan.getPropertySlot(1), agentValue + tick);
+            plan.recordIntProperty(plan.getPropertySlot(2), agentValue + tick);
+            plan.recordPreEvent(plan.getPreEventSlot(0), agentValue % 2 == 0);
+        }
+    }
+
+    @Test
+    public void testWorkerAggregationsCombineIntoPerTickResults() {
+        ResultsAggregation firstWorker = aggregation.emptyCopy();
+        ResultsAggregation secondWorker = aggregation.emptyCopy();
+
+        AttributeSetResults agent1 = newAgentResults("Agent_1");
+        AttributeSetResults agent2 = newAgentResults("Agent_2");
+        AttributeSetResults agent3 = newAgentResults("Agent_3");
+        agent1.attachAggregation(firstWorker, true);
+        agent2.attachAggregation(firstWorker, true);
+        agent3.attachAggregation(secondWorker, false);
+
+        recordTicks(agent1, 1, 3);
+        recordTicks(agent2, 2, 3);
+        recordTicks(agent3, 6, 3);
+
+        firstWorker.combine(secondWorker);
+        assertEquals(List.of(9.0, 12.0, 15.0), firstWorker.getPropertyValues("set", "sum"));
+        assertEquals(List.of(3.0, 4.0, 5.0), firstWorker.getPropertyValues("set", "mean"));
+        assertEquals(List.of(2.0, 2.0, 2.0), firstWorker.getPreEventValues("set", "event"));
+        assertNull(firstWorker.getPropertyValues("set", "raw"));
+
+        // Raw values are kept only where aggregated values are stored, and unaggregated attributes always are
+        assertEquals(List.of(1, 2, 3), agent1.getPropertyValues("sum"));
+        assertNull(agent3.getPropertyValues("sum"));
+        assertNull(agent3.getPreEventValues("event"));
+        assertEquals(List.of(6, 7, 8), agent3.getPropertyValues("raw"));
+    }
+
+    @Test
+    public void testEmptyCopyKeepsAggregatorsWithoutPartialResults() {
+        AttributeSetResults agent = newAgentResults("Agent_1");
+        agent.attachAggregation(aggregation, true);
+        recordTicks(agent, 1, 2);
+
+        ResultsAggregation copy = aggregation.emptyCopy();
+        assertFalse(copy.isEmpty());
+        assertEquals(List.of("sum", "mean"), copy.getPropertyNames("set"));
+        assertEquals(List.of("event"), copy.getPreEventNames("set"));
+        assertTrue(copy.getPostEventNames("set").isEmpty());
+        assertTrue(copy.getPropertyValues("set", "sum").isEmpty());
+        assertEquals(List.of(1.0, 2.0), aggregation.getPropertyValues("set", "sum"));
+    }
+
+    @Test
+    public void testCombiningDifferentAggregationsIsRejected() {
+        ResultsAggregation other = new ResultsAggregation();
+        other.addPostEventAggregator("set", "other", ResultsAggregator.summing());
+        assertThrows(IllegalArgumentException.class, () -> aggregation.combine(other));
+        assertThrows(IllegalArgumentException.class, () -> aggregation.addPropertyAggregator("set", "x", null));
+        assertTrue(new ResultsAggregation().isEmpty());
+    }
+
+    @Test
+    public void testBuiltInAggregatorsHandleBoxedValues() {
+        ResultsAggregator<double[]> summing = ResultsAggregator.summing();
+        double[] sum = summing.accumulate(summing.identity(), 2.5);
+        sum = summing.accumulate(sum, true);
+        sum = summing.accumulate(sum, null);
+        sum = summing.combine(sum, summing.accumulateLong(summing.identity(), 4L));
+        assertEquals(7.5, summing.finish(sum));
+
+        ResultsAggregator<double[]> averaging = ResultsAggregator.averaging();
+        assertTrue(Double.isNaN((Double) averaging.finish(averaging.identity())));
+        double[] mean = averaging.accumulate(averaging.identity(), 1);
+        mean = averaging.accumulate(mean, false);
+        mean = averaging.accumulate(mean, "ignored");
+        assertEquals(0.5, averaging.finish(mean));
+    }
+}
@@ -0,0 +1,112 @@
+package unit.agentarium.attributes.results.databases;
+
+import agentarium.attributes.results.databases.AsyncAttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.MemoryBasedAttributeSetResultsDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AsyncAttributeSetResultsDatabase}.
+ *
+ * <p>Verifies that values written in the background are all visible when read, that mutable values are written
+ * as they were when recorded, that a small buffer applies backpressure without losing values, and that writing
+ * errors reach the recording thread.
+ */
+public class AsyncAttributeSetResultsDatabaseTest {
+
+    private int originalCapacity;
+    private MemoryBasedAttributeSetResultsDatabase delegate;
+    private AsyncAttributeSetResultsDatabase database;
+
+    @BeforeEach
+    public void setUp() {
+        originalCapacity = AsyncAttributeSetResultsDatabase.getBufferCapacity();
+        delegate = new MemoryBasedAttributeSetResultsDatabase();
+        database = new AsyncAttributeSetResultsDatabase(delegate);
+        database.connect();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        AsyncAttributeSetResultsDatabase.closeWriters();
+        AsyncAttributeSetResultsDatabase.setBufferCapacity(originalCapacity);
+    }
+
+    @Test
+    public void testValuesAreVisibleOnceRead() {
+        for (int tick = 0; tick < 100; tick++) {
+            database.addPropertyValue("count", tick);
+            database.addPreEventValue("start", tick % 2 == 0);
+            database.addPostEventValue("end", tick == 99);
+        }
+
+        List<Object> counts = database.getPropertyColumnAsList("count");
+        assertEquals(100, counts.size());
+        assertEquals(99, counts.get(99));
+        assertEquals(true, database.getPreEventColumnAsList("start").get(0));
+        assertEquals(true, database.getPostEventColumnAsList("end").get(99));
+    }
+
+    @Test
+    public void testSmallBufferAppliesBackpressureWithoutLosingValues() {
+        AsyncAttributeSetResultsDatabase.closeWriters();
+        AsyncAttributeSetResultsDatabase.setBufferCapacity(2);
+        AsyncAttributeSetResultsDatabase smallBufferDatabase =
+                new AsyncAttributeSetResultsDatabase(new MemoryBasedAttributeSetResultsDatabase());
+
+        List<Object> expected = new ArrayList<>();
+        for (int tick = 0; tick < 1000; tick++) {
+            smallBufferDatabase.addPropertyValue("count", tick);
+            expected.add(tick);
+        }
+
+        assertEquals(expected, smallBufferDatabase.getPropertyColumnAsList("count"));
+    }
+
+    @Test
+    public void testMutableValuesAreWrittenAsRecorded() {
+        List<Integer> visited = new ArrayList<>();
+        List<Object> expected = new ArrayList<>();
+        for (int tick = 0; tick < 1000; tick++) {
+            visited.add(tick);
+            database.addPropertyValue("visited", visited);
+            expected.add(new ArrayList<>(visited));
+        }
+
+        assertEquals(expected, database.getPropertyColumnAsList("visited"));
+    }
+
+    @Test
+    public void testColumnReplacementFollowsBufferedValues() {
+        database.addPropertyValue("count", 1);
+        database.setPropertyColumn("count", Arrays.asList(5, 6));
+        database.addPropertyValue("count", 7);
+
+        assertEquals(List.of(5, 6, 7), database.getPropertyColumnAsList("count"));
+    }
+
+    @Test
+    public void testValuesAreWrittenDirectlyAfterWritersClose() {
+        database.addPropertyValue("count", 1);
+        AsyncAttributeSetResultsDatabase.closeWriters();
+        database.addPropertyValue("count", 2);
+
+        assertEquals(List.of(1, 2), delegate.getPropertyColumnAsList("count"));
+    }
+
+    @Test
+    public void testWritingErrorsReachTheRecordingThread() {
+        database.addPropertyValue("count", 1);
+        database.addPropertyValue("count", "not a number");
+
+        assertThrows(RuntimeException.class, () -> database.getPropertyColumnAsList("count"));
+        assertThrows(RuntimeException.class, AsyncAttributeSetResultsDatabase::closeWriters);
+    }
+}
@@ -2,14 +2,22 @@ package unit.agentarium.attributes.results.databases;
 
 import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
 import agentarium.attributes.results.databases.DiskBasedAttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.TickStatistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -90,4 +98,179 @@ public class DiskBasedAttributeSetResultsDatabaseTest {
 
         assertEquals(triggers, result);
     }
+
+    @Test
+    public void testInterleavedColumnsKeepTheirOwnSeries() {
+        for (int tick = 0; tick < 3; tick++) {
+            database.addPropertyValue("health", 100 - tick);
+            database.addPropertyValue("energy", tick * 0.5);
+        }
+
+        assertEquals(List.of(100, 99, 98), database.getPropertyColumnAsList("health"));
+        assertEquals(List.of(0.0, 0.5, 1.0), database.getPropertyColumnAsList("energy"));
+    }
+
+    @Test
+    public void testValuesBufferedAcrossBatchesAreAllWritten() {
+        int originalBatchSize = DiskBasedAttributeSetResultsDatabase.getWriteBatchSize();
+        DiskBasedAttributeSetResultsDatabase.setWriteBatchSize(4);
+        try {
+            for (int tick = 0; tick < 10; tick++)
+                database.addPropertyValue("count", tick);
+
+            assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), database.getPropertyColumnAsList("count"));
+
+            database.addPropertyValue("count", 10);
+            assertEquals(11, database.getPropertyColumnAsList("count").size());
+        } finally {
+            DiskBasedAttributeSetResultsDatabase.setWriteBatchSize(originalBatchSize);
+        }
+    }
+
+    @Test
+    public void testSetColumnLeavesOtherColumnsIntact() {
+        database.addPropertyValue("health", 100);
+        database.addPropertyValue("health", 90);
+        database.setPropertyColumn("steps", Arrays.asList(1, 2, 3));
+        database.addPropertyValue("steps", 4);
+
+        assertEquals(List.of(100, 90), database.getPropertyColumnAsList("health"));
+        assertEquals(List.of(1, 2, 3, 4), database.getPropertyColumnAsList("steps"));
+    }
+
+    @Test
+    public void testColumnNamesNeedNoEscapingByCaller() {
+        database.addPropertyValue("energy level", 7);
+        database.addPreEventValue("is \"hungry\"", true);
+
+        assertEquals(List.of(7), database.getPropertyColumnAsList("energy level"));
+        assertEquals(List.of(true), database.getPreEventColumnAsList("is \"hungry\""));
+    }
+
+    @Test
+    public void testPragmaSettingsAreValidated() {
+        assertThrows(IllegalArgumentException.class, () -> DiskBasedAttributeSetResultsDatabase.setJournalMode("FAST"));
+        assertThrows(IllegalArgumentException.class, () -> DiskBasedAttributeSetResultsDatabase.setSynchronousMode("1; DROP TABLE x"));
+        assertThrows(IllegalArgumentException.class, () -> DiskBasedAttributeSetResultsDatabase.setWriteBatchSize(0));
+
+        String originalMode = DiskBasedAttributeSetResultsDatabase.getSynchronousMode();
+        DiskBasedAttributeSetResultsDatabase.setSynchronousMode("normal");
+        assertEquals("NORMAL", DiskBasedAttributeSetResultsDatabase.getSynchronousMode());
+        DiskBasedAttributeSetResultsDatabase.setSynchronousMode(originalMode);
+    }
+
+    @Test
+    public void testColumnRangesAndIteratorsReadFromDisk() {
+        for (int tick = 0; tick < 5000; tick++)
+            database.addPropertyValue("count", tick);
+        database.addPreEventValue("start", true);
+
+        assertEquals(List.of(4095, 4096, 4097), database.getPropertyColumnRange("count", 4095, 4098));
+        assertEquals(List.of(4999), database.getPropertyColumnRange("count", 4999, 6000));
+        assertEquals(List.of(true), database.getPreEventColumnRange("start", 0, 10));
+        assertTrue(database.getPropertyColumnRange("missing", 0, 1).isEmpty());
+
+        Iterator<Object> values = database.getPropertyColumnIterator("count");
+        int count = 0;
+        while (values.hasNext())
+            assertEquals(count++, values.next());
+        assertEquals(5000, count);
+        assertThrows(NoSuchElementException.class, values::next);
+
+        assertEquals(5000L * 4999 / 2, sum(database.getPropertyColumnLongIterator("count")));
+    }
+
+    private static long sum(PrimitiveIterator.OfLong values) {
+        long total = 0;
+        while (values.hasNext())
+            total += values.nextLong();
+        return total;
+    }
+
+    @Test
+    public void testColumnsFoldIntoTickStatisticsInSql() {
+        database.addPropertyValue("energy", 1.5);
+        database.addPropertyValue("energy", Double.NaN);
+        database.addPropertyValue("energy", Double.NEGATIVE_INFINITY);
+        database.addPropertyValue("energy", -2e10);
+        database.addPropertyValue("mood", "12 angry men");
+        database.addPostEventValue("end", true);
+        database.addPostEventValue("end", false);
+
+        TickStatistics energy = new TickStatistics();
+        database.addPropertyColumnTo("energy", energy);
+        assertEquals(4, energy.getTickCount());
+        assertEquals(1.5, energy.getMean(0));
+        assertTrue(Double.isNaN(energy.getSum(1)));
+        assertEquals(1, energy.getCount(1));
+        assertEquals(Double.NEGATIVE_INFINITY, energy.getMin(2));
+        assertEquals(-2e10, energy.getMax(3));
+
+        TickStatistics moods = new TickStatistics();
+        database.addPropertyColumnTo("mood", moods);
+        assertEquals(0, moods.getTickCount());
+
+        TickStatistics ends = new TickStatistics();
+        database.addPostEventColumnTo("end", ends);
+        assertEquals(List.of(1L, 0L), ends.getTrueCounts());
+        assertEquals(List.of(1L, 1L), ends.getCounts());
+    }
+
+    @Test
+    public void testValuesOfEachTypeRoundTrip() {
+        database.addPropertyValue("count", 7);
+        database.addPropertyValue("total", 1L << 40);
+        database.addPropertyValue("small", (short) 3);
+        database.addPropertyValue("tiny", (byte) -2);
+        database.addPropertyValue("ratio", 0.25f);
+        database.addPropertyValue("energy", Double.NaN);
+        database.addPropertyValue("energy", Double.POSITIVE_INFINITY);
+        database.addPropertyValue("energy", -0.5);
+        database.addPropertyValue("mood", "true");
+        database.addPropertyValue("position", Arrays.asList(1, 2));
+
+        assertEquals(List.of(7), database.getPropertyColumnAsList("count"));
+        assertEquals(List.of(1L << 40), database.getPropertyColumnAsList("total"));
+        assertEquals(List.of((short) 3), database.getPropertyColumnAsList("small"));
+        assertEquals(List.of((byte) -2), database.getPropertyColumnAsList("tiny"));
+        assertEquals(List.of(0.25f), database.getPropertyColumnAsList("ratio"));
+        assertEquals(Arrays.asList(Double.NaN, Double.POSITIVE_INFINITY, -0.5), database.getPropertyColumnAsList("energy"));
+        assertEquals(List.of("true"), database.getPropertyColumnAsList("mood"));
+        assertEquals(List.of(Arrays.asList(1, 2)), database.getPropertyColumnAsList("position"));
+    }
+
+    @Test
+    public void testNumbersAndBooleansAreStoredAsNativeSqliteValues() throws Exception {
+        database.addPropertyValue("count", 7);
+        database.addPropertyValue("energy", 0.5);
+        database.addPropertyValue("mood", "calm");
+        database.addPreEventValue("start", true);
+        database.getPropertyColumnAsList("count");
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database.getDatabasePath());
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT typeof(\"count\"), typeof(\"energy\"), typeof(\"mood\") FROM properties_table;")) {
+                assertTrue(rs.next());
+                assertEquals("integer", rs.getString(1));
+                assertEquals("real", rs.getString(2));
+                assertEquals("text", rs.getString(3));
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT \"start\" FROM pre_events_table;")) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    public void testDeclaredPropertyTypeIsUsedToReadValues() {
+        database.declarePropertyType("energy", Double.class);
+        database.declarePropertyType("position", Object.class);
+        database.setPropertyColumn("energy", Arrays.asList(null, 1, 2.5));
+        database.addPropertyValue("position", Arrays.asList(1, 2));
+
+        assertEquals(Arrays.asList(1.0, 2.5), database.getPropertyColumnAsList("energy"));
+        assertEquals(List.of(Arrays.asList(1, 2)), database.getPropertyColumnAsList("position"));
+    }
 }
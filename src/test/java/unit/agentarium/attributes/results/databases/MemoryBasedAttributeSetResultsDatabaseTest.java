@@ -1,11 +1,14 @@
 package unit.agentarium.attributes.results.databases;
 
 import agentarium.attributes.results.databases.MemoryBasedAttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.ResultsStorageReport;
+import agentarium.attributes.results.databases.TickStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.PrimitiveIterator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -77,6 +80,34 @@ public class MemoryBasedAttributeSetResultsDatabaseTest {
         assertEquals(updated, database.getPostEventColumnAsList("failed"));
     }
 
+    @Test
+    public void testAddAndRetrievePrimitivePropertyValues() {
+        database.addIntPropertyValue("count", 3);
+        database.addLongPropertyValue("total", 4L);
+        database.addDoublePropertyValue("energy", 1.5);
+        database.addBooleanPropertyValue("alive", true);
+
+        assertEquals(List.of(3), database.getPropertyColumnAsList("count"));
+        assertEquals(List.of(4L), database.getPropertyColumnAsList("total"));
+        assertEquals(List.of(1.5), database.getPropertyColumnAsList("energy"));
+        assertEquals(List.of(true), database.getPropertyColumnAsList("alive"));
+    }
+
+    @Test
+    public void testPrimitiveAndBoxedValuesShareColumn() {
+        database.addDoublePropertyValue("energy", 1.5);
+        database.addPropertyValue("energy", 2.5);
+
+        assertEquals(List.of(1.5, 2.5), database.getPropertyColumnAsList("energy"));
+    }
+
+    @Test
+    public void testRejectTypeMismatchForPrimitiveProperty() {
+        database.addIntPropertyValue("count", 3);
+        assertThrows(IllegalArgumentException.class,
+                () -> database.addPropertyValue("count", "wrongType"));
+    }
+
     @Test
     public void testRejectTypeMismatchForProperty() {
         database.addPropertyValue("counter", 5);
@@ -97,4 +128,187 @@ public class MemoryBasedAttributeSetResultsDatabaseTest {
         assertThrows(IllegalArgumentException.class,
                 () -> database.addPostEventValue("done", 123));
     }
+
+    @Test
+    public void testSlotRecordingWritesToNamedColumns() {
+        int energy = database.registerPropertyColumn("energy");
+        int count = database.registerPropertyColumn("count");
+        int label = database.registerPropertyColumn("label");
+        int activated = database.registerPreEventColumn("activated");
+        int completed = database.registerPostEventColumn("completed");
+
+        for (int tick = 0; tick < 3; tick++) {
+            database.addDoublePropertyValueAt(energy, tick + 0.5);
+            database.addIntPropertyValueAt(count, tick);
+            database.addPropertyValueAt(label, "t" + tick);
+            database.addPreEventValueAt(activated, tick % 2 == 0);
+            database.addPostEventValueAt(completed, tick == 2);
+        }
+
+        assertEquals(List.of(0.5, 1.5, 2.5), database.getPropertyColumnAsList("energy"));
+        assertEquals(List.of(0, 1, 2), database.getPropertyColumnAsList("count"));
+        assertEquals(List.of("t0", "t1", "t2"), database.getPropertyColumnAsList("label"));
+        assertEquals(List.of(true, false, true), database.getPreEventColumnAsList("activated"));
+        assertEquals(List.of(false, false, true), database.getPostEventColumnAsList("completed"));
+    }
+
+    @Test
+    public void testRegisteringColumnTwiceReturnsSameSlot() {
+        int slot = database.registerPropertyColumn("speed");
+        assertEquals(slot, database.registerPropertyColumn("speed"));
+        assertNotEquals(slot, database.registerPropertyColumn("heading"));
+    }
+
+    @Test
+    public void testSlotRecordingFollowsReplacedColumn() {
+        int count = database.registerPropertyColumn("count");
+        database.addIntPropertyValueAt(count, 1);
+        database.setPropertyColumn("count", Arrays.asList(7, 8));
+        database.addIntPropertyValueAt(count, 9);
+
+        assertEquals(List.of(7, 8, 9), database.getPropertyColumnAsList("count"));
+    }
+
+    @Test
+    public void testRejectTypeMismatchForSlotProperty() {
+        int counter = database.registerPropertyColumn("counter");
+        database.addPropertyValueAt(counter, 5);
+        database.addPropertyValueAt(counter, 6);
+        assertThrows(IllegalArgumentException.class,
+                () -> database.addPropertyValueAt(counter, "wrongType"));
+    }
+
+    @Test
+    public void testEventColumnsAcceptNullsAfterBooleans() {
+        int activated = database.registerPreEventColumn("activated");
+        for (int tick = 0; tick < 100; tick++)
+            database.addPreEventValueAt(activated, tick % 7 == 0);
+        database.addPreEventValue("activated", null);
+        database.addPreEventValueAt(activated, true);
+
+        List<Object> values = database.getPreEventColumnAsList("activated");
+        assertEquals(102, values.size());
+        assertEquals(true, values.get(98));
+        assertNull(values.get(100));
+        assertEquals(true, values.get(101));
+    }
+
+    @Test
+    public void testNullConvertsPrimitivePropertyColumn() {
+        database.addDoublePropertyValue("energy", 1.5);
+        database.addPropertyValue("energy", null);
+        database.addDoublePropertyValue("energy", 2.5);
+
+        assertEquals(Arrays.asList(1.5, null, 2.5), database.getPropertyColumnAsList("energy"));
+    }
+
+    @Test
+    public void testInitialColumnCapacityIsValidated() {
+        int previous = MemoryBasedAttributeSetResultsDatabase.getInitialColumnCapacity();
+        try {
+            MemoryBasedAttributeSetResultsDatabase.setInitialColumnCapacity(1000);
+            assertEquals(1000, MemoryBasedAttributeSetResultsDatabase.getInitialColumnCapacity());
+            assertThrows(IllegalArgumentException.class,
+                    () -> MemoryBasedAttributeSetResultsDatabase.setInitialColumnCapacity(0));
+        } finally {
+            MemoryBasedAttributeSetResultsDatabase.setInitialColumnCapacity(previous);
+        }
+    }
+
+    @Test
+    public void testCompressedColumnsRoundTripAndReportSavings() {
+        MemoryBasedAttributeSetResultsDatabase.setColumnsCompressed(true);
+        try {
+            MemoryBasedAttributeSetResultsDatabase compressed = new MemoryBasedAttributeSetResultsDatabase();
+            int energy = compressed.registerPropertyColumn("energy");
+            for (int tick = 0; tick < 5000; tick++) {
+                compressed.addIntPropertyValue("count", tick);
+                compressed.addDoublePropertyValueAt(energy, tick < 2500 ? 1.0 : 2.0);
+                compressed.addPropertyValue("mood", tick < 4000 ? "calm" : "angry");
+                compressed.addPreEventValue("eat", tick % 1000 == 0);
+            }
+            compressed.addPropertyValue("mood", null);
+
+            List<Object> counts = compressed.getPropertyColumnAsList("count");
+            assertEquals(5000, counts.size());
+            assertEquals(4321, counts.get(4321));
+            assertEquals(2.0, compressed.getPropertyColumnAsList("energy").get(4999));
+            assertEquals("angry", compressed.getPropertyColumnAsList("mood").get(4000));
+            assertNull(compressed.getPropertyColumnAsList("mood").get(5000));
+            assertEquals(true, compressed.getPreEventColumnAsList("eat").get(3000));
+            assertEquals(false, compressed.getPreEventColumnAsList("eat").get(3001));
+
+            ResultsStorageReport report = compressed.getStorageReport();
+            assertEquals(4, report.getColumnCount());
+            assertEquals(20001, report.getValueCount());
+            assertTrue(report.getCompressionRatio() > 2, report.toString());
+        } finally {
+            MemoryBasedAttributeSetResultsDatabase.setColumnsCompressed(false);
+        }
+    }
+
+    @Test
+    public void testColumnRangesAreReadOnlyViews() {
+        for (int tick = 0; tick < 10; tick++)
+            database.addIntPropertyValue("count", tick);
+
+        List<Object> range = database.getPropertyColumnRange("count", 3, 6);
+        assertEquals(List.of(3, 4, 5), range);
+        assertThrows(UnsupportedOperationException.class, () -> range.add(6));
+        assertEquals(List.of(8, 9), database.getPropertyColumnRange("count", 8, 20));
+        assertTrue(database.getPropertyColumnRange("count", 12, 20).isEmpty());
+        assertNull(database.getPreEventColumnRange("missing", 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> database.getPropertyColumnRange("count", 5, 4));
+        assertThrows(IllegalArgumentException.class, () -> database.getPropertyColumnRange("count", -1, 4));
+    }
+
+    @Test
+    public void testPrimitiveIteratorsReadColumnsInOrder() {
+        for (int tick = 0; tick < 4; tick++) {
+            database.addIntPropertyValue("count", tick);
+            database.addDoublePropertyValue("energy", tick / 2.0);
+        }
+
+        PrimitiveIterator.OfDouble energies = database.getPropertyColumnDoubleIterator("energy");
+        double total = 0;
+        while (energies.hasNext())
+            total += energies.nextDouble();
+        assertEquals(3.0, total);
+
+        PrimitiveIterator.OfLong counts = database.getPropertyColumnLongIterator("count");
+        assertEquals(0L, counts.nextLong());
+        assertEquals(1L, counts.nextLong());
+        assertEquals(2.0, database.getPropertyColumnDoubleIterator("count").next() + 2.0);
+        assertFalse(database.getPropertyColumnIterator("missing").hasNext());
+    }
+
+    @Test
+    public void testColumnsFoldIntoTickStatistics() {
+        MemoryBasedAttributeSetResultsDatabase other = new MemoryBasedAttributeSetResultsDatabase();
+        for (int tick = 0; tick < 3; tick++) {
+            database.addIntPropertyValue("count", tick);
+            other.addDoublePropertyValue("count", tick + 0.5);
+            database.addPreEventValue("eat", tick > 0);
+            other.addPreEventValue("eat", tick > 1);
+        }
+        database.addPropertyValue("mood", "calm");
+
+        TickStatistics counts = new TickStatistics();
+        database.addPropertyColumnTo("count", counts);
+        other.addPropertyColumnTo("count", counts);
+        assertEquals(List.of(0.5, 2.5, 4.5), counts.getSums());
+        assertEquals(List.of(0.0, 1.0, 2.0), counts.getMins());
+        assertEquals(List.of(0.5, 1.5, 2.5), counts.getMaxes());
+
+        TickStatistics eats = new TickStatistics();
+        database.addPreEventColumnTo("eat", eats);
+        other.addPreEventColumnTo("eat", eats);
+        assertEquals(List.of(0L, 1L, 2L), eats.getTrueCounts());
+        assertEquals(List.of(0.0, 0.5, 1.0), eats.getMeans());
+
+        TickStatistics moods = new TickStatistics();
+        database.addPropertyColumnTo("mood", moods);
+        database.addPropertyColumnTo("missing", moods);
+        assertEquals(0, moods.getTickCount());
+    }
 }
@@ -0,0 +1,154 @@
+package unit.agentarium.attributes.results.databases;
+
+import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.MemoryMappedAttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.TickStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MemoryMappedAttributeSetResultsDatabase}.
+ *
+ * <p>Verifies that values of each type round-trip through the mapped column files, that columns change type
+ * when given nulls, and that a database left on disk can be reopened, including after a partial write.
+ */
+public class MemoryMappedAttributeSetResultsDatabaseTest {
+
+    private MemoryMappedAttributeSetResultsDatabase database;
+
+    private static MemoryMappedAttributeSetResultsDatabase connectedDatabase() throws Exception {
+        MemoryMappedAttributeSetResultsDatabase newDatabase = new MemoryMappedAttributeSetResultsDatabase();
+        Method setDatabasePathMethod = AttributeSetResultsDatabase.class
+                .getDeclaredMethod("setDatabasePath", String.class);
+        setDatabasePathMethod.setAccessible(true);
+        setDatabasePathMethod.invoke(newDatabase, Files.createTempDirectory("mapped-results").resolve("results.db").toString());
+        newDatabase.connect();
+        return newDatabase;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MemoryMappedAttributeSetResultsDatabase.setFilesDeletedOnDisconnect(true);
+        if (database != null)
+            database.disconnect();
+    }
+
+    @Test
+    public void testValuesOfEachTypeRoundTrip() throws Exception {
+        database = connectedDatabase();
+        for (int tick = 0; tick < 2000; tick++) {
+            database.addIntPropertyValue("count", tick);
+            database.addLongPropertyValue("total", tick * 1_000_000_000L);
+            database.addDoublePropertyValue("energy", tick / 2.0);
+            database.addPropertyValue("mood", tick % 2 == 0 ? "calm" : "angry");
+            database.addPreEventValue("eat", tick % 3 == 0);
+        }
+        database.addPostEventValue("position", Map.of("x", 1));
+
+        List<Object> counts = database.getPropertyColumnAsList("count");
+        assertEquals(2000, counts.size());
+        assertEquals(1999, counts.get(1999));
+        assertEquals(1_999_000_000_000L, database.getPropertyColumnAsList("total").get(1999));
+        assertEquals(999.5, database.getPropertyColumnAsList("energy").get(1999));
+        assertEquals(List.of("calm", "angry", "calm"), database.getPropertyColumnAsList("mood").subList(0, 3));
+        assertEquals(List.of(true, false, false, true), database.getPreEventColumnAsList("eat").subList(0, 4));
+        assertEquals(List.of(Map.of("x", 1)), database.getPostEventColumnAsList("position"));
+        assertEquals(List.of(), database.getPropertyColumnAsList("missing"));
+        assertTrue(database.getDatabasePath().endsWith("results.columns"));
+    }
+
+    @Test
+    public void testNullsAndMismatchedValues() throws Exception {
+        database = connectedDatabase();
+        database.addPropertyValue("count", 1);
+        database.addPropertyValue("count", null);
+        database.addPropertyValue("count", 3);
+        database.addPropertyValue("name", null);
+        database.addPropertyValue("name", "a");
+        database.addPropertyValue("flag", true);
+
+        assertEquals(Arrays.asList(1, null, 3), database.getPropertyColumnAsList("count"));
+        assertEquals(Arrays.asList(null, "a"), database.getPropertyColumnAsList("name"));
+        assertThrows(IllegalArgumentException.class, () -> database.addPropertyValue("flag", 2));
+    }
+
+    @Test
+    public void testSetColumnReplacesValues() throws Exception {
+        database = connectedDatabase();
+        database.addPropertyValue("rainfall", 7);
+        database.setPropertyColumn("rainfall", Arrays.asList(1.0, 2.0));
+        database.addPropertyValue("rainfall", 3.0);
+        database.setPreEventColumn("rain", Arrays.asList(true, null));
+
+        assertEquals(List.of(1.0, 2.0, 3.0), database.getPropertyColumnAsList("rainfall"));
+        assertEquals(Arrays.asList(true, null), database.getPreEventColumnAsList("rain"));
+    }
+
+    @Test
+    public void testDatabaseCanBeReopenedAfterAbortedRun() throws Exception {
+        MemoryMappedAttributeSetResultsDatabase.setFilesDeletedOnDisconnect(false);
+        MemoryMappedAttributeSetResultsDatabase aborted = connectedDatabase();
+        for (int tick = 0; tick < 5; tick++) {
+            aborted.addDoublePropertyValue("energy", tick);
+            aborted.addPropertyValue("mood", "mood" + tick);
+        }
+        aborted.setPropertyColumn("energy", Arrays.asList(1.0, 2.0));
+
+        // A column being registered when the run stopped leaves a partial entry at the end of the index
+        Path index = Path.of(aborted.getDatabasePath(), "index");
+        Files.write(index, new byte[] {0, 0, 0, 40, 0}, StandardOpenOption.APPEND);
+
+        database = MemoryMappedAttributeSetResultsDatabase.open(aborted.getDatabasePath());
+        assertEquals(List.of(1.0, 2.0), database.getPropertyColumnAsList("energy"));
+        assertEquals(List.of("mood0", "mood1", "mood2", "mood3", "mood4"), database.getPropertyColumnAsList("mood"));
+
+        database.addPropertyValue("mood", "mood5");
+        assertEquals("mood5", database.getPropertyColumnAsList("mood").get(5));
+
+        MemoryMappedAttributeSetResultsDatabase.setFilesDeletedOnDisconnect(true);
+        database.disconnect();
+        database = null;
+        assertFalse(new File(aborted.getDatabasePath()).exists());
+    }
+
+    @Test
+    public void testOpenRejectsDirectoryWithoutDatabase() throws IOException {
+        Path directory = Files.createTempDirectory("mapped-results");
+        assertThrows(IllegalArgumentException.class, () -> MemoryMappedAttributeSetResultsDatabase.open(directory.toString()));
+    }
+
+    @Test
+    public void testColumnsFoldIntoTickStatistics() throws Exception {
+        database = connectedDatabase();
+        for (int tick = 0; tick < 3; tick++) {
+            database.addLongPropertyValue("total", tick * 1_000_000_000L);
+            database.addPreEventValue("eat", tick != 1);
+        }
+        database.addPropertyValue("count", 1);
+        database.addPropertyValue("count", null);
+
+        TickStatistics totals = new TickStatistics();
+        database.addPropertyColumnTo("total", totals);
+        assertEquals(List.of(0.0, 1e9, 2e9), totals.getSums());
+
+        TickStatistics eats = new TickStatistics();
+        database.addPreEventColumnTo("eat", eats);
+        assertEquals(List.of(1L, 0L, 1L), eats.getTrueCounts());
+
+        TickStatistics counts = new TickStatistics();
+        database.addPropertyColumnTo("count", counts);
+        assertEquals(List.of(1L), counts.getCounts());
+    }
+}
@@ -0,0 +1,165 @@
+package unit.agentarium.attributes.results.databases;
+
+import agentarium.attributes.results.databases.AsyncAttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.AttributeSetResultsDatabaseFactory;
+import agentarium.attributes.results.databases.MemoryBasedAttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.ResultsBackend;
+import agentarium.attributes.results.databases.TieredAttributeSetResultsDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ResultsBackend}.
+ *
+ * <p>Verifies that a bound backend decides which databases the factory creates and the settings they use, on
+ * the bound thread only, and that bindings nest.
+ */
+public class ResultsBackendTest {
+
+    @AfterEach
+    public void tearDown() {
+        AttributeSetResultsDatabaseFactory.setDatabaseToMemoryBased();
+        AttributeSetResultsDatabaseFactory.setAsynchronousWrites(false);
+    }
+
+    @Test
+    public void testBoundBackendDecidesCreatedDatabases() {
+        AttributeSetResultsDatabaseFactory.setDatabaseToMemoryBased();
+        ResultsBackend backend = new ResultsBackend(TieredAttributeSetResultsDatabase.class, true, 16, false);
+
+        assertNull(ResultsBackend.current());
+        ResultsBackend.Binding binding = backend.bind();
+        try {
+            assertSame(backend, ResultsBackend.current());
+            AttributeSetResultsDatabase database = AttributeSetResultsDatabaseFactory.createDatabase();
+            assertTrue(database instanceof AsyncAttributeSetResultsDatabase);
+            assertTrue(((AsyncAttributeSetResultsDatabase) database).getDelegate() instanceof TieredAttributeSetResultsDatabase);
+        } finally {
+            binding.close();
+        }
+        assertNull(ResultsBackend.current());
+        assertTrue(AttributeSetResultsDatabaseFactory.createDatabase() instanceof MemoryBasedAttributeSetResultsDatabase);
+    }
+
+    @Test
+    public void testBindingsNest() {
+        ResultsBackend outer = new ResultsBackend(MemoryBasedAttributeSetResultsDatabase.class, false, 16, false);
+        ResultsBackend inner = new ResultsBackend(TieredAttributeSetResultsDatabase.class, false, 16, false);
+
+        ResultsBackend.Binding outerBinding = outer.bind();
+        try {
+            ResultsBackend.Binding innerBinding = inner.bind();
+            try {
+                assertSame(inner, ResultsBackend.current());
+            } finally {
+                innerBinding.close();
+            }
+            assertSame(outer, ResultsBackend.current());
+        } finally {
+            outerBinding.close();
+        }
+        assertNull(ResultsBackend.current());
+    }
+
+    @Test
+    public void testWrappedTaskRunsWithBackendBound() throws Exception {
+        ResultsBackend backend = new ResultsBackend(MemoryBasedAttributeSetResultsDatabase.class, false, 16, false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertSame(backend, executor.submit(backend.wrap(ResultsBackend::current)).get());
+            assertNull(executor.submit(ResultsBackend::current).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testMemoryBasedDatabasesTakeCompressionFromBoundBackend() {
+        boolean originalCompression = MemoryBasedAttributeSetResultsDatabase.areColumnsCompressed();
+        MemoryBasedAttributeSetResultsDatabase.setColumnsCompressed(false);
+        try {
+            MemoryBasedAttributeSetResultsDatabase compressed;
+            ResultsBackend.Binding binding = new ResultsBackend(MemoryBasedAttributeSetResultsDatabase.class, false, 16, true).bind();
+            try {
+                compressed = new MemoryBasedAttributeSetResultsDatabase();
+            } finally {
+                binding.close();
+            }
+            MemoryBasedAttributeSetResultsDatabase uncompressed = new MemoryBasedAttributeSetResultsDatabase();
+            for (int tick = 0; tick < 1000; tick++) {
+                compressed.addPropertyValue("mood", "calm");
+                uncompressed.addPropertyValue("mood", "calm");
+            }
+
+            assertTrue(compressed.getStorageReport().getStoredBytes() < uncompressed.getStorageReport().getStoredBytes());
+        } finally {
+            MemoryBasedAttributeSetResultsDatabase.setColumnsCompressed(originalCompression);
+        }
+    }
+
+    @Test
+    public void testBoundBackendTakesPrecedenceOverCustomFactory() {
+        AttributeSetResultsDatabaseFactory.setCustomFactory(MemoryBasedAttributeSetResultsDatabase::new);
+        ResultsBackend.Binding binding = new ResultsBackend(TieredAttributeSetResultsDatabase.class, false, 16, false).bind();
+        try {
+            assertTrue(AttributeSetResultsDatabaseFactory.createDatabase() instanceof TieredAttributeSetResultsDatabase);
+        } finally {
+            binding.close();
+            AttributeSetResultsDatabaseFactory.clearCustomFactory();
+        }
+    }
+
+    @Test
+    public void testTieredDatabasesTakeMemoryBudgetFromBoundBackend() {
+        TieredAttributeSetResultsDatabase.setHeapUsageThreshold(1);
+        TieredAttributeSetResultsDatabase.setSpillCheckInterval(256);
+        TieredAttributeSetResultsDatabase.resetSpillMetrics();
+        ResultsBackend smallBudget = new ResultsBackend(TieredAttributeSetResultsDatabase.class, false, 16, false,
+                1024, "WAL", "OFF", 1024);
+        try {
+            AttributeSetResultsDatabaseFactory.setDatabaseToTiered();
+            AttributeSetResultsDatabase unbound = AttributeSetResultsDatabaseFactory.createDatabase();
+            AttributeSetResultsDatabase bound;
+            ResultsBackend.Binding binding = smallBudget.bind();
+            try {
+                bound = AttributeSetResultsDatabaseFactory.createDatabase();
+            } finally {
+                binding.close();
+            }
+
+            for (int tick = 0; tick < 1024; tick++)
+                unbound.addIntPropertyValue("count", tick);
+            assertEquals(0, TieredAttributeSetResultsDatabase.getSpillCount());
+
+            for (int tick = 0; tick < 1024; tick++)
+                bound.addIntPropertyValue("count", tick);
+            assertTrue(TieredAttributeSetResultsDatabase.getSpillCount() > 0);
+            assertEquals(1024, bound.getPropertyColumnAsList("count").size());
+
+            unbound.disconnect();
+            bound.disconnect();
+        } finally {
+            TieredAttributeSetResultsDatabase.setHeapUsageThreshold(0.9);
+            TieredAttributeSetResultsDatabase.setSpillCheckInterval(4096);
+            TieredAttributeSetResultsDatabase.resetSpillMetrics();
+        }
+    }
+
+    @Test
+    public void testInvalidSettingsThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ResultsBackend(MemoryBasedAttributeSetResultsDatabase.class, false, 0, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ResultsBackend(MemoryBasedAttributeSetResultsDatabase.class, false, 16, false, 0, "WAL", "OFF", 1024));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ResultsBackend(MemoryBasedAttributeSetResultsDatabase.class, false, 16, false, 1024, "FAST", "OFF", 1024));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ResultsBackend(MemoryBasedAttributeSetResultsDatabase.class, false, 16, false, 1024, "WAL", "OFF", 0));
+    }
+}
@@ -0,0 +1,236 @@
+package unit.agentarium.attributes.results.databases;
+
+import agentarium.attributes.results.databases.ResultsBackend;
+import agentarium.attributes.results.databases.SharedDiskBasedAttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.TickStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SharedDiskBasedAttributeSetResultsDatabase}.
+ *
+ * <p>Verifies that databases created on one thread, or for one results backend, share a single file while keeping
+ * their values apart, and that the file is created lazily and deleted once every database has disconnected.
+ */
+public class SharedDiskBasedAttributeSetResultsDatabaseTest {
+
+    private static SharedDiskBasedAttributeSetResultsDatabase connectedDatabase(String modelElementName, String attributeSetName) {
+        SharedDiskBasedAttributeSetResultsDatabase database = new SharedDiskBasedAttributeSetResultsDatabase();
+        database.setOwnerNames(modelElementName, attributeSetName);
+        database.connect();
+        return database;
+    }
+
+    @Test
+    public void testDatabasesOnOneThreadShareAFileButNotTheirValues() {
+        SharedDiskBasedAttributeSetResultsDatabase first = connectedDatabase("Agent_0", "Food");
+        SharedDiskBasedAttributeSetResultsDatabase second = connectedDatabase("Agent_1", "Food");
+        try {
+            for (int tick = 0; tick < 3; tick++) {
+                first.addPropertyValue("hunger", tick);
+                second.addPropertyValue("hunger", 10 + tick);
+                first.addPreEventValue("eat", tick == 1);
+            }
+
+            assertEquals(first.getDatabasePath(), second.getDatabasePath());
+            assertEquals(List.of(0, 1, 2), first.getPropertyColumnAsList("hunger"));
+            assertEquals(List.of(10, 11, 12), second.getPropertyColumnAsList("hunger"));
+            assertEquals(List.of(false, true, false), first.getPreEventColumnAsList("eat"));
+            assertEquals(List.of(), second.getPreEventColumnAsList("eat"));
+        } finally {
+            first.disconnect();
+            second.disconnect();
+        }
+    }
+
+    private static SharedDiskBasedAttributeSetResultsDatabase connectedDatabase(ResultsBackend backend, String modelElementName) {
+        ResultsBackend.Binding binding = backend.bind();
+        try {
+            return connectedDatabase(modelElementName, "Food");
+        } finally {
+            binding.close();
+        }
+    }
+
+    @Test
+    public void testDatabasesOfOneBackendShareAFileAcrossThreads() throws Exception {
+        ResultsBackend backend = new ResultsBackend(SharedDiskBasedAttributeSetResultsDatabase.class, false, 16, false);
+        SharedDiskBasedAttributeSetResultsDatabase first = connectedDatabase(backend, "Agent_0");
+        SharedDiskBasedAttributeSetResultsDatabase second;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            second = executor.submit(() -> connectedDatabase(backend, "Agent_1")).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        try {
+            first.addPropertyValue("hunger", 1);
+            second.addPropertyValue("hunger", 2);
+
+            assertEquals(first.getDatabasePath(), second.getDatabasePath());
+            assertEquals(List.of(1), first.getPropertyColumnAsList("hunger"));
+            assertEquals(List.of(2), second.getPropertyColumnAsList("hunger"));
+        } finally {
+            first.disconnect();
+            second.disconnect();
+        }
+    }
+
+    @Test
+    public void testDatabasesOfDifferentBackendsOnOneThreadUseSeparateFiles() {
+        ResultsBackend firstRun = new ResultsBackend(SharedDiskBasedAttributeSetResultsDatabase.class, false, 16, false);
+        ResultsBackend secondRun = new ResultsBackend(SharedDiskBasedAttributeSetResultsDatabase.class, false, 16, false);
+        SharedDiskBasedAttributeSetResultsDatabase first = connectedDatabase(firstRun, "Agent_0");
+        SharedDiskBasedAttributeSetResultsDatabase second = connectedDatabase(secondRun, "Agent_0");
+        SharedDiskBasedAttributeSetResultsDatabase unbound = connectedDatabase("Agent_0", "Food");
+        try {
+            first.addPropertyValue("hunger", 1);
+            second.addPropertyValue("hunger", 2);
+            File secondFile = new File(second.getDatabasePath());
+
+            assertNotEquals(first.getDatabasePath(), second.getDatabasePath());
+            assertNotEquals(first.getDatabasePath(), unbound.getDatabasePath());
+            assertNotEquals(second.getDatabasePath(), unbound.getDatabasePath());
+
+            // Disconnecting the first run's only database closes its store without touching the second run's
+            first.disconnect();
+            assertFalse(new File(first.getDatabasePath()).exists());
+            assertTrue(secondFile.exists());
+            assertEquals(List.of(2), second.getPropertyColumnAsList("hunger"));
+        } finally {
+            first.disconnect();
+            second.disconnect();
+            unbound.disconnect();
+        }
+    }
+
+    @Test
+    public void testFileIsCreatedLazilyAndDeletedAfterLastDisconnect() {
+        SharedDiskBasedAttributeSetResultsDatabase first = connectedDatabase("Agent_0", "Food");
+        SharedDiskBasedAttributeSetResultsDatabase second = connectedDatabase("Agent_1", "Food");
+        File file = new File(first.getDatabasePath());
+        assertFalse(file.exists());
+
+        first.addPropertyValue("hunger", 1);
+        assertTrue(file.exists());
+
+        first.disconnect();
+        assertEquals(List.of(), second.getPropertyColumnAsList("hunger"));
+        second.disconnect();
+        assertFalse(file.exists());
+
+        SharedDiskBasedAttributeSetResultsDatabase third = connectedDatabase("Agent_2", "Food");
+        assertNotEquals(file.getPath(), third.getDatabasePath());
+        third.disconnect();
+    }
+
+    @Test
+    public void testSetColumnReplacesOnlyThatColumn() {
+        SharedDiskBasedAttributeSetResultsDatabase database = connectedDatabase("Environment", "Weather");
+        try {
+            database.addPropertyValue("temperature", 20.0);
+            database.setPropertyColumn("rainfall", Arrays.asList(1, 2, 3));
+            database.addPropertyValue("rainfall", 4);
+
+            assertEquals(List.of(20.0), database.getPropertyColumnAsList("temperature"));
+            assertEquals(List.of(1, 2, 3, 4), database.getPropertyColumnAsList("rainfall"));
+        } finally {
+            database.disconnect();
+        }
+    }
+
+    @Test
+    public void testValuesAreStoredInLongFormat() throws SQLException {
+        SharedDiskBasedAttributeSetResultsDatabase database = connectedDatabase("Agent_0", "Food");
+        try {
+            database.addPropertyValue("hunger", 5);
+            database.addPropertyValue("hunger", 6);
+            database.getPropertyColumnAsList("hunger");
+
+            try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database.getDatabasePath());
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT model_element, attribute_set, kind, attribute, tick, value "
+                         + "FROM results_long ORDER BY tick;")) {
+                assertTrue(rs.next());
+                assertEquals("Agent_0", rs.getString(1));
+                assertEquals("Food", rs.getString(2));
+                assertEquals("property", rs.getString(3));
+                assertEquals("hunger", rs.getString(4));
+                assertEquals(0, rs.getLong(5));
+                assertEquals("5", rs.getString(6));
+                assertTrue(rs.next());
+                assertEquals(1, rs.getLong(5));
+                assertFalse(rs.next());
+            }
+        } finally {
+            database.disconnect();
+        }
+    }
+
+    @Test
+    public void testColumnsFoldIntoTickStatisticsInSql() {
+        SharedDiskBasedAttributeSetResultsDatabase first = connectedDatabase("Agent_0", "Food");
+        SharedDiskBasedAttributeSetResultsDatabase second = connectedDatabase("Agent_1", "Food");
+        try {
+            for (int tick = 0; tick < 3; tick++) {
+                first.addPropertyValue("hunger", tick);
+                second.addPropertyValue("hunger", 10L * tick);
+                first.addPreEventValue("eat", tick == 1);
+            }
+
+            TickStatistics hunger = new TickStatistics();
+            first.addPropertyColumnTo("hunger", hunger);
+            second.addPropertyColumnTo("hunger", hunger);
+            assertEquals(List.of(0.0, 11.0, 22.0), hunger.getSums());
+            assertEquals(List.of(2L, 2L, 2L), hunger.getCounts());
+
+            TickStatistics eat = new TickStatistics();
+            first.addPreEventColumnTo("eat", eat);
+            assertEquals(List.of(0L, 1L, 0L), eat.getTrueCounts());
+        } finally {
+            first.disconnect();
+            second.disconnect();
+        }
+    }
+
+    @Test
+    public void testValuesKeepTheirTypesInTheStore() throws SQLException {
+        SharedDiskBasedAttributeSetResultsDatabase database = connectedDatabase("Agent_0", "Food");
+        try {
+            database.addPropertyValue("energy", Double.NaN);
+            database.addPropertyValue("energy", 2.5);
+            database.addPropertyValue("mood", "calm");
+            database.addPostEventValue("position", Map.of("x", 1));
+
+            assertEquals(Arrays.asList(Double.NaN, 2.5), database.getPropertyColumnAsList("energy"));
+            assertEquals(List.of("calm"), database.getPropertyColumnAsList("mood"));
+            assertEquals(List.of(Map.of("x", 1)), database.getPostEventColumnAsList("position"));
+
+            try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database.getDatabasePath());
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT typeof(value) FROM results_long "
+                         + "WHERE attribute = 'energy' ORDER BY tick;")) {
+                assertTrue(rs.next());
+                assertEquals("text", rs.getString(1));
+                assertTrue(rs.next());
+                assertEquals("real", rs.getString(1));
+            }
+        } finally {
+            database.disconnect();
+        }
+    }
+}
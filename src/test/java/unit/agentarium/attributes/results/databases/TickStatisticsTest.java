@@ -0,0 +1,58 @@
+package unit.agentarium.attributes.results.databases;
+
+import agentarium.attributes.results.databases.TickStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TickStatistics}.
+ *
+ * <p>Verifies how values of each type are counted and that statistics built separately combine tick by tick.
+ */
+public class TickStatisticsTest {
+
+    @Test
+    public void testValuesAreCountedPerTick() {
+        TickStatistics statistics = new TickStatistics();
+        statistics.add(0, 3);
+        statistics.add(0, 1.5);
+        statistics.add(0, "ignored");
+        statistics.add(0, null);
+        statistics.add(2, true);
+        statistics.addBoolean(2, false);
+
+        assertEquals(3, statistics.getTickCount());
+        assertEquals(List.of(2L, 0L, 2L), statistics.getCounts());
+        assertEquals(List.of(0L, 0L, 1L), statistics.getTrueCounts());
+        assertEquals(4.5, statistics.getSum(0));
+        assertEquals(2.25, statistics.getMean(0));
+        assertEquals(1.5, statistics.getMin(0));
+        assertEquals(3.0, statistics.getMax(0));
+        assertTrue(Double.isNaN(statistics.getMean(1)));
+        assertTrue(Double.isNaN(statistics.getMin(1)));
+        assertEquals(0.5, statistics.getMean(2));
+        assertEquals(0, statistics.getCount(10));
+        assertThrows(IllegalArgumentException.class, () -> statistics.addDouble(-1, 1));
+    }
+
+    @Test
+    public void testCombineMergesTickByTick() {
+        TickStatistics left = new TickStatistics();
+        TickStatistics right = new TickStatistics();
+        left.addDouble(0, 2);
+        right.addDouble(0, -1);
+        for (int tick = 0; tick < 40; tick++)
+            right.addDouble(tick, tick);
+
+        left.combine(right);
+        assertEquals(40, left.getTickCount());
+        assertEquals(3, left.getCount(0));
+        assertEquals(-1.0, left.getMin(0));
+        assertEquals(2.0, left.getMax(0));
+        assertEquals(39.0, left.getMax(39));
+        assertEquals(40, right.getTickCount());
+    }
+}
@@ -0,0 +1,188 @@
+package unit.agentarium.attributes.results.databases;
+
+import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.TickStatistics;
+import agentarium.attributes.results.databases.TieredAttributeSetResultsDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TieredAttributeSetResultsDatabase}.
+ *
+ * <p>Records with a memory budget small enough that columns spill while values are added, and checks that every
+ * way of reading a column returns its spilled values followed by those still in memory.
+ */
+public class TieredAttributeSetResultsDatabaseTest {
+
+    private static final int TICKS = 3000;
+
+    private TieredAttributeSetResultsDatabase database;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        TieredAttributeSetResultsDatabase.resetSpillMetrics();
+        TieredAttributeSetResultsDatabase.setMemoryBudget(4096);
+        TieredAttributeSetResultsDatabase.setHeapUsageThreshold(1);
+        TieredAttributeSetResultsDatabase.setSpillCheckInterval(500);
+
+        database = new TieredAttributeSetResultsDatabase();
+        Method setDatabasePathMethod = AttributeSetResultsDatabase.class
+                .getDeclaredMethod("setDatabasePath", String.class);
+        setDatabasePathMethod.setAccessible(true);
+        setDatabasePathMethod.invoke(database, Files.createTempDirectory("tiered-results").resolve("results.db").toString());
+        database.connect();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.disconnect();
+        TieredAttributeSetResultsDatabase.setMemoryBudget(Runtime.getRuntime().maxMemory() / 4);
+        TieredAttributeSetResultsDatabase.setHeapUsageThreshold(0.9);
+        TieredAttributeSetResultsDatabase.setSpillCheckInterval(4096);
+        TieredAttributeSetResultsDatabase.resetSpillMetrics();
+    }
+
+    private void recordTicks() {
+        for (int tick = 0; tick < TICKS; tick++) {
+            database.addIntPropertyValue("count", tick);
+            database.addDoublePropertyValue("energy", tick / 2.0);
+            database.addPropertyValue("mood", tick % 2 == 0 ? "calm" : "angry");
+            database.addPreEventValue("eat", tick % 3 == 0);
+        }
+    }
+
+    @Test
+    public void testSpilledColumnsReadBackInOrder() {
+        recordTicks();
+
+        assertTrue(TieredAttributeSetResultsDatabase.getSpillCount() > 0);
+        assertTrue(TieredAttributeSetResultsDatabase.getSpilledValueCount() > 0);
+        assertTrue(TieredAttributeSetResultsDatabase.getSpilledBytes() > 0);
+
+        List<Object> counts = database.getPropertyColumnAsList("count");
+        List<Object> energies = database.getPropertyColumnAsList("energy");
+        List<Object> moods = database.getPropertyColumnAsList("mood");
+        List<Object> eats = database.getPreEventColumnAsList("eat");
+        assertEquals(TICKS, counts.size());
+        assertEquals(TICKS, eats.size());
+        for (int tick = 0; tick < TICKS; tick++) {
+            assertEquals(tick, counts.get(tick));
+            assertEquals(tick / 2.0, energies.get(tick));
+            assertEquals(tick % 2 == 0 ? "calm" : "angry", moods.get(tick));
+            assertEquals(tick % 3 == 0, eats.get(tick));
+        }
+    }
+
+    @Test
+    public void testRangesAndIteratorsSpanBothTiers() {
+        recordTicks();
+
+        assertEquals(List.of(10, 11, 12), database.getPropertyColumnRange("count", 10, 13));
+        assertEquals(List.of(2998, 2999), database.getPropertyColumnRange("count", 2998, 3000));
+        List<Object> middle = database.getPropertyColumnRange("count", 100, 2900);
+        assertEquals(2800, middle.size());
+        assertEquals(100, middle.get(0));
+        assertEquals(2899, middle.get(2799));
+
+        Iterator<Object> moods = database.getPropertyColumnIterator("mood");
+        PrimitiveIterator.OfDouble energies = database.getPropertyColumnDoubleIterator("energy");
+        PrimitiveIterator.OfLong counts = database.getPropertyColumnLongIterator("count");
+        for (int tick = 0; tick < TICKS; tick++) {
+            assertEquals(tick % 2 == 0 ? "calm" : "angry", moods.next());
+            assertEquals(tick / 2.0, energies.nextDouble());
+            assertEquals(tick, counts.nextLong());
+        }
+        assertFalse(moods.hasNext());
+        assertFalse(energies.hasNext());
+        assertFalse(counts.hasNext());
+    }
+
+    @Test
+    public void testColumnsFoldAcrossBothTiers() {
+        recordTicks();
+
+        TickStatistics statistics = new TickStatistics();
+        database.addPropertyColumnTo("count", statistics);
+        database.addPropertyColumnTo("count", statistics);
+        assertEquals(TICKS, statistics.getTickCount());
+        assertEquals(2, statistics.getCount(0));
+        assertEquals(2999.0, statistics.getMean(2999));
+        assertEquals(2 * 1500.0, statistics.getSum(1500));
+
+        TickStatistics eats = new TickStatistics();
+        database.addPreEventColumnTo("eat", eats);
+        assertEquals(1, eats.getTrueCount(2997));
+        assertEquals(0, eats.getTrueCount(2998));
+    }
+
+    @Test
+    public void testReplacingSpilledColumnDropsSpilledValues() {
+        recordTicks();
+
+        List<Object> replacement = new ArrayList<>(List.of(1, 2, 3));
+        database.setPropertyColumn("count", replacement);
+        assertEquals(List.of(1, 2, 3), database.getPropertyColumnAsList("count"));
+        assertEquals(List.of(2, 3), database.getPropertyColumnRange("count", 1, 3));
+    }
+
+    @Test
+    public void testObjectColumnsStayInMemory() {
+        for (int tick = 0; tick < TICKS; tick++) {
+            database.addIntPropertyValue("count", tick);
+            database.addPropertyValue("position", new Position(tick));
+        }
+
+        assertTrue(TieredAttributeSetResultsDatabase.getSpillCount() > 0);
+        List<Object> positions = database.getPropertyColumnAsList("position");
+        assertEquals(TICKS, positions.size());
+        for (int tick = 0; tick < TICKS; tick++)
+            assertEquals(new Position(tick), positions.get(tick));
+        assertEquals(List.of(new Position(5), new Position(6)), database.getPropertyColumnRange("position", 5, 7));
+    }
+
+    @Test
+    public void testColumnsStayInMemoryWithinBudget() {
+        TieredAttributeSetResultsDatabase.setMemoryBudget(Long.MAX_VALUE);
+        recordTicks();
+
+        assertEquals(0, TieredAttributeSetResultsDatabase.getSpillCount());
+        assertEquals(TICKS, database.getPropertyColumnAsList("count").size());
+    }
+
+    @Test
+    public void testInvalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TieredAttributeSetResultsDatabase.setMemoryBudget(0));
+        assertThrows(IllegalArgumentException.class, () -> TieredAttributeSetResultsDatabase.setHeapUsageThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> TieredAttributeSetResultsDatabase.setHeapUsageThreshold(1.5));
+        assertThrows(IllegalArgumentException.class, () -> TieredAttributeSetResultsDatabase.setSpillCheckInterval(0));
+    }
+
+    /** A value without a no-argument constructor, which a JSON round trip cannot rebuild */
+    private static final class Position {
+        private final int x;
+
+        private Position(int x) {
+            this.x = x;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Position && ((Position) other).x == x;
+        }
+
+        @Override
+        public int hashCode() {
+            return x;
+        }
+    }
+}
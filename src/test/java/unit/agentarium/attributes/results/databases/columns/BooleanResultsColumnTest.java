@@ -0,0 +1,50 @@
+package unit.agentarium.attributes.results.databases.columns;
+
+import agentarium.attributes.results.databases.columns.BooleanResultsColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BooleanResultsColumn}.
+ *
+ * <p>Verifies that values are packed one bit each, including either side of each word boundary, and that only
+ * {@link Boolean}s are accepted as boxed values.
+ */
+public class BooleanResultsColumnTest {
+
+    @Test
+    public void testValuesEitherSideOfWordBoundaries() {
+        BooleanResultsColumn column = new BooleanResultsColumn(1);
+        for (int i = 0; i < 1000; i++)
+            column.addBoolean(i % 64 == 63 || i % 64 == 0);
+
+        assertEquals(1000, column.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i % 64 == 63 || i % 64 == 0, column.getBoolean(i), "index " + i);
+        assertThrows(IndexOutOfBoundsException.class, () -> column.getBoolean(1000));
+    }
+
+    @Test
+    public void testValuesArePackedOneBitEach() {
+        BooleanResultsColumn column = new BooleanResultsColumn();
+        for (int i = 0; i < 1024; i++)
+            column.addBoolean(true);
+
+        assertEquals(1024 / Byte.SIZE, column.getStoredSizeInBytes());
+        assertTrue(column.getStoredSizeInBytes() * Byte.SIZE <= column.getRawSizeInBytes());
+    }
+
+    @Test
+    public void testBoxedValuesMustBeBooleans() {
+        BooleanResultsColumn column = new BooleanResultsColumn();
+        column.add(Boolean.TRUE);
+
+        assertThrows(IllegalArgumentException.class, () -> column.add(Integer.valueOf(1)));
+        assertThrows(IllegalArgumentException.class, () -> column.add("true"));
+        assertThrows(IllegalArgumentException.class, () -> column.add(null));
+        assertEquals(List.of(Boolean.TRUE), column.asList());
+    }
+}
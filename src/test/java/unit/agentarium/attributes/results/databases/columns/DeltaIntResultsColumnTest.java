@@ -0,0 +1,58 @@
+package unit.agentarium.attributes.results.databases.columns;
+
+import agentarium.attributes.results.databases.columns.DeltaIntResultsColumn;
+import agentarium.attributes.results.databases.columns.EncodedResultsColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DeltaIntResultsColumn}.
+ *
+ * <p>Verifies that values round-trip through sealed delta-encoded blocks and that slowly changing values are
+ * stored in less space than they would take uncompressed.
+ */
+public class DeltaIntResultsColumnTest {
+
+    @Test
+    public void testValuesRoundTripThroughSealedBlocks() {
+        DeltaIntResultsColumn column = new DeltaIntResultsColumn(1);
+        int count = EncodedResultsColumn.BLOCK_SIZE * 3 + 17;
+        for (int i = 0; i < count; i++)
+            column.addInt(i % 5 == 0 ? Integer.MIN_VALUE : i * (i % 2 == 0 ? 1 : -1));
+
+        assertEquals(count, column.size());
+        for (int i = 0; i < count; i++)
+            assertEquals(i % 5 == 0 ? Integer.MIN_VALUE : i * (i % 2 == 0 ? 1 : -1), column.getInt(i), "index " + i);
+    }
+
+    @Test
+    public void testSlowlyChangingValuesAreCompressed() {
+        DeltaIntResultsColumn column = new DeltaIntResultsColumn();
+        for (int i = 0; i < EncodedResultsColumn.BLOCK_SIZE * 4; i++)
+            column.addInt(100_000 + i);
+
+        assertEquals((long) EncodedResultsColumn.BLOCK_SIZE * 4 * Integer.BYTES, column.getRawSizeInBytes());
+        assertTrue(column.getStoredSizeInBytes() < column.getRawSizeInBytes() / 3);
+    }
+
+    @Test
+    public void testAsListReturnsBoxedValues() {
+        DeltaIntResultsColumn column = new DeltaIntResultsColumn();
+        column.addInt(3);
+        column.add(Integer.valueOf(-2));
+
+        assertEquals(List.of(3, -2), column.asList());
+        assertEquals(-2, column.get(1));
+    }
+
+    @Test
+    public void testRejectsValuesOfOtherTypes() {
+        DeltaIntResultsColumn column = new DeltaIntResultsColumn();
+        assertThrows(IllegalArgumentException.class, () -> column.add("wrongType"));
+        assertThrows(IllegalArgumentException.class, () -> column.add(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.getInt(0));
+    }
+}
@@ -0,0 +1,39 @@
+package unit.agentarium.attributes.results.databases.columns;
+
+import agentarium.attributes.results.databases.columns.DeltaLongResultsColumn;
+import agentarium.attributes.results.databases.columns.EncodedResultsColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DeltaLongResultsColumn}.
+ *
+ * <p>Verifies that values, including differences that overflow a long, round-trip through sealed blocks.
+ */
+public class DeltaLongResultsColumnTest {
+
+    @Test
+    public void testValuesRoundTripThroughSealedBlocks() {
+        DeltaLongResultsColumn column = new DeltaLongResultsColumn(1);
+        int count = EncodedResultsColumn.BLOCK_SIZE * 2 + 5;
+        for (int i = 0; i < count; i++)
+            column.addLong(i % 2 == 0 ? Long.MAX_VALUE - i : Long.MIN_VALUE + i);
+
+        assertEquals(count, column.size());
+        for (int i = 0; i < count; i++)
+            assertEquals(i % 2 == 0 ? Long.MAX_VALUE - i : Long.MIN_VALUE + i, column.getLong(i), "index " + i);
+    }
+
+    @Test
+    public void testAsListReturnsBoxedValues() {
+        DeltaLongResultsColumn column = new DeltaLongResultsColumn();
+        column.addLong(4L);
+        column.add(Long.valueOf(5L));
+
+        assertEquals(List.of(4L, 5L), column.asList());
+        assertThrows(IllegalArgumentException.class, () -> column.add(1));
+    }
+}
@@ -0,0 +1,58 @@
+package unit.agentarium.attributes.results.databases.columns;
+
+import agentarium.attributes.results.databases.columns.DoubleResultsColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DoubleResultsColumn}.
+ *
+ * <p>Verifies that special values, NaN, negative zero and the infinities, are stored bit for bit across chunks, and
+ * that only {@link Double}s are accepted as boxed values.
+ */
+public class DoubleResultsColumnTest {
+
+    private static double valueAt(int i) {
+        switch (i % 5) {
+            case 0: return Double.NaN;
+            case 1: return -0.0;
+            case 2: return Double.NEGATIVE_INFINITY;
+            case 3: return Double.MIN_VALUE;
+            default: return i / 2.0;
+        }
+    }
+
+    @Test
+    public void testSpecialValuesAreStoredBitForBitAcrossChunks() {
+        DoubleResultsColumn column = new DoubleResultsColumn(3);
+        for (int i = 0; i < 1000; i++)
+            column.addDouble(valueAt(i));
+
+        assertEquals(1000, column.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(Double.doubleToRawLongBits(valueAt(i)), Double.doubleToRawLongBits(column.getDouble(i)), "index " + i);
+        assertThrows(IndexOutOfBoundsException.class, () -> column.getDouble(1000));
+    }
+
+    @Test
+    public void testBoxedViewKeepsNaNAndSignOfZero() {
+        DoubleResultsColumn column = new DoubleResultsColumn();
+        column.add(Double.valueOf(Double.NaN));
+        column.addDouble(-0.0);
+
+        assertEquals(List.of(Double.NaN, -0.0), column.asList());
+        assertNotEquals(Double.valueOf(0.0), column.get(1));
+    }
+
+    @Test
+    public void testBoxedValuesMustBeDoubles() {
+        DoubleResultsColumn column = new DoubleResultsColumn();
+        assertThrows(IllegalArgumentException.class, () -> column.add(Float.valueOf(1.5f)));
+        assertThrows(IllegalArgumentException.class, () -> column.add(Integer.valueOf(1)));
+        assertThrows(IllegalArgumentException.class, () -> column.add(null));
+        assertEquals(0, column.size());
+    }
+}
@@ -0,0 +1,59 @@
+package unit.agentarium.attributes.results.databases.columns;
+
+import agentarium.attributes.results.databases.columns.IntResultsColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link IntResultsColumn}.
+ *
+ * <p>Verifies that the full {@code int} range is stored exactly across chunks, that only {@link Integer}s are
+ * accepted as boxed values, and that each value takes four bytes.
+ */
+public class IntResultsColumnTest {
+
+    private static int valueAt(int i) {
+        switch (i % 4) {
+            case 0: return Integer.MIN_VALUE + i;
+            case 1: return Integer.MAX_VALUE - i;
+            case 2: return -i;
+            default: return i;
+        }
+    }
+
+    @Test
+    public void testLimitsAreStoredExactlyAcrossChunks() {
+        IntResultsColumn column = new IntResultsColumn(3);
+        for (int i = 0; i < 1000; i++)
+            column.addInt(valueAt(i));
+
+        assertEquals(1000, column.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(valueAt(i), column.getInt(i), "index " + i);
+        assertThrows(IndexOutOfBoundsException.class, () -> column.getInt(1000));
+    }
+
+    @Test
+    public void testBoxedValuesMustBeIntegers() {
+        IntResultsColumn column = new IntResultsColumn();
+        column.add(Integer.valueOf(Integer.MAX_VALUE));
+
+        assertThrows(IllegalArgumentException.class, () -> column.add(Long.valueOf(1L)));
+        assertThrows(IllegalArgumentException.class, () -> column.add(Short.valueOf((short) 1)));
+        assertThrows(IllegalArgumentException.class, () -> column.add(null));
+        assertEquals(List.of(Integer.MAX_VALUE), column.asList());
+    }
+
+    @Test
+    public void testEachValueTakesFourBytes() {
+        IntResultsColumn column = new IntResultsColumn(16);
+        for (int i = 0; i < 16; i++)
+            column.addInt(i);
+
+        assertEquals(16L * Integer.BYTES, column.getRawSizeInBytes());
+        assertEquals(16L * Integer.BYTES, column.getStoredSizeInBytes());
+    }
+}
@@ -0,0 +1,53 @@
+package unit.agentarium.attributes.results.databases.columns;
+
+import agentarium.attributes.results.databases.columns.LongResultsColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LongResultsColumn}.
+ *
+ * <p>Verifies that values outside the {@code int} range are stored exactly across chunks, that only {@link Long}s
+ * are accepted as boxed values, and that each value takes eight bytes.
+ */
+public class LongResultsColumnTest {
+
+    private static long valueAt(int i) {
+        return i % 2 == 0 ? Long.MAX_VALUE - i : Integer.MIN_VALUE - (long) i * Integer.MAX_VALUE;
+    }
+
+    @Test
+    public void testValuesBeyondIntRangeAreStoredExactlyAcrossChunks() {
+        LongResultsColumn column = new LongResultsColumn(3);
+        for (int i = 0; i < 1000; i++)
+            column.addLong(valueAt(i));
+
+        assertEquals(1000, column.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(valueAt(i), column.getLong(i), "index " + i);
+        assertThrows(IndexOutOfBoundsException.class, () -> column.getLong(1000));
+    }
+
+    @Test
+    public void testBoxedValuesMustBeLongs() {
+        LongResultsColumn column = new LongResultsColumn();
+        column.add(Long.valueOf(Long.MIN_VALUE));
+
+        assertThrows(IllegalArgumentException.class, () -> column.add(Integer.valueOf(1)));
+        assertThrows(IllegalArgumentException.class, () -> column.add(null));
+        assertEquals(List.of(Long.MIN_VALUE), column.asList());
+    }
+
+    @Test
+    public void testEachValueTakesEightBytes() {
+        LongResultsColumn column = new LongResultsColumn(16);
+        for (int i = 0; i < 16; i++)
+            column.addLong(i);
+
+        assertEquals(16L * Long.BYTES, column.getRawSizeInBytes());
+        assertEquals(16L * Long.BYTES, column.getStoredSizeInBytes());
+    }
+}
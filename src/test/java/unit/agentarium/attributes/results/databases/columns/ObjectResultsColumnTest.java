@@ -0,0 +1,44 @@
+package unit.agentarium.attributes.results.databases.columns;
+
+import agentarium.attributes.results.databases.columns.ObjectResultsColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ObjectResultsColumn}.
+ */
+public class ObjectResultsColumnTest {
+
+    @Test
+    public void testAddAndGetValues() {
+        ObjectResultsColumn column = new ObjectResultsColumn();
+        column.add("a");
+        column.add(null);
+
+        assertEquals(2, column.size());
+        assertEquals("a", column.get(0));
+        assertNull(column.get(1));
+    }
+
+    @Test
+    public void testConstructorCopiesInitialValues() {
+        List<Object> values = Arrays.asList(1, 2, 3);
+        ObjectResultsColumn column = new ObjectResultsColumn(values);
+
+        assertEquals(values, column.asList());
+        assertNotSame(values, column.asList());
+    }
+
+    @Test
+    public void testAsListIsBackedByColumn() {
+        ObjectResultsColumn column = new ObjectResultsColumn();
+        List<Object> view = column.asList();
+        column.add("late");
+
+        assertEquals(List.of("late"), view);
+    }
+}
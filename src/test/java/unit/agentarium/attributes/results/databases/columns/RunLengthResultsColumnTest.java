@@ -0,0 +1,59 @@
+package unit.agentarium.attributes.results.databases.columns;
+
+import agentarium.attributes.results.databases.columns.RunLengthBooleanResultsColumn;
+import agentarium.attributes.results.databases.columns.RunLengthResultsColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RunLengthResultsColumn} and {@link RunLengthBooleanResultsColumn}.
+ *
+ * <p>Verifies that runs of equal values, including nulls, are stored once and read back at every index.
+ */
+public class RunLengthResultsColumnTest {
+
+    @Test
+    public void testRunsOfObjectsAndNulls() {
+        RunLengthResultsColumn column = new RunLengthResultsColumn();
+        for (int i = 0; i < 300; i++)
+            column.add(i < 100 ? "calm" : i < 200 ? null : "angry");
+
+        assertEquals(300, column.size());
+        assertEquals("calm", column.get(99));
+        assertNull(column.get(100));
+        assertNull(column.get(199));
+        assertEquals("angry", column.get(200));
+        assertTrue(column.acceptsNull());
+        assertEquals(3 * 12, column.getStoredSizeInBytes());
+        assertEquals(300 * 8, column.getRawSizeInBytes());
+    }
+
+    @Test
+    public void testBooleanColumnRejectsOtherValues() {
+        RunLengthBooleanResultsColumn column = new RunLengthBooleanResultsColumn();
+        column.addBoolean(true);
+        column.addBoolean(true);
+        column.add(false);
+
+        assertEquals(List.of(true, true, false), column.asList());
+        assertTrue(column.getBoolean(1));
+        assertFalse(column.acceptsNull());
+        assertThrows(IllegalArgumentException.class, () -> column.add(null));
+        assertThrows(IllegalArgumentException.class, () -> column.add(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.get(3));
+    }
+
+    @Test
+    public void testAsListMatchesValuesAdded() {
+        RunLengthResultsColumn column = new RunLengthResultsColumn();
+        List<Object> values = Arrays.asList(1, 1, null, 2, 2, 2, "x");
+        for (Object value : values)
+            column.add(value);
+
+        assertEquals(values, column.asList());
+    }
+}
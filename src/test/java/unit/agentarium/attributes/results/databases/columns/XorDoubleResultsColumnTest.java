@@ -0,0 +1,60 @@
+package unit.agentarium.attributes.results.databases.columns;
+
+import agentarium.attributes.results.databases.columns.EncodedResultsColumn;
+import agentarium.attributes.results.databases.columns.XorDoubleResultsColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link XorDoubleResultsColumn}.
+ *
+ * <p>Verifies that values, including special values, round-trip bit for bit through sealed XOR-encoded blocks,
+ * and that repeated values are compressed.
+ */
+public class XorDoubleResultsColumnTest {
+
+    private static double valueAt(int i) {
+        switch (i % 7) {
+            case 0: return Double.NaN;
+            case 1: return -0.0;
+            case 2: return Double.POSITIVE_INFINITY;
+            case 3: return Double.MIN_VALUE;
+            default: return Math.sin(i) * 1000;
+        }
+    }
+
+    @Test
+    public void testValuesRoundTripThroughSealedBlocks() {
+        XorDoubleResultsColumn column = new XorDoubleResultsColumn(1);
+        int count = EncodedResultsColumn.BLOCK_SIZE * 2 + 9;
+        for (int i = 0; i < count; i++)
+            column.addDouble(valueAt(i));
+
+        assertEquals(count, column.size());
+        for (int i = 0; i < count; i++)
+            assertEquals(Double.doubleToRawLongBits(valueAt(i)), Double.doubleToRawLongBits(column.getDouble(i)), "index " + i);
+    }
+
+    @Test
+    public void testRepeatedValuesAreCompressed() {
+        XorDoubleResultsColumn column = new XorDoubleResultsColumn();
+        for (int i = 0; i < EncodedResultsColumn.BLOCK_SIZE * 4; i++)
+            column.addDouble(i < EncodedResultsColumn.BLOCK_SIZE * 2 ? 0.5 : 20.25);
+
+        assertTrue(column.getStoredSizeInBytes() * 10 < column.getRawSizeInBytes());
+        assertEquals(20.25, column.getDouble(column.size() - 1));
+    }
+
+    @Test
+    public void testAsListReturnsBoxedValues() {
+        XorDoubleResultsColumn column = new XorDoubleResultsColumn();
+        column.addDouble(1.5);
+        column.add(Double.valueOf(2.5));
+
+        assertEquals(List.of(1.5, 2.5), column.asList());
+        assertThrows(IllegalArgumentException.class, () -> column.add(1));
+    }
+}
@@ -0,0 +1,97 @@
+package unit.agentarium.checkpoints;
+
+import agentarium.agents.Agent;
+import agentarium.agents.AgentSet;
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.functional.FunctionalIntProperty;
+import agentarium.checkpoints.CheckpointRecorder;
+import agentarium.checkpoints.ModelCheckpoint;
+import agentarium.environments.Environment;
+import agentarium.scheduler.InOrderScheduler;
+import agentarium.scheduler.RandomOrderScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CheckpointRecorder}.
+ *
+ * <p>Checks that a checkpoint is only passed on once every worker has reported its agents, and that a worker
+ * skipping past a checkpoint tick still provides its part of the checkpoint.
+ */
+public class CheckpointRecorderTest {
+
+    private static AgentSet newAgents(String prefix, int count) {
+        AgentSet agents = new AgentSet();
+        for (int i = 0; i < count; i++) {
+            AttributeSet attributeSet = new AttributeSet("state");
+            attributeSet.getProperties().add(new FunctionalIntProperty("count", true,
+                    (element, value) -> value, (element, current, next) -> next, (element, value) -> value + 1));
+            AttributeSetCollection attributes = new AttributeSetCollection();
+            attributes.add(attributeSet);
+            agents.add(new Agent(prefix + i, attributes));
+        }
+        return agents;
+    }
+
+    private static Environment newEnvironment() {
+        return new Environment("Environment", new AttributeSetCollection());
+    }
+
+    @Test
+    public void testCheckpointWaitsForEveryWorker() {
+        List<ModelCheckpoint> checkpoints = new ArrayList<>();
+        CheckpointRecorder recorder = new CheckpointRecorder(List.of(2), 2, newEnvironment(), checkpoints::add);
+        AgentSet first = newAgents("a", 2);
+        AgentSet second = newAgents("b", 3);
+
+        recorder.record("0", 0, first, new InOrderScheduler());
+        recorder.record("0", 1, first, new InOrderScheduler());
+        recorder.record("0", 2, first, new InOrderScheduler());
+        recorder.record("1", 0, second, new InOrderScheduler());
+        recorder.record("1", 1, second, new InOrderScheduler());
+        assertTrue(checkpoints.isEmpty());
+
+        recorder.record("1", 2, second, new InOrderScheduler());
+        assertEquals(1, checkpoints.size());
+        assertEquals(2, checkpoints.get(0).getTick());
+        assertEquals(2, checkpoints.get(0).getAgentCount("0"));
+        assertEquals(3, checkpoints.get(0).getAgentCount("1"));
+
+        recorder.record("0", 3, first, new InOrderScheduler());
+        recorder.record("1", 3, second, new InOrderScheduler());
+        assertEquals(1, checkpoints.size());
+    }
+
+    @Test
+    public void testSkippedCheckpointTicksAreCaptured() {
+        List<ModelCheckpoint> checkpoints = new ArrayList<>();
+        CheckpointRecorder recorder = new CheckpointRecorder(List.of(5, 10, 15), 1, newEnvironment(), checkpoints::add);
+        AgentSet agents = newAgents("a", 1);
+
+        recorder.record("0", 0, agents, new InOrderScheduler());
+        recorder.record("0", 12, agents, new InOrderScheduler());
+        recorder.record("0", 20, agents, new InOrderScheduler());
+
+        assertEquals(List.of(5, 10, 15), checkpoints.stream().map(ModelCheckpoint::getTick).toList());
+    }
+
+    @Test
+    public void testSchedulerStateIsCaptured() {
+        List<ModelCheckpoint> checkpoints = new ArrayList<>();
+        CheckpointRecorder recorder = new CheckpointRecorder(List.of(0), 1, newEnvironment(), checkpoints::add);
+        recorder.record("0", 0, newAgents("a", 2), new RandomOrderScheduler(7));
+
+        assertNotNull(checkpoints.get(0).getSchedulerState("0"));
+    }
+
+    @Test
+    public void testInvalidWorkerCountIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CheckpointRecorder(List.of(1), 0, newEnvironment(), checkpoint -> {}));
+    }
+}
@@ -0,0 +1,159 @@
+package unit.agentarium.checkpoints;
+
+import agentarium.agents.Agent;
+import agentarium.agents.AgentSet;
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.functional.FunctionalDoubleProperty;
+import agentarium.attributes.functional.FunctionalIntProperty;
+import agentarium.attributes.functional.FunctionalProperty;
+import agentarium.checkpoints.CheckpointRecorder;
+import agentarium.checkpoints.ModelCheckpoint;
+import agentarium.environments.Environment;
+import agentarium.scheduler.InOrderScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ModelCheckpoint}.
+ *
+ * <p>Captures agents and an environment with a {@link CheckpointRecorder}, writes the checkpoint in its binary
+ * form and checks that the values read back are restored to freshly created elements.
+ */
+public class ModelCheckpointTest {
+
+    /** A value that is neither a primitive, a string nor serializable, so is stored as JSON */
+    public static class Position {
+        private int x;
+        private int y;
+
+        public Position() {}
+
+        public Position(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private static AttributeSetCollection newAttributes() {
+        AttributeSet attributeSet = new AttributeSet("state");
+        attributeSet.getProperties().add(new FunctionalIntProperty("count", true,
+                (element, value) -> value, (element, current, next) -> next, (element, value) -> value + 1));
+        attributeSet.getProperties().add(new FunctionalDoubleProperty("energy", true,
+                (element, value) -> value, (element, current, next) -> next, (element, value) -> value));
+        attributeSet.getProperties().add(new FunctionalProperty<>("mood", true, String.class,
+                (element, value) -> value, (element, current, next) -> next, (element, value) -> value));
+        attributeSet.getProperties().add(new FunctionalProperty<>("visits", true, ArrayList.class,
+                (element, value) -> value, (element, current, next) -> next, (element, value) -> value));
+        attributeSet.getProperties().add(new FunctionalProperty<>("position", true, Position.class,
+                (element, value) -> value, (element, current, next) -> next, (element, value) -> value));
+        AttributeSetCollection attributes = new AttributeSetCollection();
+        attributes.add(attributeSet);
+        return attributes;
+    }
+
+    private static AgentSet newAgents(int count) {
+        AgentSet agents = new AgentSet();
+        for (int i = 0; i < count; i++)
+            agents.add(new Agent("Agent_" + i, newAttributes()));
+        return agents;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setValues(AgentSet agents) {
+        for (int i = 0; i < agents.size(); i++) {
+            AttributeSet attributeSet = agents.get(i).getAttributeSetCollection().get("state");
+            ((FunctionalIntProperty) attributeSet.getProperties().get("count")).setInt(i);
+            ((FunctionalDoubleProperty) attributeSet.getProperties().get("energy")).setDouble(i / 4.0);
+            ((FunctionalProperty<String>) attributeSet.getProperties().get("mood")).set(i % 2 == 0 ? "calm" : null);
+            ((FunctionalProperty<ArrayList<Integer>>) attributeSet.getProperties().get("visits")).set(new ArrayList<>(List.of(i, i + 1)));
+            ((FunctionalProperty<Position>) attributeSet.getProperties().get("position")).set(new Position(i, -i));
+        }
+    }
+
+    private static ModelCheckpoint capture(int tick, AgentSet agents, Environment environment) {
+        AtomicReference<ModelCheckpoint> checkpoint = new AtomicReference<>();
+        CheckpointRecorder recorder = new CheckpointRecorder(List.of(tick), 1, environment, checkpoint::set);
+        recorder.record("0", tick, agents, new InOrderScheduler());
+        return checkpoint.get();
+    }
+
+    private static ModelCheckpoint roundTrip(ModelCheckpoint checkpoint) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        checkpoint.writeTo(bytes);
+        return ModelCheckpoint.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test
+    public void testValuesAreRestoredAfterRoundTrip() throws IOException {
+        AgentSet agents = newAgents(3);
+        setValues(agents);
+        Environment environment = new Environment("Environment", newAttributes());
+        ((FunctionalIntProperty) environment.getAttributeSetCollection().get("state").getProperties().get("count")).setInt(42);
+
+        ModelCheckpoint checkpoint = roundTrip(capture(7, agents, environment));
+        assertEquals(7, checkpoint.getTick());
+        assertEquals(3, checkpoint.getAgentCount("0"));
+        assertNull(checkpoint.getSchedulerState("0"));
+
+        AgentSet restoredAgents = newAgents(3);
+        checkpoint.restoreAgents("0", restoredAgents);
+        for (int i = 0; i < 3; i++) {
+            AttributeSet attributeSet = restoredAgents.get(i).getAttributeSetCollection().get("state");
+            assertEquals(i, attributeSet.getProperties().get("count").get());
+            assertEquals(i / 4.0, attributeSet.getProperties().get("energy").get());
+            assertEquals(i % 2 == 0 ? "calm" : null, attributeSet.getProperties().get("mood").get());
+            assertEquals(List.of(i, i + 1), attributeSet.getProperties().get("visits").get());
+            Position position = (Position) attributeSet.getProperties().get("position").get();
+            assertEquals(i, position.x);
+            assertEquals(-i, position.y);
+        }
+
+        Environment restoredEnvironment = new Environment("Environment", newAttributes());
+        checkpoint.restoreEnvironment(restoredEnvironment);
+        assertEquals(42, restoredEnvironment.getAttributeSetCollection().get("state").getProperties().get("count").get());
+    }
+
+    @Test
+    public void testRestoringDifferentAgentsIsRejected() {
+        AgentSet agents = newAgents(2);
+        setValues(agents);
+        ModelCheckpoint checkpoint = capture(0, agents, new Environment("Environment", newAttributes()));
+
+        assertThrows(IllegalArgumentException.class, () -> checkpoint.restoreAgents("0", newAgents(3)));
+
+        AgentSet otherAgents = new AgentSet();
+        otherAgents.add(new Agent("Agent_0", new AttributeSetCollection()));
+        otherAgents.add(new Agent("Agent_1", new AttributeSetCollection()));
+        assertThrows(IllegalArgumentException.class, () -> checkpoint.restoreAgents("0", otherAgents));
+    }
+
+    @Test
+    public void testLatestSavedCheckpointIsLoaded() throws IOException {
+        Path directory = Files.createTempDirectory("checkpoints");
+        assertNull(ModelCheckpoint.loadLatest(directory));
+
+        Environment environment = new Environment("Environment", newAttributes());
+        capture(5, newAgents(1), environment).saveTo(directory);
+        capture(20, newAgents(1), environment).saveTo(directory);
+        capture(10, newAgents(1), environment).saveTo(directory);
+
+        assertEquals(20, ModelCheckpoint.loadLatest(directory).getTick());
+        assertEquals(5, ModelCheckpoint.load(directory.resolve("checkpoint-5.bin")).getTick());
+    }
+
+    @Test
+    public void testInvalidStreamIsRejected() {
+        assertThrows(IOException.class, () -> ModelCheckpoint.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8})));
+    }
+}
@@ -0,0 +1,47 @@
+package unit.agentarium.results;
+
+import agentarium.ModelSettings;
+import agentarium.results.EnsembleResults;
+import agentarium.results.Results;
+import org.junit.jupiter.api.Test;
+import unit.agentarium.ModelTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link EnsembleResults}.
+ */
+public class EnsembleResultsTest {
+
+    @Test
+    public void testResultsAreHeldInRunOrder() {
+        ModelSettings first = new ModelSettings();
+        ModelSettings second = new ModelSettings();
+        Results firstResults = new ModelTest.MockResults();
+        Results secondResults = new ModelTest.MockResults();
+        List<Results> runResults = new ArrayList<>(List.of(firstResults, secondResults));
+
+        EnsembleResults results = new EnsembleResults(List.of(first, second), runResults);
+        runResults.clear();
+
+        assertEquals(2, results.size());
+        assertSame(firstResults, results.get(0));
+        assertSame(second, results.getSettings(1));
+        assertEquals(List.of(firstResults, secondResults), results.getResults());
+        assertThrows(UnsupportedOperationException.class, () -> results.getResults().clear());
+
+        List<Results> iterated = new ArrayList<>();
+        for (Results result : results)
+            iterated.add(result);
+        assertEquals(List.of(firstResults, secondResults), iterated);
+    }
+
+    @Test
+    public void testMismatchedSizesThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EnsembleResults(List.of(new ModelSettings()), List.of()));
+    }
+}
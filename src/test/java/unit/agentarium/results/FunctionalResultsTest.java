@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import utils.QuadFunction;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
@@ -134,4 +135,44 @@ public class FunctionalResultsTest {
         assertEquals("attr", lastPostEventAttrSet);
         assertEquals("event", lastPostEventName);
     }
+
+    @Test
+    void testCombineAgentPropertyResultsUsesProvidedFunction() throws Exception {
+        FunctionalResults combining = new FunctionalResults(
+                (attrSet, name, a, b) -> a, (attrSet, name, a, b) -> a, (attrSet, name, a, b) -> a,
+                (attrSet, name, a, b) -> List.of(attrSet, name, a.size() + b.size()),
+                (attrSet, name, a, b) -> a, (attrSet, name, a, b) -> b);
+
+        Method combineAgentPropertyResultsMethod = findResultsMethod(
+                "combineAgentPropertyResults", String.class, String.class, List.class, List.class);
+        combineAgentPropertyResultsMethod.setAccessible(true);
+        List<?> result = (List<?>) combineAgentPropertyResultsMethod.invoke(combining, "attr", "prop", List.of(1), List.of(2, 3));
+
+        assertEquals(List.of("attr", "prop", 3), result);
+    }
+
+    @Test
+    void testCanCombineOnlyWithEveryCombiner() {
+        FunctionalResults combining = new FunctionalResults(
+                (attrSet, name, a, b) -> a, (attrSet, name, a, b) -> a, (attrSet, name, a, b) -> a,
+                (attrSet, name, a, b) -> a, (attrSet, name, a, b) -> a, (attrSet, name, a, b) -> a);
+        FunctionalResults partlyCombining = new FunctionalResults(
+                (attrSet, name, a, b) -> a, (attrSet, name, a, b) -> a, (attrSet, name, a, b) -> a,
+                (attrSet, name, a, b) -> a, null, null);
+
+        assertTrue(combining.canCombineAgentResults());
+        assertFalse(partlyCombining.canCombineAgentResults());
+        assertFalse(results.canCombineAgentResults());
+    }
+
+    @Test
+    void testCombiningWithoutCombinersIsUnsupported() throws Exception {
+        Method combineAgentPreEventResultsMethod = findResultsMethod(
+                "combineAgentPreEventResults", String.class, String.class, List.class, List.class);
+        combineAgentPreEventResultsMethod.setAccessible(true);
+
+        InvocationTargetException thrown = assertThrows(InvocationTargetException.class,
+                () -> combineAgentPreEventResultsMethod.invoke(results, "attr", "event", List.of(true), List.of(false)));
+        assertTrue(thrown.getCause() instanceof UnsupportedOperationException);
+    }
 }
@@ -2,7 +2,10 @@ package unit.agentarium.results;
 
 import agentarium.agents.Agent;
 import agentarium.agents.AgentSet;
+import agentarium.attributes.results.AttributeSetCollectionResults;
+import agentarium.attributes.results.AttributeSetResults;
 import agentarium.attributes.results.databases.AttributeSetResultsDatabase;
+import agentarium.attributes.results.databases.AttributeSetResultsDatabaseFactory;
 import agentarium.results.AgentResults;
 import agentarium.results.EnvironmentResults;
 import agentarium.results.Results;
@@ -108,6 +111,36 @@ public class ResultsTest {
         verify(mockDb, times(2)).disconnect();
     }
 
+    @Test
+    void testAccumulationWritesEachColumnOnce() {
+        AttributeSetResultsDatabase mockDb = mock(AttributeSetResultsDatabase.class);
+        AttributeSetResultsDatabaseFactory.setCustomFactory(() -> mockDb);
+        try {
+            AttributeSetResults setResults = mock(AttributeSetResults.class);
+            when(setResults.getAttributeSetName()).thenReturn("set");
+            when(setResults.getPropertyNamesList()).thenReturn(List.of("prop"));
+            when(setResults.getPreEventNamesList()).thenReturn(List.of());
+            when(setResults.getPostEventNamesList()).thenReturn(List.of());
+            when(setResults.getAlignedPropertyValues("prop")).thenReturn(List.of(1, 2));
+
+            AttributeSetCollectionResults collectionResults = mock(AttributeSetCollectionResults.class);
+            when(collectionResults.getAttributeSetCount()).thenReturn(1);
+            when(collectionResults.getAttributeSetResults(0)).thenReturn(setResults);
+
+            when(mockAgentResults.getAttributeSetCollectionSetCount()).thenReturn(3);
+            when(mockAgentResults.getAttributeSetCollectionResults(anyInt())).thenReturn(collectionResults);
+
+            results.setAgentResults(mockAgentResults);
+            results.accumulateAgentAttributeData();
+
+            verify(setResults, times(3)).getAlignedPropertyValues("prop");
+            verify(mockDb, times(1)).getPropertyColumnAsList("prop");
+            verify(mockDb, times(1)).setPropertyColumn(eq("prop"), anyList());
+        } finally {
+            AttributeSetResultsDatabaseFactory.setCustomFactory(null);
+        }
+    }
+
     /**
      * Minimal concrete subclass of {@link Results} for testing.
      */
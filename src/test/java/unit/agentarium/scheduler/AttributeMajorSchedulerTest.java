@@ -0,0 +1,173 @@
+package unit.agentarium.scheduler;
+
+import agentarium.agents.Agent;
+import agentarium.agents.AgentSet;
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.Properties;
+import agentarium.attributes.Property;
+import agentarium.attributes.functional.BatchKernels;
+import agentarium.attributes.functional.DoubleBatchFunction;
+import agentarium.attributes.functional.FunctionalBatchDoubleProperty;
+import agentarium.attributes.results.AttributeSetCollectionResults;
+import agentarium.attributes.results.AttributeSetResults;
+import agentarium.scheduler.AttributeMajorScheduler;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link AttributeMajorScheduler}.
+ *
+ * <p>Verifies that batch properties are run as one kernel call per partition unless their kernels differ, that
+ * attribute set phases are executed across all agents in order, and that mismatched layouts fall back to per-agent
+ * execution.
+ */
+public class AttributeMajorSchedulerTest {
+
+    private static Agent mockAgent(Property<?> property, AttributeSet[] attributeSetHolder, AttributeSetResults results) {
+        Properties properties = new Properties();
+        properties.add(property);
+
+        AttributeSet attributeSet = mock(AttributeSet.class);
+        when(attributeSet.getProperties()).thenReturn(properties);
+        attributeSetHolder[0] = attributeSet;
+
+        AttributeSetCollectionResults collectionResults = mock(AttributeSetCollectionResults.class);
+        when(collectionResults.getAttributeSetResults(0)).thenReturn(results);
+
+        AttributeSetCollection collection = mock(AttributeSetCollection.class);
+        when(collection.size()).thenReturn(1);
+        when(collection.get(0)).thenReturn(attributeSet);
+        when(collection.getResults()).thenReturn(collectionResults);
+
+        Agent agent = mock(Agent.class);
+        when(agent.getAttributeSetCollection()).thenReturn(collection);
+        return agent;
+    }
+
+    @Test
+    void testBatchPropertyKernelRunsOncePerTick() {
+        AtomicInteger kernelCalls = new AtomicInteger();
+        AgentSet agentSet = new AgentSet();
+        FunctionalBatchDoubleProperty[] properties = new FunctionalBatchDoubleProperty[3];
+        DoubleBatchFunction kernel = (values, length) -> {
+            kernelCalls.incrementAndGet();
+            BatchKernels.affine(2.0, 1.0).run(values, length);
+        };
+
+        for (int i = 0; i < properties.length; i++) {
+            properties[i] = new FunctionalBatchDoubleProperty("Energy", true, kernel);
+            properties[i].setDouble(i);
+            Agent agent = mockAgent(properties[i], new AttributeSet[1], mock(AttributeSetResults.class));
+            when(agent.getName()).thenReturn("agent" + i);
+            agentSet.add(agent);
+        }
+
+        new AttributeMajorScheduler().runTick(agentSet);
+
+        assertEquals(1, kernelCalls.get());
+        assertEquals(1.0, properties[0].getDouble(), 1e-9);
+        assertEquals(3.0, properties[1].getDouble(), 1e-9);
+        assertEquals(5.0, properties[2].getDouble(), 1e-9);
+    }
+
+    @Test
+    void testDifferentKernelsRunPerAgent() {
+        AgentSet agentSet = new AgentSet();
+        FunctionalBatchDoubleProperty scaled = new FunctionalBatchDoubleProperty("Energy", true, BatchKernels.scale(2.0));
+        FunctionalBatchDoubleProperty offset = new FunctionalBatchDoubleProperty("Energy", true, BatchKernels.offset(10.0));
+        scaled.setDouble(3.0);
+        offset.setDouble(3.0);
+
+        Agent agent1 = mockAgent(scaled, new AttributeSet[1], mock(AttributeSetResults.class));
+        Agent agent2 = mockAgent(offset, new AttributeSet[1], mock(AttributeSetResults.class));
+        when(agent1.getName()).thenReturn("agent1");
+        when(agent2.getName()).thenReturn("agent2");
+        agentSet.add(agent1);
+        agentSet.add(agent2);
+
+        new AttributeMajorScheduler().runTick(agentSet);
+
+        assertEquals(6.0, scaled.getDouble(), 1e-9);
+        assertEquals(13.0, offset.getDouble(), 1e-9);
+    }
+
+    @Test
+    void testPhasesRunAcrossAllAgentsInOrder() {
+        AgentSet agentSet = new AgentSet();
+        AttributeSet[] set1 = new AttributeSet[1];
+        AttributeSet[] set2 = new AttributeSet[1];
+        AttributeSetResults results1 = mock(AttributeSetResults.class);
+        AttributeSetResults results2 = mock(AttributeSetResults.class);
+
+        Agent agent1 = mockAgent(new FunctionalBatchDoubleProperty("P", true, BatchKernels.scale(2.0)), set1, results1);
+        Agent agent2 = mockAgent(new FunctionalBatchDoubleProperty("P", true, BatchKernels.scale(2.0)), set2, results2);
+        when(agent1.getName()).thenReturn("agent1");
+        when(agent2.getName()).thenReturn("agent2");
+        agentSet.add(agent1);
+        agentSet.add(agent2);
+
+        new AttributeMajorScheduler().runTick(agentSet);
+
+        InOrder inOrder = inOrder(set1[0], set2[0]);
+        inOrder.verify(set1[0]).runPreEvents(results1, true);
+        inOrder.verify(set2[0]).runPreEvents(results2, true);
+        inOrder.verify(set1[0]).recordProperties(results1, true);
+        inOrder.verify(set1[0]).runPostEvents(results1, true);
+        inOrder.verify(set2[0]).recordProperties(results2, true);
+        inOrder.verify(set2[0]).runPostEvents(results2, true);
+        verify(agent1, never()).run();
+        verify(agent2, never()).run();
+    }
+
+    @Test
+    void testNonBatchPropertiesRunPerAgent() {
+        AgentSet agentSet = new AgentSet();
+        @SuppressWarnings("unchecked")
+        Property<Integer> property1 = mock(Property.class);
+        @SuppressWarnings("unchecked")
+        Property<Integer> property2 = mock(Property.class);
+
+        Agent agent1 = mockAgent(property1, new AttributeSet[1], mock(AttributeSetResults.class));
+        Agent agent2 = mockAgent(property2, new AttributeSet[1], mock(AttributeSetResults.class));
+        when(agent1.getName()).thenReturn("agent1");
+        when(agent2.getName()).thenReturn("agent2");
+        agentSet.add(agent1);
+        agentSet.add(agent2);
+
+        new AttributeMajorScheduler().runTick(agentSet);
+
+        verify(property1).run();
+        verify(property2).run();
+    }
+
+    @Test
+    void testMismatchedLayoutFallsBackToAgentRun() {
+        AgentSet agentSet = new AgentSet();
+        Agent agent1 = mockAgent(new FunctionalBatchDoubleProperty("P", true, BatchKernels.scale(2.0)),
+                new AttributeSet[1], mock(AttributeSetResults.class));
+        Agent agent2 = mock(Agent.class);
+        AttributeSetCollection emptyCollection = mock(AttributeSetCollection.class);
+        when(emptyCollection.size()).thenReturn(0);
+        when(agent2.getAttributeSetCollection()).thenReturn(emptyCollection);
+        when(agent1.getName()).thenReturn("agent1");
+        when(agent2.getName()).thenReturn("agent2");
+        agentSet.add(agent1);
+        agentSet.add(agent2);
+
+        new AttributeMajorScheduler().runTick(agentSet);
+
+        verify(agent1).run();
+        verify(agent2).run();
+    }
+
+    @Test
+    void testEmptyAgentSetIsNoOp() {
+        assertDoesNotThrow(() -> new AttributeMajorScheduler().runTick(new AgentSet()));
+    }
+}
@@ -0,0 +1,187 @@
+package unit.agentarium.scheduler;
+
+import agentarium.Ensemble;
+import agentarium.Model;
+import agentarium.ModelClock;
+import agentarium.ModelElementAccessor;
+import agentarium.ModelSettings;
+import agentarium.agents.Agent;
+import agentarium.agents.AgentSet;
+import agentarium.attributes.AttributeSet;
+import agentarium.attributes.AttributeSetCollection;
+import agentarium.attributes.functional.FunctionalIntProperty;
+import agentarium.attributes.results.databases.AttributeSetResultsDatabaseFactory;
+import agentarium.checkpoints.ModelCheckpoint;
+import agentarium.results.EnsembleResults;
+import agentarium.results.Results;
+import agentarium.scheduler.EventDrivenScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import unit.agentarium.ModelTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link EventDrivenScheduler}.
+ *
+ * <p>Verifies that sleeping agents are skipped, that timed and explicit wake-ups take effect, that the clock
+ * can jump over idle ticks, that skipped ticks are still recorded, and that sleeping agents stay asleep in
+ * concurrent runs resumed from a checkpoint.
+ */
+public class EventDrivenSchedulerTest {
+
+    private EventDrivenScheduler scheduler;
+    private ModelSettings settings;
+    private ModelClock clock;
+    private AgentSet agentSet;
+
+    @BeforeEach
+    public void setup() {
+        AttributeSetResultsDatabaseFactory.setDatabaseToMemoryBased();
+        scheduler = new EventDrivenScheduler();
+        settings = new ModelSettings();
+        settings.setModelScheduler(scheduler);
+        clock = new ModelClock(6, 0);
+        agentSet = new AgentSet();
+    }
+
+    /** Adds an agent whose "Runs" property counts its runs and then applies the given sleep behaviour */
+    private Agent addAgent(String name, BiConsumer<ModelElementAccessor, Integer> afterRun) {
+        AttributeSet life = new AttributeSet("Life");
+        life.getProperties().add(new FunctionalIntProperty("Runs", true, (e, v) -> v, (e, current, value) -> value,
+                (e, v) -> {
+                    afterRun.accept(e.getModelElementAccessor(), v + 1);
+                    return v + 1;
+                }));
+        AttributeSetCollection collection = new AttributeSetCollection();
+        collection.add(life);
+
+        Agent agent = new Agent(name, collection);
+        agent.getAttributeSetCollection().setup(name);
+        agentSet.add(agent);
+
+        ModelElementAccessor accessor = new ModelElementAccessor(agent, agentSet, settings, null, null, null);
+        accessor.setModelClock(clock);
+        agent.setModelElementAccessor(accessor);
+        return agent;
+    }
+
+    private static List<Object> recordedRuns(Agent agent) {
+        return agent.getAttributeSetCollection().getResults().getAttributeSetResults("Life").getPropertyValues("Runs");
+    }
+
+    private void runTicksOneByOne() {
+        while (clock.isRunning()) {
+            scheduler.runTick(agentSet);
+            clock.triggerTick();
+        }
+        scheduler.completeRun(agentSet);
+    }
+
+    @Test
+    public void testSleepingAgentIsSkippedAndBackfilled() {
+        Agent sleeper = addAgent("sleeper", (accessor, runs) -> {
+            if (runs == 1)
+                accessor.sleepUntil(3);
+        });
+        Agent worker = addAgent("worker", (accessor, runs) -> {});
+
+        runTicksOneByOne();
+
+        assertEquals(List.of(1, 1, 1, 2, 3, 4), recordedRuns(sleeper));
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), recordedRuns(worker));
+    }
+
+    @Test
+    public void testIndefiniteSleepIsEndedByWake() {
+        Agent sleeper = addAgent("sleeper", (accessor, runs) -> accessor.sleep());
+        addAgent("alarm", (accessor, runs) -> {
+            if (runs == 3)
+                accessor.wakeAgent("sleeper");
+        });
+
+        runTicksOneByOne();
+
+        // Runs at tick 0, is woken during tick 2 and runs again at tick 3
+        assertEquals(List.of(1, 1, 1, 2, 2, 2), recordedRuns(sleeper));
+    }
+
+    @Test
+    public void testClockJumpsToNextWakeUpWhenAllAgentsSleep() {
+        Agent sleeper = addAgent("sleeper", (accessor, runs) -> accessor.sleepUntil(runs * 4));
+
+        int visitedTicks = 0;
+        while (clock.isRunning()) {
+            scheduler.runTick(agentSet);
+            visitedTicks++;
+            clock.advanceTo(scheduler.getNextActiveTick(agentSet, clock.getTick()));
+        }
+        assertFalse(scheduler.isAwake(sleeper.getModelElementAccessor(), "sleeper"));
+        scheduler.completeRun(agentSet);
+
+        assertEquals(2, visitedTicks);
+        assertEquals(List.of(1, 1, 1, 1, 2, 2), recordedRuns(sleeper));
+    }
+
+    @Test
+    public void testAgentAsleepAtCheckpointStaysAsleepInResumedRuns() throws Exception {
+        ModelSettings modelSettings = new ModelSettings();
+        modelSettings.setNumOfAgents(40);
+        modelSettings.setNumOfCores(3);
+        modelSettings.setNumOfTicksToRun(8);
+        modelSettings.setNumOfWarmUpTicks(0);
+        modelSettings.setAreAttributeSetResultsStoredOnDisk(false);
+        modelSettings.setModelScheduler(scheduler);
+        modelSettings.setResultsClass(ModelTest.SummingResults.class);
+
+        // Each agent sleeps for three ticks after every run, so it runs at ticks 0, 3 and 6
+        AttributeSet life = new AttributeSet("Life");
+        life.getProperties().add(new FunctionalIntProperty("Runs", true, (e, v) -> v, (e, current, value) -> value,
+                (e, v) -> {
+                    ModelElementAccessor accessor = e.getModelElementAccessor();
+                    accessor.sleepUntil(accessor.getModelClock().getTick() + 3);
+                    return v + 1;
+                }));
+        AttributeSetCollection agentAttributes = new AttributeSetCollection();
+        agentAttributes.add(life);
+        modelSettings.setBaseAgentAttributeSetCollection(agentAttributes);
+
+        List<ModelCheckpoint> checkpoints = new ArrayList<>();
+        modelSettings.setCheckpointInterval(2);
+        modelSettings.setCheckpointListener(checkpoints::add);
+        new Model(modelSettings).run().disconnectAllDatabases();
+        modelSettings.setCheckpointInterval(0);
+        modelSettings.setCheckpointListener(null);
+
+        ModelCheckpoint checkpoint = checkpoints.stream().filter(c -> c.getTick() == 2).findFirst().orElseThrow();
+        EnsembleResults results;
+        try (Ensemble ensemble = new Ensemble(2)) {
+            results = ensemble.run(checkpoint, List.of(modelSettings, modelSettings));
+        }
+
+        for (Results runResults : results) {
+            assertEquals(List.of(40, 80, 80, 80, 120, 120), runResults.getAccumulatedAgentPropertyValues("Life", "Runs"));
+            runResults.disconnectAllDatabases();
+        }
+    }
+
+    @Test
+    public void testInvalidStateThrows() {
+        addAgent("agent", (accessor, runs) -> {});
+        byte[] state = scheduler.saveState(agentSet);
+        addAgent("latecomer", (accessor, runs) -> {});
+
+        assertThrows(IllegalArgumentException.class, () -> scheduler.restoreState(agentSet, state));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.restoreState(agentSet, new byte[3]));
+    }
+
+    @Test
+    public void testEmptyAgentSetIsNoOp() {
+        assertDoesNotThrow(() -> scheduler.runTick(new AgentSet()));
+        assertEquals(5, scheduler.getNextActiveTick(new AgentSet(), 4));
+    }
+}
@@ -2,13 +2,16 @@ package unit.agentarium.scheduler;
 
 import agentarium.agents.Agent;
 import agentarium.agents.AgentSet;
+import agentarium.attributes.AttributeSetCollection;
 import agentarium.scheduler.RandomOrderScheduler;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -46,4 +49,78 @@ public class RandomOrderSchedulerTest {
         verify(agent2, times(1)).run();
         verify(agent3, times(1)).run();
     }
+
+    /** An agent that notes when it runs */
+    private static class OrderedAgent extends Agent {
+        private final List<String> runOrder;
+
+        OrderedAgent(String name, List<String> runOrder) {
+            super(name, new AttributeSetCollection());
+            this.runOrder = runOrder;
+        }
+
+        @Override
+        public void run() {
+            runOrder.add(getName());
+        }
+    }
+
+    private static List<String> runTicks(RandomOrderScheduler scheduler, AgentSet agentSet, List<String> runOrder, int ticks) {
+        runOrder.clear();
+        for (int tick = 0; tick < ticks; tick++)
+            scheduler.runTick(agentSet);
+        return new ArrayList<>(runOrder);
+    }
+
+    private static AgentSet newAgentSet(List<String> runOrder) {
+        AgentSet agentSet = new AgentSet();
+        for (int i = 0; i < 10; i++)
+            agentSet.add(new OrderedAgent("Agent_" + i, runOrder));
+        return agentSet;
+    }
+
+    @Test
+    void testSeededOrderIsRepeatable() {
+        List<String> runOrder = new ArrayList<>();
+        List<String> first = runTicks(new RandomOrderScheduler(42), newAgentSet(runOrder), runOrder, 5);
+        List<String> second = runTicks(new RandomOrderScheduler(42), newAgentSet(runOrder), runOrder, 5);
+        List<String> otherSeed = runTicks(new RandomOrderScheduler(43), newAgentSet(runOrder), runOrder, 5);
+
+        assertEquals(50, first.size());
+        assertEquals(first, second);
+        assertNotEquals(first, otherSeed);
+    }
+
+    @Test
+    void testRestoredStateContinuesTheSameOrder() {
+        List<String> runOrder = new ArrayList<>();
+        RandomOrderScheduler scheduler = new RandomOrderScheduler(42);
+        AgentSet agentSet = newAgentSet(runOrder);
+        runTicks(scheduler, agentSet, runOrder, 3);
+        byte[] state = scheduler.saveState(agentSet);
+        List<String> continued = runTicks(scheduler, agentSet, runOrder, 3);
+
+        RandomOrderScheduler restoredScheduler = new RandomOrderScheduler(42);
+        AgentSet restoredAgentSet = newAgentSet(runOrder);
+        restoredScheduler.restoreState(restoredAgentSet, state);
+        assertEquals(continued, runTicks(restoredScheduler, restoredAgentSet, runOrder, 3));
+    }
+
+    @Test
+    void testCompletedRunReleasesItsStream() {
+        List<String> runOrder = new ArrayList<>();
+        RandomOrderScheduler scheduler = new RandomOrderScheduler(42);
+        AgentSet agentSet = newAgentSet(runOrder);
+        List<String> first = runTicks(scheduler, agentSet, runOrder, 3);
+        scheduler.completeRun(agentSet);
+
+        assertEquals(first, runTicks(scheduler, agentSet, runOrder, 3));
+    }
+
+    @Test
+    void testUnseededSchedulerHasNoState() {
+        AgentSet agentSet = newAgentSet(new ArrayList<>());
+        assertNull(new RandomOrderScheduler().saveState(agentSet));
+        assertThrows(IllegalArgumentException.class, () -> new RandomOrderScheduler(1).restoreState(agentSet, new byte[3]));
+    }
 }
@@ -4,8 +4,11 @@ import com.google.gson.reflect.TypeToken;
 import org.junit.jupiter.api.Test;
 import utils.DeepCopier;
 
+import java.io.Serializable;
 import java.lang.reflect.Type;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.IntUnaryOperator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -13,7 +16,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * Unit tests for the {@link DeepCopier} utility class.
  * <p>
  * These tests verify that the deep copying mechanism correctly
- * duplicates objects and collections without sharing references.
+ * duplicates objects and collections without sharing references,
+ * while sharing immutable values and preserving shared references and cycles.
  */
 public class DeepCopierTest {
 
@@ -75,4 +79,201 @@ public class DeepCopierTest {
         TestObject copy = DeepCopier.deepCopy(null, TestObject.class);
         assertNull(copy, "Copying a null object should return null.");
     }
+
+    /** A node of a graph with primitive, final and transient fields */
+    static class Node {
+        final String label;
+        int weight;
+        double[] samples = new double[0];
+        Node next;
+        List<Node> neighbours = new ArrayList<>();
+        transient Object cache = "default";
+
+        Node() {
+            this("unnamed");
+        }
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /** A record whose components are all immutable */
+    record Point(int x, int y, String name) {}
+
+    /** A record holding a mutable component */
+    record Holder(List<Integer> values, Point point) {}
+
+    /** A serializable class without a no-argument constructor */
+    static class Named implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String name;
+        final List<String> tags;
+
+        Named(String name, List<String> tags) {
+            this.name = name;
+            this.tags = tags;
+        }
+    }
+
+    @Test
+    public void testDeepCopy_PreservesSharedReferencesAndCycles() {
+        Node first = new Node("first");
+        Node second = new Node("second");
+        first.next = second;
+        second.next = first;
+        first.neighbours.add(second);
+        second.neighbours.add(second);
+        first.weight = 3;
+        first.samples = new double[] {1.5, 2.5};
+        first.cache = new Object();
+
+        Node copy = DeepCopier.deepCopy(first, Node.class);
+
+        assertNotSame(first, copy);
+        assertEquals("first", copy.label);
+        assertEquals(3, copy.weight);
+        assertTrue(Arrays.equals(new double[] {1.5, 2.5}, copy.samples));
+        assertNotSame(first.samples, copy.samples);
+        assertNotSame(second, copy.next);
+        assertSame(copy, copy.next.next, "Cycles should be preserved");
+        assertSame(copy.next, copy.neighbours.get(0), "Shared references should stay shared");
+        assertSame(copy.next, copy.next.neighbours.get(0));
+        assertEquals("default", copy.cache,
+                "Transient fields of non-serializable classes should keep their constructor value, as the JSON copy did");
+    }
+
+    @Test
+    public void testDeepCopy_SharesImmutableValues() {
+        Point point = new Point(1, 2, "origin");
+        IntUnaryOperator increment = value -> value + 1;
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        Holder sharedHolder = new Holder(List.of(1, 2), point);
+
+        assertSame(point, DeepCopier.deepCopy(point, Point.class));
+        assertSame(increment, DeepCopier.deepCopy(increment, IntUnaryOperator.class));
+        assertSame(date, DeepCopier.deepCopy(date, LocalDate.class));
+        assertSame(sharedHolder, DeepCopier.deepCopy(sharedHolder, Holder.class),
+                "Records holding only immutable values should be shared");
+
+        Holder mutableHolder = new Holder(new ArrayList<>(List.of(1, 2)), point);
+        Holder copy = DeepCopier.deepCopy(mutableHolder, Holder.class);
+        assertEquals(mutableHolder, copy);
+        assertNotSame(mutableHolder.values(), copy.values());
+        assertSame(point, copy.point());
+    }
+
+    @Test
+    public void testDeepCopy_ArraysAndCollectionsKeepTheirTypes() {
+        int[][] grid = {{1, 2}, {3, 4}};
+        int[][] gridCopy = DeepCopier.deepCopy(grid, int[][].class);
+        assertTrue(Arrays.deepEquals(grid, gridCopy));
+        assertNotSame(grid[0], gridCopy[0]);
+
+        TreeMap<String, List<Integer>> sorted = new TreeMap<>(Comparator.reverseOrder());
+        sorted.put("a", new ArrayList<>(List.of(1)));
+        sorted.put("b", new ArrayList<>(List.of(2)));
+        TreeMap<String, List<Integer>> sortedCopy = DeepCopier.deepCopy(sorted, (Type) TreeMap.class);
+        assertEquals(List.of("b", "a"), new ArrayList<>(sortedCopy.keySet()), "Comparators should be kept");
+        assertNotSame(sorted.get("a"), sortedCopy.get("a"));
+
+        LinkedList<Node> linked = new LinkedList<>(List.of(new Node("x")));
+        assertTrue(DeepCopier.deepCopy(linked, LinkedList.class) instanceof LinkedList);
+
+        List<Node> immutable = List.of(new Node("y"));
+        List<Node> immutableCopy = DeepCopier.deepCopy(immutable, List.class);
+        assertNotSame(immutable.get(0), immutableCopy.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> immutableCopy.add(new Node()));
+
+        List<String> strings = List.of("p", "q");
+        assertSame(strings, DeepCopier.deepCopy(strings, List.class), "Immutable lists of immutable values should be shared");
+
+        List<Node> view = Arrays.asList(new Node("z"));
+        List<Node> viewCopy = DeepCopier.deepCopy(view, List.class);
+        assertEquals("z", viewCopy.get(0).label);
+        assertNotSame(view.get(0), viewCopy.get(0));
+    }
+
+    @Test
+    public void testDeepCopy_SerializableClassesNeedNoNoArgumentConstructor() {
+        Named original = new Named("alpha", new ArrayList<>(List.of("x")));
+        Named copy = DeepCopier.deepCopy(original, Named.class);
+
+        assertNotSame(original, copy);
+        assertEquals("alpha", copy.name);
+        assertEquals(List.of("x"), copy.tags);
+        assertNotSame(original.tags, copy.tags);
+    }
+
+    /** A serializable class counting its instances, whose transient total is rebuilt when it is deserialised */
+    static class Counted implements Serializable {
+        private static final long serialVersionUID = 1L;
+        static int instances = 0;
+
+        List<Integer> values = new ArrayList<>();
+        transient int total = -1;
+
+        Counted() {
+            instances++;
+        }
+
+        private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            total = values.stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+
+    /** A serializable class whose copies are replaced by a canonical instance */
+    static class Canonical implements Serializable {
+        private static final long serialVersionUID = 1L;
+        static final Canonical INSTANCE = new Canonical();
+
+        private Object readResolve() {
+            return INSTANCE;
+        }
+    }
+
+    /** A serializable class that bumps a counter on construction but has no serialisation methods */
+    static class Ticket implements Serializable {
+        private static final long serialVersionUID = 1L;
+        static int issued = 0;
+
+        int number = ++issued;
+        List<String> holders = new ArrayList<>();
+
+        Ticket() {}
+    }
+
+    @Test
+    public void testDeepCopy_SerializationMethodsAndTransientFieldsCopyAsBefore() {
+        Counted original = new Counted();
+        original.values.addAll(List.of(1, 2, 3));
+        int instances = Counted.instances;
+
+        Counted copy = DeepCopier.deepCopy(original, Counted.class);
+
+        assertNotSame(original, copy);
+        assertEquals(List.of(1, 2, 3), copy.values);
+        assertNotSame(original.values, copy.values);
+        assertEquals(6, copy.total, "readObject should run as it did when copying through serialisation");
+        assertEquals(instances, Counted.instances, "Serialisation does not run the constructor");
+
+        assertSame(Canonical.INSTANCE, DeepCopier.deepCopy(new Canonical(), Canonical.class),
+                "readResolve should be honoured");
+    }
+
+    @Test
+    public void testDeepCopy_SerializableClassesAreCopiedWithoutRunningTheirConstructor() {
+        Ticket original = new Ticket();
+        original.holders.add("alpha");
+        int issued = Ticket.issued;
+
+        Ticket copy = DeepCopier.deepCopy(original, Ticket.class);
+
+        assertEquals(issued, Ticket.issued, "Copying should not issue a new ticket");
+        assertEquals(original.number, copy.number);
+        assertEquals(List.of("alpha"), copy.holders);
+        assertNotSame(original.holders, copy.holders);
+    }
 }